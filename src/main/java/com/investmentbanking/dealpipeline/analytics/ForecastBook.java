@@ -0,0 +1,130 @@
+package com.investmentbanking.dealpipeline.analytics;
+
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Pipeline value (baseCurrencyValue, so deals in different currencies add up) rolled up by stage x close month, at four grains: alone, by sector, by banker,
+ * and by sector x banker. A forecast scans only the grain it needs, so its cost is the number of
+ * cells at that grain (hundreds to tens of thousands) rather than the number of deals, and
+ * probabilities can be chosen per request because they are applied after the rollup.
+ * Writes are serialized; reads run concurrently against ConcurrentHashMaps.
+ */
+public class ForecastBook {
+    
+    public enum Grain {
+        MONTH,
+        SECTOR,
+        BANKER,
+        SECTOR_BANKER;
+        
+        public static Grain of(boolean bySector, boolean byBanker) {
+            return bySector ? (byBanker ? SECTOR_BANKER : SECTOR) : (byBanker ? BANKER : MONTH);
+        }
+        
+        Cell project(Cell cell) {
+            return switch (this) {
+                case MONTH -> new Cell(cell.stage(), cell.month(), null, null, null);
+                case SECTOR -> new Cell(cell.stage(), cell.month(), cell.sector(), null, null);
+                case BANKER -> new Cell(cell.stage(), cell.month(), null, cell.assignedTo(), cell.assignedToUsername());
+                case SECTOR_BANKER -> cell;
+            };
+        }
+    }
+    
+    public record Cell(DealStage stage, YearMonth month, String sector, String assignedTo, String assignedToUsername) {
+    }
+    
+    public record Totals(long count, BigDecimal value) {
+        
+        Totals plus(Totals other) {
+            return new Totals(count + other.count, value.add(other.value));
+        }
+        
+        Totals minus(Totals other) {
+            return new Totals(count - other.count, value.subtract(other.value));
+        }
+    }
+    
+    private record Entry(Cell cell, Totals totals) {
+    }
+    
+    private final Map<Grain, Map<Cell, Totals>> grains = new EnumMap<>(Grain.class);
+    private final Map<String, Entry> byDeal = new ConcurrentHashMap<>();
+    
+    public ForecastBook() {
+        for (Grain grain : Grain.values()) {
+            grains.put(grain, new ConcurrentHashMap<>());
+        }
+    }
+    
+    /**
+     * Open deals count in their expectedCloseDate month, Closed deals in the month they closed.
+     * Lost deals and deals without a base currency value or close date are not forecast.
+     */
+    public static Cell cellOf(Deal deal) {
+        if (deal.getCurrentStage() == null || deal.getCurrentStage() == DealStage.Lost
+                || deal.getBaseCurrencyValue() == null) {
+            return null;
+        }
+        LocalDateTime closeDate = deal.getCurrentStage() == DealStage.Closed && deal.getActualCloseDate() != null
+                ? deal.getActualCloseDate()
+                : deal.getExpectedCloseDate();
+        if (closeDate == null) {
+            return null;
+        }
+        return new Cell(deal.getCurrentStage(), YearMonth.from(closeDate), deal.getSector(),
+                deal.getAssignedTo(), deal.getAssignedToUsername());
+    }
+    
+    /**
+     * Add or refresh a deal
+     */
+    public synchronized void put(Deal deal) {
+        remove(deal.getId());
+        Cell cell = cellOf(deal);
+        if (cell == null) {
+            return;
+        }
+        Totals totals = new Totals(1, deal.getBaseCurrencyValue());
+        grains.forEach((grain, cells) -> cells.merge(grain.project(cell), totals, Totals::plus));
+        byDeal.put(deal.getId(), new Entry(cell, totals));
+    }
+    
+    public synchronized void remove(String dealId) {
+        Entry entry = byDeal.remove(dealId);
+        if (entry == null) {
+            return;
+        }
+        grains.forEach((grain, cells) -> cells.computeIfPresent(grain.project(entry.cell()), (cell, totals) -> {
+            Totals remaining = totals.minus(entry.totals());
+            return remaining.count() == 0 ? null : remaining;
+        }));
+    }
+    
+    public int size() {
+        return byDeal.size();
+    }
+    
+    /**
+     * Number of cells at the finest grain
+     */
+    public int cellCount() {
+        return grains.get(Grain.SECTOR_BANKER).size();
+    }
+    
+    /**
+     * Visit every cell of a grain; fields the grain does not break down by are null
+     */
+    public void forEach(Grain grain, BiConsumer<Cell, Totals> action) {
+        grains.get(grain).forEach(action);
+    }
+}
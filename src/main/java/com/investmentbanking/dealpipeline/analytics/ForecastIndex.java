@@ -0,0 +1,73 @@
+package com.investmentbanking.dealpipeline.analytics;
+
+import com.investmentbanking.dealpipeline.event.DealChangedEvent;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+/**
+ * Live forecast rollup of every open or closed deal with a base currency value and a close date.
+ * Loaded from Mongo at startup and on a fixed interval (which also picks up other replicas' writes),
+ * and kept current on this replica from DealChangedEvent.
+ */
+@Component
+@Slf4j
+public class ForecastIndex {
+    
+    private static final int CURSOR_BATCH_SIZE = 2000;
+    
+    private final MongoTemplate mongoTemplate;
+    private volatile ForecastBook book = new ForecastBook();
+    
+    public ForecastIndex(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+    
+    public ForecastBook getBook() {
+        return book;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+    
+    @Scheduled(initialDelayString = "${pipeline.forecast.rebuild-interval-ms:600000}",
+            fixedDelayString = "${pipeline.forecast.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        try {
+            Query query = new Query(Criteria.where("currentStage").ne(DealStage.Lost).and("baseCurrencyValue").ne(null))
+                    .cursorBatchSize(CURSOR_BATCH_SIZE);
+            query.fields().include("currentStage", "baseCurrencyValue", "expectedCloseDate", "actualCloseDate",
+                    "sector", "assignedTo", "assignedToUsername");
+            ForecastBook loaded = new ForecastBook();
+            try (Stream<Deal> deals = mongoTemplate.stream(query, Deal.class)) {
+                deals.forEach(loaded::put);
+            }
+            book = loaded;
+            log.info("Forecast rollup loaded {} deals into {} cells in {} ms",
+                    loaded.size(), loaded.cellCount(), System.currentTimeMillis() - startedAt);
+        } catch (RuntimeException ex) {
+            log.error("Forecast rollup rebuild failed: {}", ex.getMessage(), ex);
+        }
+    }
+    
+    @EventListener
+    public void onDealChanged(DealChangedEvent event) {
+        if (event.getType() == DealChangedEvent.Type.DELETED) {
+            book.remove(event.getDealId());
+        } else {
+            book.put(event.getCurrent());
+        }
+    }
+}
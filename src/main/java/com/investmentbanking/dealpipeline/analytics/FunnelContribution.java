@@ -0,0 +1,117 @@
+package com.investmentbanking.dealpipeline.analytics;
+
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.model.StageTransition;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What one deal adds to its cohort's funnel counters, derived only from the deal's current state
+ * and stage history. Counters are kept correct by applying contribution(current) - contribution(previous)
+ * on every write, which also moves a deal between cohorts when its sector or dealType changes.
+ *
+ * The funnel is Prospect > UnderEvaluation > TermSheetSubmitted > Closed. A deal counts as having
+ * reached every stage up to the furthest one it ever entered, so skipping a stage still passes it;
+ * Lost is an exit, not a funnel stage.
+ */
+public final class FunnelContribution {
+    
+    public static final List<DealStage> FUNNEL = List.of(
+            DealStage.Prospect, DealStage.UnderEvaluation, DealStage.TermSheetSubmitted, DealStage.Closed);
+    
+    private final String cohortId;
+    private final String quarter;
+    private final String sector;
+    private final String dealType;
+    private final int depth;
+    private final boolean won;
+    private final boolean lost;
+    private final Map<String, Integer> moves;
+    
+    private FunnelContribution(String quarter, String sector, String dealType, int depth,
+                               boolean won, boolean lost, Map<String, Integer> moves) {
+        this.cohortId = cohortId(quarter, sector, dealType);
+        this.quarter = quarter;
+        this.sector = sector;
+        this.dealType = dealType;
+        this.depth = depth;
+        this.won = won;
+        this.lost = lost;
+        this.moves = moves;
+    }
+    
+    /**
+     * @return the deal's contribution, or null for a deal without a creation date (no cohort)
+     */
+    public static FunnelContribution of(Deal deal) {
+        if (deal == null || deal.getCreatedAt() == null) {
+            return null;
+        }
+        int depth = Math.max(0, depth(deal.getCurrentStage()));
+        Map<String, Integer> moves = new HashMap<>();
+        if (deal.getStageHistory() != null) {
+            for (StageTransition transition : deal.getStageHistory()) {
+                depth = Math.max(depth, depth(transition.getToStage()));
+                if (transition.getFromStage() != null && transition.getToStage() != null) {
+                    moves.merge(moveKey(transition.getFromStage(), transition.getToStage()), 1, Integer::sum);
+                }
+            }
+        }
+        return new FunnelContribution(quarterOf(deal), deal.getSector(), deal.getDealType(), depth,
+                deal.getCurrentStage() == DealStage.Closed, deal.getCurrentStage() == DealStage.Lost, moves);
+    }
+    
+    public static String quarterOf(Deal deal) {
+        return deal.getCreatedAt().getYear() + "-Q" + ((deal.getCreatedAt().getMonthValue() - 1) / 3 + 1);
+    }
+    
+    public static String cohortId(String quarter, String sector, String dealType) {
+        return quarter + "|" + (sector != null ? sector : "") + "|" + (dealType != null ? dealType : "");
+    }
+    
+    public static String moveKey(DealStage from, DealStage to) {
+        return from.name() + ">" + to.name();
+    }
+    
+    private static int depth(DealStage stage) {
+        return FUNNEL.indexOf(stage);
+    }
+    
+    /**
+     * Add sign x this contribution to per-cohort counter deltas, keyed by cohort id then by
+     * counter path (deals, reached.Prospect, won, moves.Prospect>Lost, ...)
+     */
+    public void addTo(Map<String, Map<String, Long>> deltas, int sign) {
+        Map<String, Long> counters = deltas.computeIfAbsent(cohortId, id -> new HashMap<>());
+        counters.merge("deals", (long) sign, Long::sum);
+        for (int i = 0; i <= depth; i++) {
+            counters.merge("reached." + FUNNEL.get(i).name(), (long) sign, Long::sum);
+        }
+        if (won) {
+            counters.merge("won", (long) sign, Long::sum);
+        }
+        if (lost) {
+            counters.merge("lost", (long) sign, Long::sum);
+        }
+        moves.forEach((key, count) -> counters.merge("moves." + key, (long) sign * count, Long::sum));
+    }
+    
+    public String getCohortId() {
+        return cohortId;
+    }
+    
+    public String getQuarter() {
+        return quarter;
+    }
+    
+    public String getSector() {
+        return sector;
+    }
+    
+    public String getDealType() {
+        return dealType;
+    }
+}
@@ -0,0 +1,163 @@
+package com.investmentbanking.dealpipeline.analytics;
+
+import com.investmentbanking.dealpipeline.event.DealChangedEvent;
+import com.investmentbanking.dealpipeline.job.FunnelRebuildJobHandler;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.model.FunnelCohort;
+import com.investmentbanking.dealpipeline.service.JobService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongPredicate;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the funnel_cohorts counters current. Every deal write applies the difference between the
+ * deal's funnel contribution before and after as one $inc upsert per affected cohort, so the
+ * counters never need a history scan. The FUNNEL_REBUILD job recomputes them from scratch; it is
+ * queued automatically when the collection is empty at startup.
+ */
+@Component
+@Slf4j
+public class FunnelTracker {
+    
+    private static final int CURSOR_BATCH_SIZE = 2000;
+    private static final int WRITE_BATCH_SIZE = 500;
+    
+    private final MongoTemplate mongoTemplate;
+    private final JobService jobService;
+    
+    public FunnelTracker(MongoTemplate mongoTemplate, JobService jobService) {
+        this.mongoTemplate = mongoTemplate;
+        this.jobService = jobService;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            if (!mongoTemplate.exists(new Query(), FunnelCohort.class) && mongoTemplate.exists(new Query(), Deal.class)) {
+                jobService.submit(FunnelRebuildJobHandler.TYPE, Map.of(), null, "system");
+                log.info("Funnel counters are empty, queued {}", FunnelRebuildJobHandler.TYPE);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Funnel counter check failed: {}", ex.getMessage(), ex);
+        }
+    }
+    
+    @EventListener
+    public void onDealChanged(DealChangedEvent event) {
+        FunnelContribution before = FunnelContribution.of(event.getPrevious());
+        FunnelContribution after = FunnelContribution.of(event.getCurrent());
+        Map<String, Map<String, Long>> deltas = new HashMap<>();
+        Map<String, FunnelContribution> cohorts = new HashMap<>();
+        if (before != null) {
+            before.addTo(deltas, -1);
+            cohorts.put(before.getCohortId(), before);
+        }
+        if (after != null) {
+            after.addTo(deltas, 1);
+            cohorts.put(after.getCohortId(), after);
+        }
+        
+        deltas.forEach((cohortId, counters) -> {
+            counters.values().removeIf(delta -> delta == 0);
+            if (counters.isEmpty()) {
+                return; // e.g. a note or tag edit
+            }
+            FunnelContribution cohort = cohorts.get(cohortId);
+            Update update = new Update()
+                    .setOnInsert("quarter", cohort.getQuarter())
+                    .setOnInsert("sector", cohort.getSector())
+                    .setOnInsert("dealType", cohort.getDealType());
+            counters.forEach(update::inc);
+            try {
+                mongoTemplate.upsert(new Query(Criteria.where("_id").is(cohortId)), update, FunnelCohort.class);
+            } catch (RuntimeException ex) {
+                // Counters drift until the next FUNNEL_REBUILD; the deal write itself has succeeded
+                log.warn("Funnel counter update for deal {} failed: {}", event.getDealId(), ex.getMessage());
+            }
+        });
+    }
+    
+    /**
+     * Recompute every cohort from the deals and replace the stored counters. Deal writes that land
+     * while the scan is running may be counted twice or not at all until the next rebuild.
+     * @param progress called with the number of deals scanned; return false to stop without writing
+     * @return the number of deals scanned
+     */
+    public long rebuild(LongPredicate progress) {
+        Query query = new Query().cursorBatchSize(CURSOR_BATCH_SIZE);
+        query.fields().include("createdAt", "sector", "dealType", "currentStage", "stageHistory");
+        Map<String, Map<String, Long>> counters = new TreeMap<>();
+        Map<String, FunnelContribution> cohorts = new HashMap<>();
+        long scanned = 0;
+        try (Stream<Deal> deals = mongoTemplate.stream(query, Deal.class)) {
+            var iterator = deals.iterator();
+            while (iterator.hasNext()) {
+                FunnelContribution contribution = FunnelContribution.of(iterator.next());
+                if (contribution != null) {
+                    contribution.addTo(counters, 1);
+                    cohorts.putIfAbsent(contribution.getCohortId(), contribution);
+                }
+                scanned++;
+                if (scanned % CURSOR_BATCH_SIZE == 0 && !progress.test(scanned)) {
+                    return scanned;
+                }
+            }
+        }
+        
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FunnelCohort.class);
+        int pending = 0;
+        for (Map.Entry<String, Map<String, Long>> entry : counters.entrySet()) {
+            FunnelCohort cohort = toCohort(cohorts.get(entry.getKey()), entry.getValue());
+            operations.replaceOne(new Query(Criteria.where("_id").is(cohort.getId())), cohort, FindAndReplaceOptions.options().upsert());
+            if (++pending == WRITE_BATCH_SIZE) {
+                operations.execute();
+                operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FunnelCohort.class);
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            operations.execute();
+        }
+        mongoTemplate.remove(new Query(Criteria.where("_id").nin(counters.keySet())), FunnelCohort.class);
+        log.info("Funnel counters rebuilt from {} deals into {} cohorts", scanned, counters.size());
+        return scanned;
+    }
+    
+    static FunnelCohort toCohort(FunnelContribution cohort, Map<String, Long> counters) {
+        Map<DealStage, Long> reached = new EnumMap<>(DealStage.class);
+        Map<String, Long> moves = new TreeMap<>();
+        counters.forEach((path, count) -> {
+            if (path.startsWith("reached.")) {
+                reached.put(DealStage.valueOf(path.substring("reached.".length())), count);
+            } else if (path.startsWith("moves.")) {
+                moves.put(path.substring("moves.".length()), count);
+            }
+        });
+        return FunnelCohort.builder()
+                .id(cohort.getCohortId())
+                .quarter(cohort.getQuarter())
+                .sector(cohort.getSector())
+                .dealType(cohort.getDealType())
+                .deals(counters.getOrDefault("deals", 0L))
+                .reached(reached)
+                .won(counters.getOrDefault("won", 0L))
+                .lost(counters.getOrDefault("lost", 0L))
+                .moves(moves)
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.investmentbanking.dealpipeline.analytics;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * HyperLogLog distinct counter with 2^12 one-byte registers (4 KB), so estimates carry a relative
+ * standard error of 1.04 / sqrt(4096), about 1.6%. Adding a value already seen never changes the
+ * registers, and two counters merge by taking the larger register, so counters built on different
+ * replicas (or over overlapping data) combine into the counter of the union.
+ * Not thread-safe.
+ */
+public class HyperLogLog {
+    
+    static final int PRECISION = 12;
+    static final int REGISTERS = 1 << PRECISION;
+    public static final double RELATIVE_STANDARD_ERROR = 1.04 / Math.sqrt(REGISTERS);
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+    
+    private final byte[] registers;
+    
+    public HyperLogLog() {
+        this.registers = new byte[REGISTERS];
+    }
+    
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+    
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes.length != REGISTERS) {
+            throw new IllegalArgumentException("Expected " + REGISTERS + " registers, got " + bytes.length);
+        }
+        return new HyperLogLog(bytes.clone());
+    }
+    
+    public byte[] toBytes() {
+        return registers.clone();
+    }
+    
+    public HyperLogLog copy() {
+        return new HyperLogLog(registers.clone());
+    }
+    
+    public void add(String value) {
+        long hash = hash64(value);
+        int index = (int) (hash >>> (64 - PRECISION));
+        // the sentinel bit caps the rank at 64 - PRECISION + 1 when the remaining bits are all zero
+        long remaining = (hash << PRECISION) | (1L << (PRECISION - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+    
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+    
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += Double.longBitsToDouble((1023L - register) << 52); // 2^-register
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros); // linear counting for small sets
+        }
+        return Math.round(estimate);
+    }
+    
+    public boolean isEmpty() {
+        for (byte register : registers) {
+            if (register != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof HyperLogLog hll && Arrays.equals(registers, hll.registers);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(registers);
+    }
+    
+    /**
+     * FNV-1a over the UTF-8 bytes, then the MurmurHash3 finalizer so every output bit depends on every input bit
+     */
+    static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
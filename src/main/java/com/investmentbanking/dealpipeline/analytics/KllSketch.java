@@ -0,0 +1,251 @@
+package com.investmentbanking.dealpipeline.analytics;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * KLL quantile sketch (Karnin, Lang, Liberty) over doubles. Items sit in a stack of compactors; an item
+ * at level h stands for 2^h inputs. When the sketch is full the lowest over-capacity compactor sorts
+ * itself and promotes every other item (random offset) to the next level, halving its weight. Level
+ * capacities shrink by 2/3 going down from the top, so the sketch keeps O(k) items whatever the count.
+ *
+ * With k = 200 a quantile's rank is off by at most about 1.3% of the count (99% confidence), so a
+ * reported p90 lies between the true p88.7 and p91.3. Sketches merge by concatenating levels and
+ * compacting, with the same error bound as one sketch over both inputs.
+ * Not thread-safe.
+ */
+public class KllSketch {
+    
+    public static final int DEFAULT_K = 200;
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final int MIN_CAPACITY = 2;
+    
+    private final int k;
+    private final List<double[]> levels = new ArrayList<>();
+    private final List<Integer> sizes = new ArrayList<>();
+    private final SplittableRandom random = new SplittableRandom();
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    private int retained;
+    private int maxRetained;
+    
+    public KllSketch() {
+        this(DEFAULT_K);
+    }
+    
+    public KllSketch(int k) {
+        if (k < 8) {
+            throw new IllegalArgumentException("k must be at least 8");
+        }
+        this.k = k;
+        grow();
+    }
+    
+    /**
+     * Normalized rank error at 99% confidence - the empirical fit used by Apache DataSketches for KLL
+     */
+    public double getRankError() {
+        return 2.296 / Math.pow(k, 0.9723);
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public double getMin() {
+        return min;
+    }
+    
+    public double getMax() {
+        return max;
+    }
+    
+    public boolean isEmpty() {
+        return count == 0;
+    }
+    
+    public void update(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        min = count == 0 ? value : Math.min(min, value);
+        max = count == 0 ? value : Math.max(max, value);
+        count++;
+        append(0, value);
+        retained++;
+        if (retained >= maxRetained) {
+            compress();
+        }
+    }
+    
+    public void merge(KllSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        while (levels.size() < other.levels.size()) {
+            grow();
+        }
+        for (int h = 0; h < other.levels.size(); h++) {
+            double[] items = other.levels.get(h);
+            for (int i = 0; i < other.sizes.get(h); i++) {
+                append(h, items[i]);
+            }
+        }
+        min = count == 0 ? other.min : Math.min(min, other.min);
+        max = count == 0 ? other.max : Math.max(max, other.max);
+        count += other.count;
+        retained += other.retained;
+        while (retained >= maxRetained) {
+            compress();
+        }
+    }
+    
+    public KllSketch copy() {
+        KllSketch copy = new KllSketch(k);
+        copy.merge(this);
+        return copy;
+    }
+    
+    /**
+     * Estimated value at each fraction (0-1) of the count, from one sort of the retained items
+     */
+    public double[] quantiles(double... fractions) {
+        double[] values = new double[fractions.length];
+        if (count == 0) {
+            Arrays.fill(values, Double.NaN);
+            return values;
+        }
+        double[] items = new double[retained];
+        long[] weights = new long[retained];
+        int n = 0;
+        for (int h = 0; h < levels.size(); h++) {
+            double[] level = levels.get(h);
+            for (int i = 0; i < sizes.get(h); i++) {
+                items[n] = level[i];
+                weights[n++] = 1L << h;
+            }
+        }
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(items[a], items[b]));
+        long total = 0;
+        for (long weight : weights) {
+            total += weight;
+        }
+        for (int f = 0; f < fractions.length; f++) {
+            double fraction = Math.min(1, Math.max(0, fractions[f]));
+            if (fraction == 0) {
+                values[f] = min;
+                continue;
+            }
+            if (fraction == 1) {
+                values[f] = max;
+                continue;
+            }
+            double target = fraction * total;
+            long cumulative = 0;
+            values[f] = max;
+            for (int i = 0; i < n; i++) {
+                cumulative += weights[order[i]];
+                if (cumulative >= target) {
+                    values[f] = items[order[i]];
+                    break;
+                }
+            }
+        }
+        return values;
+    }
+    
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 8 + 8 + 8 + 4 + levels.size() * 4 + retained * 8);
+        buffer.putInt(k).putLong(count).putDouble(min).putDouble(max).putInt(levels.size());
+        for (int h = 0; h < levels.size(); h++) {
+            buffer.putInt(sizes.get(h));
+            double[] level = levels.get(h);
+            for (int i = 0; i < sizes.get(h); i++) {
+                buffer.putDouble(level[i]);
+            }
+        }
+        return buffer.array();
+    }
+    
+    public static KllSketch fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        KllSketch sketch = new KllSketch(buffer.getInt());
+        sketch.count = buffer.getLong();
+        sketch.min = buffer.getDouble();
+        sketch.max = buffer.getDouble();
+        int height = buffer.getInt();
+        while (sketch.levels.size() < height) {
+            sketch.grow();
+        }
+        for (int h = 0; h < height; h++) {
+            int size = buffer.getInt();
+            for (int i = 0; i < size; i++) {
+                sketch.append(h, buffer.getDouble());
+            }
+            sketch.retained += size;
+        }
+        return sketch;
+    }
+    
+    private int capacity(int level) {
+        int depth = levels.size() - level - 1;
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+    
+    private void grow() {
+        levels.add(new double[MIN_CAPACITY]);
+        sizes.add(0);
+        maxRetained = 0;
+        for (int h = 0; h < levels.size(); h++) {
+            maxRetained += capacity(h);
+        }
+    }
+    
+    private void append(int level, double value) {
+        double[] items = levels.get(level);
+        int size = sizes.get(level);
+        if (size == items.length) {
+            items = Arrays.copyOf(items, items.length * 2);
+            levels.set(level, items);
+        }
+        items[size] = value;
+        sizes.set(level, size + 1);
+    }
+    
+    /**
+     * Compact the lowest level at or over its capacity, promoting half its items one level up
+     */
+    private void compress() {
+        for (int h = 0; h < levels.size(); h++) {
+            int size = sizes.get(h);
+            if (size < capacity(h)) {
+                continue;
+            }
+            if (h + 1 == levels.size()) {
+                grow();
+            }
+            double[] items = levels.get(h);
+            Arrays.sort(items, 0, size);
+            int pairs = size / 2;
+            int offset = random.nextBoolean() ? 1 : 0;
+            for (int i = 0; i < pairs; i++) {
+                append(h + 1, items[2 * i + offset]);
+            }
+            // an odd item out stays at this level
+            if (size % 2 == 1) {
+                items[0] = items[size - 1];
+            }
+            sizes.set(h, size % 2);
+            retained -= pairs;
+            return;
+        }
+    }
+}
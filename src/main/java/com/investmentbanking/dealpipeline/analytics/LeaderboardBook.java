@@ -0,0 +1,243 @@
+package com.investmentbanking.dealpipeline.analytics;
+
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.workflow.DealStageMachine;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Per-banker deal counters and a ranking per metric. A deal belongs to its assignedTo banker, or to
+ * its creator while unassigned.
+ *
+ * A write replaces the banker's immutable Workload and moves it in each metric's TreeSet (O(log n) in
+ * the number of bankers); when the move touches the top K, that metric's top list is re-copied from the
+ * set (O(K)). Reads never touch the sets - a workload is one map lookup and a leaderboard is a prefix of
+ * the published top list, so neither depends on the number of deals or bankers.
+ * Writes are serialized; reads run concurrently.
+ */
+public class LeaderboardBook {
+    
+    public enum Metric {
+        CLOSED_VALUE("closedValue", Workload::closedValue),
+        PIPELINE_VALUE("pipelineValue", Workload::openValue),
+        DEAL_COUNT("dealCount", workload -> BigDecimal.valueOf(workload.totalDeals()));
+        
+        private final String param;
+        private final Comparator<Workload> order;
+        
+        Metric(String param, Function<Workload, BigDecimal> score) {
+            this.param = param;
+            this.order = Comparator.comparing(score, Comparator.reverseOrder()).thenComparing(Workload::userId);
+        }
+        
+        public String getParam() {
+            return param;
+        }
+        
+        public static Metric fromParam(String value) {
+            for (Metric metric : values()) {
+                if (metric.param.equalsIgnoreCase(value) || metric.name().equalsIgnoreCase(value)) {
+                    return metric;
+                }
+            }
+            return null;
+        }
+    }
+    
+    /**
+     * One banker's deals; values are sums of baseCurrencyValue, deals without one count as zero
+     */
+    public record Workload(String userId, String username, Map<DealStage, Long> dealsByStage,
+                           long openDeals, BigDecimal openValue, long closedDeals, BigDecimal closedValue,
+                           long totalDeals) {
+    }
+    
+    private record Contribution(String userId, String username, DealStage stage, BigDecimal value) {
+    }
+    
+    private final int topK;
+    private final Map<String, Contribution> byDeal = new ConcurrentHashMap<>();
+    private final Map<String, Workload> byBanker = new ConcurrentHashMap<>();
+    private final Map<Metric, TreeSet<Workload>> rankings = new EnumMap<>(Metric.class);
+    private final Map<Metric, List<Workload>> tops = new ConcurrentHashMap<>();
+    
+    public LeaderboardBook(int topK) {
+        if (topK < 1) {
+            throw new IllegalArgumentException("topK must be at least 1");
+        }
+        this.topK = topK;
+        for (Metric metric : Metric.values()) {
+            rankings.put(metric, new TreeSet<>(metric.order));
+            tops.put(metric, List.of());
+        }
+    }
+    
+    public int getTopK() {
+        return topK;
+    }
+    
+    /**
+     * Add or refresh a deal
+     */
+    public synchronized void put(Deal deal) {
+        Contribution contribution = contributionOf(deal);
+        Contribution previous = contribution != null
+                ? byDeal.put(deal.getId(), contribution)
+                : byDeal.remove(deal.getId());
+        if (Objects.equals(previous, contribution)) {
+            return;
+        }
+        if (previous != null) {
+            apply(previous, -1);
+        }
+        if (contribution != null) {
+            apply(contribution, 1);
+        }
+    }
+    
+    public synchronized void remove(String dealId) {
+        Contribution previous = byDeal.remove(dealId);
+        if (previous != null) {
+            apply(previous, -1);
+        }
+    }
+    
+    /**
+     * The banker's counters, or null when they have no deals
+     */
+    public Workload getWorkload(String userId) {
+        return byBanker.get(userId);
+    }
+    
+    /**
+     * The first min(limit, K) bankers by metric, best first; ties go to the lower user id
+     */
+    public List<Workload> top(Metric metric, int limit) {
+        List<Workload> top = tops.get(metric);
+        return top.size() <= limit ? top : top.subList(0, limit);
+    }
+    
+    public int size() {
+        return byDeal.size();
+    }
+    
+    public int bankerCount() {
+        return byBanker.size();
+    }
+    
+    /**
+     * Number of bankers whose counters differ between the two books
+     */
+    public int diff(LeaderboardBook other) {
+        int differing = 0;
+        for (Map.Entry<String, Workload> entry : byBanker.entrySet()) {
+            if (!sameCounters(entry.getValue(), other.byBanker.get(entry.getKey()))) {
+                differing++;
+            }
+        }
+        for (String userId : other.byBanker.keySet()) {
+            if (!byBanker.containsKey(userId)) {
+                differing++;
+            }
+        }
+        return differing;
+    }
+    
+    private static boolean sameCounters(Workload a, Workload b) {
+        return b != null
+                && a.dealsByStage().equals(b.dealsByStage())
+                && a.openValue().compareTo(b.openValue()) == 0
+                && a.closedValue().compareTo(b.closedValue()) == 0;
+    }
+    
+    private static Contribution contributionOf(Deal deal) {
+        String userId = deal.getAssignedTo() != null ? deal.getAssignedTo() : deal.getCreatedBy();
+        if (userId == null || deal.getCurrentStage() == null) {
+            return null;
+        }
+        String username = deal.getAssignedTo() != null ? deal.getAssignedToUsername() : deal.getCreatedByUsername();
+        BigDecimal value = deal.getBaseCurrencyValue() != null ? deal.getBaseCurrencyValue() : BigDecimal.ZERO;
+        return new Contribution(userId, username, deal.getCurrentStage(), value);
+    }
+    
+    private void apply(Contribution contribution, int sign) {
+        Workload before = byBanker.get(contribution.userId());
+        Workload after = adjust(before, contribution, sign);
+        if (after.totalDeals() == 0) {
+            byBanker.remove(contribution.userId());
+            after = null;
+        } else {
+            byBanker.put(contribution.userId(), after);
+        }
+        for (Metric metric : Metric.values()) {
+            TreeSet<Workload> ranking = rankings.get(metric);
+            if (before != null) {
+                ranking.remove(before);
+            }
+            if (after != null) {
+                ranking.add(after);
+            }
+            List<Workload> top = tops.get(metric);
+            boolean wasTop = before != null && top.contains(before);
+            boolean isTop = after != null && (top.size() < topK || metric.order.compare(after, top.get(top.size() - 1)) < 0);
+            if (wasTop || isTop) {
+                tops.put(metric, firstK(ranking));
+            }
+        }
+    }
+    
+    private static Workload adjust(Workload workload, Contribution contribution, int sign) {
+        Map<DealStage, Long> dealsByStage = new EnumMap<>(DealStage.class);
+        long openDeals = 0;
+        BigDecimal openValue = BigDecimal.ZERO;
+        long closedDeals = 0;
+        BigDecimal closedValue = BigDecimal.ZERO;
+        long totalDeals = 0;
+        String username = contribution.username();
+        if (workload != null) {
+            dealsByStage.putAll(workload.dealsByStage());
+            openDeals = workload.openDeals();
+            openValue = workload.openValue();
+            closedDeals = workload.closedDeals();
+            closedValue = workload.closedValue();
+            totalDeals = workload.totalDeals();
+            if (sign < 0 || username == null) {
+                username = workload.username(); // keep the name from the latest added deal
+            }
+        }
+        dealsByStage.merge(contribution.stage(), (long) sign, Long::sum);
+        dealsByStage.values().removeIf(count -> count == 0);
+        BigDecimal value = sign > 0 ? contribution.value() : contribution.value().negate();
+        if (contribution.stage() == DealStage.Closed) {
+            closedDeals += sign;
+            closedValue = closedValue.add(value);
+        } else if (!DealStageMachine.isTerminal(contribution.stage())) {
+            openDeals += sign;
+            openValue = openValue.add(value);
+        }
+        totalDeals += sign;
+        return new Workload(contribution.userId(), username, Collections.unmodifiableMap(dealsByStage),
+                openDeals, openValue, closedDeals, closedValue, totalDeals);
+    }
+    
+    private List<Workload> firstK(TreeSet<Workload> ranking) {
+        List<Workload> top = new ArrayList<>(Math.min(topK, ranking.size()));
+        Iterator<Workload> iterator = ranking.iterator();
+        while (iterator.hasNext() && top.size() < topK) {
+            top.add(iterator.next());
+        }
+        return Collections.unmodifiableList(top);
+    }
+}
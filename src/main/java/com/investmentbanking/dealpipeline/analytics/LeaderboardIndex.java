@@ -0,0 +1,82 @@
+package com.investmentbanking.dealpipeline.analytics;
+
+import com.investmentbanking.dealpipeline.event.DealChangedEvent;
+import com.investmentbanking.dealpipeline.model.Deal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Live banker leaderboard and workload counters, kept current on this replica from DealChangedEvent.
+ * Reconciled against Mongo at startup and on a fixed interval, which also picks up other replicas'
+ * writes; the number of bankers whose counters had drifted is logged.
+ */
+@Component
+@Slf4j
+public class LeaderboardIndex {
+    
+    private static final int CURSOR_BATCH_SIZE = 2000;
+    
+    private final MongoTemplate mongoTemplate;
+    private final int topK;
+    private volatile LeaderboardBook book;
+    private volatile LocalDateTime reconciledAt;
+    
+    public LeaderboardIndex(MongoTemplate mongoTemplate, @Value("${pipeline.leaderboard.top-k:100}") int topK) {
+        this.mongoTemplate = mongoTemplate;
+        this.topK = topK;
+        this.book = new LeaderboardBook(topK);
+    }
+    
+    public LeaderboardBook getBook() {
+        return book;
+    }
+    
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+    
+    @Scheduled(initialDelayString = "${pipeline.leaderboard.reconcile-interval-ms:300000}",
+            fixedDelayString = "${pipeline.leaderboard.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        long startedAt = System.currentTimeMillis();
+        try {
+            Query query = new Query().cursorBatchSize(CURSOR_BATCH_SIZE);
+            query.fields().include("assignedTo", "assignedToUsername", "createdBy", "createdByUsername",
+                    "currentStage", "baseCurrencyValue");
+            LeaderboardBook loaded = new LeaderboardBook(topK);
+            try (Stream<Deal> deals = mongoTemplate.stream(query, Deal.class)) {
+                deals.forEach(loaded::put);
+            }
+            int drifted = loaded.diff(book);
+            book = loaded;
+            reconciledAt = LocalDateTime.now();
+            log.info("Leaderboard reconciled {} deals across {} bankers ({} drifted) in {} ms",
+                    loaded.size(), loaded.bankerCount(), drifted, System.currentTimeMillis() - startedAt);
+        } catch (RuntimeException ex) {
+            log.error("Leaderboard reconcile failed: {}", ex.getMessage(), ex);
+        }
+    }
+    
+    @EventListener
+    public void onDealChanged(DealChangedEvent event) {
+        if (event.getType() == DealChangedEvent.Type.DELETED) {
+            book.remove(event.getDealId());
+        } else {
+            book.put(event.getCurrent());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.investmentbanking.dealpipeline.analytics;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Monte Carlo simulation of the revenue that closes inside a window. In each trial every deal is won
+ * with its stage's probability, and a won deal closes at its expected close day plus a normally
+ * distributed slip; the trial's outcome is the value of the won deals that close inside the window.
+ *
+ * Deals are held as parallel primitive arrays and outcomes go straight into a double[], so a trial
+ * allocates nothing. Trials are split into ranges on a ForkJoinPool; each range draws from its own
+ * SplittableRandom, split off its parent's at fork time, so a seed gives the same outcomes whatever
+ * the pool's parallelism.
+ */
+public final class PipelineSimulation {
+    
+    static final int TRIALS_PER_TASK = 2048;
+    
+    private double[] values = new double[64];
+    private double[] winProbabilities = new double[64];
+    private int[] closeDays = new int[64];
+    private double[] slipMeans = new double[64];
+    private double[] slipDeviations = new double[64];
+    private int size;
+    
+    /**
+     * @param closeDay expected close day, counted from the first day of the window
+     * @param slipMean / slipDeviation of the days a won deal closes after closeDay
+     */
+    public void addDeal(double value, double winProbability, int closeDay, double slipMean, double slipDeviation) {
+        if (size == values.length) {
+            int capacity = size * 2;
+            values = Arrays.copyOf(values, capacity);
+            winProbabilities = Arrays.copyOf(winProbabilities, capacity);
+            closeDays = Arrays.copyOf(closeDays, capacity);
+            slipMeans = Arrays.copyOf(slipMeans, capacity);
+            slipDeviations = Arrays.copyOf(slipDeviations, capacity);
+        }
+        values[size] = value;
+        winProbabilities[size] = winProbability;
+        closeDays[size] = closeDay;
+        slipMeans[size] = slipMean;
+        slipDeviations[size] = slipDeviation;
+        size++;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Run the trials on pool
+     * @param windowDays the window is days [0, windowDays)
+     * @return one outcome per trial, in trial order
+     */
+    public double[] run(ForkJoinPool pool, int windowDays, int trials, long seed) {
+        double[] outcomes = new double[trials];
+        pool.invoke(new Trials(this, windowDays, outcomes, 0, trials, new SplittableRandom(seed)));
+        return outcomes;
+    }
+    
+    private void runTrials(int windowDays, double[] outcomes, int from, int to, SplittableRandom random) {
+        for (int trial = from; trial < to; trial++) {
+            double revenue = 0;
+            for (int deal = 0; deal < size; deal++) {
+                if (random.nextDouble() >= winProbabilities[deal]) {
+                    continue;
+                }
+                double slip = slipDeviations[deal] > 0
+                        ? slipMeans[deal] + slipDeviations[deal] * random.nextGaussian()
+                        : slipMeans[deal];
+                long closeDay = closeDays[deal] + Math.round(slip);
+                if (closeDay >= 0 && closeDay < windowDays) {
+                    revenue += values[deal];
+                }
+            }
+            outcomes[trial] = revenue;
+        }
+    }
+    
+    private static final class Trials extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final PipelineSimulation simulation;
+        private final int windowDays;
+        private final double[] outcomes;
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+        
+        Trials(PipelineSimulation simulation, int windowDays, double[] outcomes, int from, int to, SplittableRandom random) {
+            this.simulation = simulation;
+            this.windowDays = windowDays;
+            this.outcomes = outcomes;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= TRIALS_PER_TASK) {
+                simulation.runTrials(windowDays, outcomes, from, to, random);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            SplittableRandom right = random.split();
+            invokeAll(new Trials(simulation, windowDays, outcomes, from, middle, random),
+                    new Trials(simulation, windowDays, outcomes, middle, to, right));
+        }
+    }
+}
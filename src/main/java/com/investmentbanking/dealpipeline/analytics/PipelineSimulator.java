@@ -0,0 +1,93 @@
+package com.investmentbanking.dealpipeline.analytics;
+
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Runs PipelineSimulation over the open deals on a dedicated ForkJoinPool, sized by
+ * pipeline.simulation.parallelism (0 for one thread per core), so simulations do not compete with
+ * the common pool's other users.
+ */
+@Component
+@Slf4j
+public class PipelineSimulator {
+    
+    private static final int CURSOR_BATCH_SIZE = 2000;
+    
+    /**
+     * Normal distribution of the days a won deal closes after its expected close date
+     */
+    public record Slip(double meanDays, double deviationDays) {
+    }
+    
+    /**
+     * @param outcomes every trial's revenue, ascending
+     * @param skippedDeals open deals left out for lack of a value or an expected close date
+     */
+    public record Result(double[] outcomes, int deals, int skippedDeals) {
+    }
+    
+    private final MongoTemplate mongoTemplate;
+    private final ForkJoinPool pool;
+    
+    public PipelineSimulator(MongoTemplate mongoTemplate,
+                             @Value("${pipeline.simulation.parallelism:0}") int parallelism) {
+        this.mongoTemplate = mongoTemplate;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+    
+    /**
+     * Simulate the base-currency value closed between from and to (inclusive)
+     * @param probabilities win probability of each open stage to simulate; deals in other stages are left out
+     * @param slips slip of each stage in probabilities
+     */
+    public Result simulate(LocalDate from, LocalDate to, Map<DealStage, Double> probabilities,
+                           Map<DealStage, Slip> slips, int trials, long seed) {
+        long startedAt = System.currentTimeMillis();
+        Query query = new Query(Criteria.where("currentStage").in(probabilities.keySet())).cursorBatchSize(CURSOR_BATCH_SIZE);
+        query.fields().include("currentStage", "baseCurrencyValue", "expectedCloseDate");
+        
+        LocalDate today = LocalDate.now();
+        PipelineSimulation simulation = new PipelineSimulation();
+        int[] skipped = {0};
+        try (Stream<Deal> deals = mongoTemplate.stream(query, Deal.class)) {
+            deals.forEach(deal -> {
+                if (deal.getBaseCurrencyValue() == null || deal.getExpectedCloseDate() == null) {
+                    skipped[0]++;
+                    return;
+                }
+                // an overdue deal can still close, but no earlier than today
+                LocalDate expected = deal.getExpectedCloseDate().toLocalDate();
+                LocalDate closeDate = expected.isBefore(today) ? today : expected;
+                Slip slip = slips.get(deal.getCurrentStage());
+                simulation.addDeal(deal.getBaseCurrencyValue().doubleValue(), probabilities.get(deal.getCurrentStage()),
+                        (int) ChronoUnit.DAYS.between(from, closeDate), slip.meanDays(), slip.deviationDays());
+            });
+        }
+        
+        double[] outcomes = simulation.run(pool, (int) ChronoUnit.DAYS.between(from, to) + 1, trials, seed);
+        Arrays.sort(outcomes); // not parallelSort, which would borrow the common pool
+        log.info("Pipeline simulation of {} deals x {} trials ran in {} ms on {} threads",
+                simulation.size(), trials, System.currentTimeMillis() - startedAt, pool.getParallelism());
+        return new Result(outcomes, simulation.size(), skipped[0]);
+    }
+}
@@ -0,0 +1,228 @@
+package com.investmentbanking.dealpipeline.analytics;
+
+import com.investmentbanking.dealpipeline.fx.FxRates;
+import com.investmentbanking.dealpipeline.job.PipelineSnapshotBackfillJobHandler;
+import com.investmentbanking.dealpipeline.job.SchedulerLock;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.model.PipelineSnapshot;
+import com.investmentbanking.dealpipeline.model.SnapshotCell;
+import com.investmentbanking.dealpipeline.model.SnapshotSource;
+import com.investmentbanking.dealpipeline.service.JobService;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongPredicate;
+import java.util.stream.Stream;
+
+/**
+ * Writes one pipeline_snapshots document per day so pipeline value by stage and sector can be charted
+ * over time. Shortly before midnight (pipeline.snapshots.cron) one replica groups the live deals by
+ * stage x sector into the day's snapshot. Snapshots are keyed by the day and replaced on rewrite, so
+ * running a day twice is harmless.
+ *
+ * Days without a live snapshot - before the snapshotter existed, or missed while no replica ran - are
+ * reconstructed from stage history by the PIPELINE_SNAPSHOT_BACKFILL job, queued automatically at
+ * startup for the gap since the last snapshot. A backfill never replaces a live snapshot.
+ */
+@Component
+@Slf4j
+public class PipelineSnapshotter {
+    
+    static final String LOCK_NAME = "pipeline-snapshot";
+    private static final Duration LOCK_LEASE = Duration.ofMinutes(10);
+    private static final int CURSOR_BATCH_SIZE = 2000;
+    private static final int WRITE_BATCH_SIZE = 500;
+    
+    private final MongoTemplate mongoTemplate;
+    private final SchedulerLock schedulerLock;
+    private final JobService jobService;
+    private final FxRates fxRates;
+    private final int backfillDays;
+    
+    public PipelineSnapshotter(MongoTemplate mongoTemplate, SchedulerLock schedulerLock, JobService jobService,
+                               FxRates fxRates, @Value("${pipeline.snapshots.backfill-days:548}") int backfillDays) {
+        this.mongoTemplate = mongoTemplate;
+        this.schedulerLock = schedulerLock;
+        this.jobService = jobService;
+        this.fxRates = fxRates;
+        this.backfillDays = backfillDays;
+    }
+    
+    public int getBackfillDays() {
+        return backfillDays;
+    }
+    
+    /**
+     * Queue a backfill for the days between the latest snapshot (or backfill-days ago) and yesterday
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            LocalDate yesterday = LocalDate.now().minusDays(1);
+            PipelineSnapshot latest = mongoTemplate.findOne(new Query().with(Sort.by(Sort.Direction.DESC, "_id")),
+                    PipelineSnapshot.class);
+            LocalDate from = latest != null
+                    ? LocalDate.parse(latest.getId()).plusDays(1)
+                    : yesterday.minusDays(backfillDays - 1L);
+            if (!from.isAfter(yesterday) && mongoTemplate.exists(new Query(), Deal.class)) {
+                jobService.submit(PipelineSnapshotBackfillJobHandler.TYPE, Map.of(
+                        PipelineSnapshotBackfillJobHandler.PARAM_FROM, from.toString(),
+                        PipelineSnapshotBackfillJobHandler.PARAM_TO, yesterday.toString()), null, "system");
+                log.info("Pipeline snapshots missing from {} to {}, queued {}", from, yesterday,
+                        PipelineSnapshotBackfillJobHandler.TYPE);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Pipeline snapshot check failed: {}", ex.getMessage(), ex);
+        }
+    }
+    
+    @Scheduled(cron = "${pipeline.snapshots.cron:0 55 23 * * *}")
+    public void scheduledSnapshot() {
+        if (!schedulerLock.tryAcquire(LOCK_NAME, LOCK_LEASE)) {
+            return; // another replica is taking today's snapshot
+        }
+        try {
+            takeLive(LocalDate.now(), LocalDateTime.now());
+        } catch (RuntimeException ex) {
+            log.error("Pipeline snapshot failed: {}", ex.getMessage(), ex);
+        } finally {
+            schedulerLock.release(LOCK_NAME);
+        }
+    }
+    
+    /**
+     * Snapshot the deals as they are now as day's snapshot, replacing any snapshot of that day
+     */
+    public PipelineSnapshot takeLive(LocalDate day, LocalDateTime now) {
+        long startedAt = System.currentTimeMillis();
+        List<Document> groups = mongoTemplate.aggregate(Aggregation.newAggregation(
+                        Aggregation.group("currentStage", "sector").count().as("count").sum("baseCurrencyValue").as("value")),
+                Deal.class, Document.class).getMappedResults();
+        
+        List<SnapshotCell> cells = new ArrayList<>(groups.size());
+        for (Document group : groups) {
+            Document id = group.get("_id", Document.class);
+            String stage = id.getString("currentStage");
+            if (stage == null) {
+                continue;
+            }
+            cells.add(SnapshotCell.builder()
+                    .stage(DealStage.valueOf(stage))
+                    .sector(id.getString("sector"))
+                    .count(group.get("count", Number.class).longValue())
+                    .value(toBigDecimal(group.get("value")))
+                    .build());
+        }
+        cells.sort(Comparator.comparing(SnapshotCell::getStage)
+                .thenComparing(SnapshotCell::getSector, Comparator.nullsFirst(Comparator.naturalOrder())));
+        
+        PipelineSnapshot snapshot = PipelineSnapshot.builder()
+                .id(day.toString())
+                .source(SnapshotSource.LIVE)
+                .baseCurrency(fxRates.getBaseCurrency())
+                .cells(cells)
+                .takenAt(now)
+                .build();
+        mongoTemplate.save(snapshot);
+        log.info("Pipeline snapshot for {} written with {} cells in {} ms", day, cells.size(),
+                System.currentTimeMillis() - startedAt);
+        return snapshot;
+    }
+    
+    /**
+     * Reconstruct the snapshots of from..to (inclusive) from stage history, skipping days with a live snapshot
+     * @param progress called with the number of deals scanned; return false to stop without writing
+     * @return the number of deals scanned
+     */
+    public long backfill(LocalDate from, LocalDate to, LongPredicate progress) {
+        long startedAt = System.currentTimeMillis();
+        SnapshotBuilder builder = new SnapshotBuilder(from, to);
+        Query query = new Query().cursorBatchSize(CURSOR_BATCH_SIZE);
+        query.fields().include("createdAt", "sector", "currentStage", "stageHistory", "baseCurrencyValue");
+        long scanned = 0;
+        try (Stream<Deal> deals = mongoTemplate.stream(query, Deal.class)) {
+            var iterator = deals.iterator();
+            while (iterator.hasNext()) {
+                builder.add(iterator.next());
+                scanned++;
+                if (scanned % CURSOR_BATCH_SIZE == 0 && !progress.test(scanned)) {
+                    return scanned;
+                }
+            }
+        }
+        
+        Query live = new Query(Criteria.where("_id").gte(from.toString()).lte(to.toString())
+                .and("source").is(SnapshotSource.LIVE));
+        live.fields().include("_id");
+        Set<String> liveDays = new HashSet<>();
+        mongoTemplate.find(live, PipelineSnapshot.class).forEach(snapshot -> liveDays.add(snapshot.getId()));
+        
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PipelineSnapshot.class);
+        int pending = 0;
+        int written = 0;
+        for (PipelineSnapshot snapshot : builder.build(fxRates.getBaseCurrency(), SnapshotSource.BACKFILL, LocalDateTime.now())) {
+            if (liveDays.contains(snapshot.getId())) {
+                continue;
+            }
+            // the source condition keeps a live snapshot written meanwhile; its upsert then fails on the _id and is skipped
+            operations.replaceOne(new Query(Criteria.where("_id").is(snapshot.getId()).and("source").ne(SnapshotSource.LIVE)),
+                    snapshot, FindAndReplaceOptions.options().upsert());
+            written++;
+            if (++pending == WRITE_BATCH_SIZE) {
+                executeIgnoringLiveConflicts(operations);
+                operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PipelineSnapshot.class);
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            executeIgnoringLiveConflicts(operations);
+        }
+        log.info("Pipeline snapshots backfilled for {} to {}: {} days written from {} deals in {} ms",
+                from, to, written, scanned, System.currentTimeMillis() - startedAt);
+        return scanned;
+    }
+    
+    private static void executeIgnoringLiveConflicts(BulkOperations operations) {
+        try {
+            operations.execute();
+        } catch (org.springframework.data.mongodb.BulkOperationException ex) {
+            if (ex.getErrors().stream().anyMatch(error -> error.getCode() != 11000)) {
+                throw ex;
+            }
+        }
+    }
+    
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof Decimal128 decimal) {
+            return decimal.bigDecimalValue();
+        }
+        if (value instanceof Number number) {
+            return new BigDecimal(number.toString());
+        }
+        return BigDecimal.ZERO;
+    }
+}
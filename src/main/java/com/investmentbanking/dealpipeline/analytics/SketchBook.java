@@ -0,0 +1,199 @@
+package com.investmentbanking.dealpipeline.analytics;
+
+import com.investmentbanking.dealpipeline.event.DealChangedEvent;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.SketchBlob;
+import com.investmentbanking.dealpipeline.model.StageTransition;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Approximate deal analytics: a HyperLogLog of distinct clientName per sector, and KLL sketches of deal
+ * size (baseCurrencyValue) per dealType and of days spent in a stage per dealType x stage. Every value
+ * also goes into the ALL ("*") sketch of its family, so totals need no merge at read time.
+ *
+ * Sketches only grow: a deal's new client, value or completed stage stay is added when a write brings
+ * it, but an old value is never taken out. SketchIndex therefore rebuilds the book from the deals
+ * collection periodically; in between, a deleted deal or a replaced value lingers in the estimates.
+ * All methods are synchronized, so writes from events and reads from requests can interleave.
+ */
+public class SketchBook {
+    
+    public static final String ALL = "*";
+    static final String CLIENTS = "clients";
+    static final String DEAL_SIZE = "dealSize";
+    static final String DAYS_IN_STAGE = "daysInStage";
+    private static final double SECONDS_PER_DAY = 86_400.0;
+    
+    private final Map<String, HyperLogLog> clients = new HashMap<>();
+    private final Map<String, KllSketch> dealSize = new HashMap<>();
+    private final Map<String, KllSketch> daysInStage = new HashMap<>();
+    
+    /**
+     * Distinct clients, the deal size distribution and each completed stage stay of a deal, for a rebuild
+     */
+    public synchronized void addDeal(Deal deal) {
+        addClient(deal);
+        addDealSize(deal);
+        if (deal.getStageHistory() != null) {
+            for (StageTransition transition : deal.getStageHistory()) {
+                addStay(deal.getDealType(), transition);
+            }
+        }
+    }
+    
+    /**
+     * Fold in what a write added: a new client or sector, a new value or dealType, a completed stage stay
+     */
+    public synchronized void record(DealChangedEvent event) {
+        Deal current = event.getCurrent();
+        Deal previous = event.getPrevious();
+        switch (event.getType()) {
+            case CREATED -> {
+                addClient(current);
+                addDealSize(current);
+            }
+            case UPDATED -> {
+                if (!Objects.equals(previous.getClientName(), current.getClientName())
+                        || !Objects.equals(previous.getSector(), current.getSector())) {
+                    addClient(current);
+                }
+                if (!sameValue(previous.getBaseCurrencyValue(), current.getBaseCurrencyValue())
+                        || !Objects.equals(previous.getDealType(), current.getDealType())) {
+                    addDealSize(current);
+                }
+                if (event.isStageChanged() && current.getStageHistory() != null && !current.getStageHistory().isEmpty()) {
+                    addStay(current.getDealType(), current.getStageHistory().get(current.getStageHistory().size() - 1));
+                }
+            }
+            case DELETED -> {
+                // sketches cannot forget a value - the next rebuild drops the deal
+            }
+        }
+    }
+    
+    public synchronized void merge(SketchBook other) {
+        synchronized (other) {
+            other.clients.forEach((key, hll) -> clients.computeIfAbsent(key, k -> new HyperLogLog()).merge(hll));
+            other.dealSize.forEach((key, kll) -> dealSize.computeIfAbsent(key, k -> new KllSketch()).merge(kll));
+            other.daysInStage.forEach((key, kll) -> daysInStage.computeIfAbsent(key, k -> new KllSketch()).merge(kll));
+        }
+    }
+    
+    public synchronized boolean isEmpty() {
+        return clients.isEmpty() && dealSize.isEmpty() && daysInStage.isEmpty();
+    }
+    
+    /**
+     * Estimated distinct clients in a sector (ALL for every sector); 0 when none were seen
+     */
+    public synchronized long distinctClients(String sector) {
+        HyperLogLog hll = clients.get(sector);
+        return hll != null ? hll.estimate() : 0;
+    }
+    
+    /**
+     * Estimated distinct clients of every sector seen, keyed by sector
+     */
+    public synchronized Map<String, Long> distinctClientsBySector() {
+        Map<String, Long> estimates = new HashMap<>();
+        clients.forEach((sector, hll) -> {
+            if (!ALL.equals(sector)) {
+                estimates.put(sector, hll.estimate());
+            }
+        });
+        return estimates;
+    }
+    
+    /**
+     * A copy of the deal size sketch of a dealType (ALL for every type), or null when it has no values
+     */
+    public synchronized KllSketch dealSize(String dealType) {
+        KllSketch sketch = dealSize.get(dealType);
+        return sketch != null ? sketch.copy() : null;
+    }
+    
+    /**
+     * A copy of the days-in-stage sketch of a dealType and stage (ALL for either), or null when it has no stays
+     */
+    public synchronized KllSketch daysInStage(String dealType, String stage) {
+        KllSketch sketch = daysInStage.get(stayKey(dealType, stage));
+        return sketch != null ? sketch.copy() : null;
+    }
+    
+    public synchronized List<SketchBlob> toBlobs() {
+        List<SketchBlob> blobs = new ArrayList<>();
+        new TreeSet<>(clients.keySet()).forEach(key -> blobs.add(new SketchBlob(CLIENTS, key, clients.get(key).toBytes())));
+        new TreeSet<>(dealSize.keySet()).forEach(key -> blobs.add(new SketchBlob(DEAL_SIZE, key, dealSize.get(key).toBytes())));
+        new TreeSet<>(daysInStage.keySet()).forEach(key -> blobs.add(new SketchBlob(DAYS_IN_STAGE, key, daysInStage.get(key).toBytes())));
+        return blobs;
+    }
+    
+    public static SketchBook fromBlobs(List<SketchBlob> blobs) {
+        SketchBook book = new SketchBook();
+        if (blobs == null) {
+            return book;
+        }
+        for (SketchBlob blob : blobs) {
+            switch (blob.getFamily()) {
+                case CLIENTS -> book.clients.put(blob.getKey(), HyperLogLog.fromBytes(blob.getData()));
+                case DEAL_SIZE -> book.dealSize.put(blob.getKey(), KllSketch.fromBytes(blob.getData()));
+                case DAYS_IN_STAGE -> book.daysInStage.put(blob.getKey(), KllSketch.fromBytes(blob.getData()));
+                default -> {
+                    // written by a newer version - skip
+                }
+            }
+        }
+        return book;
+    }
+    
+    private void addClient(Deal deal) {
+        if (deal.getClientName() == null || deal.getClientName().isBlank()) {
+            return;
+        }
+        String client = deal.getClientName().trim().toLowerCase();
+        clients.computeIfAbsent(ALL, k -> new HyperLogLog()).add(client);
+        if (deal.getSector() != null) {
+            clients.computeIfAbsent(deal.getSector(), k -> new HyperLogLog()).add(client);
+        }
+    }
+    
+    private void addDealSize(Deal deal) {
+        if (deal.getBaseCurrencyValue() == null) {
+            return;
+        }
+        double value = deal.getBaseCurrencyValue().doubleValue();
+        dealSize.computeIfAbsent(ALL, k -> new KllSketch()).update(value);
+        if (deal.getDealType() != null) {
+            dealSize.computeIfAbsent(deal.getDealType(), k -> new KllSketch()).update(value);
+        }
+    }
+    
+    private void addStay(String dealType, StageTransition transition) {
+        if (transition.getFromStage() == null || transition.getSecondsInPreviousStage() == null) {
+            return;
+        }
+        double days = transition.getSecondsInPreviousStage() / SECONDS_PER_DAY;
+        String stage = transition.getFromStage().name();
+        daysInStage.computeIfAbsent(stayKey(ALL, ALL), k -> new KllSketch()).update(days);
+        daysInStage.computeIfAbsent(stayKey(ALL, stage), k -> new KllSketch()).update(days);
+        if (dealType != null) {
+            daysInStage.computeIfAbsent(stayKey(dealType, ALL), k -> new KllSketch()).update(days);
+            daysInStage.computeIfAbsent(stayKey(dealType, stage), k -> new KllSketch()).update(days);
+        }
+    }
+    
+    private static String stayKey(String dealType, String stage) {
+        return dealType + "|" + stage;
+    }
+    
+    private static boolean sameValue(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+}
@@ -0,0 +1,177 @@
+package com.investmentbanking.dealpipeline.analytics;
+
+import com.investmentbanking.dealpipeline.event.DealChangedEvent;
+import com.investmentbanking.dealpipeline.job.SchedulerLock;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealSketchState;
+import com.investmentbanking.dealpipeline.model.SketchBlob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Distinct-client and quantile sketches of the deals, shared across replicas through deal_sketches.
+ *
+ * One replica at a time (scheduler lock) rebuilds the "base" sketches from the deals collection on
+ * pipeline.sketches.rebuild-interval-ms, which drops deleted deals and replaced values. Every replica
+ * fires on its own schedule, so a replica skips its run if the stored base is less than an interval old. Each replica
+ * adds its own writes to a delta from DealChangedEvent and saves it as "delta:<owner>" on
+ * pipeline.sketches.sync-interval-ms; the same sync reads the base and the other replicas' deltas
+ * and merges them into the view that requests read. A replica drops its delta when it sees a newer
+ * base, so writes racing a rebuild's scan are missing from the estimates until the next rebuild.
+ */
+@Component
+@Slf4j
+public class SketchIndex {
+    
+    static final String LOCK_NAME = "deal-sketches";
+    private static final Duration LOCK_LEASE = Duration.ofMinutes(10);
+    private static final int CURSOR_BATCH_SIZE = 2000;
+    
+    private final MongoTemplate mongoTemplate;
+    private final SchedulerLock schedulerLock;
+    private final long rebuildIntervalMs;
+    private SketchBook delta = new SketchBook(); // guarded by this
+    private long epoch; // guarded by this
+    private volatile SketchBook view = new SketchBook();
+    private volatile LocalDateTime syncedAt;
+    
+    public SketchIndex(MongoTemplate mongoTemplate, SchedulerLock schedulerLock,
+                       @Value("${pipeline.sketches.rebuild-interval-ms:3600000}") long rebuildIntervalMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.schedulerLock = schedulerLock;
+        this.rebuildIntervalMs = rebuildIntervalMs;
+    }
+    
+    public SketchBook getView() {
+        return view;
+    }
+    
+    public LocalDateTime getSyncedAt() {
+        return syncedAt;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            if (mongoTemplate.findById(DealSketchState.BASE_ID, DealSketchState.class) == null) {
+                rebuild();
+            } else {
+                sync();
+            }
+        } catch (RuntimeException ex) {
+            log.error("Deal sketch initialization failed: {}", ex.getMessage(), ex);
+        }
+    }
+    
+    @Scheduled(initialDelayString = "${pipeline.sketches.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${pipeline.sketches.rebuild-interval-ms:3600000}")
+    public void scheduledRebuild() {
+        try {
+            // every replica fires on its own schedule; only the first one per interval rebuilds,
+            // since each rebuild starts a new epoch and the replicas' deltas are dropped with the old one
+            DealSketchState base = mongoTemplate.findById(DealSketchState.BASE_ID, DealSketchState.class);
+            if (base != null && base.getEpoch() > System.currentTimeMillis() - rebuildIntervalMs * 9 / 10) {
+                return;
+            }
+        } catch (RuntimeException ex) {
+            log.error("Deal sketch rebuild check failed: {}", ex.getMessage(), ex);
+            return;
+        }
+        rebuild();
+    }
+    
+    public void rebuild() {
+        if (!schedulerLock.tryAcquire(LOCK_NAME, LOCK_LEASE)) {
+            return; // another replica is rebuilding; the next sync picks its base up
+        }
+        long startedAt = System.currentTimeMillis();
+        try {
+            Query query = new Query().cursorBatchSize(CURSOR_BATCH_SIZE);
+            query.fields().include("clientName", "sector", "dealType", "baseCurrencyValue", "stageHistory");
+            SketchBook rebuilt = new SketchBook();
+            long[] scanned = {0};
+            try (Stream<Deal> deals = mongoTemplate.stream(query, Deal.class)) {
+                deals.forEach(deal -> {
+                    rebuilt.addDeal(deal);
+                    scanned[0]++;
+                });
+            }
+            long rebuiltEpoch = System.currentTimeMillis();
+            mongoTemplate.save(DealSketchState.builder()
+                    .id(DealSketchState.BASE_ID)
+                    .epoch(rebuiltEpoch)
+                    .sketches(rebuilt.toBlobs())
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+            mongoTemplate.remove(new Query(Criteria.where("_id").regex("^" + DealSketchState.DELTA_PREFIX)
+                    .and("epoch").lt(rebuiltEpoch)), DealSketchState.class);
+            log.info("Deal sketches rebuilt from {} deals in {} ms", scanned[0], System.currentTimeMillis() - startedAt);
+        } catch (RuntimeException ex) {
+            log.error("Deal sketch rebuild failed: {}", ex.getMessage(), ex);
+        } finally {
+            schedulerLock.release(LOCK_NAME);
+        }
+        sync();
+    }
+    
+    @Scheduled(initialDelayString = "${pipeline.sketches.sync-interval-ms:60000}",
+            fixedDelayString = "${pipeline.sketches.sync-interval-ms:60000}")
+    public void sync() {
+        try {
+            DealSketchState base = mongoTemplate.findById(DealSketchState.BASE_ID, DealSketchState.class);
+            if (base == null) {
+                return;
+            }
+            List<SketchBlob> ownDelta;
+            synchronized (this) {
+                if (base.getEpoch() != epoch) {
+                    delta = new SketchBook(); // the new base already covers what it held
+                    epoch = base.getEpoch();
+                }
+                ownDelta = delta.isEmpty() ? null : delta.toBlobs();
+            }
+            String ownId = DealSketchState.DELTA_PREFIX + schedulerLock.getOwnerId();
+            if (ownDelta != null) {
+                mongoTemplate.save(DealSketchState.builder()
+                        .id(ownId)
+                        .epoch(base.getEpoch())
+                        .sketches(ownDelta)
+                        .updatedAt(LocalDateTime.now())
+                        .build());
+            }
+            
+            SketchBook merged = SketchBook.fromBlobs(base.getSketches());
+            List<DealSketchState> others = mongoTemplate.find(new Query(Criteria.where("_id")
+                    .regex("^" + DealSketchState.DELTA_PREFIX).ne(ownId)
+                    .and("epoch").is(base.getEpoch())), DealSketchState.class);
+            others.forEach(other -> merged.merge(SketchBook.fromBlobs(other.getSketches())));
+            synchronized (this) {
+                if (epoch == base.getEpoch()) {
+                    merged.merge(delta);
+                    view = merged;
+                    syncedAt = LocalDateTime.now();
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.error("Deal sketch sync failed: {}", ex.getMessage(), ex);
+        }
+    }
+    
+    @EventListener
+    public synchronized void onDealChanged(DealChangedEvent event) {
+        delta.record(event);
+        view.record(event);
+    }
+}
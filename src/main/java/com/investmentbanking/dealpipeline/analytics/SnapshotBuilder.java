@@ -0,0 +1,135 @@
+package com.investmentbanking.dealpipeline.analytics;
+
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.model.PipelineSnapshot;
+import com.investmentbanking.dealpipeline.model.SnapshotCell;
+import com.investmentbanking.dealpipeline.model.SnapshotSource;
+import com.investmentbanking.dealpipeline.model.StageTransition;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reconstructs daily pipeline snapshots for a date range from deals' stage history.
+ *
+ * Each history entry puts the deal in its stage from the day of the change until the day of the
+ * next one, so a day counts the stage the deal was in at the end of it. Every stay is added as a
+ * +1 / -1 pair to a per stage x sector difference array over the range, and build() turns those into
+ * running totals, so the cost is one pass over the deals plus one over days x cells.
+ *
+ * Deals without history count in their current stage from createdAt on. Values are the deal's current
+ * baseCurrencyValue and sector on every day - neither has a history.
+ */
+public class SnapshotBuilder {
+    
+    private static final Comparator<CellKey> CELL_ORDER = Comparator.comparing(CellKey::stage)
+            .thenComparing(CellKey::sector, Comparator.nullsFirst(Comparator.naturalOrder()));
+    
+    private final LocalDate from;
+    private final int days;
+    private final Map<CellKey, long[]> counts = new HashMap<>();
+    private final Map<CellKey, BigDecimal[]> values = new HashMap<>();
+    
+    private record CellKey(DealStage stage, String sector) {
+    }
+    
+    /**
+     * @param from / to inclusive day range
+     */
+    public SnapshotBuilder(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("to must be on or after from");
+        }
+        this.from = from;
+        this.days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+    }
+    
+    public void add(Deal deal) {
+        List<StageTransition> history = deal.getStageHistory();
+        if (history == null || history.isEmpty()) {
+            if (deal.getCreatedAt() != null && deal.getCurrentStage() != null) {
+                addStay(deal, deal.getCurrentStage(), deal.getCreatedAt(), null);
+            }
+            return;
+        }
+        for (int i = 0; i < history.size(); i++) {
+            StageTransition entry = history.get(i);
+            if (entry.getToStage() == null || entry.getChangedAt() == null) {
+                continue;
+            }
+            LocalDateTime until = i + 1 < history.size() ? history.get(i + 1).getChangedAt() : null;
+            addStay(deal, entry.getToStage(), entry.getChangedAt(), until);
+        }
+    }
+    
+    /**
+     * One snapshot per day of the range, including days without deals
+     */
+    public List<PipelineSnapshot> build(String baseCurrency, SnapshotSource source, LocalDateTime takenAt) {
+        Map<CellKey, long[]> ordered = new TreeMap<>(CELL_ORDER);
+        ordered.putAll(counts);
+        Map<CellKey, Long> runningCounts = new HashMap<>();
+        Map<CellKey, BigDecimal> runningValues = new HashMap<>();
+        
+        List<PipelineSnapshot> snapshots = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            List<SnapshotCell> cells = new ArrayList<>();
+            for (Map.Entry<CellKey, long[]> cell : ordered.entrySet()) {
+                CellKey key = cell.getKey();
+                long count = runningCounts.merge(key, cell.getValue()[day], Long::sum);
+                BigDecimal[] valueDeltas = values.get(key);
+                BigDecimal value = runningValues.getOrDefault(key, BigDecimal.ZERO);
+                if (valueDeltas != null && valueDeltas[day] != null) {
+                    value = value.add(valueDeltas[day]);
+                    runningValues.put(key, value);
+                }
+                if (count > 0) {
+                    cells.add(SnapshotCell.builder()
+                            .stage(key.stage())
+                            .sector(key.sector())
+                            .count(count)
+                            .value(value)
+                            .build());
+                }
+            }
+            snapshots.add(PipelineSnapshot.builder()
+                    .id(from.plusDays(day).toString())
+                    .source(source)
+                    .baseCurrency(baseCurrency)
+                    .cells(cells)
+                    .takenAt(takenAt)
+                    .build());
+        }
+        return snapshots;
+    }
+    
+    /**
+     * The deal is in stage on the days from since up to, not including, the day of until (null: still in it)
+     */
+    private void addStay(Deal deal, DealStage stage, LocalDateTime since, LocalDateTime until) {
+        long first = Math.max(0, ChronoUnit.DAYS.between(from, since.toLocalDate()));
+        long end = until == null ? days : Math.min(days, ChronoUnit.DAYS.between(from, until.toLocalDate()));
+        if (first >= end) {
+            return; // outside the range, or left the stage the same day
+        }
+        CellKey key = new CellKey(stage, deal.getSector());
+        long[] countDeltas = counts.computeIfAbsent(key, k -> new long[days + 1]);
+        countDeltas[(int) first]++;
+        countDeltas[(int) end]--;
+        BigDecimal value = deal.getBaseCurrencyValue();
+        if (value != null) {
+            BigDecimal[] valueDeltas = values.computeIfAbsent(key, k -> new BigDecimal[days + 1]);
+            valueDeltas[(int) first] = valueDeltas[(int) first] == null ? value : valueDeltas[(int) first].add(value);
+            valueDeltas[(int) end] = valueDeltas[(int) end] == null ? value.negate() : valueDeltas[(int) end].subtract(value);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.investmentbanking.dealpipeline.compliance;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Aho-Corasick automaton compiled to a dense transition table over the folded alphabet
+ * (space, a-z, 0-9 - see ClientNameNormalizer.fold). Searching is one table lookup per input
+ * character whatever the number of patterns, and reports every occurrence of every pattern,
+ * including overlapping ones. Immutable once compiled, so it can be shared across threads.
+ */
+public final class AhoCorasick {
+    
+    @FunctionalInterface
+    public interface MatchListener {
+        /**
+         * @param patternId index of the pattern in the list passed to compile
+         * @param end index just past the last matched character
+         */
+        void onMatch(int patternId, int end);
+    }
+    
+    static final int ALPHABET = 37;
+    private static final int[] NO_OUTPUT = new int[0];
+    
+    private final int[] transitions; // state * ALPHABET + symbol -> next state
+    private final int[][] outputs; // patterns ending in each state, including those reached through failure links
+    private final int[] patternLengths;
+    
+    private AhoCorasick(int[] transitions, int[][] outputs, int[] patternLengths) {
+        this.transitions = transitions;
+        this.outputs = outputs;
+        this.patternLengths = patternLengths;
+    }
+    
+    /**
+     * @param patterns already folded; characters outside the alphabet are treated as spaces
+     */
+    public static AhoCorasick compile(List<String> patterns) {
+        int capacity = 1;
+        for (String pattern : patterns) {
+            capacity += pattern.length();
+        }
+        
+        // 1. Trie of all patterns (-1 = no edge)
+        int[] goTo = new int[capacity * ALPHABET];
+        Arrays.fill(goTo, -1);
+        int[][] own = new int[capacity][];
+        int[] patternLengths = new int[patterns.size()];
+        int states = 1;
+        for (int id = 0; id < patterns.size(); id++) {
+            String pattern = patterns.get(id);
+            patternLengths[id] = pattern.length();
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                int edge = state * ALPHABET + symbol(pattern.charAt(i));
+                if (goTo[edge] < 0) {
+                    goTo[edge] = states++;
+                }
+                state = goTo[edge];
+            }
+            own[state] = append(own[state], id);
+        }
+        
+        // 2. Breadth-first: failure links, and missing edges filled in from the failure state
+        //    so the table becomes a complete DFA
+        int[] fail = new int[states];
+        int[][] outputs = new int[states][];
+        outputs[0] = own[0] != null ? own[0] : NO_OUTPUT;
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET; c++) {
+            int next = goTo[c];
+            if (next < 0) {
+                goTo[c] = 0;
+            } else {
+                fail[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int[] inherited = outputs[fail[state]];
+            outputs[state] = own[state] == null ? inherited : concat(own[state], inherited);
+            for (int c = 0; c < ALPHABET; c++) {
+                int edge = state * ALPHABET + c;
+                int next = goTo[edge];
+                if (next < 0) {
+                    goTo[edge] = goTo[fail[state] * ALPHABET + c];
+                } else {
+                    fail[next] = goTo[fail[state] * ALPHABET + c];
+                    queue.add(next);
+                }
+            }
+        }
+        return new AhoCorasick(Arrays.copyOf(goTo, states * ALPHABET), outputs, patternLengths);
+    }
+    
+    public void search(CharSequence text, MatchListener listener) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * ALPHABET + symbol(text.charAt(i))];
+            for (int patternId : outputs[state]) {
+                listener.onMatch(patternId, i + 1);
+            }
+        }
+    }
+    
+    public int patternLength(int patternId) {
+        return patternLengths[patternId];
+    }
+    
+    public int stateCount() {
+        return outputs.length;
+    }
+    
+    static int symbol(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return 1 + c - 'a';
+        }
+        if (c >= '0' && c <= '9') {
+            return 27 + c - '0';
+        }
+        return 0;
+    }
+    
+    private static int[] append(int[] values, int value) {
+        if (values == null) {
+            return new int[]{value};
+        }
+        int[] extended = Arrays.copyOf(values, values.length + 1);
+        extended[values.length] = value;
+        return extended;
+    }
+    
+    private static int[] concat(int[] first, int[] second) {
+        int[] joined = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, joined, first.length, second.length);
+        return joined;
+    }
+}
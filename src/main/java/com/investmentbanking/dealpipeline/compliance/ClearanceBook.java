@@ -0,0 +1,131 @@
+package com.investmentbanking.dealpipeline.compliance;
+
+import com.investmentbanking.dealpipeline.dto.ClearanceConflict;
+import com.investmentbanking.dealpipeline.matching.ClientNameNormalizer;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Active deals indexed by normalized party name (client and counterparty).
+ * A clearance check is two hash lookups plus a scan of the deals already involving those parties,
+ * independent of the size of the book.
+ * Writes are serialized; reads run concurrently against ConcurrentHashMaps.
+ */
+public class ClearanceBook {
+    
+    enum PartyRole {
+        CLIENT,
+        COUNTERPARTY
+    }
+    
+    record PartyRef(String dealId, PartyRole role, DealStage stage, String sector, String assignedToUsername) {
+    }
+    
+    private final Map<String, Map<String, PartyRef>> byParty = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> partiesByDeal = new ConcurrentHashMap<>();
+    
+    public static boolean isActive(DealStage stage) {
+        return stage != DealStage.Closed && stage != DealStage.Lost;
+    }
+    
+    /**
+     * Add, refresh or (once closed or lost) drop a deal
+     */
+    public synchronized void put(Deal deal) {
+        remove(deal.getId());
+        if (!isActive(deal.getCurrentStage())) {
+            return;
+        }
+        List<String> parties = new ArrayList<>(2);
+        index(deal, PartyRole.CLIENT, deal.getClientName(), parties);
+        index(deal, PartyRole.COUNTERPARTY, deal.getCounterparty(), parties);
+        if (!parties.isEmpty()) {
+            partiesByDeal.put(deal.getId(), parties);
+        }
+    }
+    
+    public synchronized void remove(String dealId) {
+        List<String> parties = partiesByDeal.remove(dealId);
+        if (parties == null) {
+            return;
+        }
+        for (String party : parties) {
+            byParty.computeIfPresent(party, (key, refs) -> {
+                refs.keySet().removeIf(refKey -> refKey.startsWith(dealId + ":"));
+                return refs.isEmpty() ? null : refs;
+            });
+        }
+    }
+    
+    public int size() {
+        return partiesByDeal.size();
+    }
+    
+    /**
+     * Active deals on other desks (a different or unknown sector) that share the client or counterparty
+     *
+     * @param dealId the deal being checked, excluded from the result; null for a deal not yet saved
+     */
+    public List<ClearanceConflict> check(String dealId, String clientName, String counterparty, String sector) {
+        List<ClearanceConflict> conflicts = new ArrayList<>();
+        collect(dealId, PartyRole.CLIENT, clientName, sector, conflicts);
+        collect(dealId, PartyRole.COUNTERPARTY, counterparty, sector, conflicts);
+        conflicts.sort(Comparator.comparing(ClearanceConflict::getRelationship)
+                .thenComparing(ClearanceConflict::getDealId));
+        return conflicts;
+    }
+    
+    private void index(Deal deal, PartyRole role, String name, List<String> parties) {
+        String party = ClientNameNormalizer.normalize(name);
+        if (party.isEmpty()) {
+            return;
+        }
+        byParty.computeIfAbsent(party, key -> new ConcurrentHashMap<>())
+                .put(deal.getId() + ":" + role, new PartyRef(deal.getId(), role, deal.getCurrentStage(),
+                        deal.getSector(), deal.getAssignedToUsername()));
+        if (!parties.contains(party)) {
+            parties.add(party);
+        }
+    }
+    
+    private void collect(String dealId, PartyRole role, String name, String sector, List<ClearanceConflict> conflicts) {
+        String party = ClientNameNormalizer.normalize(name);
+        if (party.isEmpty()) {
+            return;
+        }
+        Map<String, PartyRef> refs = byParty.get(party);
+        if (refs == null) {
+            return;
+        }
+        for (PartyRef ref : refs.values()) {
+            if (ref.dealId().equals(dealId) || (sector != null && sector.equalsIgnoreCase(ref.sector()))) {
+                continue; // same deal, or same desk
+            }
+            conflicts.add(ClearanceConflict.builder()
+                    .dealId(ref.dealId())
+                    .currentStage(ref.stage())
+                    .sector(ref.sector())
+                    .assignedToUsername(ref.assignedToUsername())
+                    .party(party)
+                    .relationship(relationship(role, ref.role()))
+                    .build());
+        }
+    }
+    
+    private static ClearanceConflict.Relationship relationship(PartyRole checked, PartyRole existing) {
+        if (checked == PartyRole.CLIENT) {
+            return existing == PartyRole.CLIENT
+                    ? ClearanceConflict.Relationship.SAME_CLIENT
+                    : ClearanceConflict.Relationship.CLIENT_IS_COUNTERPARTY;
+        }
+        return existing == PartyRole.CLIENT
+                ? ClearanceConflict.Relationship.COUNTERPARTY_IS_CLIENT
+                : ClearanceConflict.Relationship.SAME_COUNTERPARTY;
+    }
+}
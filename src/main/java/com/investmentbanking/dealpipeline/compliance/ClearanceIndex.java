@@ -0,0 +1,125 @@
+package com.investmentbanking.dealpipeline.compliance;
+
+import com.investmentbanking.dealpipeline.dto.ClearanceConflict;
+import com.investmentbanking.dealpipeline.event.DealChangedEvent;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Live clearance book of active deals, used to flag conflicts synchronously on deal creation.
+ * Loaded from Mongo at startup and on a fixed interval, kept current on this replica from
+ * DealChangedEvent, and caught up every few seconds on updatedAt so deals booked on other replicas
+ * are flagged without waiting for the next rebuild. Deletes on other replicas are only dropped by a
+ * rebuild, which can only over-report conflicts.
+ */
+@Component
+@Slf4j
+public class ClearanceIndex {
+    
+    private static final int CURSOR_BATCH_SIZE = 2000;
+    private static final long CATCH_UP_OVERLAP_SECONDS = 5;
+    private static final String[] FIELDS = {"dealName", "clientName", "counterparty", "currentStage", "sector", "assignedToUsername"};
+    
+    private final MongoTemplate mongoTemplate;
+    private volatile ClearanceBook book = new ClearanceBook();
+    private volatile LocalDateTime watermark;
+    
+    public ClearanceIndex(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+    
+    public List<ClearanceConflict> check(String dealId, String clientName, String counterparty, String sector) {
+        return book.check(dealId, clientName, counterparty, sector);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+    
+    @Scheduled(initialDelayString = "${pipeline.clearance.rebuild-interval-ms:600000}",
+            fixedDelayString = "${pipeline.clearance.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime scanStartedAt = LocalDateTime.now();
+        try {
+            ClearanceBook loaded = new ClearanceBook();
+            loadActiveDeals().forEach(loaded::put);
+            book = loaded;
+            watermark = scanStartedAt;
+            log.info("Clearance book loaded {} active deals in {} ms", loaded.size(), System.currentTimeMillis() - startedAt);
+        } catch (RuntimeException ex) {
+            log.error("Clearance book rebuild failed: {}", ex.getMessage(), ex);
+        }
+    }
+    
+    /**
+     * Apply deals changed since the watermark, including ones written by other replicas
+     */
+    @Scheduled(fixedDelayString = "${pipeline.clearance.catch-up-interval-ms:5000}")
+    public void catchUp() {
+        LocalDateTime since = watermark;
+        if (since == null) {
+            return;
+        }
+        LocalDateTime scanStartedAt = LocalDateTime.now();
+        // every stage, so deals that closed elsewhere are dropped too, and so the stage/updatedAt index serves the range
+        Query query = new Query(Criteria.where("currentStage").in((Object[]) DealStage.values())
+                .and("updatedAt").gte(since.minusSeconds(CATCH_UP_OVERLAP_SECONDS)))
+                .cursorBatchSize(CURSOR_BATCH_SIZE);
+        query.fields().include(FIELDS);
+        ClearanceBook current = book;
+        long[] count = {0};
+        try (Stream<Deal> deals = mongoTemplate.stream(query, Deal.class)) {
+            deals.forEach(deal -> {
+                current.put(deal);
+                count[0]++;
+            });
+            // a rebuild that swapped the book in meanwhile carries its own, later watermark
+            if (book == current) {
+                watermark = scanStartedAt;
+            }
+        } catch (RuntimeException ex) {
+            log.error("Clearance book catch-up failed: {}", ex.getMessage());
+        }
+        if (count[0] > 0) {
+            log.debug("Clearance book caught up {} deal(s)", count[0]);
+        }
+    }
+    
+    /**
+     * Every active (not Closed or Lost) deal, with just the fields clearance needs
+     */
+    public List<Deal> loadActiveDeals() {
+        Query query = new Query(Criteria.where("currentStage").nin(DealStage.Closed, DealStage.Lost))
+                .cursorBatchSize(CURSOR_BATCH_SIZE);
+        query.fields().include(FIELDS);
+        List<Deal> deals = new ArrayList<>();
+        try (Stream<Deal> stream = mongoTemplate.stream(query, Deal.class)) {
+            stream.forEach(deals::add);
+        }
+        return deals;
+    }
+    
+    @EventListener
+    public void onDealChanged(DealChangedEvent event) {
+        if (event.getType() == DealChangedEvent.Type.DELETED) {
+            book.remove(event.getDealId());
+        } else {
+            book.put(event.getCurrent());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.investmentbanking.dealpipeline.compliance;
+
+import com.investmentbanking.dealpipeline.matching.ClientNameNormalizer;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.RestrictedEntity;
+import com.investmentbanking.dealpipeline.model.ScreeningHit;
+import com.investmentbanking.dealpipeline.repository.RestrictedEntityRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Screens deal text against the restricted / watch list in one pass per field.
+ * Every entity name and alias is normalized, padded with spaces so only whole words match,
+ * and compiled into a single Aho-Corasick automaton. A reload compiles a new automaton and
+ * swaps it in with one volatile write, so screens in flight finish on the old list.
+ */
+@Component
+@Slf4j
+public class RestrictedListScreener {
+    
+    static final List<ScreenedField> SCREENED_FIELDS = List.of(
+            new ScreenedField("clientName", Deal::getClientName),
+            new ScreenedField("counterparty", Deal::getCounterparty),
+            new ScreenedField("dealName", Deal::getDealName),
+            new ScreenedField("description", Deal::getDescription));
+    
+    record ScreenedField(String name, Function<Deal, String> extractor) {
+    }
+    
+    private record Pattern(RestrictedEntity entity, String term) {
+    }
+    
+    private record CompiledList(AhoCorasick automaton, List<Pattern> patterns) {
+    }
+    
+    private final RestrictedEntityRepository restrictedEntityRepository;
+    private volatile CompiledList compiled = new CompiledList(AhoCorasick.compile(List.of()), List.of());
+    
+    public RestrictedListScreener(RestrictedEntityRepository restrictedEntityRepository) {
+        this.restrictedEntityRepository = restrictedEntityRepository;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reload();
+    }
+    
+    /**
+     * Recompile from Mongo - called after list changes, and on a fixed interval for changes made on other replicas
+     */
+    @Scheduled(initialDelayString = "${pipeline.screening.reload-interval-ms:60000}",
+            fixedDelayString = "${pipeline.screening.reload-interval-ms:60000}")
+    public void reload() {
+        try {
+            load();
+        } catch (RuntimeException ex) {
+            log.error("Restricted list reload failed, keeping the previous list: {}", ex.getMessage(), ex);
+        }
+    }
+    
+    /**
+     * Recompile from Mongo, throwing if the list cannot be read
+     */
+    public void load() {
+        load(restrictedEntityRepository.findAll());
+    }
+    
+    void load(List<RestrictedEntity> entities) {
+        long startedAt = System.currentTimeMillis();
+        List<Pattern> patterns = new ArrayList<>();
+        for (RestrictedEntity entity : entities) {
+            Set<String> terms = new LinkedHashSet<>();
+            terms.add(ClientNameNormalizer.normalize(entity.getName()));
+            if (entity.getAliases() != null) {
+                entity.getAliases().forEach(alias -> terms.add(ClientNameNormalizer.normalize(alias)));
+            }
+            terms.stream()
+                    .filter(term -> !term.isEmpty())
+                    .forEach(term -> patterns.add(new Pattern(entity, term)));
+        }
+        AhoCorasick automaton = AhoCorasick.compile(patterns.stream().map(pattern -> " " + pattern.term() + " ").toList());
+        compiled = new CompiledList(automaton, List.copyOf(patterns));
+        log.info("Restricted list compiled: {} entities, {} terms, {} states in {} ms",
+                entities.size(), patterns.size(), automaton.stateCount(), System.currentTimeMillis() - startedAt);
+    }
+    
+    /**
+     * Hits in screened field order, each entity reported at most once per field
+     */
+    public List<ScreeningHit> screen(Deal deal) {
+        CompiledList list = compiled;
+        List<ScreeningHit> hits = new ArrayList<>();
+        for (ScreenedField field : SCREENED_FIELDS) {
+            String value = field.extractor().apply(deal);
+            if (value == null || value.isBlank()) {
+                continue;
+            }
+            Set<String> entitiesHit = new LinkedHashSet<>();
+            list.automaton().search(" " + ClientNameNormalizer.fold(value) + " ", (patternId, end) -> {
+                Pattern pattern = list.patterns().get(patternId);
+                if (entitiesHit.add(pattern.entity().getId())) {
+                    hits.add(ScreeningHit.builder()
+                            .entityId(pattern.entity().getId())
+                            .entityName(pattern.entity().getName())
+                            .listType(pattern.entity().getListType())
+                            .field(field.name())
+                            .matchedText(pattern.term())
+                            .build());
+                }
+            });
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,40 @@
+package com.investmentbanking.dealpipeline.config;
+
+import com.investmentbanking.dealpipeline.model.Deal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converts dealValue values written as strings (the default BigDecimal mapping before
+ * dealValue was declared Decimal128) to Decimal128, so range filters and aggregations compare numerically.
+ * Idempotent - once every document is converted the update matches nothing.
+ */
+@Component
+@Slf4j
+public class DealValueMigration implements ApplicationRunner {
+    
+    private final MongoTemplate mongoTemplate;
+    
+    public DealValueMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        Query legacy = new Query(Criteria.where("dealValue").type(JsonSchemaObject.Type.stringType()));
+        AggregationUpdate toDecimal = AggregationUpdate.update()
+                .set("dealValue").toValue(ConvertOperators.valueOf("dealValue").convertToDecimal());
+        long converted = mongoTemplate.updateMulti(legacy, toDecimal, Deal.class).getModifiedCount();
+        if (converted > 0) {
+            log.info("Converted dealValue to Decimal128 on {} deals", converted);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.investmentbanking.dealpipeline.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // Enables @Scheduled background work (job worker polling and lease heartbeats)
+}
@@ -0,0 +1,51 @@
+package com.investmentbanking.dealpipeline.config;
+
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Backfills stage tracking on deals written before the stage state machine: stageEnteredAt
+ * from createdAt (the true entry time was never recorded), an empty history, and actualCloseDate
+ * from updatedAt on deals already Closed or Lost.
+ * Idempotent - once every document is backfilled the updates match nothing.
+ */
+@Component
+@Slf4j
+public class StageTrackingMigration implements ApplicationRunner {
+    
+    private final MongoTemplate mongoTemplate;
+    
+    public StageTrackingMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        Query untracked = new Query(Criteria.where("stageEnteredAt").exists(false));
+        AggregationUpdate track = AggregationUpdate.update()
+                .set("stageEnteredAt").toValue(ConditionalOperators.ifNull("createdAt").then("$updatedAt"))
+                .set("stageHistory").toValue(ConditionalOperators.ifNull("stageHistory").then(List.of()));
+        long tracked = mongoTemplate.updateMulti(untracked, track, Deal.class).getModifiedCount();
+        
+        Query unclosed = new Query(Criteria.where("currentStage").in(DealStage.Closed.name(), DealStage.Lost.name())
+                .and("actualCloseDate").is(null));
+        AggregationUpdate close = AggregationUpdate.update()
+                .set("actualCloseDate").toValue("$updatedAt");
+        long closed = mongoTemplate.updateMulti(unclosed, close, Deal.class).getModifiedCount();
+        
+        if (tracked > 0 || closed > 0) {
+            log.info("Backfilled stage tracking on {} deals and actualCloseDate on {}", tracked, closed);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.investmentbanking.dealpipeline.controller;
+
+import com.investmentbanking.dealpipeline.dto.ApiResponse;
+import com.investmentbanking.dealpipeline.dto.ClearanceSweepResponse;
+import com.investmentbanking.dealpipeline.dto.StaleDealScanResponse;
+import com.investmentbanking.dealpipeline.export.DealExportFormat;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.service.ClearanceService;
+import com.investmentbanking.dealpipeline.service.DealExportService;
+import com.investmentbanking.dealpipeline.service.StaleDealService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/deals")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminDealController {
+    
+    private final DealExportService dealExportService;
+    private final ClearanceService clearanceService;
+    private final StaleDealService staleDealService;
+    
+    /**
+     * GET /api/admin/deals/export - ADMIN only
+     * Streams the deal book as CSV, NDJSON or an Arrow IPC stream (format=arrow)
+     * Optional filters: stage, sector, dealType (same as GET /api/deals)
+     * gzip=true compresses the response (Content-Encoding: gzip)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportDeals(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) DealStage stage,
+            @RequestParam(required = false) String sector,
+            @RequestParam(required = false) String dealType,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        DealExportFormat exportFormat = DealExportFormat.fromParam(format);
+        Query query = dealExportService.buildExportQuery(stage, sector, dealType);
+        
+        StreamingResponseBody body = out -> dealExportService.writeDeals(query, exportFormat, gzip, out, rows -> true);
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("deals-" + LocalDate.now() + "." + exportFormat.getExtension())
+                        .build().toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+    
+    /**
+     * POST /api/admin/deals/clearance/sweep - ADMIN only
+     * Checks every active deal against every other for client / counterparty conflicts across desks
+     * Returns only the deals with conflicts
+     */
+    @PostMapping("/clearance/sweep")
+    public ResponseEntity<ApiResponse<ClearanceSweepResponse>> runClearanceSweep() {
+        ClearanceSweepResponse response = clearanceService.sweep();
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    /**
+     * GET /api/admin/deals/stale-scans - ADMIN only
+     * Recent stale-deal detector runs with what they found and how long they took
+     * Optional: limit (default 20, max 200)
+     */
+    @GetMapping("/stale-scans")
+    public ResponseEntity<ApiResponse<List<StaleDealScanResponse>>> getStaleScans(
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(staleDealService.getScans(limit)));
+    }
+    
+    /**
+     * POST /api/admin/deals/stale-scans - ADMIN only
+     * Run the stale-deal detector now; 400 if another instance is already scanning
+     */
+    @PostMapping("/stale-scans")
+    public ResponseEntity<ApiResponse<StaleDealScanResponse>> runStaleScan() {
+        return ResponseEntity.ok(ApiResponse.success(staleDealService.runScan()));
+    }
+}
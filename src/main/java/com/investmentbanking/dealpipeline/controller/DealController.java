@@ -2,14 +2,21 @@ package com.investmentbanking.dealpipeline.controller;
 
 import com.investmentbanking.dealpipeline.dto.*;
 import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.service.DealAnalyticsService;
+import com.investmentbanking.dealpipeline.service.DealBoardService;
 import com.investmentbanking.dealpipeline.service.DealService;
+import com.investmentbanking.dealpipeline.service.DealTimelineService;
+import com.investmentbanking.dealpipeline.service.ReminderService;
+import com.investmentbanking.dealpipeline.service.StaleDealService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -17,7 +24,14 @@ import java.util.List;
 @RequiredArgsConstructor
 public class DealController {
     
+    private static final CacheControl TIMELINE_CACHE = CacheControl.maxAge(Duration.ofSeconds(60)).cachePrivate();
+    
     private final DealService dealService;
+    private final DealBoardService dealBoardService;
+    private final DealAnalyticsService dealAnalyticsService;
+    private final DealTimelineService dealTimelineService;
+    private final StaleDealService staleDealService;
+    private final ReminderService reminderService;
     
     /**
      * POST /api/deals - Create new deal
@@ -45,6 +59,278 @@ public class DealController {
         return ResponseEntity.ok(ApiResponse.success(deals));
     }
     
+    /**
+     * GET /api/deals?filter= - List deals matching an RSQL filter, newest first
+     * USER and ADMIN can access
+     * e.g. filter=stage=in=(Prospect,UnderEvaluation);tags=in=(tech,cross-border);expectedCloseDate=le=90d
+     * Operators: ==, !=, =lt= (<), =le= (<=), =gt= (>), =ge= (>=), =in=, =out=; ';' / 'and', ',' / 'or', parentheses
+     * dealValue filters (e.g. dealValue=gt=100M) are ADMIN only; max limit 1000
+     */
+    @GetMapping(params = {"filter", "facets!=true"})
+    public ResponseEntity<ApiResponse<List<DealResponse>>> getDealsByFilter(
+            @RequestParam String filter,
+            @RequestParam(required = false) DealStage stage,
+            @RequestParam(required = false) String sector,
+            @RequestParam(required = false) String dealType,
+            @RequestParam(defaultValue = "500") int limit) {
+        List<DealResponse> deals = dealService.getDealsByFilter(filter, stage, sector, dealType, limit);
+        return ResponseEntity.ok(ApiResponse.success(deals));
+    }
+    
+    /**
+     * GET /api/deals?facets=true - Page of deals with facet counts for the filter sidebar
+     * USER and ADMIN can access
+     * Optional filters: stage, sector, dealType, filter (RSQL, as above); paged with offset and limit (max 200)
+     * Counts per currentStage, sector, dealType, status and top 20 tags for the filtered set
+     */
+    @GetMapping(params = "facets=true")
+    public ResponseEntity<ApiResponse<DealFacetsResponse>> getDealsWithFacets(
+            @RequestParam(required = false) DealStage stage,
+            @RequestParam(required = false) String sector,
+            @RequestParam(required = false) String dealType,
+            @RequestParam(required = false) String filter,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "50") int limit) {
+        DealFacetsResponse response = dealService.getDealsWithFacets(stage, sector, dealType, filter, offset, limit);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    /**
+     * POST /api/deals/batch-get - Get many deals by ID
+     * USER and ADMIN can access
+     * Returns results in request order with FOUND / NOT_FOUND / FORBIDDEN per id
+     */
+    @PostMapping("/batch-get")
+    public ResponseEntity<ApiResponse<List<BatchDealResult>>> getDealsByIds(
+            @Valid @RequestBody BatchGetDealsRequest request) {
+        List<BatchDealResult> results = dealService.getDealsByIds(request.getIds());
+        return ResponseEntity.ok(ApiResponse.success(results));
+    }
+    
+    /**
+     * GET /api/deals/search?q= - Full-text search
+     * USER and ADMIN can access
+     * USER results are limited to their own deals
+     * Supports "phrases", +required, -excluded and prefix* terms; paged with offset and limit (max 100)
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<DealSearchResponse>> searchDeals(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "20") int limit) {
+        DealSearchResponse response = dealService.searchDeals(q, offset, limit);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    /**
+     * GET /api/deals/suggest?field=clientName|dealName&prefix= - Typeahead suggestions
+     * USER and ADMIN can access
+     * USER suggestions come from their own deals only
+     * Ranked by how many deals use each value; limit max 10
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<DealSuggestion>>> suggest(
+            @RequestParam String field,
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<DealSuggestion> suggestions = dealService.suggest(field, prefix, limit);
+        return ResponseEntity.ok(ApiResponse.success(suggestions));
+    }
+    
+    /**
+     * GET /api/deals/client-matches?clientName= - Existing clients similar to a client name
+     * USER sees only clients on their own deals, ADMIN sees all clients
+     * Matches on the normalized name (case, punctuation and legal suffixes ignored) and near-duplicates
+     */
+    @GetMapping("/client-matches")
+    public ResponseEntity<ApiResponse<List<ClientMatchCandidate>>> findClientMatches(@RequestParam String clientName) {
+        List<ClientMatchCandidate> matches = dealService.findClientMatches(clientName);
+        return ResponseEntity.ok(ApiResponse.success(matches));
+    }
+    
+    /**
+     * GET /api/deals/board - Kanban board: every stage with count, total value and the first cards
+     * USER and ADMIN can access; USER sees only their own deals and no totals
+     * Optional: sort (updatedAt, createdAt, expectedCloseDate, dealValue / baseCurrencyValue - ADMIN only), direction,
+     * perStage (default 20, max 100), filter (RSQL, as on GET /api/deals)
+     */
+    @GetMapping("/board")
+    public ResponseEntity<ApiResponse<DealBoardResponse>> getBoard(
+            @RequestParam(defaultValue = "updatedAt") String sort,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(defaultValue = "20") int perStage,
+            @RequestParam(required = false) String filter) {
+        return ResponseEntity.ok(ApiResponse.success(dealBoardService.getBoard(sort, direction, perStage, filter)));
+    }
+    
+    /**
+     * GET /api/deals/board/{stage}?cursor= - Load more cards for one board column
+     * Pass the column's nextCursor with the same sort, direction and filter as the board request
+     */
+    @GetMapping("/board/{stage}")
+    public ResponseEntity<ApiResponse<BoardColumn>> getBoardColumn(
+            @PathVariable DealStage stage,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "updatedAt") String sort,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String filter) {
+        return ResponseEntity.ok(ApiResponse.success(
+                dealBoardService.getColumn(stage, sort, direction, cursor, limit, filter)));
+    }
+    
+    /**
+     * GET /api/deals/timeline - Open deals by expected close date, per week or month, plus overdue ones
+     * USER and ADMIN can access; USER sees only their own deals and no values
+     * Optional: granularity (week or month, default week), horizon (buckets; default 12, max 52 weeks / 24 months),
+     * top (deals per bucket, default 5, max 20), filter (RSQL, as on GET /api/deals)
+     * Cacheable privately for 60 seconds
+     */
+    @GetMapping("/timeline")
+    public ResponseEntity<ApiResponse<TimelineResponse>> getTimeline(
+            @RequestParam(defaultValue = "week") String granularity,
+            @RequestParam(defaultValue = "12") int horizon,
+            @RequestParam(defaultValue = "5") int top,
+            @RequestParam(required = false) String filter) {
+        TimelineResponse response = dealTimelineService.getTimeline(granularity, horizon, top, filter);
+        return ResponseEntity.ok()
+                .cacheControl(TIMELINE_CACHE)
+                .body(ApiResponse.success(response));
+    }
+    
+    /**
+     * GET /api/deals/analytics/funnel - Stage conversion and win rates by creation cohort
+     * ADMIN only
+     * Optional: groupBy (comma-separated quarter, sector, dealType; default quarter),
+     * from / to (creation quarter, e.g. 2024-Q1), sector, dealType
+     */
+    @GetMapping("/analytics/funnel")
+    public ResponseEntity<ApiResponse<FunnelResponse>> getFunnel(
+            @RequestParam(defaultValue = "quarter") String groupBy,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String sector,
+            @RequestParam(required = false) String dealType) {
+        return ResponseEntity.ok(ApiResponse.success(dealAnalyticsService.getFunnel(groupBy, from, to, sector, dealType)));
+    }
+    
+    /**
+     * GET /api/deals/analytics/forecast - Probability-weighted pipeline value by expected close month
+     * ADMIN only
+     * Optional: groupBy (none, sector, banker), probabilities (per-stage overrides, e.g. TermSheetSubmitted:0.7,Prospect:0.05),
+     * from / to (close month yyyy-MM; default this month and the next 11), sector, assignedTo
+     */
+    @GetMapping("/analytics/forecast")
+    public ResponseEntity<ApiResponse<ForecastResponse>> getForecast(
+            @RequestParam(defaultValue = "none") String groupBy,
+            @RequestParam(required = false) String probabilities,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String sector,
+            @RequestParam(required = false) String assignedTo) {
+        return ResponseEntity.ok(ApiResponse.success(
+                dealAnalyticsService.getForecast(groupBy, probabilities, from, to, sector, assignedTo)));
+    }
+    
+    /**
+     * GET /api/deals/analytics/trend - Daily pipeline count and value from the daily snapshots
+     * ADMIN only
+     * Optional: groupBy (none, stage, sector, stage,sector; default stage),
+     * from / to (yyyy-MM-dd; default the 365 days up to today), stage, sector
+     */
+    @GetMapping("/analytics/trend")
+    public ResponseEntity<ApiResponse<PipelineTrendResponse>> getTrend(
+            @RequestParam(defaultValue = "stage") String groupBy,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String stage,
+            @RequestParam(required = false) String sector) {
+        return ResponseEntity.ok(ApiResponse.success(dealAnalyticsService.getTrend(groupBy, from, to, stage, sector)));
+    }
+    
+    /**
+     * GET /api/deals/analytics/leaderboard - Top bankers by closed value, open pipeline value or deal count
+     * ADMIN only
+     * Optional: metric (closedValue, pipelineValue, dealCount; default closedValue), limit (default 10)
+     */
+    @GetMapping("/analytics/leaderboard")
+    public ResponseEntity<ApiResponse<LeaderboardResponse>> getLeaderboard(
+            @RequestParam(defaultValue = "closedValue") String metric,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(dealAnalyticsService.getLeaderboard(metric, limit)));
+    }
+    
+    /**
+     * GET /api/deals/analytics/workload - A banker's deals by stage and their open and closed value
+     * USER: own workload, without values
+     * ADMIN: any banker's workload
+     * Optional: userId (default the current user)
+     */
+    @GetMapping("/analytics/workload")
+    public ResponseEntity<ApiResponse<WorkloadResponse>> getWorkload(
+            @RequestParam(required = false) String userId) {
+        return ResponseEntity.ok(ApiResponse.success(dealAnalyticsService.getWorkload(userId)));
+    }
+    
+    /**
+     * GET /api/deals/analytics/distinct-clients - Approximate distinct clients per sector, with error bounds
+     * ADMIN only
+     * Optional: sector
+     */
+    @GetMapping("/analytics/distinct-clients")
+    public ResponseEntity<ApiResponse<DistinctClientsResponse>> getDistinctClients(
+            @RequestParam(required = false) String sector) {
+        return ResponseEntity.ok(ApiResponse.success(dealAnalyticsService.getDistinctClients(sector)));
+    }
+    
+    /**
+     * GET /api/deals/analytics/quantiles - Approximate quantiles of deal size or days in stage, with error bounds
+     * ADMIN only
+     * Optional: metric (dealSize, daysInStage; default dealSize), dealType, stage (daysInStage only),
+     * q (comma-separated fractions; default 0.5,0.9)
+     */
+    @GetMapping("/analytics/quantiles")
+    public ResponseEntity<ApiResponse<QuantileResponse>> getQuantiles(
+            @RequestParam(defaultValue = "dealSize") String metric,
+            @RequestParam(required = false) String dealType,
+            @RequestParam(required = false) String stage,
+            @RequestParam(required = false) String q) {
+        return ResponseEntity.ok(ApiResponse.success(dealAnalyticsService.getQuantiles(metric, dealType, stage, q)));
+    }
+    
+    /**
+     * GET /api/deals/analytics/simulation - Monte Carlo distribution of the open-deal value closing in a quarter
+     * ADMIN only
+     * Optional: quarter (e.g. 2024-Q4; default the current quarter), trials (default 100000),
+     * probabilities (per-stage overrides, e.g. TermSheetSubmitted:0.7), slips (per-stage overrides as
+     * Stage:meanDays:deviationDays, e.g. Prospect:45:30), seed, bins (default 20), q (percentiles)
+     */
+    @GetMapping("/analytics/simulation")
+    public ResponseEntity<ApiResponse<SimulationResponse>> simulate(
+            @RequestParam(required = false) String quarter,
+            @RequestParam(defaultValue = "100000") int trials,
+            @RequestParam(required = false) String probabilities,
+            @RequestParam(required = false) String slips,
+            @RequestParam(required = false) Long seed,
+            @RequestParam(defaultValue = "20") int bins,
+            @RequestParam(required = false) String q) {
+        return ResponseEntity.ok(ApiResponse.success(
+                dealAnalyticsService.simulate(quarter, trials, probabilities, slips, seed, bins, q)));
+    }
+    
+    /**
+     * GET /api/deals/stale-alerts - Alerts for deals idle past their stage's threshold, newest first
+     * One alert per owner per scan
+     * USER sees alerts for their own deals; ADMIN sees all, optionally for one owner (assignedTo)
+     * Optional: limit (default 50, max 200)
+     */
+    @GetMapping("/stale-alerts")
+    public ResponseEntity<ApiResponse<List<StaleDealAlertResponse>>> getStaleAlerts(
+            @RequestParam(required = false) String assignedTo,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(staleDealService.getAlerts(assignedTo, limit)));
+    }
+    
     /**
      * GET /api/deals/{id} - Get deal details
      * USER and ADMIN can access
@@ -107,6 +393,57 @@ public class DealController {
         return ResponseEntity.ok(ApiResponse.success("Note added successfully", response));
     }
     
+    /**
+     * POST /api/deals/{id}/reminders - Add a follow-up reminder, delivered to your inbox at dueAt
+     * USER can add reminders to their own deals
+     * ADMIN can add reminders to any deal
+     */
+    @PostMapping("/{id}/reminders")
+    public ResponseEntity<ApiResponse<ReminderResponse>> createReminder(
+            @PathVariable String id,
+            @Valid @RequestBody ReminderRequest request) {
+        ReminderResponse response = reminderService.createReminder(id, request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Reminder created successfully", response));
+    }
+    
+    /**
+     * GET /api/deals/{id}/reminders - Reminders on a deal, soonest due first
+     * USER sees their own reminders; ADMIN sees everyone's
+     * Optional: pendingOnly (default false)
+     */
+    @GetMapping("/{id}/reminders")
+    public ResponseEntity<ApiResponse<List<ReminderResponse>>> getReminders(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "false") boolean pendingOnly) {
+        return ResponseEntity.ok(ApiResponse.success(reminderService.getReminders(id, pendingOnly)));
+    }
+    
+    /**
+     * DELETE /api/deals/{id}/reminders/{reminderId} - Cancel a pending reminder
+     * USER can cancel their own reminders; ADMIN can cancel any
+     */
+    @DeleteMapping("/{id}/reminders/{reminderId}")
+    public ResponseEntity<ApiResponse<ReminderResponse>> cancelReminder(
+            @PathVariable String id,
+            @PathVariable String reminderId) {
+        ReminderResponse response = reminderService.cancelReminder(id, reminderId);
+        return ResponseEntity.ok(ApiResponse.success("Reminder cancelled successfully", response));
+    }
+    
+    /**
+     * POST /api/deals/bulk-update - Bulk stage/assignment/tag update
+     * USER and ADMIN can update
+     * USER updates are limited to their own deals
+     * Selects deals by ids and/or stage, sector, dealType filters
+     */
+    @PostMapping("/bulk-update")
+    public ResponseEntity<ApiResponse<BulkUpdateResponse>> bulkUpdateDeals(
+            @Valid @RequestBody BulkUpdateDealsRequest request) {
+        BulkUpdateResponse response = dealService.bulkUpdateDeals(request);
+        return ResponseEntity.ok(ApiResponse.success("Deals updated successfully", response));
+    }
+    
     /**
      * DELETE /api/deals/{id} - Delete deal
      * ADMIN only
@@ -0,0 +1,47 @@
+package com.investmentbanking.dealpipeline.controller;
+
+import com.investmentbanking.dealpipeline.dto.ApiResponse;
+import com.investmentbanking.dealpipeline.dto.BulkFxRatesRequest;
+import com.investmentbanking.dealpipeline.dto.FxRateResponse;
+import com.investmentbanking.dealpipeline.dto.FxRateUploadResponse;
+import com.investmentbanking.dealpipeline.service.FxRateService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/fx-rates")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class FxRateController {
+    
+    private final FxRateService fxRateService;
+    
+    /**
+     * GET /api/admin/fx-rates - ADMIN only
+     * Latest rate of every currency, or ?currency=EUR for that currency's full history
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<FxRateResponse>>> getRates(
+            @RequestParam(required = false) String currency) {
+        return ResponseEntity.ok(ApiResponse.success(fxRateService.getRates(currency)));
+    }
+    
+    /**
+     * POST /api/admin/fx-rates - ADMIN only
+     * Upload up to 10000 rates (base currency units per unit, with an effective date)
+     * The rate table is reloaded and an FX_REVALUE job recomputes baseCurrencyValue on affected deals
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<FxRateUploadResponse>> uploadRates(
+            @Valid @RequestBody BulkFxRatesRequest request) {
+        FxRateUploadResponse response = fxRateService.uploadRates(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("FX rates uploaded", response));
+    }
+}
@@ -0,0 +1,46 @@
+package com.investmentbanking.dealpipeline.controller;
+
+import com.investmentbanking.dealpipeline.dto.ApiResponse;
+import com.investmentbanking.dealpipeline.dto.InboxMessageResponse;
+import com.investmentbanking.dealpipeline.dto.InboxResponse;
+import com.investmentbanking.dealpipeline.service.InboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/inbox")
+@RequiredArgsConstructor
+public class InboxController {
+    
+    private final InboxService inboxService;
+    
+    /**
+     * GET /api/inbox - The current user's messages, newest first, with the unread count
+     * USER and ADMIN can access (own messages only)
+     * Optional: unreadOnly, limit (default 50, max 200)
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<InboxResponse>> getInbox(
+            @RequestParam(defaultValue = "false") boolean unreadOnly,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(inboxService.getInbox(unreadOnly, limit)));
+    }
+    
+    /**
+     * POST /api/inbox/{id}/read - Mark one message read
+     */
+    @PostMapping("/{id}/read")
+    public ResponseEntity<ApiResponse<InboxMessageResponse>> markRead(@PathVariable String id) {
+        return ResponseEntity.ok(ApiResponse.success(inboxService.markRead(id)));
+    }
+    
+    /**
+     * POST /api/inbox/read-all - Mark every message read
+     * Returns the number of messages marked
+     */
+    @PostMapping("/read-all")
+    public ResponseEntity<ApiResponse<Long>> markAllRead() {
+        return ResponseEntity.ok(ApiResponse.success(inboxService.markAllRead()));
+    }
+}
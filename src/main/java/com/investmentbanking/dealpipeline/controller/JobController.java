@@ -0,0 +1,82 @@
+package com.investmentbanking.dealpipeline.controller;
+
+import com.investmentbanking.dealpipeline.dto.ApiResponse;
+import com.investmentbanking.dealpipeline.dto.CreateJobRequest;
+import com.investmentbanking.dealpipeline.dto.JobResponse;
+import com.investmentbanking.dealpipeline.job.JobArtifact;
+import com.investmentbanking.dealpipeline.service.JobService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/jobs")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class JobController {
+    
+    private final JobService jobService;
+    
+    /**
+     * POST /api/admin/jobs - ADMIN only
+     * Queue a background job
+     * Body: { "type": "...", "params": { ... } }
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<JobResponse>> submitJob(@Valid @RequestBody CreateJobRequest request) {
+        JobResponse job = jobService.submitJob(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Job queued successfully", job));
+    }
+    
+    /**
+     * GET /api/admin/jobs - ADMIN only
+     * Most recent 50 jobs, optionally of one type
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<JobResponse>>> getRecentJobs(@RequestParam(required = false) String type) {
+        return ResponseEntity.ok(ApiResponse.success(jobService.getRecentJobs(type)));
+    }
+    
+    /**
+     * GET /api/admin/jobs/types - ADMIN only
+     * Job types registered on this server
+     */
+    @GetMapping("/types")
+    public ResponseEntity<ApiResponse<List<String>>> getSupportedTypes() {
+        return ResponseEntity.ok(ApiResponse.success(jobService.getSupportedTypes()));
+    }
+    
+    /**
+     * GET /api/admin/jobs/{id} - ADMIN only
+     * Job status and progress
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<JobResponse>> getJob(@PathVariable String id) {
+        return ResponseEntity.ok(ApiResponse.success(jobService.getJob(id)));
+    }
+    
+    /**
+     * GET /api/admin/jobs/{id}/artifact - ADMIN only
+     * Download the file produced by a SUCCEEDED job
+     */
+    @GetMapping("/{id}/artifact")
+    public ResponseEntity<InputStreamResource> downloadArtifact(@PathVariable String id) {
+        JobArtifact artifact = jobService.openArtifact(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(artifact.getContentType()))
+                .contentLength(artifact.getLength())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(artifact.getFilename()).build().toString())
+                .body(new InputStreamResource(artifact.getInputStream()));
+    }
+}
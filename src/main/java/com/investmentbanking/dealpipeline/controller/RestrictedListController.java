@@ -0,0 +1,68 @@
+package com.investmentbanking.dealpipeline.controller;
+
+import com.investmentbanking.dealpipeline.dto.ApiResponse;
+import com.investmentbanking.dealpipeline.dto.BulkRestrictedEntitiesRequest;
+import com.investmentbanking.dealpipeline.dto.RestrictedEntityRequest;
+import com.investmentbanking.dealpipeline.dto.RestrictedEntityResponse;
+import com.investmentbanking.dealpipeline.dto.RestrictedListUpdateResponse;
+import com.investmentbanking.dealpipeline.service.RestrictedListService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/restricted-list")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class RestrictedListController {
+    
+    private final RestrictedListService restrictedListService;
+    
+    /**
+     * GET /api/admin/restricted-list - ADMIN only
+     * All restricted and watch list entities, by name
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<RestrictedEntityResponse>>> getAll() {
+        return ResponseEntity.ok(ApiResponse.success(restrictedListService.getAll()));
+    }
+    
+    /**
+     * POST /api/admin/restricted-list - ADMIN only
+     * Add one entity; the screener is recompiled and a RESTRICTED_RESCREEN job is queued
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<RestrictedListUpdateResponse>> addEntity(
+            @Valid @RequestBody RestrictedEntityRequest request) {
+        RestrictedListUpdateResponse response = restrictedListService.addEntity(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Restricted list updated", response));
+    }
+    
+    /**
+     * POST /api/admin/restricted-list/bulk - ADMIN only
+     * Add up to 10000 entities with a single recompile and rescreen
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<RestrictedListUpdateResponse>> addEntities(
+            @Valid @RequestBody BulkRestrictedEntitiesRequest request) {
+        RestrictedListUpdateResponse response = restrictedListService.addEntities(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Restricted list updated", response));
+    }
+    
+    /**
+     * DELETE /api/admin/restricted-list/{id} - ADMIN only
+     * Remove an entity; the screener is recompiled and a RESTRICTED_RESCREEN job is queued
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<RestrictedListUpdateResponse>> removeEntity(@PathVariable String id) {
+        RestrictedListUpdateResponse response = restrictedListService.removeEntity(id);
+        return ResponseEntity.ok(ApiResponse.success("Restricted list updated", response));
+    }
+}
@@ -0,0 +1,54 @@
+package com.investmentbanking.dealpipeline.controller;
+
+import com.investmentbanking.dealpipeline.dto.ApiResponse;
+import com.investmentbanking.dealpipeline.dto.SavedSearchRequest;
+import com.investmentbanking.dealpipeline.dto.SavedSearchResponse;
+import com.investmentbanking.dealpipeline.service.SavedSearchService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/saved-searches")
+@RequiredArgsConstructor
+public class SavedSearchController {
+    
+    private final SavedSearchService savedSearchService;
+    
+    /**
+     * GET /api/saved-searches - The current user's saved searches
+     * USER and ADMIN can access
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<SavedSearchResponse>>> getMySavedSearches() {
+        return ResponseEntity.ok(ApiResponse.success(savedSearchService.getMySavedSearches()));
+    }
+    
+    /**
+     * POST /api/saved-searches - Save a search and get inbox messages when deals start matching it
+     * USER and ADMIN can create (max 50 each)
+     * Body: { "name": "TMT IPOs over $1B", "filter": "sector==TMT;dealType==IPO;dealValue>1B" }
+     * USER searches only match their own deals and cannot use dealValue
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<SavedSearchResponse>> createSavedSearch(
+            @Valid @RequestBody SavedSearchRequest request) {
+        SavedSearchResponse response = savedSearchService.create(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Saved search created", response));
+    }
+    
+    /**
+     * DELETE /api/saved-searches/{id} - Delete a saved search
+     * USER can delete their own; ADMIN can delete any
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Object>> deleteSavedSearch(@PathVariable String id) {
+        savedSearchService.delete(id);
+        return ResponseEntity.ok(ApiResponse.success("Saved search deleted", null));
+    }
+}
@@ -0,0 +1,23 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchDealResult {
+    
+    public enum Status {
+        FOUND,
+        NOT_FOUND,
+        FORBIDDEN
+    }
+    
+    private String id;
+    private Status status;
+    private DealResponse deal; // null unless status is FOUND
+}
@@ -0,0 +1,19 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetDealsRequest {
+    
+    @NotEmpty(message = "At least one deal id is required")
+    @Size(max = 500, message = "At most 500 deals can be fetched at once")
+    private List<String> ids;
+}
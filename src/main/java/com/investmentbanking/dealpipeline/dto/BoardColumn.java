@@ -0,0 +1,22 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import com.investmentbanking.dealpipeline.model.DealStage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BoardColumn {
+    private DealStage stage;
+    private Long count; // all deals in the column, not just the cards returned; null when loading more
+    private BigDecimal totalValue; // ADMIN only - sum of baseCurrencyValue in the column
+    private List<DealCard> cards;
+    private String nextCursor; // pass to GET /api/deals/board/{stage} for more cards; null when there are no more
+}
@@ -0,0 +1,20 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkFxRatesRequest {
+    
+    @NotEmpty(message = "At least one rate is required")
+    @Size(max = 10000, message = "At most 10000 rates can be uploaded at once")
+    private List<@Valid FxRateRequest> rates;
+}
@@ -0,0 +1,20 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRestrictedEntitiesRequest {
+    
+    @NotEmpty(message = "At least one entity is required")
+    @Size(max = 10000, message = "At most 10000 entities can be added at once")
+    private List<@Valid RestrictedEntityRequest> entities;
+}
@@ -0,0 +1,51 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.validation.ValidDealStage;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateDealsRequest {
+    
+    public enum Operation {
+        SET_STAGE,
+        REASSIGN,
+        ADD_TAGS,
+        REMOVE_TAGS,
+        RENAME_TAG
+    }
+    
+    // Target selection - ids and/or the same filters as GET /api/deals
+    @Size(max = 1000, message = "At most 1000 deal ids can be updated at once")
+    private List<String> ids;
+    
+    @ValidDealStage
+    private DealStage stage;
+    
+    private String sector;
+    
+    private String dealType;
+    
+    @NotNull(message = "Operation is required")
+    private Operation operation;
+    
+    // Operation arguments
+    @ValidDealStage
+    private DealStage targetStage; // SET_STAGE
+    
+    private String assignedTo; // REASSIGN - User ID
+    
+    private List<String> tags; // ADD_TAGS, REMOVE_TAGS
+    
+    private String fromTag; // RENAME_TAG
+    
+    private String toTag; // RENAME_TAG
+}
@@ -0,0 +1,16 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkUpdateResponse {
+    private BulkUpdateDealsRequest.Operation operation;
+    private long matchedCount;
+    private long modifiedCount;
+}
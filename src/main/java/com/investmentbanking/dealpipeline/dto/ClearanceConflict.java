@@ -0,0 +1,34 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import com.investmentbanking.dealpipeline.model.DealStage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An active deal on another desk that involves the same party
+ * Deal name and value are left out - the owner is who to contact
+ * USER gets one summary per relationship instead, with only relationship and dealCount set
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClearanceConflict {
+    
+    public enum Relationship {
+        SAME_CLIENT,
+        CLIENT_IS_COUNTERPARTY, // this deal's client is the counterparty on the other deal
+        COUNTERPARTY_IS_CLIENT, // this deal's counterparty is the client on the other deal
+        SAME_COUNTERPARTY
+    }
+    
+    private String dealId;
+    private DealStage currentStage;
+    private String sector;
+    private String assignedToUsername;
+    private String party; // normalized name that matched
+    private Relationship relationship;
+    private Integer dealCount; // USER summary only - number of conflicting deals with this relationship
+}
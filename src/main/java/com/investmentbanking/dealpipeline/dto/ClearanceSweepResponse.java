@@ -0,0 +1,19 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClearanceSweepResponse {
+    private long activeDeals;
+    private int conflictedDeals;
+    private long tookMs;
+    private List<ClearanceSweepResult> results; // conflicted deals only
+}
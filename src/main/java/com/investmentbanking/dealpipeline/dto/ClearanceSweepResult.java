@@ -0,0 +1,21 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClearanceSweepResult {
+    private String dealId;
+    private String dealName;
+    private String clientName;
+    private String counterparty;
+    private String sector;
+    private List<ClearanceConflict> conflicts;
+}
@@ -0,0 +1,17 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClientMatchCandidate {
+    private String clientName; // most used spelling
+    private String normalizedName;
+    private double similarity; // Jaccard over character shingles of the normalized names, 1.0 = same client key
+    private int dealCount;
+}
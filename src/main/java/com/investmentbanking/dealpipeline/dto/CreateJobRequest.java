@@ -0,0 +1,20 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateJobRequest {
+    
+    @NotBlank(message = "Job type is required")
+    private String type;
+    
+    private Map<String, String> params = new HashMap<>();
+}
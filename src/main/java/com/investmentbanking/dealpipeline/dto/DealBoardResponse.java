@@ -0,0 +1,19 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DealBoardResponse {
+    private String sort;
+    private String direction;
+    private String baseCurrency; // currency of the column totals
+    private List<BoardColumn> columns; // one per DealStage, in pipeline order
+}
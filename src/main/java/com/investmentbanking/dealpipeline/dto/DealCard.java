@@ -0,0 +1,34 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import com.investmentbanking.dealpipeline.model.DealStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Lightweight projection of a deal for a board card
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DealCard {
+    private String id;
+    private String dealName;
+    private String clientName;
+    private String dealType;
+    private String sector;
+    private DealStatus status;
+    private BigDecimal dealValue; // ADMIN only
+    private String currency;
+    private BigDecimal baseCurrencyValue; // ADMIN only
+    private String assignedToUsername;
+    private List<String> tags;
+    private LocalDateTime expectedCloseDate;
+    private LocalDateTime updatedAt;
+}
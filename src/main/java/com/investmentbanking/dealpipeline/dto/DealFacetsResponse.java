@@ -0,0 +1,21 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DealFacetsResponse {
+    private long total; // deals matching the filters
+    private int offset;
+    private int limit;
+    private List<DealResponse> deals; // newest first
+    private Map<String, List<FacetCount>> facets; // currentStage, sector, dealType, status, tags - highest count first
+}
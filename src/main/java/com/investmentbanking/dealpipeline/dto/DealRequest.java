@@ -30,6 +30,8 @@ public class DealRequest {
     @NotBlank(message = "Client name is required")
     private String clientName;
     
+    private String counterparty;
+    
     @Positive(message = "Deal value must be positive")
     private BigDecimal dealValue; // Optional - USER cannot set, ADMIN only
     
@@ -3,6 +3,8 @@ package com.investmentbanking.dealpipeline.dto;
 import com.investmentbanking.dealpipeline.model.DealStage;
 import com.investmentbanking.dealpipeline.model.DealStatus;
 import com.investmentbanking.dealpipeline.model.Note;
+import com.investmentbanking.dealpipeline.model.ScreeningHit;
+import com.investmentbanking.dealpipeline.model.StageTransition;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,6 +13,7 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -22,9 +25,14 @@ public class DealResponse {
     private String dealType;
     private DealStatus status;
     private DealStage currentStage;
+    private LocalDateTime stageEnteredAt;
+    private Map<DealStage, Long> stageDurationSeconds;
+    private List<StageTransition> stageHistory;
     private String clientName;
+    private String counterparty;
     private BigDecimal dealValue; // ADMIN only - sensitive
     private String currency;
+    private BigDecimal baseCurrencyValue; // ADMIN only - dealValue converted to the base currency
     private String description;
     private String summary;
     private String sector;
@@ -38,4 +46,7 @@ public class DealResponse {
     private LocalDateTime actualCloseDate;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private List<ScreeningHit> screeningHits; // ADMIN only - restricted / watch list matches
+    private List<ClientMatchCandidate> clientMatches; // create only - existing clients similar to clientName
+    private List<ClearanceConflict> clearanceConflicts; // create only - active deals on other desks with the same client or counterparty
 }
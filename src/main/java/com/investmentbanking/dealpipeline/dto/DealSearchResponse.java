@@ -0,0 +1,20 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DealSearchResponse {
+    private String query;
+    private long totalHits;
+    private int offset;
+    private long tookMs;
+    private List<DealSearchResult> results;
+}
@@ -0,0 +1,18 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DealSearchResult {
+    private float score;
+    private Map<String, String> highlights; // field -> snippet with <em> around matched terms
+    private DealResponse deal;
+}
@@ -0,0 +1,20 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DistinctClientsResponse {
+    private double relativeStandardError; // of every estimate; bounds are +/- 2 standard errors (about 95%)
+    private LocalDateTime asOf; // last merge of every replica's sketches
+    private DistinctEstimate total; // every sector
+    private List<DistinctEstimate> sectors; // largest first; only the requested sector when one was given
+}
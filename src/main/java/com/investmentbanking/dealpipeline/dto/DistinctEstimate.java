@@ -0,0 +1,17 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DistinctEstimate {
+    private String sector; // null on the total
+    private long estimate;
+    private long lowerBound;
+    private long upperBound;
+}
@@ -0,0 +1,25 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import com.investmentbanking.dealpipeline.model.DealStage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ForecastResponse {
+    private String from;
+    private String to;
+    private String groupBy; // none, sector or banker
+    private String baseCurrency; // currency of every value in the forecast
+    private Map<DealStage, Double> probabilities; // the win probabilities applied, after overrides
+    private List<ForecastRow> rows; // by month, then group; only when grouped
+    private List<ForecastRow> months; // one total per close month in range, empty months included
+    private ForecastRow total;
+}
@@ -0,0 +1,25 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import com.investmentbanking.dealpipeline.model.DealStage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ForecastRow {
+    private String month; // 2024-09; null on the overall total
+    private String sector; // groupBy=sector only
+    private String assignedTo; // groupBy=banker only
+    private String assignedToUsername;
+    private long dealCount;
+    private BigDecimal pipelineValue; // unweighted sum of baseCurrencyValue
+    private BigDecimal expectedValue; // sum of baseCurrencyValue x stage probability
+    private Map<DealStage, BigDecimal> expectedByStage;
+}
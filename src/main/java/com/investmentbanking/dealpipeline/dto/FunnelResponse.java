@@ -0,0 +1,18 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FunnelResponse {
+    private List<String> groupBy;
+    private List<FunnelRow> rows; // ordered by quarter, sector, dealType
+    private FunnelRow total; // all cohorts matching the filters
+}
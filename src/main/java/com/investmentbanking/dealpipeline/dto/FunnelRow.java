@@ -0,0 +1,26 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FunnelRow {
+    private String quarter; // null unless grouped by quarter
+    private String sector; // null unless grouped by sector
+    private String dealType; // null unless grouped by dealType
+    private long deals;
+    private long open;
+    private long won;
+    private long lost;
+    private Double winRate; // won / (won + lost); null until a deal is decided
+    private List<FunnelStageCount> stages; // Prospect, UnderEvaluation, TermSheetSubmitted, Closed
+    private Map<String, Long> moves; // recorded transitions, keyed "From>To"
+}
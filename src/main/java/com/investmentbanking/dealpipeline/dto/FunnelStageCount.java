@@ -0,0 +1,17 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import com.investmentbanking.dealpipeline.model.DealStage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FunnelStageCount {
+    private DealStage stage;
+    private long reached; // deals that reached this stage or went past it
+    private Double conversionRate; // reached / reached at the previous stage; null for the first stage or no deals
+}
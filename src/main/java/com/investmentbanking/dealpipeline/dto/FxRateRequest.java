@@ -0,0 +1,29 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FxRateRequest {
+    
+    @NotBlank(message = "Currency is required")
+    private String currency; // ISO 4217 code, e.g. EUR
+    
+    @NotNull(message = "Rate is required")
+    @Positive(message = "Rate must be positive")
+    private BigDecimal rate; // base currency units per one unit of currency
+    
+    @NotNull(message = "Effective date is required")
+    @PastOrPresent(message = "Effective date cannot be in the future")
+    private LocalDate effectiveDate;
+}
@@ -0,0 +1,22 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FxRateResponse {
+    private String currency;
+    private BigDecimal rate;
+    private LocalDate effectiveDate;
+    private String createdByUsername;
+    private LocalDateTime createdAt;
+}
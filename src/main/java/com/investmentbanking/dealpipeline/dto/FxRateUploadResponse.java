@@ -0,0 +1,19 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FxRateUploadResponse {
+    private String baseCurrency;
+    private int uploaded; // new or replaced (currency, effectiveDate) rates
+    private List<String> currencies;
+    private String revalueJobId; // FX_REVALUE job queued to recompute baseCurrencyValue
+}
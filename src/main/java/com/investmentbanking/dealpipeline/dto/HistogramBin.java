@@ -0,0 +1,18 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HistogramBin {
+    private BigDecimal from; // inclusive
+    private BigDecimal to; // exclusive, except on the last bin
+    private int trials;
+}
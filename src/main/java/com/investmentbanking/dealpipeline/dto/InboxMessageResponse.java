@@ -0,0 +1,26 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import com.investmentbanking.dealpipeline.model.InboxMessageType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InboxMessageResponse {
+    private String id;
+    private InboxMessageType type;
+    private String title;
+    private String dealId;
+    private String dealName;
+    private String savedSearchId;
+    private String staleAlertId;
+    private String reminderId;
+    private boolean read;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,32 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import com.investmentbanking.dealpipeline.model.JobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobResponse {
+    private String id;
+    private String type;
+    private JobStatus status;
+    private Map<String, String> params;
+    private long processed;
+    private Long total;
+    private Double percentComplete; // null when total is unknown
+    private int attempts;
+    private String error;
+    private String artifactName;
+    private boolean artifactAvailable;
+    private String createdByUsername;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
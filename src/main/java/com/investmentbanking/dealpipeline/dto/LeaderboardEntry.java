@@ -0,0 +1,21 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaderboardEntry {
+    private int rank; // 1 for the best
+    private String userId;
+    private String username;
+    private BigDecimal closedValue; // sum of baseCurrencyValue of Closed deals
+    private BigDecimal pipelineValue; // sum of baseCurrencyValue of open deals
+    private long dealCount; // every deal, any stage
+}
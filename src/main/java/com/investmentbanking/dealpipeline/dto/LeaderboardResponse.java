@@ -0,0 +1,20 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaderboardResponse {
+    private String metric; // closedValue, pipelineValue or dealCount
+    private String baseCurrency; // currency of every value in the leaderboard
+    private LocalDateTime reconciledAt; // last full reconcile against the deals collection
+    private List<LeaderboardEntry> entries; // best first
+}
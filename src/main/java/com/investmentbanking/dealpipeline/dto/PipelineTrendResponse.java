@@ -0,0 +1,21 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PipelineTrendResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private String groupBy; // none, stage, sector or stage,sector
+    private String baseCurrency; // currency of every value in the trend
+    private List<TrendPoint> points; // one per day with a snapshot, oldest first
+}
@@ -0,0 +1,17 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuantileEstimate {
+    private double quantile; // 0.9 for p90
+    private double value;
+    private double lowerBound; // estimate at quantile - rankError
+    private double upperBound; // estimate at quantile + rankError
+}
@@ -0,0 +1,26 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuantileResponse {
+    private String metric; // dealSize or daysInStage
+    private String dealType; // null for every type
+    private String stage; // daysInStage only; null for every stage
+    private String unit; // the base currency for dealSize, days for daysInStage
+    private long count; // values sketched
+    private Double min; // exact
+    private Double max; // exact
+    private double rankError; // each value's rank is within this fraction of count (99% confidence)
+    private LocalDateTime asOf; // last merge of every replica's sketches
+    private List<QuantileEstimate> quantiles;
+}
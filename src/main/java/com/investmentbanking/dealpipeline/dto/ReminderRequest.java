@@ -0,0 +1,25 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderRequest {
+    
+    @NotNull(message = "Due time is required")
+    @Future(message = "Due time must be in the future")
+    private LocalDateTime dueAt; // e.g. 2024-10-04T09:00:00, server local time
+    
+    @NotBlank(message = "Note is required")
+    @Size(max = 500, message = "Note must not exceed 500 characters")
+    private String note;
+}
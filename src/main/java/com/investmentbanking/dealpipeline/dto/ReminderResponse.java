@@ -0,0 +1,26 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import com.investmentbanking.dealpipeline.model.ReminderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReminderResponse {
+    private String id;
+    private String dealId;
+    private String dealName;
+    private String userId;
+    private String username;
+    private String note;
+    private LocalDateTime dueAt;
+    private ReminderStatus status;
+    private LocalDateTime firedAt;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,26 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import com.investmentbanking.dealpipeline.model.RestrictedListType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestrictedEntityRequest {
+    
+    @NotBlank(message = "Entity name is required")
+    private String name;
+    
+    @NotNull(message = "List type is required (RESTRICTED or WATCH)")
+    private RestrictedListType listType;
+    
+    private List<String> aliases;
+    
+    private String reason;
+}
@@ -0,0 +1,25 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import com.investmentbanking.dealpipeline.model.RestrictedListType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RestrictedEntityResponse {
+    private String id;
+    private String name;
+    private String normalizedName;
+    private List<String> aliases;
+    private RestrictedListType listType;
+    private String reason;
+    private String createdByUsername;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,17 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RestrictedListUpdateResponse {
+    private int added;
+    private int removed;
+    private int skippedDuplicates;
+    private String rescreenJobId; // RESTRICTED_RESCREEN job queued for the change
+}
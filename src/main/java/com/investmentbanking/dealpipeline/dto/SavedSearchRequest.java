@@ -0,0 +1,20 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedSearchRequest {
+    
+    @NotBlank(message = "Name is required")
+    @Size(max = 100, message = "Name must not be longer than 100 characters")
+    private String name;
+    
+    @NotBlank(message = "Filter is required")
+    private String filter; // RSQL, e.g. sector==TMT;dealType==IPO;dealValue>1B
+}
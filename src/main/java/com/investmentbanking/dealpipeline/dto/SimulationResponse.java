@@ -0,0 +1,33 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import com.investmentbanking.dealpipeline.model.DealStage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimulationResponse {
+    private String quarter;
+    private LocalDate from;
+    private LocalDate to;
+    private String baseCurrency; // currency of every value in the simulation
+    private int trials;
+    private long seed; // pass it back to reproduce the run
+    private int deals; // open deals simulated
+    private int skippedDeals; // open deals without a value or an expected close date
+    private Map<DealStage, Double> probabilities; // win probabilities applied, after overrides
+    private Map<DealStage, SimulationSlip> slips; // slip distributions applied, after overrides
+    private BigDecimal mean;
+    private BigDecimal standardDeviation;
+    private List<SimulationPercentile> percentiles;
+    private List<HistogramBin> histogram; // equal-width bins from the smallest to the largest outcome
+}
@@ -0,0 +1,15 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimulationSlip {
+    private double meanDays; // days a won deal closes after its expected close date, on average
+    private double deviationDays; // standard deviation of the slip
+}
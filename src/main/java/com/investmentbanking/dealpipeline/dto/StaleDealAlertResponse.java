@@ -0,0 +1,24 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import com.investmentbanking.dealpipeline.model.StaleDeal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StaleDealAlertResponse {
+    private String id;
+    private String scanId;
+    private String assignedTo;
+    private String assignedToUsername;
+    private int dealCount; // every stale deal found; deals lists at most the 100 longest idle
+    private List<StaleDeal> deals;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,25 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import com.investmentbanking.dealpipeline.model.DealStage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StaleDealScanResponse {
+    private String id;
+    private String runBy; // replica that ran the scan
+    private Map<DealStage, Integer> thresholdDays;
+    private long staleDeals;
+    private int alerts;
+    private int pages;
+    private long durationMs;
+    private LocalDateTime startedAt;
+}
@@ -0,0 +1,22 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimelineBucket {
+    private LocalDate start; // null for the overdue bucket
+    private LocalDate end; // exclusive; null for the overdue bucket
+    private long count;
+    private BigDecimal totalValue; // ADMIN only - sum of baseCurrencyValue
+    private List<TimelineDeal> deals; // ADMIN: largest baseCurrencyValue first; USER: soonest expectedCloseDate first
+}
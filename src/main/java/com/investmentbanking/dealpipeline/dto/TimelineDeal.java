@@ -0,0 +1,27 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import com.investmentbanking.dealpipeline.model.DealStage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Compact projection of a deal for a close-date timeline bucket
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimelineDeal {
+    private String id;
+    private String dealName;
+    private String clientName;
+    private DealStage currentStage;
+    private String assignedToUsername;
+    private LocalDateTime expectedCloseDate;
+    private BigDecimal baseCurrencyValue; // ADMIN only
+}
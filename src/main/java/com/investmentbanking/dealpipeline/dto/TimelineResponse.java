@@ -0,0 +1,21 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimelineResponse {
+    private String granularity; // week (Monday to Sunday) or month
+    private String baseCurrency; // currency of totalValue and baseCurrencyValue
+    private LocalDateTime asOf; // deals expected to close before this are overdue
+    private TimelineBucket overdue; // open deals whose expectedCloseDate has passed
+    private List<TimelineBucket> buckets; // the first bucket starts at asOf, not at its calendar start
+}
@@ -0,0 +1,23 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import com.investmentbanking.dealpipeline.model.SnapshotSource;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrendPoint {
+    private LocalDate date;
+    private SnapshotSource source; // LIVE, or BACKFILL when reconstructed from stage history
+    private long count;
+    private BigDecimal value;
+    private List<TrendRow> rows; // only when grouped
+}
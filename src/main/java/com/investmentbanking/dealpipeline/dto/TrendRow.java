@@ -0,0 +1,20 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import com.investmentbanking.dealpipeline.model.DealStage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrendRow {
+    private DealStage stage; // groupBy stage only
+    private String sector; // groupBy sector only
+    private long count;
+    private BigDecimal value;
+}
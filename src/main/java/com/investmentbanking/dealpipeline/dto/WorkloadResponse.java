@@ -0,0 +1,26 @@
+package com.investmentbanking.dealpipeline.dto;
+
+import com.investmentbanking.dealpipeline.model.DealStage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WorkloadResponse {
+    private String userId;
+    private String username;
+    private Map<DealStage, Long> dealsByStage; // stages without deals are left out
+    private long openDeals;
+    private long closedDeals;
+    private long totalDeals;
+    private String baseCurrency;
+    private BigDecimal pipelineValue; // ADMIN ONLY - open deals
+    private BigDecimal closedValue; // ADMIN ONLY
+}
@@ -0,0 +1,48 @@
+package com.investmentbanking.dealpipeline.event;
+
+import com.investmentbanking.dealpipeline.model.Deal;
+import lombok.Getter;
+
+/**
+ * Published by DealService after every deal write.
+ * Listeners run synchronously on the writing thread, so they must be fast and must not throw.
+ */
+@Getter
+public class DealChangedEvent {
+    
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+    
+    private final Type type;
+    private final Deal previous; // null for CREATED
+    private final Deal current; // null for DELETED
+    
+    private DealChangedEvent(Type type, Deal previous, Deal current) {
+        this.type = type;
+        this.previous = previous;
+        this.current = current;
+    }
+    
+    public static DealChangedEvent created(Deal deal) {
+        return new DealChangedEvent(Type.CREATED, null, deal);
+    }
+    
+    public static DealChangedEvent updated(Deal previous, Deal current) {
+        return new DealChangedEvent(Type.UPDATED, previous, current);
+    }
+    
+    public static DealChangedEvent deleted(Deal deal) {
+        return new DealChangedEvent(Type.DELETED, deal, null);
+    }
+    
+    public String getDealId() {
+        return current != null ? current.getId() : previous.getId();
+    }
+    
+    public boolean isStageChanged() {
+        return type == Type.UPDATED && previous.getCurrentStage() != current.getCurrentStage();
+    }
+}
@@ -0,0 +1,209 @@
+package com.investmentbanking.dealpipeline.export;
+
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.model.DealStatus;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMilliVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes deals as an Arrow IPC stream of record batches.
+ * Low-cardinality columns (dealType, status, currentStage, sector, currency) are dictionary-encoded;
+ * their dictionaries are sent once up front, so the distinct values must be known before the first row.
+ * Only one batch of rows is held in memory at a time.
+ */
+public class DealArrowWriter extends DealExportWriter {
+    
+    public static final String CONTENT_TYPE = "application/vnd.apache.arrow.stream";
+    
+    private static final int DECIMAL_PRECISION = 38;
+    private static final int DECIMAL_SCALE = 2;
+    private static final ArrowType.Int INDEX_TYPE = new ArrowType.Int(32, true);
+    private static final ArrowType.Timestamp TIMESTAMP_TYPE = new ArrowType.Timestamp(TimeUnit.MILLISECOND, null);
+    
+    private final BufferAllocator allocator;
+    private final DictionaryProvider.MapDictionaryProvider dictionaries = new DictionaryProvider.MapDictionaryProvider();
+    private final Map<String, Map<String, Integer>> dictionaryIndexes = new HashMap<>();
+    private final VectorSchemaRoot root;
+    private final ArrowStreamWriter writer;
+    private final int batchSize;
+    private int rowsInBatch;
+    
+    public DealArrowWriter(OutputStream out, List<String> dealTypes, List<String> sectors, List<String> currencies,
+                           int batchSize) {
+        this.allocator = new RootAllocator();
+        this.batchSize = batchSize;
+        
+        List<Field> fields = new ArrayList<>();
+        fields.add(utf8("id"));
+        fields.add(utf8("dealName"));
+        fields.add(dictionaryField("dealType", 1, dealTypes));
+        fields.add(dictionaryField("status", 2, Arrays.stream(DealStatus.values()).map(Enum::name).toList()));
+        fields.add(dictionaryField("currentStage", 3, Arrays.stream(DealStage.values()).map(Enum::name).toList()));
+        fields.add(utf8("clientName"));
+        fields.add(dictionaryField("sector", 4, sectors));
+        fields.add(dictionaryField("currency", 5, currencies));
+        fields.add(Field.nullable("dealValue", new ArrowType.Decimal(DECIMAL_PRECISION, DECIMAL_SCALE, 128)));
+        fields.add(utf8("assignedToUsername"));
+        fields.add(Field.nullable("expectedCloseDate", TIMESTAMP_TYPE));
+        fields.add(Field.nullable("actualCloseDate", TIMESTAMP_TYPE));
+        fields.add(Field.nullable("createdAt", TIMESTAMP_TYPE));
+        fields.add(Field.nullable("updatedAt", TIMESTAMP_TYPE));
+        
+        this.root = VectorSchemaRoot.create(new Schema(fields), allocator);
+        this.root.allocateNew();
+        this.writer = new ArrowStreamWriter(root, dictionaries, Channels.newChannel(out));
+    }
+    
+    @Override
+    public void writeHeader() throws IOException {
+        writer.start(); // schema + dictionary batches
+    }
+    
+    @Override
+    public void writeRow(Deal deal) throws IOException {
+        int row = rowsInBatch;
+        setString("id", row, deal.getId());
+        setString("dealName", row, deal.getDealName());
+        setIndex("dealType", row, deal.getDealType());
+        setIndex("status", row, deal.getStatus() != null ? deal.getStatus().name() : null);
+        setIndex("currentStage", row, deal.getCurrentStage() != null ? deal.getCurrentStage().name() : null);
+        setString("clientName", row, deal.getClientName());
+        setIndex("sector", row, deal.getSector());
+        setIndex("currency", row, deal.getCurrency());
+        setDecimal("dealValue", row, deal.getDealValue());
+        setString("assignedToUsername", row, deal.getAssignedToUsername());
+        setTimestamp("expectedCloseDate", row, deal.getExpectedCloseDate());
+        setTimestamp("actualCloseDate", row, deal.getActualCloseDate());
+        setTimestamp("createdAt", row, deal.getCreatedAt());
+        setTimestamp("updatedAt", row, deal.getUpdatedAt());
+        
+        rowsInBatch++;
+        if (rowsInBatch == batchSize) {
+            writeBatch();
+        }
+    }
+    
+    @Override
+    public void flush() throws IOException {
+        if (rowsInBatch > 0) {
+            writeBatch();
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            writer.end();
+            writer.close();
+        } finally {
+            root.close();
+            for (long id : dictionaries.getDictionaryIds()) {
+                dictionaries.lookup(id).getVector().close();
+            }
+            allocator.close();
+        }
+    }
+    
+    private void writeBatch() throws IOException {
+        root.setRowCount(rowsInBatch);
+        writer.writeBatch();
+        // Reuse the same buffers for the next batch
+        for (FieldVector vector : root.getFieldVectors()) {
+            vector.reset();
+        }
+        rowsInBatch = 0;
+    }
+    
+    private Field utf8(String name) {
+        return Field.nullable(name, ArrowType.Utf8.INSTANCE);
+    }
+    
+    private Field dictionaryField(String name, long id, List<String> values) {
+        DictionaryEncoding encoding = new DictionaryEncoding(id, false, INDEX_TYPE);
+        
+        VarCharVector dictionaryVector = new VarCharVector(name + "_dictionary", allocator);
+        dictionaryVector.allocateNew(values.size());
+        Map<String, Integer> indexes = new HashMap<>();
+        for (String value : values) {
+            if (value != null && !indexes.containsKey(value)) {
+                int index = indexes.size();
+                dictionaryVector.setSafe(index, value.getBytes(StandardCharsets.UTF_8));
+                indexes.put(value, index);
+            }
+        }
+        dictionaryVector.setValueCount(indexes.size());
+        dictionaries.put(new Dictionary(dictionaryVector, encoding));
+        dictionaryIndexes.put(name, indexes);
+        
+        return new Field(name, new FieldType(true, INDEX_TYPE, encoding), null);
+    }
+    
+    private void setString(String column, int row, String value) {
+        VarCharVector vector = (VarCharVector) root.getVector(column);
+        if (value == null) {
+            vector.setNull(row);
+        } else {
+            vector.setSafe(row, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+    
+    private void setIndex(String column, int row, String value) {
+        IntVector vector = (IntVector) root.getVector(column);
+        // Values created after the dictionaries were collected are written as null
+        Integer index = value != null ? dictionaryIndexes.get(column).get(value) : null;
+        if (index == null) {
+            vector.setNull(row);
+        } else {
+            vector.setSafe(row, index);
+        }
+    }
+    
+    private void setDecimal(String column, int row, BigDecimal value) {
+        DecimalVector vector = (DecimalVector) root.getVector(column);
+        if (value == null) {
+            vector.setNull(row);
+        } else {
+            vector.setSafe(row, value.setScale(DECIMAL_SCALE, RoundingMode.HALF_UP));
+        }
+    }
+    
+    private void setTimestamp(String column, int row, LocalDateTime value) {
+        TimeStampMilliVector vector = (TimeStampMilliVector) root.getVector(column);
+        if (value == null) {
+            vector.setNull(row);
+        } else {
+            vector.setSafe(row, value.toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.investmentbanking.dealpipeline.export;
+
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+
+public enum DealExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson"),
+    ARROW(DealArrowWriter.CONTENT_TYPE, "arrows");
+    
+    private final String contentType;
+    private final String extension;
+    
+    DealExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public String getExtension() {
+        return extension;
+    }
+    
+    public static DealExportFormat fromParam(String value) {
+        if (value == null) {
+            return CSV;
+        }
+        for (DealExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Invalid export format: " + value + ". Valid values are: csv, ndjson, arrow");
+    }
+}
@@ -0,0 +1,219 @@
+package com.investmentbanking.dealpipeline.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.investmentbanking.dealpipeline.model.Deal;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes deals one row at a time into a fixed-size buffer over the target stream.
+ * Nothing is retained between rows, so memory does not grow with the number of deals exported;
+ * when the consumer is slow the blocking write holds the Mongo cursor back.
+ */
+public abstract class DealExportWriter implements Closeable {
+    
+    static final int BUFFER_SIZE = 64 * 1024;
+    
+    static final String[] COLUMNS = {
+            "id", "dealName", "dealType", "status", "currentStage", "clientName", "dealValue", "currency",
+            "sector", "assignedTo", "assignedToUsername", "createdBy", "createdByUsername", "tags",
+            "expectedCloseDate", "actualCloseDate", "createdAt", "updatedAt", "summary", "description"
+    };
+    
+    /**
+     * Row-oriented formats only - ARROW needs its dictionaries up front, see DealArrowWriter
+     */
+    public static DealExportWriter create(DealExportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvWriter(out);
+            case NDJSON -> new NdjsonWriter(out);
+            case ARROW -> throw new IllegalArgumentException("Use DealArrowWriter for ARROW exports");
+        };
+    }
+    
+    public abstract void writeHeader() throws IOException;
+    
+    public abstract void writeRow(Deal deal) throws IOException;
+    
+    public abstract void flush() throws IOException;
+    
+    private static String text(Object value) {
+        return value != null ? value.toString() : null;
+    }
+    
+    private static String text(LocalDateTime value) {
+        return value != null ? value.toString() : null;
+    }
+    
+    private static final class CsvWriter extends DealExportWriter {
+        
+        private final Writer writer;
+        private final StringBuilder row = new StringBuilder(512);
+        
+        private CsvWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        }
+        
+        @Override
+        public void writeHeader() throws IOException {
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(COLUMNS[i]);
+            }
+            writer.write("\r\n");
+        }
+        
+        @Override
+        public void writeRow(Deal deal) throws IOException {
+            row.setLength(0);
+            field(deal.getId(), false);
+            field(deal.getDealName(), true);
+            field(deal.getDealType(), true);
+            field(text(deal.getStatus()), true);
+            field(text(deal.getCurrentStage()), true);
+            field(deal.getClientName(), true);
+            field(deal.getDealValue() != null ? deal.getDealValue().toPlainString() : null, true);
+            field(deal.getCurrency(), true);
+            field(deal.getSector(), true);
+            field(deal.getAssignedTo(), true);
+            field(deal.getAssignedToUsername(), true);
+            field(deal.getCreatedBy(), true);
+            field(deal.getCreatedByUsername(), true);
+            field(deal.getTags() != null ? String.join("|", deal.getTags()) : null, true);
+            field(text(deal.getExpectedCloseDate()), true);
+            field(text(deal.getActualCloseDate()), true);
+            field(text(deal.getCreatedAt()), true);
+            field(text(deal.getUpdatedAt()), true);
+            field(deal.getSummary(), true);
+            field(deal.getDescription(), true);
+            row.append("\r\n");
+            writer.append(row);
+        }
+        
+        // RFC 4180: quote fields containing separators, quotes or line breaks; double embedded quotes
+        private void field(String value, boolean separator) {
+            if (separator) {
+                row.append(',');
+            }
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+            if (!needsQuoting(value)) {
+                row.append(value);
+                return;
+            }
+            row.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    row.append('"');
+                }
+                row.append(c);
+            }
+            row.append('"');
+        }
+        
+        private boolean needsQuoting(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+        
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+    
+    private static final class NdjsonWriter extends DealExportWriter {
+        
+        private static final JsonFactory JSON_FACTORY = new JsonFactory();
+        
+        private final JsonGenerator generator;
+        
+        private NdjsonWriter(OutputStream out) throws IOException {
+            this.generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+            this.generator.setRootValueSeparator(null);
+        }
+        
+        @Override
+        public void writeHeader() {
+            // NDJSON is self-describing - no header line
+        }
+        
+        @Override
+        public void writeRow(Deal deal) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("id", deal.getId());
+            generator.writeStringField("dealName", deal.getDealName());
+            generator.writeStringField("dealType", deal.getDealType());
+            generator.writeStringField("status", text(deal.getStatus()));
+            generator.writeStringField("currentStage", text(deal.getCurrentStage()));
+            generator.writeStringField("clientName", deal.getClientName());
+            if (deal.getDealValue() != null) {
+                generator.writeNumberField("dealValue", deal.getDealValue());
+            } else {
+                generator.writeNullField("dealValue");
+            }
+            generator.writeStringField("currency", deal.getCurrency());
+            generator.writeStringField("sector", deal.getSector());
+            generator.writeStringField("assignedTo", deal.getAssignedTo());
+            generator.writeStringField("assignedToUsername", deal.getAssignedToUsername());
+            generator.writeStringField("createdBy", deal.getCreatedBy());
+            generator.writeStringField("createdByUsername", deal.getCreatedByUsername());
+            writeTags(deal.getTags());
+            generator.writeStringField("expectedCloseDate", text(deal.getExpectedCloseDate()));
+            generator.writeStringField("actualCloseDate", text(deal.getActualCloseDate()));
+            generator.writeStringField("createdAt", text(deal.getCreatedAt()));
+            generator.writeStringField("updatedAt", text(deal.getUpdatedAt()));
+            generator.writeStringField("summary", deal.getSummary());
+            generator.writeStringField("description", deal.getDescription());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+        
+        private void writeTags(List<String> tags) throws IOException {
+            generator.writeFieldName("tags");
+            if (tags == null) {
+                generator.writeNull();
+                return;
+            }
+            generator.writeStartArray();
+            for (String tag : tags) {
+                generator.writeString(tag);
+            }
+            generator.writeEndArray();
+        }
+        
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+        
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+}
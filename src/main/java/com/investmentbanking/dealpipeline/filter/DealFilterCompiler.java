@@ -0,0 +1,109 @@
+package com.investmentbanking.dealpipeline.filter;
+
+import com.investmentbanking.dealpipeline.exception.UnauthorizedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compiles ?filter= expressions on the deal list to Criteria.
+ *
+ * Plans are memoized in a bounded cache keyed by the normalized query shape, so
+ * "dealValue=gt=100M" and "dealValue>5B" share a plan and only the lexer and the literal
+ * binding run per request. Filters that fail field or operator validation are never cached.
+ *
+ * The cache is a ConcurrentHashMap, so lookups take no lock. Past planCacheSize an insert evicts
+ * with a clock sweep: new plans and plans used since the last sweep get a second chance, the first
+ * unused one goes.
+ */
+@Component
+public class DealFilterCompiler {
+
+    private final int planCacheSize;
+    private final Map<String, CachedPlan> planCache = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public DealFilterCompiler(@Value("${pipeline.filter.plan-cache-size:512}") int planCacheSize) {
+        this.planCacheSize = planCacheSize;
+    }
+
+    /**
+     * Parse, validate and bind a filter
+     * @param isAdmin whether the caller may filter on ADMIN-only fields (dealValue, baseCurrencyValue)
+     */
+    public Criteria compile(String filter, boolean isAdmin) {
+        FilterParser.Lexed lexed = FilterParser.lex(filter);
+        FilterPlan plan = plan(lexed);
+        if (plan.isAdminOnly() && !isAdmin) {
+            throw new UnauthorizedException("Only ADMIN can filter on dealValue or baseCurrencyValue");
+        }
+        return plan.bind(lexed.arguments(), LocalDateTime.now());
+    }
+
+    public long getCacheHits() {
+        return hits.get();
+    }
+
+    public long getCacheMisses() {
+        return misses.get();
+    }
+
+    public int getCacheSize() {
+        return planCache.size();
+    }
+
+    private FilterPlan plan(FilterParser.Lexed lexed) {
+        if (planCacheSize <= 0) {
+            return FilterPlan.compile(FilterParser.parse(lexed));
+        }
+        CachedPlan cached = planCache.get(lexed.shape());
+        if (cached != null) {
+            cached.used = true;
+            hits.incrementAndGet();
+            return cached.plan;
+        }
+        misses.incrementAndGet();
+        // two threads racing on a new shape just both compile it
+        FilterPlan plan = FilterPlan.compile(FilterParser.parse(lexed));
+        if (planCache.putIfAbsent(lexed.shape(), new CachedPlan(plan)) == null) {
+            evictOverflow();
+        }
+        return plan;
+    }
+
+    /**
+     * Clock sweep over the map's iteration order; concurrent inserts may briefly overshoot the bound
+     */
+    private void evictOverflow() {
+        Iterator<CachedPlan> sweep = planCache.values().iterator();
+        while (planCache.size() > planCacheSize) {
+            if (!sweep.hasNext()) {
+                sweep = planCache.values().iterator(); // every plan was used - second pass evicts
+            }
+            CachedPlan candidate = sweep.next();
+            if (candidate.used) {
+                candidate.used = false;
+            } else {
+                sweep.remove();
+            }
+        }
+    }
+
+    private static final class CachedPlan {
+
+        private final FilterPlan plan;
+        private volatile boolean used;
+
+        private CachedPlan(FilterPlan plan) {
+            this.plan = plan;
+            this.used = true; // survives the sweep its own insert starts
+        }
+    }
+}
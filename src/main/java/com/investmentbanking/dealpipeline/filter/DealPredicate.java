@@ -0,0 +1,26 @@
+package com.investmentbanking.dealpipeline.filter;
+
+import com.investmentbanking.dealpipeline.model.Deal;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A filter evaluated in memory against a Deal, with the same semantics as the Mongo query
+ * FilterPlan builds: == / =in= on tags match any element, != / =out= also match a missing field,
+ * range operators never match a missing field. Literals are converted once at compile time;
+ * relative dates are resolved against the "now" passed to each test.
+ */
+@FunctionalInterface
+public interface DealPredicate {
+
+    boolean test(Deal deal, LocalDateTime now);
+
+    /**
+     * Validate a filter AST against the field whitelist and compile it with its literals
+     */
+    static DealPredicate compile(FilterNode node, List<List<String>> arguments) {
+        FilterPlan.compile(node);
+        return DealPredicateCompiler.compile(node, arguments);
+    }
+}
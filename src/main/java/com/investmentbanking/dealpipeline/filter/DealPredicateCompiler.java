@@ -0,0 +1,145 @@
+package com.investmentbanking.dealpipeline.filter;
+
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import org.bson.types.Decimal128;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Compiles a validated filter AST into nested DealPredicate closures
+ */
+final class DealPredicateCompiler {
+
+    private DealPredicateCompiler() {
+    }
+
+    static DealPredicate compile(FilterNode node, List<List<String>> arguments) {
+        if (node instanceof FilterNode.And and) {
+            DealPredicate[] children = compileAll(and.children(), arguments);
+            return (deal, now) -> {
+                for (DealPredicate child : children) {
+                    if (!child.test(deal, now)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+        if (node instanceof FilterNode.Or or) {
+            DealPredicate[] children = compileAll(or.children(), arguments);
+            return (deal, now) -> {
+                for (DealPredicate child : children) {
+                    if (child.test(deal, now)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+        FilterNode.Comparison comparison = (FilterNode.Comparison) node;
+        FilterField field = FilterField.fromSelector(comparison.selector());
+        List<String> raw = arguments.get(comparison.argumentIndex());
+        return switch (comparison.operator()) {
+            case EQ -> equality(field, raw.get(0));
+            case NE -> negate(equality(field, raw.get(0)));
+            case IN -> membership(field, raw);
+            case OUT -> negate(membership(field, raw));
+            default -> range(field, comparison.operator(), raw.get(0));
+        };
+    }
+
+    private static DealPredicate[] compileAll(List<FilterNode> nodes, List<List<String>> arguments) {
+        DealPredicate[] predicates = new DealPredicate[nodes.size()];
+        for (int i = 0; i < predicates.length; i++) {
+            predicates[i] = compile(nodes.get(i), arguments);
+        }
+        return predicates;
+    }
+
+    private static DealPredicate negate(DealPredicate predicate) {
+        return (deal, now) -> !predicate.test(deal, now);
+    }
+
+    private static DealPredicate equality(FilterField field, String raw) {
+        if (field.getType() == FilterField.Type.STRING && raw.length() > 1 && raw.endsWith("*")) {
+            String prefix = raw.substring(0, raw.length() - 1);
+            return (deal, now) -> anyMatch(field.valueOf(deal),
+                    actual -> actual instanceof String value && value.startsWith(prefix));
+        }
+        Object expected = literal(field, raw);
+        return (deal, now) -> anyMatch(field.valueOf(deal), actual -> same(actual, expected));
+    }
+
+    private static DealPredicate membership(FilterField field, List<String> raw) {
+        List<Object> expected = new ArrayList<>(raw.size());
+        for (String value : raw) {
+            expected.add(literal(field, value));
+        }
+        return (deal, now) -> anyMatch(field.valueOf(deal), actual -> {
+            for (Object value : expected) {
+                if (same(actual, value)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static DealPredicate range(FilterField field, FilterOperator operator, String raw) {
+        if (field.getType() == FilterField.Type.DATE_TIME) {
+            UnaryOperator<LocalDateTime> bound = FilterPlan.dateResolver(field, raw);
+            return (deal, now) -> {
+                Object actual = field.valueOf(deal);
+                return actual != null && inRange(((LocalDateTime) actual).compareTo(bound.apply(now)), operator);
+            };
+        }
+        Comparable bound = (Comparable) literal(field, raw);
+        return (deal, now) -> {
+            Object actual = field.valueOf(deal);
+            return actual != null && inRange(((Comparable) actual).compareTo(bound), operator);
+        };
+    }
+
+    private static boolean inRange(int comparison, FilterOperator operator) {
+        return switch (operator) {
+            case LT -> comparison < 0;
+            case LE -> comparison <= 0;
+            case GT -> comparison > 0;
+            case GE -> comparison >= 0;
+            default -> throw new IllegalStateException("Not a range operator: " + operator);
+        };
+    }
+
+    private static Object literal(FilterField field, String raw) {
+        if (field.getType() == FilterField.Type.DATE_TIME) {
+            throw new BadRequestException("Operator not supported on " + field.getFieldName());
+        }
+        Object value = FilterPlan.convert(field, raw, null);
+        return value instanceof Decimal128 decimal ? decimal.bigDecimalValue() : value;
+    }
+
+    private static boolean same(Object actual, Object expected) {
+        if (actual instanceof BigDecimal left && expected instanceof BigDecimal right) {
+            return left.compareTo(right) == 0;
+        }
+        return expected.equals(actual);
+    }
+
+    private static boolean anyMatch(Object actual, Predicate<Object> test) {
+        if (actual instanceof List<?> values) {
+            for (Object value : values) {
+                if (test.test(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return actual != null && test.test(actual);
+    }
+}
@@ -0,0 +1,130 @@
+package com.investmentbanking.dealpipeline.filter;
+
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.model.DealStatus;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Whitelist of Deal fields a filter may reference, with the operators each one supports.
+ * Anything not listed here (notes, description, screening hits, ...) cannot be filtered on.
+ */
+public enum FilterField {
+    DEAL_NAME("dealName", Type.STRING, Deal::getDealName),
+    DEAL_TYPE("dealType", Type.STRING, Deal::getDealType),
+    STATUS("status", Type.ENUM, Deal::getStatus, DealStatus.class, null, false),
+    CURRENT_STAGE("currentStage", Type.ENUM, Deal::getCurrentStage, DealStage.class, "stage", false),
+    CLIENT_NAME("clientName", Type.STRING, Deal::getClientName),
+    COUNTERPARTY("counterparty", Type.STRING, Deal::getCounterparty),
+    SECTOR("sector", Type.STRING, Deal::getSector),
+    CURRENCY("currency", Type.STRING, Deal::getCurrency),
+    TAGS("tags", Type.STRING, Deal::getTags, null, "tag", false),
+    ASSIGNED_TO("assignedTo", Type.STRING, Deal::getAssignedTo),
+    ASSIGNED_TO_USERNAME("assignedToUsername", Type.STRING, Deal::getAssignedToUsername),
+    CREATED_BY("createdBy", Type.STRING, Deal::getCreatedBy),
+    CREATED_BY_USERNAME("createdByUsername", Type.STRING, Deal::getCreatedByUsername),
+    DEAL_VALUE("dealValue", Type.DECIMAL, Deal::getDealValue, null, null, true),
+    BASE_CURRENCY_VALUE("baseCurrencyValue", Type.DECIMAL, Deal::getBaseCurrencyValue, null, null, true),
+    EXPECTED_CLOSE_DATE("expectedCloseDate", Type.DATE_TIME, Deal::getExpectedCloseDate),
+    ACTUAL_CLOSE_DATE("actualCloseDate", Type.DATE_TIME, Deal::getActualCloseDate),
+    CREATED_AT("createdAt", Type.DATE_TIME, Deal::getCreatedAt),
+    UPDATED_AT("updatedAt", Type.DATE_TIME, Deal::getUpdatedAt);
+
+    public enum Type {
+        STRING(EnumSet.of(FilterOperator.EQ, FilterOperator.NE, FilterOperator.IN, FilterOperator.OUT)),
+        ENUM(EnumSet.of(FilterOperator.EQ, FilterOperator.NE, FilterOperator.IN, FilterOperator.OUT)),
+        DECIMAL(EnumSet.allOf(FilterOperator.class)),
+        DATE_TIME(EnumSet.of(FilterOperator.LT, FilterOperator.LE, FilterOperator.GT, FilterOperator.GE));
+
+        private final Set<FilterOperator> operators;
+
+        Type(Set<FilterOperator> operators) {
+            this.operators = operators;
+        }
+    }
+
+    private static final Map<String, FilterField> BY_NAME = new HashMap<>();
+
+    static {
+        for (FilterField field : values()) {
+            BY_NAME.put(field.fieldName, field);
+            if (field.alias != null) {
+                BY_NAME.put(field.alias, field);
+            }
+        }
+    }
+
+    private final String fieldName;
+    private final Type type;
+    private final Function<Deal, Object> accessor;
+    private final Class<? extends Enum<?>> enumType;
+    private final String alias;
+    private final boolean adminOnly;
+
+    FilterField(String fieldName, Type type, Function<Deal, Object> accessor) {
+        this(fieldName, type, accessor, null, null, false);
+    }
+
+    FilterField(String fieldName, Type type, Function<Deal, Object> accessor, Class<? extends Enum<?>> enumType,
+                String alias, boolean adminOnly) {
+        this.fieldName = fieldName;
+        this.type = type;
+        this.accessor = accessor;
+        this.enumType = enumType;
+        this.alias = alias;
+        this.adminOnly = adminOnly;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * The field's value on a deal, for in-memory matching; a List for tags
+     */
+    public Object valueOf(Deal deal) {
+        return accessor.apply(deal);
+    }
+
+    public Class<? extends Enum<?>> getEnumType() {
+        return enumType;
+    }
+
+    /**
+     * Sensitive fields (dealValue, baseCurrencyValue) that only ADMIN may filter on - a USER could otherwise
+     * recover a masked value by bisecting with range filters
+     */
+    public boolean isAdminOnly() {
+        return adminOnly;
+    }
+
+    public boolean supports(FilterOperator operator) {
+        return type.operators.contains(operator);
+    }
+
+    public String supportedOperators() {
+        return type.operators.stream().map(FilterOperator::getSymbol).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * @return the field for a selector (field name or alias), or null if it is not whitelisted
+     */
+    public static FilterField fromSelector(String selector) {
+        return BY_NAME.get(selector);
+    }
+
+    public static String allowedSelectors() {
+        return Arrays.stream(values()).map(FilterField::getFieldName).collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,19 @@
+package com.investmentbanking.dealpipeline.filter;
+
+import java.util.List;
+
+/**
+ * Filter AST. Comparisons hold a slot into the argument list rather than the literal values,
+ * so one tree serves every query with the same shape.
+ */
+public sealed interface FilterNode {
+
+    record And(List<FilterNode> children) implements FilterNode {
+    }
+
+    record Or(List<FilterNode> children) implements FilterNode {
+    }
+
+    record Comparison(String selector, FilterOperator operator, int argumentIndex, boolean list) implements FilterNode {
+    }
+}
@@ -0,0 +1,51 @@
+package com.investmentbanking.dealpipeline.filter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * RSQL comparison operators. The FIQL form (=lt=) and the short form (<) are interchangeable;
+ * the FIQL symbol is the canonical one used in query shapes.
+ */
+public enum FilterOperator {
+    EQ("==", "=="),
+    NE("!=", "!="),
+    LT("=lt=", "<"),
+    LE("=le=", "<="),
+    GT("=gt=", ">"),
+    GE("=ge=", ">="),
+    IN("=in=", "=in="),
+    OUT("=out=", "=out=");
+
+    private static final Map<String, FilterOperator> BY_SYMBOL = new HashMap<>();
+
+    static {
+        for (FilterOperator operator : values()) {
+            BY_SYMBOL.put(operator.symbol, operator);
+            BY_SYMBOL.put(operator.alias, operator);
+        }
+    }
+
+    private final String symbol;
+    private final String alias;
+
+    FilterOperator(String symbol, String alias) {
+        this.symbol = symbol;
+        this.alias = alias;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public boolean isMultiValue() {
+        return this == IN || this == OUT;
+    }
+
+    /**
+     * @return the operator for a symbol, or null if there is none
+     */
+    public static FilterOperator fromSymbol(String symbol) {
+        return BY_SYMBOL.get(symbol);
+    }
+}
@@ -0,0 +1,356 @@
+package com.investmentbanking.dealpipeline.filter;
+
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RSQL/FIQL filter parser.
+ *
+ * <pre>
+ * or         = and { ( "," | "or" ) and }
+ * and        = primary { ( ";" | "and" ) primary }
+ * primary    = "(" or ")" | comparison
+ * comparison = selector operator ( value | "(" value { "," value } ")" )
+ * value      = unreserved-chars | 'single quoted' | "double quoted"
+ * </pre>
+ *
+ * Parsing is split in two. {@link #lex} is a single pass that pulls out the literal values and
+ * builds the normalized query shape (literals replaced by placeholders, operators in canonical form).
+ * {@link #parse} builds the AST from the tokens; it only runs when the shape is not already cached.
+ * All errors are BadRequestException with the offending position.
+ */
+public final class FilterParser {
+
+    public static final int MAX_LENGTH = 4000;
+    public static final int MAX_COMPARISONS = 50;
+    public static final int MAX_DEPTH = 16;
+    public static final int MAX_LIST_VALUES = 100;
+
+    private static final String RESERVED = "\"'();,=!<>";
+
+    enum Kind { LPAREN, RPAREN, AND, OR, COMPARISON }
+
+    record Token(Kind kind, int position, FilterNode.Comparison comparison) {
+    }
+
+    /**
+     * Output of the lexer: the cache key, the tokens for the parser and the literals to bind
+     */
+    public record Lexed(String shape, List<Token> tokens, List<List<String>> arguments) {
+    }
+
+    private final String input;
+    private final StringBuilder shape = new StringBuilder();
+    private final List<Token> tokens = new ArrayList<>();
+    private final List<List<String>> arguments = new ArrayList<>();
+    private int pos;
+
+    private FilterParser(String input) {
+        this.input = input;
+    }
+
+    public static FilterNode parse(String filter) {
+        return parse(lex(filter));
+    }
+
+    public static Lexed lex(String filter) {
+        if (filter == null || filter.isBlank()) {
+            throw new BadRequestException("filter must not be empty");
+        }
+        if (filter.length() > MAX_LENGTH) {
+            throw new BadRequestException("filter must not be longer than " + MAX_LENGTH + " characters");
+        }
+        FilterParser lexer = new FilterParser(filter);
+        lexer.lexAll();
+        return new Lexed(lexer.shape.toString(), lexer.tokens, lexer.arguments);
+    }
+
+    public static FilterNode parse(Lexed lexed) {
+        return new TokenParser(lexed.tokens()).parseAll();
+    }
+
+    // ---- lexer ----
+
+    private void lexAll() {
+        boolean expectOperand = true;
+        while (true) {
+            skipWhitespace();
+            if (pos >= input.length()) {
+                break;
+            }
+            char c = input.charAt(pos);
+            if (expectOperand) {
+                if (c == '(') {
+                    emit(Kind.LPAREN, "(");
+                    pos++;
+                } else if (isSelectorStart(c)) {
+                    lexComparison();
+                    expectOperand = false;
+                } else {
+                    throw error("expected a field name or '('");
+                }
+            } else if (c == ')') {
+                emit(Kind.RPAREN, ")");
+                pos++;
+            } else if (c == ';') {
+                emit(Kind.AND, ";");
+                pos++;
+                expectOperand = true;
+            } else if (c == ',') {
+                emit(Kind.OR, ",");
+                pos++;
+                expectOperand = true;
+            } else if (Character.isLetter(c)) {
+                int start = pos;
+                String word = readSelector();
+                if (word.equalsIgnoreCase("and")) {
+                    tokens.add(new Token(Kind.AND, start, null));
+                    shape.append(';');
+                } else if (word.equalsIgnoreCase("or")) {
+                    tokens.add(new Token(Kind.OR, start, null));
+                    shape.append(',');
+                } else {
+                    pos = start;
+                    throw error("expected ';', ',', 'and', 'or' or ')'");
+                }
+                expectOperand = true;
+            } else {
+                throw error("expected ';', ',', 'and', 'or' or ')'");
+            }
+        }
+        if (expectOperand) {
+            throw error("unexpected end of filter");
+        }
+    }
+
+    private void lexComparison() {
+        int start = pos;
+        String selector = readSelector();
+        skipWhitespace();
+        FilterOperator operator = readOperator();
+        skipWhitespace();
+
+        List<String> values = new ArrayList<>(1);
+        boolean list = pos < input.length() && input.charAt(pos) == '(';
+        if (list) {
+            pos++;
+            while (true) {
+                skipWhitespace();
+                values.add(readValue());
+                if (values.size() > MAX_LIST_VALUES) {
+                    throw error("a value list may hold at most " + MAX_LIST_VALUES + " values");
+                }
+                skipWhitespace();
+                if (pos >= input.length()) {
+                    throw error("unterminated value list");
+                }
+                char c = input.charAt(pos++);
+                if (c == ')') {
+                    break;
+                }
+                if (c != ',') {
+                    pos--;
+                    throw error("expected ',' or ')' in value list");
+                }
+            }
+        } else {
+            values.add(readValue());
+        }
+
+        if (arguments.size() == MAX_COMPARISONS) {
+            throw error("a filter may hold at most " + MAX_COMPARISONS + " comparisons");
+        }
+        FilterNode.Comparison comparison = new FilterNode.Comparison(selector, operator, arguments.size(), list);
+        arguments.add(values);
+        tokens.add(new Token(Kind.COMPARISON, start, comparison));
+        shape.append(selector).append(operator.getSymbol()).append(list ? "(*)" : "?");
+    }
+
+    private String readSelector() {
+        int start = pos;
+        while (pos < input.length() && isSelectorPart(input.charAt(pos))) {
+            pos++;
+        }
+        return input.substring(start, pos);
+    }
+
+    private FilterOperator readOperator() {
+        int start = pos;
+        if (pos >= input.length()) {
+            throw error("expected an operator");
+        }
+        char c = input.charAt(pos);
+        if (c == '=' && pos + 1 < input.length() && Character.isLetter(input.charAt(pos + 1))) {
+            // FIQL operator =xx=
+            pos++;
+            while (pos < input.length() && Character.isLetter(input.charAt(pos))) {
+                pos++;
+            }
+            if (pos >= input.length() || input.charAt(pos) != '=') {
+                pos = start;
+                throw error("malformed operator");
+            }
+            pos++;
+        } else if (c == '=' || c == '!') {
+            if (pos + 1 >= input.length() || input.charAt(pos + 1) != '=') {
+                throw error("expected an operator");
+            }
+            pos += 2;
+        } else if (c == '<' || c == '>') {
+            pos++;
+            if (pos < input.length() && input.charAt(pos) == '=') {
+                pos++;
+            }
+        } else {
+            throw error("expected an operator");
+        }
+        String symbol = input.substring(start, pos);
+        FilterOperator operator = FilterOperator.fromSymbol(symbol);
+        if (operator == null) {
+            pos = start;
+            throw error("unknown operator '" + symbol + "'");
+        }
+        return operator;
+    }
+
+    private String readValue() {
+        if (pos >= input.length()) {
+            throw error("expected a value");
+        }
+        char quote = input.charAt(pos);
+        if (quote == '\'' || quote == '"') {
+            int start = pos++;
+            StringBuilder value = new StringBuilder();
+            while (pos < input.length()) {
+                char c = input.charAt(pos++);
+                if (c == quote) {
+                    return value.toString();
+                }
+                if (c == '\\' && pos < input.length()) {
+                    c = input.charAt(pos++);
+                }
+                value.append(c);
+            }
+            pos = start;
+            throw error("unterminated quoted value");
+        }
+        int start = pos;
+        while (pos < input.length()) {
+            char c = input.charAt(pos);
+            if (Character.isWhitespace(c) || RESERVED.indexOf(c) >= 0) {
+                break;
+            }
+            pos++;
+        }
+        if (pos == start) {
+            throw error("expected a value");
+        }
+        return input.substring(start, pos);
+    }
+
+    private void emit(Kind kind, String symbol) {
+        tokens.add(new Token(kind, pos, null));
+        shape.append(symbol);
+    }
+
+    private void skipWhitespace() {
+        while (pos < input.length() && Character.isWhitespace(input.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private BadRequestException error(String message) {
+        return new BadRequestException("Invalid filter at position " + pos + ": " + message);
+    }
+
+    private static boolean isSelectorStart(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+    }
+
+    private static boolean isSelectorPart(char c) {
+        return isSelectorStart(c) || (c >= '0' && c <= '9') || c == '.';
+    }
+
+    // ---- parser ----
+
+    /**
+     * Recursive descent over the token list; nesting is bounded by MAX_DEPTH
+     */
+    private static final class TokenParser {
+
+        private final List<Token> tokens;
+        private int index;
+        private int depth;
+
+        TokenParser(List<Token> tokens) {
+            this.tokens = tokens;
+        }
+
+        FilterNode parseAll() {
+            FilterNode root = parseOr();
+            if (index < tokens.size()) {
+                throw error(tokens.get(index), "unbalanced ')'");
+            }
+            return root;
+        }
+
+        private FilterNode parseOr() {
+            FilterNode first = parseAnd();
+            if (!peek(Kind.OR)) {
+                return first;
+            }
+            List<FilterNode> children = new ArrayList<>();
+            children.add(first);
+            while (peek(Kind.OR)) {
+                index++;
+                children.add(parseAnd());
+            }
+            return new FilterNode.Or(children);
+        }
+
+        private FilterNode parseAnd() {
+            FilterNode first = parsePrimary();
+            if (!peek(Kind.AND)) {
+                return first;
+            }
+            List<FilterNode> children = new ArrayList<>();
+            children.add(first);
+            while (peek(Kind.AND)) {
+                index++;
+                children.add(parsePrimary());
+            }
+            return new FilterNode.And(children);
+        }
+
+        private FilterNode parsePrimary() {
+            // the lexer guarantees operands and connectives alternate, so a token is always present here
+            Token token = tokens.get(index++);
+            if (token.kind() == Kind.COMPARISON) {
+                return token.comparison();
+            }
+            if (token.kind() != Kind.LPAREN) {
+                throw error(token, "expected a comparison or '('");
+            }
+            if (++depth > MAX_DEPTH) {
+                throw error(token, "groups may be nested at most " + MAX_DEPTH + " deep");
+            }
+            FilterNode inner = parseOr();
+            if (!peek(Kind.RPAREN)) {
+                throw error(token, "unbalanced '('");
+            }
+            index++;
+            depth--;
+            return inner;
+        }
+
+        private boolean peek(Kind kind) {
+            return index < tokens.size() && tokens.get(index).kind() == kind;
+        }
+
+        private static BadRequestException error(Token token, String message) {
+            return new BadRequestException("Invalid filter at position " + token.position() + ": " + message);
+        }
+    }
+}
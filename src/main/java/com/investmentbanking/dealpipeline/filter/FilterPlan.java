@@ -0,0 +1,220 @@
+package com.investmentbanking.dealpipeline.filter;
+
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import org.bson.types.Decimal128;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A validated filter AST compiled to a Criteria builder. Field lookup and operator checks happen
+ * once, when the plan is built; binding only converts the literals and assembles the Criteria.
+ * Plans are immutable and shared between requests through the plan cache.
+ *
+ * Literal conversion by field type:
+ * <ul>
+ *   <li>string - as given; a trailing * on == / != is an anchored prefix match (index friendly)</li>
+ *   <li>enum - constant name, case-insensitive</li>
+ *   <li>decimal - plain number with an optional K / M / B suffix (100M = 100,000,000)</li>
+ *   <li>date-time - ISO date or date-time, "now", or an offset from now: now+90d, 90d, -2w, 12h</li>
+ * </ul>
+ * Relative dates are resolved at bind time, so a cached plan never goes stale.
+ */
+public final class FilterPlan {
+
+    private static final Pattern RELATIVE_DATE = Pattern.compile("(?:now)?([+-]?)(\\d{1,5})([hdw])");
+
+    @FunctionalInterface
+    private interface Binder {
+        Criteria bind(List<List<String>> arguments, LocalDateTime now);
+    }
+
+    private final Binder root;
+    private final boolean adminOnly;
+
+    private FilterPlan(Binder root, boolean adminOnly) {
+        this.root = root;
+        this.adminOnly = adminOnly;
+    }
+
+    /**
+     * Validate the AST against the field whitelist and compile it
+     */
+    public static FilterPlan compile(FilterNode node) {
+        boolean[] adminOnly = new boolean[1];
+        Binder root = compile(node, adminOnly);
+        return new FilterPlan(root, adminOnly[0]);
+    }
+
+    /**
+     * True when the filter references a field only ADMIN may filter on
+     */
+    public boolean isAdminOnly() {
+        return adminOnly;
+    }
+
+    public Criteria bind(List<List<String>> arguments, LocalDateTime now) {
+        return root.bind(arguments, now);
+    }
+
+    private static Binder compile(FilterNode node, boolean[] adminOnly) {
+        if (node instanceof FilterNode.And and) {
+            List<Binder> children = compileAll(and.children(), adminOnly);
+            return (arguments, now) -> new Criteria().andOperator(bindAll(children, arguments, now));
+        }
+        if (node instanceof FilterNode.Or or) {
+            List<Binder> children = compileAll(or.children(), adminOnly);
+            return (arguments, now) -> new Criteria().orOperator(bindAll(children, arguments, now));
+        }
+        FilterNode.Comparison comparison = (FilterNode.Comparison) node;
+        FilterField field = FilterField.fromSelector(comparison.selector());
+        if (field == null) {
+            throw new BadRequestException("Unknown filter field '" + comparison.selector()
+                    + "'. Allowed fields: " + FilterField.allowedSelectors());
+        }
+        FilterOperator operator = comparison.operator();
+        if (!field.supports(operator)) {
+            throw new BadRequestException("Operator " + operator.getSymbol() + " is not supported on "
+                    + field.getFieldName() + ". Supported: " + field.supportedOperators());
+        }
+        if (comparison.list() && !operator.isMultiValue()) {
+            throw new BadRequestException("Operator " + operator.getSymbol() + " takes a single value");
+        }
+        adminOnly[0] |= field.isAdminOnly();
+        return comparisonBinder(field, operator, comparison.argumentIndex());
+    }
+
+    private static List<Binder> compileAll(List<FilterNode> nodes, boolean[] adminOnly) {
+        List<Binder> binders = new ArrayList<>(nodes.size());
+        for (FilterNode child : nodes) {
+            binders.add(compile(child, adminOnly));
+        }
+        return binders;
+    }
+
+    private static Criteria[] bindAll(List<Binder> binders, List<List<String>> arguments, LocalDateTime now) {
+        Criteria[] criteria = new Criteria[binders.size()];
+        for (int i = 0; i < criteria.length; i++) {
+            criteria[i] = binders.get(i).bind(arguments, now);
+        }
+        return criteria;
+    }
+
+    private static Binder comparisonBinder(FilterField field, FilterOperator operator, int slot) {
+        String name = field.getFieldName();
+        return switch (operator) {
+            case EQ -> (arguments, now) -> {
+                String raw = arguments.get(slot).get(0);
+                Pattern prefix = prefixPattern(field, raw);
+                return prefix != null
+                        ? Criteria.where(name).regex(prefix)
+                        : Criteria.where(name).is(convert(field, raw, now));
+            };
+            case NE -> (arguments, now) -> {
+                String raw = arguments.get(slot).get(0);
+                Pattern prefix = prefixPattern(field, raw);
+                return prefix != null
+                        ? Criteria.where(name).not().regex(prefix)
+                        : Criteria.where(name).ne(convert(field, raw, now));
+            };
+            case LT -> (arguments, now) -> Criteria.where(name).lt(convert(field, arguments.get(slot).get(0), now));
+            case LE -> (arguments, now) -> Criteria.where(name).lte(convert(field, arguments.get(slot).get(0), now));
+            case GT -> (arguments, now) -> Criteria.where(name).gt(convert(field, arguments.get(slot).get(0), now));
+            case GE -> (arguments, now) -> Criteria.where(name).gte(convert(field, arguments.get(slot).get(0), now));
+            case IN -> (arguments, now) -> Criteria.where(name).in(convertAll(field, arguments.get(slot), now));
+            case OUT -> (arguments, now) -> Criteria.where(name).nin(convertAll(field, arguments.get(slot), now));
+        };
+    }
+
+    private static Pattern prefixPattern(FilterField field, String raw) {
+        if (field.getType() != FilterField.Type.STRING || raw.length() < 2 || !raw.endsWith("*")) {
+            return null;
+        }
+        return Pattern.compile("^" + Pattern.quote(raw.substring(0, raw.length() - 1)));
+    }
+
+    private static List<Object> convertAll(FilterField field, List<String> raw, LocalDateTime now) {
+        List<Object> values = new ArrayList<>(raw.size());
+        for (String value : raw) {
+            values.add(convert(field, value, now));
+        }
+        return values;
+    }
+
+    static Object convert(FilterField field, String raw, LocalDateTime now) {
+        return switch (field.getType()) {
+            case STRING -> raw;
+            case ENUM -> toEnum(field, raw);
+            case DECIMAL -> toDecimal(field, raw);
+            case DATE_TIME -> toDateTime(field, raw, now);
+        };
+    }
+
+    private static Object toEnum(FilterField field, String raw) {
+        for (Enum<?> constant : field.getEnumType().getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(raw)) {
+                return constant;
+            }
+        }
+        throw new BadRequestException("Invalid value '" + raw + "' for " + field.getFieldName());
+    }
+
+    // dealValue and baseCurrencyValue are stored as Decimal128, so compare against Decimal128 rather than the string form
+    private static Decimal128 toDecimal(FilterField field, String raw) {
+        if (raw.isEmpty()) {
+            throw new BadRequestException("Invalid number '' for " + field.getFieldName());
+        }
+        BigDecimal multiplier = BigDecimal.ONE;
+        String number = raw;
+        char suffix = Character.toUpperCase(raw.charAt(raw.length() - 1));
+        if (suffix == 'K' || suffix == 'M' || suffix == 'B') {
+            multiplier = BigDecimal.TEN.pow(suffix == 'K' ? 3 : suffix == 'M' ? 6 : 9);
+            number = raw.substring(0, raw.length() - 1);
+        }
+        try {
+            if (number.length() > 40) {
+                throw new NumberFormatException();
+            }
+            return new Decimal128(new BigDecimal(number).multiply(multiplier));
+        } catch (IllegalArgumentException | ArithmeticException ex) {
+            throw new BadRequestException("Invalid number '" + raw + "' for " + field.getFieldName());
+        }
+    }
+
+    private static LocalDateTime toDateTime(FilterField field, String raw, LocalDateTime now) {
+        return dateResolver(field, raw).apply(now);
+    }
+
+    /**
+     * Parse a date-time literal once into a function of "now" - constant for absolute dates
+     */
+    static UnaryOperator<LocalDateTime> dateResolver(FilterField field, String raw) {
+        if (raw.equalsIgnoreCase("now")) {
+            return now -> now;
+        }
+        Matcher relative = RELATIVE_DATE.matcher(raw);
+        if (relative.matches()) {
+            long amount = relative.group(1).equals("-") ? -Long.parseLong(relative.group(2)) : Long.parseLong(relative.group(2));
+            return switch (relative.group(3)) {
+                case "h" -> now -> now.plusHours(amount);
+                case "d" -> now -> now.plusDays(amount);
+                default -> now -> now.plusWeeks(amount);
+            };
+        }
+        try {
+            LocalDateTime value = raw.length() <= 10 ? LocalDate.parse(raw).atStartOfDay() : LocalDateTime.parse(raw);
+            return now -> value;
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("Invalid date '" + raw + "' for " + field.getFieldName()
+                    + ". Use an ISO date, 'now' or an offset such as 90d");
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.investmentbanking.dealpipeline.fx;
+
+import com.investmentbanking.dealpipeline.model.FxRate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable snapshot of the fx_rates collection for lookups on the deal write path.
+ * A three-letter code packs into an int (26^3 slots), so a lookup is an array index plus a binary
+ * search over that currency's effective dates as epoch days - no hashing, no string keys.
+ * A date before a currency's first rate uses the first rate; the base currency is always 1.
+ */
+public final class FxRateTable {
+    
+    private static final int SLOTS = 26 * 26 * 26;
+    
+    /**
+     * One rate of a currency and the half-open range of days it covers; to is null for the latest rate
+     */
+    public record Segment(LocalDate from, LocalDate to, BigDecimal rate) {
+    }
+    
+    private record Series(long[] epochDays, BigDecimal[] rates) {
+    }
+    
+    private final String baseCurrency;
+    private final Series[] series = new Series[SLOTS];
+    private final List<String> currencies;
+    private final int rateCount;
+    
+    private FxRateTable(String baseCurrency, List<FxRate> rates) {
+        this.baseCurrency = baseCurrency;
+        List<FxRate> sorted = new ArrayList<>(rates);
+        sorted.sort(Comparator.comparing(FxRate::getCurrency).thenComparing(FxRate::getEffectiveDate));
+        List<String> loaded = new ArrayList<>();
+        int count = 0;
+        int start = 0;
+        while (start < sorted.size()) {
+            String currency = sorted.get(start).getCurrency();
+            int end = start;
+            while (end < sorted.size() && sorted.get(end).getCurrency().equals(currency)) {
+                end++;
+            }
+            int slot = slot(currency);
+            if (slot >= 0 && !currency.equals(baseCurrency)) {
+                long[] days = new long[end - start];
+                BigDecimal[] values = new BigDecimal[end - start];
+                for (int i = start; i < end; i++) {
+                    days[i - start] = sorted.get(i).getEffectiveDate().toEpochDay();
+                    values[i - start] = sorted.get(i).getRate();
+                }
+                series[slot] = new Series(days, values);
+                loaded.add(currency);
+                count += days.length;
+            }
+            start = end;
+        }
+        this.currencies = List.copyOf(loaded);
+        this.rateCount = count;
+    }
+    
+    public static FxRateTable of(String baseCurrency, List<FxRate> rates) {
+        return new FxRateTable(normalize(baseCurrency), rates);
+    }
+    
+    public static FxRateTable empty(String baseCurrency) {
+        return of(baseCurrency, List.of());
+    }
+    
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+    
+    /**
+     * Currencies with at least one rate, excluding the base currency
+     */
+    public List<String> getCurrencies() {
+        return currencies;
+    }
+    
+    public int getRateCount() {
+        return rateCount;
+    }
+    
+    /**
+     * Base currency units per unit of currency on a date; null date means the latest rate.
+     * A deal without a currency is in the base currency.
+     * @return null if the currency has no rates
+     */
+    public BigDecimal rate(String currency, LocalDate date) {
+        String code = normalize(currency);
+        if (code.isEmpty() || code.equals(baseCurrency)) {
+            return BigDecimal.ONE;
+        }
+        int slot = slot(code);
+        Series rates = slot < 0 ? null : series[slot];
+        if (rates == null) {
+            return null;
+        }
+        if (date == null) {
+            return rates.rates()[rates.rates().length - 1];
+        }
+        int index = Arrays.binarySearch(rates.epochDays(), date.toEpochDay());
+        if (index < 0) {
+            index = Math.max(0, -index - 2); // last rate effective on or before the date
+        }
+        return rates.rates()[index];
+    }
+    
+    /**
+     * A currency's rates as consecutive date ranges; the first range also covers every earlier date
+     */
+    public List<Segment> segments(String currency) {
+        int slot = slot(normalize(currency));
+        Series rates = slot < 0 ? null : series[slot];
+        if (rates == null) {
+            return List.of();
+        }
+        List<Segment> segments = new ArrayList<>(rates.epochDays().length);
+        for (int i = 0; i < rates.epochDays().length; i++) {
+            LocalDate to = i + 1 < rates.epochDays().length ? LocalDate.ofEpochDay(rates.epochDays()[i + 1]) : null;
+            segments.add(new Segment(LocalDate.ofEpochDay(rates.epochDays()[i]), to, rates.rates()[i]));
+        }
+        return segments;
+    }
+    
+    static String normalize(String currency) {
+        return currency == null ? "" : currency.strip().toUpperCase(Locale.ROOT);
+    }
+    
+    /**
+     * Pack an upper-case three-letter code into 0..26^3-1, or -1 for anything else
+     */
+    static int slot(String code) {
+        if (code.length() != 3) {
+            return -1;
+        }
+        int slot = 0;
+        for (int i = 0; i < 3; i++) {
+            char c = code.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return -1;
+            }
+            slot = slot * 26 + (c - 'A');
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,111 @@
+package com.investmentbanking.dealpipeline.fx;
+
+import com.investmentbanking.dealpipeline.job.FxRevalueJobHandler;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.repository.FxRateRepository;
+import com.investmentbanking.dealpipeline.service.JobService;
+import com.investmentbanking.dealpipeline.workflow.DealStageMachine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * In-memory FX rate table used to stamp each deal's baseCurrencyValue when it is written.
+ * A reload builds a new FxRateTable and swaps it in with one volatile write.
+ *
+ * Open deals are valued at their currency's latest rate; Closed and Lost deals at the rate in
+ * effect on their actualCloseDate, so a closed deal's base value stops moving with the market.
+ */
+@Component
+@Slf4j
+public class FxRates {
+    
+    private final FxRateRepository fxRateRepository;
+    private final MongoTemplate mongoTemplate;
+    private final JobService jobService;
+    private final String baseCurrency;
+    private volatile FxRateTable table;
+    
+    public FxRates(FxRateRepository fxRateRepository, MongoTemplate mongoTemplate, JobService jobService,
+                   @Value("${pipeline.fx.base-currency:USD}") String baseCurrency) {
+        this.fxRateRepository = fxRateRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.jobService = jobService;
+        this.table = FxRateTable.empty(baseCurrency);
+        this.baseCurrency = table.getBaseCurrency();
+    }
+    
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+    
+    public FxRateTable getTable() {
+        return table;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reload();
+        try {
+            Query unvalued = new Query(Criteria.where("dealValue").ne(null).and("baseCurrencyValue").exists(false));
+            if (mongoTemplate.exists(unvalued, Deal.class)) {
+                jobService.submit(FxRevalueJobHandler.TYPE, Map.of(), null, "system");
+                log.info("Deals are missing baseCurrencyValue, queued {}", FxRevalueJobHandler.TYPE);
+            }
+        } catch (RuntimeException ex) {
+            log.error("baseCurrencyValue check failed: {}", ex.getMessage(), ex);
+        }
+    }
+    
+    /**
+     * Reload from Mongo - called after an upload, and on a fixed interval for uploads made on other replicas
+     */
+    @Scheduled(initialDelayString = "${pipeline.fx.reload-interval-ms:60000}",
+            fixedDelayString = "${pipeline.fx.reload-interval-ms:60000}")
+    public void reload() {
+        try {
+            load();
+        } catch (RuntimeException ex) {
+            log.error("FX rate reload failed, keeping the previous rates: {}", ex.getMessage(), ex);
+        }
+    }
+    
+    /**
+     * Reload from Mongo, throwing if the rates cannot be read
+     */
+    public void load() {
+        FxRateTable loaded = FxRateTable.of(baseCurrency, fxRateRepository.findAll());
+        table = loaded;
+        log.debug("FX rates loaded: {} rates for {} currencies", loaded.getRateCount(), loaded.getCurrencies().size());
+    }
+    
+    /**
+     * dealValue in the base currency, or null when the deal has no value or its currency has no rate
+     */
+    public BigDecimal toBase(Deal deal) {
+        if (deal.getDealValue() == null) {
+            return null;
+        }
+        BigDecimal rate = table.rate(deal.getCurrency(), valuationDate(deal));
+        return rate == null ? null : deal.getDealValue().multiply(rate);
+    }
+    
+    /**
+     * The date a deal is valued at; null means the latest rate
+     */
+    public static LocalDate valuationDate(Deal deal) {
+        return DealStageMachine.isTerminal(deal.getCurrentStage()) && deal.getActualCloseDate() != null
+                ? deal.getActualCloseDate().toLocalDate()
+                : null;
+    }
+}
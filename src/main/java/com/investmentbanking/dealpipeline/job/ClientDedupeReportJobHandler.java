@@ -0,0 +1,77 @@
+package com.investmentbanking.dealpipeline.job;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import com.investmentbanking.dealpipeline.matching.ClientCatalog;
+import com.investmentbanking.dealpipeline.matching.ClientCluster;
+import com.investmentbanking.dealpipeline.matching.ClientMatchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CLIENT_DEDUPE_REPORT - clusters of client names that look like the same client, across all deals
+ * Params: threshold (0-1, minimum shingle similarity; defaults to pipeline.clients.match-threshold)
+ * Artifact: NDJSON, one cluster per line, largest clusters first
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientDedupeReportJobHandler implements JobHandler {
+    
+    public static final String TYPE = "CLIENT_DEDUPE_REPORT";
+    
+    private final ClientMatchIndex clientMatchIndex;
+    private final ObjectMapper objectMapper;
+    
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+    
+    @Override
+    public void validate(Map<String, String> params) {
+        parseThreshold(params.get("threshold"));
+    }
+    
+    @Override
+    public void execute(JobContext context) throws Exception {
+        double threshold = parseThreshold(context.getParam("threshold", null));
+        
+        ClientCatalog catalog = clientMatchIndex.loadCatalog(count -> {
+            context.reportProgress(count, null);
+            return !context.isCancelled();
+        });
+        if (context.isCancelled()) {
+            return;
+        }
+        List<ClientCluster> clusters = catalog.clusters(threshold);
+        
+        try (OutputStream out = context.createArtifact("client-dedupe-" + context.getJobId() + ".ndjson", "application/x-ndjson");
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            for (ClientCluster cluster : clusters) {
+                objectMapper.writeValue(generator, cluster);
+                generator.writeRaw('\n');
+            }
+        }
+    }
+    
+    private double parseThreshold(String value) {
+        if (value == null) {
+            return clientMatchIndex.getMatchThreshold();
+        }
+        try {
+            double threshold = Double.parseDouble(value);
+            if (threshold > 0 && threshold <= 1) {
+                return threshold;
+            }
+        } catch (NumberFormatException ignored) {
+            // fall through to the error below
+        }
+        throw new BadRequestException("threshold must be a number greater than 0 and at most 1");
+    }
+}
@@ -0,0 +1,71 @@
+package com.investmentbanking.dealpipeline.job;
+
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import com.investmentbanking.dealpipeline.export.DealExportFormat;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.service.DealExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * DEAL_EXPORT - full deal extract stored as a downloadable job artifact
+ * Params: format (csv|ndjson|arrow), stage, sector, dealType, gzip (true|false)
+ */
+@Component
+@RequiredArgsConstructor
+public class DealExportJobHandler implements JobHandler {
+    
+    public static final String TYPE = "DEAL_EXPORT";
+    
+    private final DealExportService dealExportService;
+    
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+    
+    @Override
+    public void validate(Map<String, String> params) {
+        DealExportFormat.fromParam(params.get("format"));
+        parseStage(params.get("stage"));
+    }
+    
+    @Override
+    public void execute(JobContext context) throws Exception {
+        DealExportFormat format = DealExportFormat.fromParam(context.getParam("format", null));
+        boolean gzip = Boolean.parseBoolean(context.getParam("gzip", "false"));
+        Query query = dealExportService.buildExportQuery(
+                parseStage(context.getParam("stage", null)),
+                context.getParam("sector", null),
+                context.getParam("dealType", null));
+        
+        long total = dealExportService.countDeals(query);
+        context.reportProgress(0, total);
+        
+        String filename = "deals-export-" + context.getJobId() + "." + format.getExtension() + (gzip ? ".gz" : "");
+        String contentType = gzip ? "application/gzip" : format.getContentType();
+        
+        try (OutputStream out = context.createArtifact(filename, contentType)) {
+            long rows = dealExportService.writeDeals(query, format, gzip, out, written -> {
+                context.reportProgress(written, total);
+                return !context.isCancelled();
+            });
+            context.reportProgress(rows, total);
+        }
+    }
+    
+    private DealStage parseStage(String stage) {
+        if (stage == null) {
+            return null;
+        }
+        try {
+            return DealStage.valueOf(stage);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid stage value. Valid values are: Prospect, UnderEvaluation, TermSheetSubmitted, Closed, Lost");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.investmentbanking.dealpipeline.job;
+
+import com.investmentbanking.dealpipeline.analytics.FunnelTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * FUNNEL_REBUILD - recompute the conversion funnel counters from every deal's stage history
+ * Queued automatically when the counters are empty at startup
+ */
+@Component
+@RequiredArgsConstructor
+public class FunnelRebuildJobHandler implements JobHandler {
+    
+    public static final String TYPE = "FUNNEL_REBUILD";
+    
+    private final FunnelTracker funnelTracker;
+    
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+    
+    @Override
+    public void execute(JobContext context) {
+        long scanned = funnelTracker.rebuild(count -> {
+            context.reportProgress(count, null);
+            return !context.isCancelled();
+        });
+        context.reportProgress(scanned, scanned);
+    }
+}
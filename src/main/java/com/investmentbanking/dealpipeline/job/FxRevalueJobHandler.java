@@ -0,0 +1,62 @@
+package com.investmentbanking.dealpipeline.job;
+
+import com.investmentbanking.dealpipeline.analytics.ForecastIndex;
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import com.investmentbanking.dealpipeline.fx.FxRates;
+import com.investmentbanking.dealpipeline.service.FxRateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * FX_REVALUE - recompute every deal's baseCurrencyValue from the FX rate table
+ * Params: currencies (comma separated, default all) and from (ISO date, earliest rate that changed)
+ * Queued automatically after a rate upload, and at startup when deals are missing the field.
+ * Any replica may claim it, so the rates are reloaded from Mongo first rather than waiting for this
+ * replica's periodic reload.
+ */
+@Component
+@RequiredArgsConstructor
+public class FxRevalueJobHandler implements JobHandler {
+    
+    public static final String TYPE = "FX_REVALUE";
+    public static final String PARAM_CURRENCIES = "currencies";
+    public static final String PARAM_FROM = "from";
+    
+    private final FxRateService fxRateService;
+    private final FxRates fxRates;
+    private final ForecastIndex forecastIndex;
+    
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+    
+    @Override
+    public void execute(JobContext context) {
+        List<String> currencies = Arrays.stream(context.getParam(PARAM_CURRENCIES, "").split(","))
+                .map(String::strip)
+                .filter(currency -> !currency.isEmpty())
+                .toList();
+        LocalDate from;
+        try {
+            String value = context.getParam(PARAM_FROM, null);
+            from = value == null || value.isBlank() ? null : LocalDate.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("from must be an ISO date (yyyy-MM-dd)");
+        }
+        fxRates.load(); // throws rather than revalue with stale rates; the job is retried
+        Long total = currencies.isEmpty() ? null : (long) currencies.size();
+        context.reportProgress(0, total);
+        fxRateService.revalue(currencies, from, done -> {
+            context.reportProgress(done, total);
+            return !context.isCancelled();
+        });
+        // the rollup sums baseCurrencyValue and revaluation writes bypass DealChangedEvent
+        forecastIndex.rebuild();
+    }
+}
@@ -0,0 +1,18 @@
+package com.investmentbanking.dealpipeline.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.InputStream;
+
+/**
+ * Open download of a job's produced file
+ */
+@Getter
+@AllArgsConstructor
+public class JobArtifact {
+    private final String filename;
+    private final String contentType;
+    private final long length;
+    private final InputStream inputStream;
+}
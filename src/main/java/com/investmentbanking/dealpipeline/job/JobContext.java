@@ -0,0 +1,164 @@
+package com.investmentbanking.dealpipeline.job;
+
+import com.investmentbanking.dealpipeline.model.Job;
+import com.mongodb.client.gridfs.GridFSUploadStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Handle given to a JobHandler for one attempt of one job
+ */
+public class JobContext {
+    
+    private static final long PROGRESS_WRITE_INTERVAL_MS = 1000;
+    
+    private final Job job;
+    private final JobQueue jobQueue;
+    private final String workerId;
+    
+    private volatile boolean leaseLost;
+    private volatile boolean interrupted;
+    private long lastProgressWriteAt;
+    private GridFSUploadStream artifactStream;
+    private String artifactName;
+    private String artifactContentType;
+    
+    JobContext(Job job, JobQueue jobQueue, String workerId) {
+        this.job = job;
+        this.jobQueue = jobQueue;
+        this.workerId = workerId;
+    }
+    
+    public String getJobId() {
+        return job.getId();
+    }
+    
+    public String getCreatedBy() {
+        return job.getCreatedBy();
+    }
+    
+    public Map<String, String> getParams() {
+        return job.getParams() != null ? job.getParams() : Map.of();
+    }
+    
+    public String getParam(String name, String defaultValue) {
+        return getParams().getOrDefault(name, defaultValue);
+    }
+    
+    /**
+     * Record progress - writes are throttled to one per second per job
+     */
+    public void reportProgress(long processed, Long total) {
+        long now = System.currentTimeMillis();
+        if (now - lastProgressWriteAt < PROGRESS_WRITE_INTERVAL_MS) {
+            return;
+        }
+        lastProgressWriteAt = now;
+        if (!jobQueue.updateProgress(job.getId(), workerId, processed, total)) {
+            leaseLost = true;
+        }
+    }
+    
+    /**
+     * True once another worker has taken over the job (lease expired) or the worker is shutting down
+     */
+    public boolean isCancelled() {
+        if (Thread.currentThread().isInterrupted()) {
+            interrupted = true; // remembered in case the handler clears the flag before returning
+        }
+        return leaseLost || interrupted;
+    }
+    
+    /**
+     * Open the job's downloadable artifact. The upload is only kept if the attempt succeeds.
+     * Closing the returned stream is optional - the worker finalizes it.
+     */
+    public OutputStream createArtifact(String filename, String contentType) {
+        if (artifactStream != null) {
+            throw new IllegalStateException("Job " + job.getId() + " already created an artifact");
+        }
+        artifactStream = jobQueue.openArtifactUpload(job.getId(), filename, contentType);
+        artifactName = filename;
+        artifactContentType = contentType;
+        return new NonClosingOutputStream(artifactStream);
+    }
+    
+    void markLeaseLost() {
+        leaseLost = true;
+    }
+    
+    boolean isLeaseLost() {
+        return leaseLost;
+    }
+    
+    /**
+     * True once the worker thread was interrupted (shutdown) while running the job
+     */
+    boolean isInterrupted() {
+        return interrupted || Thread.currentThread().isInterrupted();
+    }
+    
+    Job getJob() {
+        return job;
+    }
+    
+    String getArtifactName() {
+        return artifactName;
+    }
+    
+    String getArtifactContentType() {
+        return artifactContentType;
+    }
+    
+    /**
+     * Finalize the artifact upload and return its GridFS id, or null if none was created
+     */
+    String finishArtifact() {
+        if (artifactStream == null) {
+            return null;
+        }
+        artifactStream.close();
+        return artifactStream.getObjectId().toHexString();
+    }
+    
+    void discardArtifact() {
+        if (artifactStream != null) {
+            try {
+                artifactStream.abort();
+            } catch (RuntimeException ignored) {
+                // Upload already finalized or never written - nothing to clean up
+            }
+        }
+    }
+    
+    private static final class NonClosingOutputStream extends OutputStream {
+        
+        private final OutputStream delegate;
+        
+        private NonClosingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+        
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+        
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+        
+        @Override
+        public void close() throws IOException {
+            delegate.flush();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.investmentbanking.dealpipeline.job;
+
+import java.util.Map;
+
+/**
+ * A unit of background work run by the JobWorker.
+ * Implementations are Spring beans; the type string is what clients pass to POST /api/admin/jobs.
+ */
+public interface JobHandler {
+    
+    String getType();
+    
+    /**
+     * Maximum number of jobs of this type running at once on a single replica
+     * Can be overridden with pipeline.jobs.concurrency.<type>
+     */
+    default int getConcurrency() {
+        return 1;
+    }
+    
+    /**
+     * Reject invalid params at submit time - throw BadRequestException
+     */
+    default void validate(Map<String, String> params) {
+    }
+    
+    /**
+     * Run the job. Throwing marks the attempt failed and the job is retried
+     * until pipeline.jobs.max-attempts is reached.
+     * Long loops should call context.reportProgress and stop when context.isCancelled(); the worker
+     * then discards the artifact and requeues (shutdown) or drops (lease lost) the attempt.
+     */
+    void execute(JobContext context) throws Exception;
+}
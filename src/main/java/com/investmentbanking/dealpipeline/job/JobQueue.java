@@ -0,0 +1,232 @@
+package com.investmentbanking.dealpipeline.job;
+
+import com.investmentbanking.dealpipeline.model.Job;
+import com.investmentbanking.dealpipeline.model.JobStatus;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.gridfs.GridFSDownloadStream;
+import com.mongodb.client.gridfs.GridFSUploadStream;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mongo-backed job queue
+ * Every state change is a single atomic findAndModify/update guarded by the lease owner,
+ * so any number of replicas can poll the same jobs collection safely.
+ */
+@Component
+@RequiredArgsConstructor
+public class JobQueue {
+    
+    private static final String ARTIFACT_BUCKET = "job_artifacts";
+    private static final int MAX_ERROR_LENGTH = 1000;
+    
+    private final MongoTemplate mongoTemplate;
+    
+    @Value("${pipeline.jobs.lease-duration-ms:60000}")
+    private long leaseDurationMs;
+    
+    @Value("${pipeline.jobs.max-attempts:3}")
+    private int maxAttempts;
+    
+    @Value("${pipeline.jobs.retry-backoff-ms:30000}")
+    private long retryBackoffMs;
+    
+    private volatile GridFSBucket artifactBucket;
+    
+    /**
+     * Persist a new QUEUED job
+     */
+    public Job enqueue(String type, Map<String, String> params, String createdBy, String createdByUsername) {
+        LocalDateTime now = LocalDateTime.now();
+        Job job = Job.builder()
+                .type(type)
+                .status(JobStatus.QUEUED)
+                .params(params != null ? new HashMap<>(params) : new HashMap<>())
+                .attempts(0)
+                .nextRunAt(now)
+                .createdBy(createdBy)
+                .createdByUsername(createdByUsername)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        return mongoTemplate.insert(job);
+    }
+    
+    /**
+     * Atomically claim the oldest runnable job of a type
+     * Runnable = QUEUED and due, or RUNNING with an expired lease (its worker died)
+     */
+    public Job claimNext(String type, String workerId) {
+        LocalDateTime now = LocalDateTime.now();
+        
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("type").is(type),
+                Criteria.where("attempts").lt(maxAttempts),
+                new Criteria().orOperator(
+                        Criteria.where("status").is(JobStatus.QUEUED).and("nextRunAt").lte(now),
+                        Criteria.where("status").is(JobStatus.RUNNING).and("leaseExpiresAt").lt(now))))
+                .with(Sort.by(Sort.Direction.ASC, "nextRunAt"));
+        
+        Update update = new Update()
+                .set("status", JobStatus.RUNNING)
+                .set("leaseOwner", workerId)
+                .set("leaseExpiresAt", now.plus(leaseDurationMs, ChronoUnit.MILLIS))
+                .set("startedAt", now)
+                .set("updatedAt", now)
+                .inc("attempts", 1);
+        
+        return mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Job.class);
+    }
+    
+    public boolean renewLease(String jobId, String workerId) {
+        LocalDateTime now = LocalDateTime.now();
+        UpdateResult result = mongoTemplate.updateFirst(ownedBy(jobId, workerId),
+                new Update()
+                        .set("leaseExpiresAt", now.plus(leaseDurationMs, ChronoUnit.MILLIS))
+                        .set("updatedAt", now),
+                Job.class);
+        return result.getMatchedCount() > 0;
+    }
+    
+    public boolean updateProgress(String jobId, String workerId, long processed, Long total) {
+        Update update = new Update()
+                .set("processed", processed)
+                .set("updatedAt", LocalDateTime.now());
+        if (total != null) {
+            update.set("total", total);
+        }
+        return mongoTemplate.updateFirst(ownedBy(jobId, workerId), update, Job.class).getMatchedCount() > 0;
+    }
+    
+    /**
+     * Mark the job SUCCEEDED - returns false if the lease was lost in the meantime
+     */
+    public boolean complete(JobContext context, String workerId, String artifactId) {
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .set("status", JobStatus.SUCCEEDED)
+                .set("finishedAt", now)
+                .set("updatedAt", now)
+                .unset("leaseOwner")
+                .unset("leaseExpiresAt")
+                .unset("error");
+        if (artifactId != null) {
+            update.set("artifactId", artifactId)
+                    .set("artifactName", context.getArtifactName())
+                    .set("artifactContentType", context.getArtifactContentType());
+        }
+        boolean completed = mongoTemplate.updateFirst(ownedBy(context.getJobId(), workerId), update, Job.class)
+                .getMatchedCount() > 0;
+        if (!completed && artifactId != null) {
+            deleteArtifact(artifactId);
+        }
+        return completed;
+    }
+    
+    /**
+     * Record a failed attempt - requeue with exponential backoff, or FAILED once attempts are used up
+     */
+    public void fail(Job job, String workerId, Throwable error) {
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .set("error", truncate(error.getClass().getSimpleName() + ": " + error.getMessage()))
+                .set("updatedAt", now)
+                .unset("leaseOwner")
+                .unset("leaseExpiresAt");
+        
+        if (job.getAttempts() < maxAttempts) {
+            long backoffMs = retryBackoffMs << Math.min(job.getAttempts() - 1, 10);
+            update.set("status", JobStatus.QUEUED)
+                    .set("nextRunAt", now.plus(backoffMs, ChronoUnit.MILLIS));
+        } else {
+            update.set("status", JobStatus.FAILED)
+                    .set("finishedAt", now);
+        }
+        mongoTemplate.updateFirst(ownedBy(job.getId(), workerId), update, Job.class);
+    }
+    
+    /**
+     * Put back a job whose attempt was cut short by this worker shutting down - QUEUED and due at once,
+     * with the attempt refunded since it never reached a result
+     */
+    public void release(Job job, String workerId) {
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .set("status", JobStatus.QUEUED)
+                .set("nextRunAt", now)
+                .set("updatedAt", now)
+                .inc("attempts", -1)
+                .unset("leaseOwner")
+                .unset("leaseExpiresAt");
+        mongoTemplate.updateFirst(ownedBy(job.getId(), workerId), update, Job.class);
+    }
+    
+    /**
+     * Fail RUNNING jobs whose lease expired on their last allowed attempt - nobody can claim them anymore
+     */
+    public long expireAbandoned() {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(Criteria.where("status").is(JobStatus.RUNNING)
+                .and("leaseExpiresAt").lt(now)
+                .and("attempts").gte(maxAttempts));
+        Update update = new Update()
+                .set("status", JobStatus.FAILED)
+                .set("error", "Worker lease expired on final attempt")
+                .set("finishedAt", now)
+                .set("updatedAt", now)
+                .unset("leaseOwner")
+                .unset("leaseExpiresAt");
+        return mongoTemplate.updateMulti(query, update, Job.class).getModifiedCount();
+    }
+    
+    GridFSUploadStream openArtifactUpload(String jobId, String filename, String contentType) {
+        GridFSUploadOptions options = new GridFSUploadOptions()
+                .metadata(new Document("jobId", jobId).append("contentType", contentType));
+        return artifactBucket().openUploadStream(filename, options);
+    }
+    
+    public GridFSDownloadStream openArtifactDownload(String artifactId) {
+        return artifactBucket().openDownloadStream(new ObjectId(artifactId));
+    }
+    
+    private void deleteArtifact(String artifactId) {
+        artifactBucket().delete(new ObjectId(artifactId));
+    }
+    
+    private GridFSBucket artifactBucket() {
+        GridFSBucket bucket = artifactBucket;
+        if (bucket == null) {
+            bucket = GridFSBuckets.create(mongoTemplate.getDb(), ARTIFACT_BUCKET);
+            artifactBucket = bucket;
+        }
+        return bucket;
+    }
+    
+    private Query ownedBy(String jobId, String workerId) {
+        return new Query(Criteria.where("_id").is(jobId)
+                .and("status").is(JobStatus.RUNNING)
+                .and("leaseOwner").is(workerId));
+    }
+    
+    private String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
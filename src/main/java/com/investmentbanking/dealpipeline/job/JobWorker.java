@@ -0,0 +1,174 @@
+package com.investmentbanking.dealpipeline.job;
+
+import com.investmentbanking.dealpipeline.model.Job;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the jobs collection and runs claimed jobs on a bounded pool per job type.
+ * Leases of running jobs are renewed by a heartbeat; a replica that dies simply stops renewing
+ * and another replica picks the job up once the lease expires.
+ */
+@Component
+@Slf4j
+public class JobWorker {
+    
+    private final JobQueue jobQueue;
+    private final ObjectProvider<JobHandler> handlers;
+    private final Environment environment;
+    private final String workerId;
+    
+    private final Map<String, ExecutorService> executors = new ConcurrentHashMap<>();
+    private final Map<String, Semaphore> slots = new ConcurrentHashMap<>();
+    private final Map<String, JobContext> running = new ConcurrentHashMap<>();
+    
+    public JobWorker(JobQueue jobQueue, ObjectProvider<JobHandler> handlers, Environment environment) {
+        this.jobQueue = jobQueue;
+        this.handlers = handlers;
+        this.environment = environment;
+        this.workerId = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+    
+    @Scheduled(fixedDelayString = "${pipeline.jobs.poll-interval-ms:2000}")
+    public void poll() {
+        try {
+            long expired = jobQueue.expireAbandoned();
+            if (expired > 0) {
+                log.warn("Marked {} abandoned job(s) as FAILED", expired);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Failed to expire abandoned jobs: {}", ex.getMessage());
+        }
+        
+        handlers.orderedStream().forEach(this::claimAvailable);
+    }
+    
+    @Scheduled(fixedDelayString = "${pipeline.jobs.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        running.forEach((jobId, context) -> {
+            try {
+                if (!jobQueue.renewLease(jobId, workerId)) {
+                    log.warn("Lost lease on job {} - it will be cancelled", jobId);
+                    context.markLeaseLost();
+                }
+            } catch (RuntimeException ex) {
+                log.error("Failed to renew lease on job {}: {}", jobId, ex.getMessage());
+            }
+        });
+    }
+    
+    private void claimAvailable(JobHandler handler) {
+        Semaphore free = slots.computeIfAbsent(handler.getType(), type -> new Semaphore(concurrency(handler)));
+        
+        while (free.tryAcquire()) {
+            Job job;
+            try {
+                job = jobQueue.claimNext(handler.getType(), workerId);
+            } catch (RuntimeException ex) {
+                free.release();
+                log.error("Failed to claim {} job: {}", handler.getType(), ex.getMessage());
+                return;
+            }
+            if (job == null) {
+                free.release();
+                return;
+            }
+            
+            JobContext context = new JobContext(job, jobQueue, workerId);
+            running.put(job.getId(), context);
+            executorFor(handler).execute(() -> run(handler, context, free));
+        }
+    }
+    
+    private void run(JobHandler handler, JobContext context, Semaphore free) {
+        Job job = context.getJob();
+        long startedAt = System.currentTimeMillis();
+        log.info("Starting {} job {} (attempt {})", job.getType(), job.getId(), job.getAttempts());
+        try {
+            handler.execute(context);
+            if (context.isLeaseLost()) {
+                context.discardArtifact();
+                log.warn("Job {} finished after losing its lease - result discarded", job.getId());
+            } else if (context.isInterrupted()) {
+                // handlers stop early and return normally when cancelled, so the result may be partial
+                context.discardArtifact();
+                release(job);
+            } else if (jobQueue.complete(context, workerId, context.finishArtifact())) {
+                log.info("Completed {} job {} in {} ms", job.getType(), job.getId(),
+                        System.currentTimeMillis() - startedAt);
+            }
+        } catch (Exception ex) {
+            context.discardArtifact();
+            if (context.isInterrupted() && !context.isLeaseLost()) {
+                release(job);
+                return;
+            }
+            log.error("{} job {} failed on attempt {}: {}", job.getType(), job.getId(), job.getAttempts(),
+                    ex.getMessage(), ex);
+            try {
+                jobQueue.fail(job, workerId, ex);
+            } catch (RuntimeException updateEx) {
+                log.error("Failed to record failure of job {}: {}", job.getId(), updateEx.getMessage());
+            }
+        } finally {
+            running.remove(job.getId());
+            free.release();
+        }
+    }
+    
+    private void release(Job job) {
+        log.warn("{} job {} interrupted by shutdown - requeued", job.getType(), job.getId());
+        try {
+            jobQueue.release(job, workerId);
+        } catch (RuntimeException ex) {
+            log.error("Failed to requeue job {}: {} - it is picked up again once its lease expires",
+                    job.getId(), ex.getMessage());
+        }
+    }
+    
+    private ExecutorService executorFor(JobHandler handler) {
+        return executors.computeIfAbsent(handler.getType(), type ->
+                Executors.newFixedThreadPool(concurrency(handler), new CustomizableThreadFactory("job-" + type + "-")));
+    }
+    
+    private int concurrency(JobHandler handler) {
+        Integer configured = environment.getProperty(
+                "pipeline.jobs.concurrency." + handler.getType(), Integer.class);
+        return Math.max(1, configured != null ? configured : handler.getConcurrency());
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executors.values().forEach(ExecutorService::shutdownNow);
+        for (ExecutorService executor : executors.values()) {
+            try {
+                executor.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+    
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception ex) {
+            return "worker";
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.investmentbanking.dealpipeline.job;
+
+import com.investmentbanking.dealpipeline.compliance.RestrictedListScreener;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.service.RestrictedListService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+/**
+ * RESTRICTED_RESCREEN - screen every deal against the current restricted / watch list
+ * Queued automatically whenever the list changes. Any replica may claim it, so the list is
+ * recompiled from Mongo first rather than waiting for this replica's periodic reload.
+ */
+@Component
+@RequiredArgsConstructor
+public class RestrictedRescreenJobHandler implements JobHandler {
+    
+    public static final String TYPE = "RESTRICTED_RESCREEN";
+    
+    private final RestrictedListService restrictedListService;
+    private final RestrictedListScreener screener;
+    private final MongoTemplate mongoTemplate;
+    
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+    
+    @Override
+    public void execute(JobContext context) {
+        screener.load(); // throws rather than rescreen against a stale list; the job is retried
+        long total = mongoTemplate.count(new Query(), Deal.class);
+        context.reportProgress(0, total);
+        restrictedListService.rescreenAll(scanned -> {
+            context.reportProgress(scanned, total);
+            return !context.isCancelled();
+        });
+    }
+}
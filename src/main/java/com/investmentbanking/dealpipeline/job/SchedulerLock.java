@@ -0,0 +1,79 @@
+package com.investmentbanking.dealpipeline.job;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Named leases in the scheduler_locks collection, so a @Scheduled task runs on one replica at a time.
+ * Acquiring is one findAndModify upsert on {_id: name, lockedUntil <= now}; while another replica
+ * holds the lease the upsert collides with the existing _id and fails. A replica that dies holding
+ * a lease blocks the task only until the lease expires.
+ */
+@Component
+@Slf4j
+public class SchedulerLock {
+    
+    private static final String COLLECTION = "scheduler_locks";
+    
+    private final MongoTemplate mongoTemplate;
+    private final String ownerId;
+    
+    public SchedulerLock(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        this.ownerId = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+    
+    public String getOwnerId() {
+        return ownerId;
+    }
+    
+    /**
+     * @return true if this replica now holds the lease for leaseDuration
+     */
+    public boolean tryAcquire(String name, Duration leaseDuration) {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(Criteria.where("_id").is(name).and("lockedUntil").lte(now));
+        Update update = new Update()
+                .set("lockedBy", ownerId)
+                .set("lockedAt", now)
+                .set("lockedUntil", now.plus(leaseDuration));
+        try {
+            return mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), Document.class, COLLECTION) != null;
+        } catch (DuplicateKeyException ex) {
+            return false; // held by another replica
+        }
+    }
+    
+    /**
+     * Give the lease up early; a no-op if it expired and another replica took it
+     */
+    public void release(String name) {
+        try {
+            mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(name).and("lockedBy").is(ownerId)),
+                    new Update().set("lockedUntil", LocalDateTime.now()), COLLECTION);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to release scheduler lock {}, it expires on its own: {}", name, ex.getMessage());
+        }
+    }
+    
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception ex) {
+            return "worker";
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.investmentbanking.dealpipeline.job;
+
+import com.investmentbanking.dealpipeline.search.DealSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * SEARCH_REINDEX - online rebuild of this replica's full-text index from Mongo
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchReindexJobHandler implements JobHandler {
+    
+    public static final String TYPE = "SEARCH_REINDEX";
+    
+    private final DealSearchIndex dealSearchIndex;
+    
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+    
+    @Override
+    public void execute(JobContext context) {
+        long indexed = dealSearchIndex.reindex(count -> {
+            context.reportProgress(count, null);
+            return !context.isCancelled();
+        });
+        context.reportProgress(indexed, indexed);
+    }
+}
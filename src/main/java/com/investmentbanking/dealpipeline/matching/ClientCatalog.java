@@ -0,0 +1,202 @@
+package com.investmentbanking.dealpipeline.matching;
+
+import com.investmentbanking.dealpipeline.dto.ClientMatchCandidate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Distinct clients keyed by normalized name, with the raw spellings and deal counts (in total and per
+ * deal owner) behind each, and a MinHash/LSH index over the normalized names for near-duplicate lookup.
+ * Safe for concurrent reads and writes.
+ */
+public class ClientCatalog {
+    
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final MinHashLsh lsh = new MinHashLsh();
+    
+    /**
+     * @param owner createdBy of the deal naming the client
+     */
+    public void add(String clientName, String owner) {
+        String normalized = ClientNameNormalizer.normalize(clientName);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        entries.compute(normalized, (key, entry) -> {
+            if (entry == null) {
+                entry = new Entry(key);
+                lsh.add(key, entry.signature);
+            }
+            entry.spellings.merge(clientName.strip(), 1, Integer::sum);
+            if (owner != null) {
+                entry.dealsByOwner.merge(owner, 1, Integer::sum);
+            }
+            entry.dealCount++;
+            return entry;
+        });
+    }
+    
+    public void remove(String clientName, String owner) {
+        String normalized = ClientNameNormalizer.normalize(clientName);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        entries.computeIfPresent(normalized, (key, entry) -> {
+            entry.spellings.computeIfPresent(clientName.strip(), (spelling, count) -> count > 1 ? count - 1 : null);
+            if (owner != null) {
+                entry.dealsByOwner.computeIfPresent(owner, (ownerId, count) -> count > 1 ? count - 1 : null);
+            }
+            entry.dealCount--;
+            if (entry.dealCount <= 0) {
+                lsh.remove(key, entry.signature);
+                return null;
+            }
+            return entry;
+        });
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    /**
+     * Known clients whose normalized name is at least minSimilarity similar to clientName's, best first
+     *
+     * @param restrictToOwner only clients on this user's deals, with their deal count; null for firm-wide
+     */
+    public List<ClientMatchCandidate> match(String clientName, double minSimilarity, int limit, String restrictToOwner) {
+        String normalized = ClientNameNormalizer.normalize(clientName);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        Set<String> shingles = MinHashLsh.shingles(normalized);
+        Set<String> candidates = lsh.candidates(MinHashLsh.signature(shingles));
+        if (entries.containsKey(normalized)) {
+            candidates.add(normalized);
+        }
+        
+        List<ClientMatchCandidate> matches = new ArrayList<>();
+        for (String candidate : candidates) {
+            Entry entry = entries.get(candidate);
+            if (entry == null) {
+                continue; // removed since the lookup
+            }
+            Integer ownDeals = restrictToOwner == null ? null : entry.dealsByOwner.get(restrictToOwner);
+            if (restrictToOwner != null && ownDeals == null) {
+                continue; // another desk's client
+            }
+            double similarity = candidate.equals(normalized) ? 1.0 : MinHashLsh.jaccard(shingles, entry.shingles);
+            if (similarity >= minSimilarity) {
+                matches.add(ClientMatchCandidate.builder()
+                        .clientName(entry.preferredSpelling())
+                        .normalizedName(candidate)
+                        .similarity(similarity)
+                        .dealCount(ownDeals != null ? ownDeals : entry.dealCount)
+                        .build());
+            }
+        }
+        matches.sort(Comparator.comparingDouble(ClientMatchCandidate::getSimilarity).reversed()
+                .thenComparing(Comparator.comparingInt(ClientMatchCandidate::getDealCount).reversed()));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+    
+    /**
+     * Groups of names that are probably the same client: several spellings of one normalized name,
+     * and normalized names linked by a similarity of at least minSimilarity (transitively).
+     * Largest clusters first; clients with a single spelling and no near-duplicates are left out.
+     */
+    public List<ClientCluster> clusters(double minSimilarity) {
+        Map<String, String> parent = new HashMap<>();
+        for (Entry entry : entries.values()) {
+            parent.putIfAbsent(entry.normalized, entry.normalized);
+            for (String candidate : lsh.candidates(entry.signature)) {
+                Entry other = entries.get(candidate);
+                if (other != null && !candidate.equals(entry.normalized)
+                        && MinHashLsh.jaccard(entry.shingles, other.shingles) >= minSimilarity) {
+                    parent.putIfAbsent(candidate, candidate);
+                    union(parent, entry.normalized, candidate);
+                }
+            }
+        }
+        
+        Map<String, List<Entry>> groups = new HashMap<>();
+        for (String key : parent.keySet()) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                groups.computeIfAbsent(find(parent, key), root -> new ArrayList<>()).add(entry);
+            }
+        }
+        
+        List<ClientCluster> clusters = new ArrayList<>();
+        for (List<Entry> group : groups.values()) {
+            if (group.size() == 1 && group.get(0).spellings.size() < 2) {
+                continue;
+            }
+            Entry canonical = group.stream().max(Comparator.comparingInt(entry -> entry.dealCount)).orElseThrow();
+            List<ClientCluster.Member> members = new ArrayList<>();
+            int dealCount = 0;
+            for (Entry entry : group) {
+                double similarity = entry == canonical ? 1.0 : MinHashLsh.jaccard(canonical.shingles, entry.shingles);
+                for (Map.Entry<String, Integer> spelling : entry.spellings.entrySet()) {
+                    members.add(new ClientCluster.Member(spelling.getKey(), entry.normalized, spelling.getValue(), similarity));
+                    dealCount += spelling.getValue();
+                }
+            }
+            members.sort(Comparator.comparingDouble(ClientCluster.Member::getSimilarity).reversed()
+                    .thenComparing(Comparator.comparingInt(ClientCluster.Member::getDealCount).reversed()));
+            clusters.add(new ClientCluster(canonical.preferredSpelling(), dealCount, members));
+        }
+        clusters.sort(Comparator.comparingInt((ClientCluster cluster) -> cluster.getMembers().size()).reversed()
+                .thenComparing(ClientCluster::getCanonicalName));
+        return clusters;
+    }
+    
+    private static String find(Map<String, String> parent, String key) {
+        String root = key;
+        while (!parent.get(root).equals(root)) {
+            root = parent.get(root);
+        }
+        while (!parent.get(key).equals(root)) { // path compression
+            String next = parent.get(key);
+            parent.put(key, root);
+            key = next;
+        }
+        return root;
+    }
+    
+    private static void union(Map<String, String> parent, String a, String b) {
+        String rootA = find(parent, a);
+        String rootB = find(parent, b);
+        if (!rootA.equals(rootB)) {
+            parent.put(rootB, rootA);
+        }
+    }
+    
+    private static final class Entry {
+        private final String normalized;
+        private final Set<String> shingles;
+        private final int[] signature;
+        private final Map<String, Integer> spellings = new ConcurrentHashMap<>();
+        private final Map<String, Integer> dealsByOwner = new ConcurrentHashMap<>();
+        private volatile int dealCount; // only written inside entries.compute for this key
+        
+        private Entry(String normalized) {
+            this.normalized = normalized;
+            this.shingles = MinHashLsh.shingles(normalized);
+            this.signature = MinHashLsh.signature(shingles);
+        }
+        
+        private String preferredSpelling() {
+            return spellings.entrySet().stream()
+                    .max(Map.Entry.<String, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                    .map(Map.Entry::getKey)
+                    .orElse(normalized);
+        }
+    }
+}
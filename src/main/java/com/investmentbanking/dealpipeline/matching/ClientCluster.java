@@ -0,0 +1,27 @@
+package com.investmentbanking.dealpipeline.matching;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Client names that look like the same client, as found by the dedupe report
+ */
+@Getter
+@AllArgsConstructor
+public class ClientCluster {
+    
+    private final String canonicalName; // most used spelling in the cluster
+    private final int dealCount;
+    private final List<Member> members;
+    
+    @Getter
+    @AllArgsConstructor
+    public static class Member {
+        private final String clientName;
+        private final String normalizedName;
+        private final int dealCount;
+        private final double similarity; // to the canonical name's normalized form
+    }
+}
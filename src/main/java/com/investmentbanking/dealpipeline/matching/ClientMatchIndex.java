@@ -0,0 +1,112 @@
+package com.investmentbanking.dealpipeline.matching;
+
+import com.investmentbanking.dealpipeline.dto.ClientMatchCandidate;
+import com.investmentbanking.dealpipeline.event.DealChangedEvent;
+import com.investmentbanking.dealpipeline.model.Deal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.LongPredicate;
+import java.util.stream.Stream;
+
+/**
+ * Firm-wide client catalog used to offer existing clients when a deal is created with a
+ * spelling that is new or close to another one. USER lookups only see clients on their own deals,
+ * so the catalog cannot be probed for whom other desks work with.
+ * Loaded from Mongo at startup and on a fixed interval (which also picks up other replicas' writes),
+ * and kept current on this replica from DealChangedEvent.
+ */
+@Component
+@Slf4j
+public class ClientMatchIndex {
+    
+    public static final int MAX_CANDIDATES = 5;
+    
+    private static final int CURSOR_BATCH_SIZE = 2000;
+    
+    private final MongoTemplate mongoTemplate;
+    private volatile ClientCatalog catalog = new ClientCatalog();
+    
+    @Value("${pipeline.clients.match-threshold:0.5}")
+    private double matchThreshold;
+    
+    public ClientMatchIndex(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+    
+    /**
+     * Existing clients similar to clientName, most similar first
+     *
+     * @param restrictToCreatedBy owner filter for USER callers, null for ADMIN
+     */
+    public List<ClientMatchCandidate> match(String clientName, String restrictToCreatedBy) {
+        return catalog.match(clientName, matchThreshold, MAX_CANDIDATES, restrictToCreatedBy);
+    }
+    
+    public double getMatchThreshold() {
+        return matchThreshold;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+    
+    @Scheduled(initialDelayString = "${pipeline.clients.rebuild-interval-ms:600000}",
+            fixedDelayString = "${pipeline.clients.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        try {
+            ClientCatalog loaded = loadCatalog(count -> true);
+            catalog = loaded;
+            log.info("Client catalog loaded {} clients in {} ms", loaded.size(), System.currentTimeMillis() - startedAt);
+        } catch (RuntimeException ex) {
+            log.error("Client catalog rebuild failed: {}", ex.getMessage(), ex);
+        }
+    }
+    
+    /**
+     * Fresh catalog of every deal's clientName, independent of the live one
+     *
+     * @param progress called every CURSOR_BATCH_SIZE deals with the running count; return false to stop
+     */
+    public ClientCatalog loadCatalog(LongPredicate progress) {
+        ClientCatalog loaded = new ClientCatalog();
+        Query query = new Query().cursorBatchSize(CURSOR_BATCH_SIZE);
+        query.fields().include("clientName", "createdBy");
+        long count = 0;
+        try (Stream<Deal> deals = mongoTemplate.stream(query, Deal.class)) {
+            for (Deal deal : (Iterable<Deal>) deals::iterator) {
+                loaded.add(deal.getClientName(), deal.getCreatedBy());
+                count++;
+                if (count % CURSOR_BATCH_SIZE == 0 && !progress.test(count)) {
+                    break;
+                }
+            }
+        }
+        return loaded;
+    }
+    
+    @EventListener
+    public void onDealChanged(DealChangedEvent event) {
+        ClientCatalog current = catalog;
+        switch (event.getType()) {
+            case CREATED -> current.add(event.getCurrent().getClientName(), event.getCurrent().getCreatedBy());
+            case DELETED -> current.remove(event.getPrevious().getClientName(), event.getPrevious().getCreatedBy());
+            case UPDATED -> {
+                if (!Objects.equals(event.getPrevious().getClientName(), event.getCurrent().getClientName())) {
+                    current.remove(event.getPrevious().getClientName(), event.getPrevious().getCreatedBy());
+                    current.add(event.getCurrent().getClientName(), event.getCurrent().getCreatedBy());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.investmentbanking.dealpipeline.matching;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical form of a client name used as the matching key:
+ * lower case, accents and punctuation removed, "&" spelled out, initialisms joined
+ * ("L.L.C." becomes "llc") and trailing legal-form words dropped.
+ * "Acme Corp", "ACME Corporation" and "Acme Corp." all normalize to "acme".
+ */
+public final class ClientNameNormalizer {
+    
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+    
+    private static final Set<String> LEGAL_SUFFIXES = Set.of(
+            "inc", "incorporated", "corp", "corporation", "co", "company", "cos", "companies",
+            "ltd", "limited", "llc", "lc", "plc", "lp", "llp", "pllc", "pc",
+            "gmbh", "ag", "kg", "sa", "sas", "sarl", "spa", "srl", "nv", "bv", "oy", "ab", "as", "asa",
+            "pte", "pty", "bhd", "sdn", "kk", "kabushiki", "kaisha");
+    
+    private ClientNameNormalizer() {
+    }
+    
+    /**
+     * @return the normalized name, or "" when nothing but punctuation / legal forms remains
+     */
+    public static String normalize(String name) {
+        List<String> tokens = tokenize(name);
+        if (!tokens.isEmpty() && tokens.get(0).equals("the")) {
+            tokens.remove(0);
+        }
+        // Keep at least one token so "The Company" does not collapse to nothing
+        while (tokens.size() > 1 && LEGAL_SUFFIXES.contains(tokens.get(tokens.size() - 1))) {
+            tokens.remove(tokens.size() - 1);
+        }
+        return String.join(" ", tokens);
+    }
+    
+    /**
+     * Same folding as normalize (case, accents, punctuation, "&", initialisms) but keeping every word -
+     * for free text such as deal descriptions that is searched for normalized names
+     */
+    public static String fold(String text) {
+        return String.join(" ", tokenize(text));
+    }
+    
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("")
+                .toLowerCase(Locale.ROOT)
+                .replace("&", " and ");
+        
+        // Split on punctuation, joining runs of single letters so "l.l.c." and "s.a." survive as one token
+        StringBuilder initialism = new StringBuilder();
+        for (String token : NON_ALPHANUMERIC.split(folded)) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            if (token.length() == 1 && Character.isLetter(token.charAt(0))) {
+                initialism.append(token);
+                continue;
+            }
+            if (!initialism.isEmpty()) {
+                tokens.add(initialism.toString());
+                initialism.setLength(0);
+            }
+            tokens.add(token);
+        }
+        if (!initialism.isEmpty()) {
+            tokens.add(initialism.toString());
+        }
+        return tokens;
+    }
+}
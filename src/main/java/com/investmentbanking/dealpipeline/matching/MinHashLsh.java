@@ -0,0 +1,121 @@
+package com.investmentbanking.dealpipeline.matching;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * MinHash signatures over character shingles with banded locality-sensitive hashing.
+ * Keys whose signatures agree on every row of at least one band share a bucket, so a lookup
+ * touches BANDS buckets instead of every key. With 16 bands of 4 rows the candidate
+ * probability passes 50% at a Jaccard similarity of about 0.5.
+ * Buckets are concurrent sets, so lookups may run alongside adds and removes.
+ */
+public class MinHashLsh {
+    
+    static final int SHINGLE_SIZE = 3;
+    static final int BANDS = 16;
+    static final int ROWS = 4;
+    static final int SIGNATURE_SIZE = BANDS * ROWS;
+    
+    private static final long[] SEEDS = new SplittableRandom(0x5eed).longs(SIGNATURE_SIZE).toArray();
+    
+    private final List<Map<Long, Set<String>>> buckets = new ArrayList<>(BANDS);
+    
+    public MinHashLsh() {
+        for (int band = 0; band < BANDS; band++) {
+            buckets.add(new ConcurrentHashMap<>());
+        }
+    }
+    
+    /**
+     * Character shingles of a normalized name, padded so short names and word edges still shingle
+     */
+    public static Set<String> shingles(String normalized) {
+        String padded = " " + normalized + " ";
+        Set<String> shingles = new HashSet<>();
+        for (int i = 0; i + SHINGLE_SIZE <= padded.length(); i++) {
+            shingles.add(padded.substring(i, i + SHINGLE_SIZE));
+        }
+        return shingles;
+    }
+    
+    public static double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() && b.isEmpty()) {
+            return 1.0;
+        }
+        Set<String> smaller = a.size() <= b.size() ? a : b;
+        Set<String> larger = smaller == a ? b : a;
+        int intersection = 0;
+        for (String shingle : smaller) {
+            if (larger.contains(shingle)) {
+                intersection++;
+            }
+        }
+        return (double) intersection / (a.size() + b.size() - intersection);
+    }
+    
+    public static int[] signature(Set<String> shingles) {
+        int[] signature = new int[SIGNATURE_SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String shingle : shingles) {
+            long hash = shingle.hashCode();
+            for (int i = 0; i < SIGNATURE_SIZE; i++) {
+                int value = (int) (mix(hash ^ SEEDS[i]) >>> 33);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+    
+    public void add(String key, int[] signature) {
+        for (int band = 0; band < BANDS; band++) {
+            buckets.get(band).computeIfAbsent(bandKey(signature, band), k -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+    }
+    
+    public void remove(String key, int[] signature) {
+        for (int band = 0; band < BANDS; band++) {
+            buckets.get(band).computeIfPresent(bandKey(signature, band), (k, members) -> {
+                members.remove(key);
+                return members.isEmpty() ? null : members;
+            });
+        }
+    }
+    
+    /**
+     * Keys sharing at least one band bucket - to be verified with an exact similarity check
+     */
+    public Set<String> candidates(int[] signature) {
+        Set<String> candidates = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            Set<String> members = buckets.get(band).get(bandKey(signature, band));
+            if (members != null) {
+                candidates.addAll(members);
+            }
+        }
+        return candidates;
+    }
+    
+    private static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            key = key * 0x9E3779B97F4A7C15L + signature[row];
+        }
+        return mix(key);
+    }
+    
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
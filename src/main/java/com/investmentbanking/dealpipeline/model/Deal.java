@@ -5,20 +5,34 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Document(collection = "deals")
+@CompoundIndexes({
+        @CompoundIndex(name = "deal_owner_created_idx", def = "{'createdBy': 1, 'createdAt': -1}"),
+        @CompoundIndex(name = "deal_stage_sector_type_idx", def = "{'currentStage': 1, 'sector': 1, 'dealType': 1}"),
+        @CompoundIndex(name = "deal_stage_updated_id_idx", def = "{'currentStage': 1, 'updatedAt': 1, '_id': 1}"),
+        @CompoundIndex(name = "deal_stage_entered_idx", def = "{'currentStage': 1, 'stageEnteredAt': 1}"),
+        @CompoundIndex(name = "deal_stage_close_id_idx", def = "{'currentStage': 1, 'expectedCloseDate': 1, '_id': 1}"),
+        @CompoundIndex(name = "deal_stage_created_id_idx", def = "{'currentStage': 1, 'createdAt': 1, '_id': 1}"),
+        @CompoundIndex(name = "deal_stage_value_id_idx", def = "{'currentStage': 1, 'dealValue': 1, '_id': 1}"),
+        @CompoundIndex(name = "deal_stage_base_value_id_idx", def = "{'currentStage': 1, 'baseCurrencyValue': 1, '_id': 1}")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class Deal {
     
     @Id
@@ -37,15 +51,30 @@ public class Deal {
     @Field("currentStage")
     private DealStage currentStage;
     
+    @Field("stageEnteredAt")
+    private LocalDateTime stageEnteredAt; // when currentStage was entered - aging queries read this
+    
+    @Field("stageDurationSeconds")
+    private Map<DealStage, Long> stageDurationSeconds; // total time spent in each stage already left
+    
+    @Field("stageHistory")
+    private List<StageTransition> stageHistory; // append-only, see DealStageMachine
+    
     @Field("clientName")
     private String clientName;
     
-    @Field("dealValue")
+    @Field("counterparty")
+    private String counterparty; // other side of the deal (target, acquirer, issuer) - used for conflict clearance
+    
+    @Field(name = "dealValue", targetType = FieldType.DECIMAL128)
     private BigDecimal dealValue; // ADMIN ONLY - sensitive field
     
     @Field("currency")
     private String currency; // USD, EUR, GBP, etc.
     
+    @Field(name = "baseCurrencyValue", targetType = FieldType.DECIMAL128)
+    private BigDecimal baseCurrencyValue; // ADMIN ONLY - dealValue in pipeline.fx.base-currency, see FxRates
+    
     @Field("description")
     private String description;
     
@@ -73,6 +102,12 @@ public class Deal {
     @Field("notes")
     private List<Note> notes = new ArrayList<>();
     
+    @Field("screeningHits")
+    private List<ScreeningHit> screeningHits; // restricted / watch list matches, ADMIN only
+    
+    @Field("screenedAt")
+    private LocalDateTime screenedAt;
+    
     @Field("expectedCloseDate")
     private LocalDateTime expectedCloseDate;
     
@@ -84,4 +119,7 @@ public class Deal {
     
     @Field("updatedAt")
     private LocalDateTime updatedAt;
+    
+    @Field("staleAlertedAt")
+    private LocalDateTime staleAlertedAt; // last stale-deal alert; a deal is not re-alerted until it is updated again
 }
@@ -0,0 +1,40 @@
+package com.investmentbanking.dealpipeline.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Persisted analytics sketches. The "base" document holds the sketches of a full rebuild from the deals
+ * collection; each replica keeps a "delta:<owner>" document with what its writes added since that rebuild.
+ * Sketches are mergeable, so base plus every delta of the same epoch is the sketch of all writes.
+ */
+@Document(collection = "deal_sketches")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DealSketchState {
+    
+    public static final String BASE_ID = "base";
+    public static final String DELTA_PREFIX = "delta:";
+    
+    @Id
+    private String id; // base or delta:<replica owner id>
+    
+    @Field("epoch")
+    private long epoch; // when the base was rebuilt, epoch millis; deltas of another epoch are stale
+    
+    @Field("sketches")
+    private List<SketchBlob> sketches;
+    
+    @Field("updatedAt")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,52 @@
+package com.investmentbanking.dealpipeline.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.util.Map;
+
+/**
+ * Funnel counters for one cohort of deals: creation quarter x sector x dealType.
+ * Maintained incrementally by FunnelTracker and rebuilt from the deals by the FUNNEL_REBUILD job.
+ */
+@Document(collection = "funnel_cohorts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FunnelCohort {
+    
+    @Id
+    private String id; // quarter|sector|dealType
+    
+    @Indexed
+    @Field("quarter")
+    private String quarter; // 2024-Q3
+    
+    @Field("sector")
+    private String sector;
+    
+    @Field("dealType")
+    private String dealType;
+    
+    @Field("deals")
+    private long deals;
+    
+    @Field("reached")
+    private Map<DealStage, Long> reached; // deals that reached each funnel stage or went past it
+    
+    @Field("won")
+    private long won; // currently Closed
+    
+    @Field("lost")
+    private long lost; // currently Lost
+    
+    @Field("moves")
+    private Map<String, Long> moves; // every recorded transition, keyed "From>To"
+}
@@ -0,0 +1,49 @@
+package com.investmentbanking.dealpipeline.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Units of the base currency (pipeline.fx.base-currency) per one unit of currency,
+ * in effect from effectiveDate until the currency's next rate
+ */
+@Document(collection = "fx_rates")
+@CompoundIndex(name = "fx_currency_effective_idx", def = "{'currency': 1, 'effectiveDate': -1}", unique = true)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FxRate {
+    
+    @Id
+    private String id;
+    
+    @Field("currency")
+    private String currency; // ISO 4217 code, upper case
+    
+    @Field(name = "rate", targetType = FieldType.DECIMAL128)
+    private BigDecimal rate;
+    
+    @Field("effectiveDate")
+    private LocalDate effectiveDate;
+    
+    @Field("createdBy")
+    private String createdBy;
+    
+    @Field("createdByUsername")
+    private String createdByUsername;
+    
+    @Field("createdAt")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,56 @@
+package com.investmentbanking.dealpipeline.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+
+@Document(collection = "inbox_messages")
+@CompoundIndex(name = "inbox_user_created_idx", def = "{'userId': 1, 'createdAt': -1}")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InboxMessage {
+    
+    @Id
+    private String id;
+    
+    @Field("userId")
+    private String userId;
+    
+    @Field("type")
+    private InboxMessageType type;
+    
+    @Field("title")
+    private String title;
+    
+    @Field("dealId")
+    private String dealId;
+    
+    @Field("dealName")
+    private String dealName;
+    
+    @Field("savedSearchId")
+    private String savedSearchId; // SAVED_SEARCH_MATCH only
+    
+    @Field("staleAlertId")
+    private String staleAlertId; // STALE_DEALS only - the alert listing the deals
+    
+    @Field("reminderId")
+    private String reminderId; // REMINDER only
+    
+    @Field("read")
+    private boolean read;
+    
+    @Indexed(name = "inbox_ttl_idx", expireAfter = "90d") // inbox keeps 90 days
+    @Field("createdAt")
+    private LocalDateTime createdAt;
+}
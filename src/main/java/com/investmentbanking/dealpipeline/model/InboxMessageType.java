@@ -0,0 +1,7 @@
+package com.investmentbanking.dealpipeline.model;
+
+public enum InboxMessageType {
+    SAVED_SEARCH_MATCH,
+    STALE_DEALS,
+    REMINDER
+}
@@ -0,0 +1,88 @@
+package com.investmentbanking.dealpipeline.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Document(collection = "jobs")
+@CompoundIndexes({
+        @CompoundIndex(name = "job_claim_idx", def = "{'type': 1, 'status': 1, 'nextRunAt': 1}"),
+        @CompoundIndex(name = "job_lease_idx", def = "{'status': 1, 'leaseExpiresAt': 1}")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Job {
+    
+    @Id
+    private String id;
+    
+    @Field("type")
+    private String type; // Matches a registered JobHandler
+    
+    @Field("status")
+    private JobStatus status;
+    
+    @Field("params")
+    @Builder.Default
+    private Map<String, String> params = new HashMap<>();
+    
+    @Field("processed")
+    private long processed;
+    
+    @Field("total")
+    private Long total; // null when the handler cannot know the total up front
+    
+    @Field("attempts")
+    private int attempts;
+    
+    @Field("leaseOwner")
+    private String leaseOwner; // Worker id currently holding the job
+    
+    @Field("leaseExpiresAt")
+    private LocalDateTime leaseExpiresAt;
+    
+    @Field("nextRunAt")
+    private LocalDateTime nextRunAt;
+    
+    @Field("error")
+    private String error;
+    
+    @Field("artifactId")
+    private String artifactId; // GridFS file id
+    
+    @Field("artifactName")
+    private String artifactName;
+    
+    @Field("artifactContentType")
+    private String artifactContentType;
+    
+    @Field("createdBy")
+    private String createdBy; // User ID
+    
+    @Field("createdByUsername")
+    private String createdByUsername;
+    
+    @Field("createdAt")
+    private LocalDateTime createdAt;
+    
+    @Field("startedAt")
+    private LocalDateTime startedAt;
+    
+    @Field("finishedAt")
+    private LocalDateTime finishedAt;
+    
+    @Field("updatedAt")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,8 @@
+package com.investmentbanking.dealpipeline.model;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
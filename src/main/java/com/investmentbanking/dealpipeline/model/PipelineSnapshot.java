@@ -0,0 +1,39 @@
+package com.investmentbanking.dealpipeline.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The pipeline as it stood at the end of one day: every stage x sector with its deal count and value.
+ * One document per day keyed by the date, so a date range is one _id index range read.
+ */
+@Document(collection = "pipeline_snapshots")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PipelineSnapshot {
+    
+    @Id
+    private String id; // the day, yyyy-MM-dd - sorts by date
+    
+    @Field("source")
+    private SnapshotSource source;
+    
+    @Field("baseCurrency")
+    private String baseCurrency; // currency of the cell values
+    
+    @Field("cells")
+    private List<SnapshotCell> cells; // only stage x sector combinations with deals
+    
+    @Field("takenAt")
+    private LocalDateTime takenAt;
+}
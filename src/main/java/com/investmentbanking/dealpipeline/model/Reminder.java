@@ -0,0 +1,68 @@
+package com.investmentbanking.dealpipeline.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+
+/**
+ * A follow-up reminder on a deal; when due it drops a REMINDER message in the owner's inbox
+ */
+@Document(collection = "reminders")
+@CompoundIndexes({
+        @CompoundIndex(name = "reminder_status_due_idx", def = "{'status': 1, 'dueAt': 1}"),
+        @CompoundIndex(name = "reminder_status_updated_idx", def = "{'status': 1, 'updatedAt': 1}"),
+        @CompoundIndex(name = "reminder_deal_due_idx", def = "{'dealId': 1, 'dueAt': 1}")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Reminder {
+    
+    @Id
+    private String id;
+    
+    @Field("dealId")
+    private String dealId;
+    
+    @Field("dealName")
+    private String dealName;
+    
+    @Field("userId")
+    private String userId; // User ID the reminder is delivered to
+    
+    @Field("username")
+    private String username;
+    
+    @Field("note")
+    private String note;
+    
+    @Field("dueAt")
+    private LocalDateTime dueAt;
+    
+    @Field("status")
+    private ReminderStatus status;
+    
+    @Field("claimedBy")
+    private String claimedBy; // replica firing the reminder
+    
+    @Field("claimedUntil")
+    private LocalDateTime claimedUntil; // a FIRING claim older than this is retried
+    
+    @Field("firedAt")
+    private LocalDateTime firedAt;
+    
+    @Field("createdAt")
+    private LocalDateTime createdAt;
+    
+    @Field("updatedAt")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,8 @@
+package com.investmentbanking.dealpipeline.model;
+
+public enum ReminderStatus {
+    PENDING,
+    FIRING, // claimed by a replica, inbox message being written
+    FIRED,
+    CANCELLED
+}
@@ -0,0 +1,49 @@
+package com.investmentbanking.dealpipeline.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Document(collection = "restricted_entities")
+@CompoundIndex(name = "restricted_name_idx", def = "{'normalizedName': 1, 'listType': 1}", unique = true)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RestrictedEntity {
+    
+    @Id
+    private String id;
+    
+    @Field("name")
+    private String name;
+    
+    @Field("normalizedName")
+    private String normalizedName; // ClientNameNormalizer form of name
+    
+    @Field("aliases")
+    private List<String> aliases; // other names screened for the same entity
+    
+    @Field("listType")
+    private RestrictedListType listType;
+    
+    @Field("reason")
+    private String reason;
+    
+    @Field("createdBy")
+    private String createdBy;
+    
+    @Field("createdByUsername")
+    private String createdByUsername;
+    
+    @Field("createdAt")
+    private LocalDateTime createdAt;
+}
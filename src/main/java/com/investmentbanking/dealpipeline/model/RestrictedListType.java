@@ -0,0 +1,6 @@
+package com.investmentbanking.dealpipeline.model;
+
+public enum RestrictedListType {
+    RESTRICTED, // the bank may not act for or against this entity
+    WATCH // confidential - compliance monitors activity
+}
@@ -0,0 +1,39 @@
+package com.investmentbanking.dealpipeline.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+
+@Document(collection = "saved_searches")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SavedSearch {
+    
+    @Id
+    private String id;
+    
+    @Indexed
+    @Field("userId")
+    private String userId;
+    
+    @Field("username")
+    private String username;
+    
+    @Field("name")
+    private String name;
+    
+    @Field("filter")
+    private String filter; // RSQL, same language as GET /api/deals?filter=
+    
+    @Field("createdAt")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,29 @@
+package com.investmentbanking.dealpipeline.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScreeningHit {
+    
+    @Field("entityId")
+    private String entityId;
+    
+    @Field("entityName")
+    private String entityName;
+    
+    @Field("listType")
+    private RestrictedListType listType;
+    
+    @Field("field")
+    private String field; // clientName, counterparty, dealName or description
+    
+    @Field("matchedText")
+    private String matchedText; // normalized name or alias that matched
+}
@@ -0,0 +1,24 @@
+package com.investmentbanking.dealpipeline.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * One serialized sketch of a DealSketchState
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SketchBlob {
+    
+    @Field("family")
+    private String family; // clients, dealSize or daysInStage
+    
+    @Field("key")
+    private String key; // sector, dealType or dealType|stage; * for all
+    
+    @Field("data")
+    private byte[] data; // HyperLogLog registers or a serialized KllSketch
+}
@@ -0,0 +1,32 @@
+package com.investmentbanking.dealpipeline.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+
+/**
+ * Deal count and value of one stage x sector in a daily pipeline snapshot
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SnapshotCell {
+    
+    @Field("stage")
+    private DealStage stage;
+    
+    @Field("sector")
+    private String sector;
+    
+    @Field("count")
+    private long count;
+    
+    @Field(name = "value", targetType = FieldType.DECIMAL128)
+    private BigDecimal value; // sum of baseCurrencyValue
+}
@@ -0,0 +1,6 @@
+package com.investmentbanking.dealpipeline.model;
+
+public enum SnapshotSource {
+    LIVE, // taken from the deals as they stood at the end of the day
+    BACKFILL // reconstructed later from stage history
+}
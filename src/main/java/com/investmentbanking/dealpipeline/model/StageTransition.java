@@ -0,0 +1,37 @@
+package com.investmentbanking.dealpipeline.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a deal's append-only stage history
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StageTransition {
+    
+    @Field("fromStage")
+    private DealStage fromStage; // null for the stage the deal was created in
+    
+    @Field("toStage")
+    private DealStage toStage;
+    
+    @Field("changedAt")
+    private LocalDateTime changedAt;
+    
+    @Field("changedBy")
+    private String changedBy; // User ID
+    
+    @Field("changedByUsername")
+    private String changedByUsername;
+    
+    @Field("secondsInPreviousStage")
+    private Long secondsInPreviousStage; // time spent in fromStage, null for the first entry
+}
@@ -0,0 +1,37 @@
+package com.investmentbanking.dealpipeline.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+
+/**
+ * A deal listed in a stale-deal alert, as it was when the scan found it
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StaleDeal {
+    
+    @Field("dealId")
+    private String dealId;
+    
+    @Field("dealName")
+    private String dealName;
+    
+    @Field("clientName")
+    private String clientName;
+    
+    @Field("stage")
+    private DealStage stage;
+    
+    @Field("updatedAt")
+    private LocalDateTime updatedAt;
+    
+    @Field("idleDays")
+    private long idleDays;
+}
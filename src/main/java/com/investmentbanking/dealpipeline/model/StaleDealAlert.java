@@ -0,0 +1,48 @@
+package com.investmentbanking.dealpipeline.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deals of one owner that went quiet past their stage's threshold, batched per stale-deal scan
+ */
+@Document(collection = "stale_deal_alerts")
+@CompoundIndex(name = "stale_alert_owner_created_idx", def = "{'assignedTo': 1, 'createdAt': -1}")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StaleDealAlert {
+    
+    @Id
+    private String id;
+    
+    @Field("scanId")
+    private String scanId;
+    
+    @Field("assignedTo")
+    private String assignedTo; // User ID of the deals' owner
+    
+    @Field("assignedToUsername")
+    private String assignedToUsername;
+    
+    @Field("dealCount")
+    private int dealCount; // every stale deal found, deals holds at most the first 100
+    
+    @Field("deals")
+    private List<StaleDeal> deals; // longest idle first
+    
+    @Indexed(name = "stale_alert_ttl_idx", expireAfter = "90d")
+    @Field("createdAt")
+    private LocalDateTime createdAt;
+}
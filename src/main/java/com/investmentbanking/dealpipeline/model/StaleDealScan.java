@@ -0,0 +1,49 @@
+package com.investmentbanking.dealpipeline.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * One run of the stale-deal detector and how long it took
+ */
+@Document(collection = "stale_deal_scans")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StaleDealScan {
+    
+    @Id
+    private String id;
+    
+    @Field("runBy")
+    private String runBy; // replica that ran the scan
+    
+    @Field("thresholdDays")
+    private Map<DealStage, Integer> thresholdDays; // thresholds in effect for the run
+    
+    @Field("staleDeals")
+    private long staleDeals; // newly stale deals found
+    
+    @Field("alerts")
+    private int alerts; // one per owner
+    
+    @Field("pages")
+    private int pages; // index range pages read
+    
+    @Field("durationMs")
+    private long durationMs;
+    
+    @Indexed(name = "stale_scan_ttl_idx", expireAfter = "30d")
+    @Field("startedAt")
+    private LocalDateTime startedAt;
+}
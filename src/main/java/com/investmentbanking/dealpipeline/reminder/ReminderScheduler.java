@@ -0,0 +1,269 @@
+package com.investmentbanking.dealpipeline.reminder;
+
+import com.investmentbanking.dealpipeline.event.DealChangedEvent;
+import com.investmentbanking.dealpipeline.job.SchedulerLock;
+import com.investmentbanking.dealpipeline.model.InboxMessage;
+import com.investmentbanking.dealpipeline.model.InboxMessageType;
+import com.investmentbanking.dealpipeline.model.Reminder;
+import com.investmentbanking.dealpipeline.model.ReminderStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Fires deal reminders from an in-memory TimingWheel instead of polling the reminders collection.
+ *
+ * Only the near horizon (pipeline.reminders.horizon-ms) is held in the wheel. A refresh on a fixed
+ * interval loads the PENDING reminders that have come into the horizon, plus ones written recently
+ * (on other replicas) and ones whose firing was interrupted; reminders created on this replica are
+ * scheduled directly. Every replica holds the same reminders, and which one fires a reminder is
+ * decided in Mongo: firing claims it (PENDING -> FIRING), writes the inbox message keyed by the
+ * reminder's id, then marks it FIRED. A replica that dies mid-way leaves a FIRING claim that is
+ * retried once it expires, and the keyed insert keeps the retry from writing a second message.
+ * After a restart the first refresh reloads the whole horizon, overdue reminders included.
+ *
+ * The wheel ticks on its own thread rather than the shared Spring scheduler, whose few threads also
+ * run the periodic full-collection rebuilds; a tick waiting behind those would fire reminders late.
+ */
+@Component
+@Slf4j
+public class ReminderScheduler {
+    
+    static final int WHEEL_LEVELS = 4; // 64^4 ticks, about 194 days at 1 s ticks
+    static final int FIRE_BATCH_SIZE = 1000;
+    private static final Duration CLAIM_LEASE = Duration.ofMinutes(1);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+    
+    private final MongoTemplate mongoTemplate;
+    private final SchedulerLock schedulerLock;
+    private final long horizonMs;
+    private final long refreshIntervalMs;
+    private final long tickMs;
+    private final TimingWheel<String> wheel;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reminder-wheel");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile LocalDateTime loadedUntil; // PENDING reminders due up to here are in the wheel
+    private LocalDateTime lastRefreshAt;
+    
+    public ReminderScheduler(MongoTemplate mongoTemplate, SchedulerLock schedulerLock,
+                             @Value("${pipeline.reminders.tick-ms:1000}") long tickMs,
+                             @Value("${pipeline.reminders.horizon-ms:3600000}") long horizonMs,
+                             @Value("${pipeline.reminders.refresh-interval-ms:60000}") long refreshIntervalMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.schedulerLock = schedulerLock;
+        this.tickMs = tickMs;
+        this.wheel = new TimingWheel<>(tickMs, WHEEL_LEVELS, System.currentTimeMillis());
+        if (horizonMs + refreshIntervalMs > wheel.spanMs()) {
+            throw new IllegalArgumentException("pipeline.reminders.horizon-ms plus refresh-interval-ms must be under "
+                    + wheel.spanMs() + " ms with tick-ms " + tickMs);
+        }
+        this.horizonMs = horizonMs;
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+    
+    public int getScheduledCount() {
+        return wheel.size();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        refresh();
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+    
+    /**
+     * Load reminders that came into the horizon, were written since the last refresh, or are stuck FIRING
+     */
+    @Scheduled(initialDelayString = "${pipeline.reminders.refresh-interval-ms:60000}",
+            fixedDelayString = "${pipeline.reminders.refresh-interval-ms:60000}")
+    public synchronized void refresh() {
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(Duration.ofMillis(horizonMs));
+        // writes are stamped before they commit, so look back a full interval for ones that landed late
+        LocalDateTime writtenSince = lastRefreshAt == null ? null : lastRefreshAt.minus(Duration.ofMillis(refreshIntervalMs));
+        int[] loaded = {0};
+        try (Stream<Reminder> reminders = mongoTemplate.stream(
+                refreshQuery(loadedUntil, writtenSince, until, now), Reminder.class)) {
+            reminders.forEach(reminder -> {
+                wheel.schedule(reminder.getId(), reminder.getStatus() == ReminderStatus.FIRING
+                        ? System.currentTimeMillis() // claim expired mid-firing: retry now
+                        : toEpochMs(reminder.getDueAt()));
+                loaded[0]++;
+            });
+            loadedUntil = until;
+            lastRefreshAt = now;
+            log.debug("Reminder refresh loaded {} reminders, {} scheduled, in {} ms",
+                    loaded[0], wheel.size(), System.currentTimeMillis() - startedAt);
+        } catch (RuntimeException ex) {
+            log.error("Reminder refresh failed, retrying next interval: {}", ex.getMessage(), ex);
+        }
+    }
+    
+    /**
+     * Put a reminder just written on this replica in the wheel if it is due within the loaded horizon;
+     * later ones are picked up by a refresh
+     */
+    public void track(Reminder reminder) {
+        LocalDateTime horizon = loadedUntil;
+        if (horizon != null && !reminder.getDueAt().isAfter(horizon)) {
+            wheel.schedule(reminder.getId(), toEpochMs(reminder.getDueAt()));
+        }
+    }
+    
+    public void untrack(String reminderId) {
+        wheel.cancel(reminderId);
+    }
+    
+    /**
+     * Fire the reminders that have come due - runs every tick-ms on the wheel's thread
+     */
+    public void tick() {
+        List<String> due;
+        try {
+            due = wheel.advance(System.currentTimeMillis());
+        } catch (RuntimeException ex) {
+            log.error("Reminder wheel tick failed: {}", ex.getMessage(), ex); // thrown out of the ticker it would stop it
+            return;
+        }
+        for (int from = 0; from < due.size(); from += FIRE_BATCH_SIZE) {
+            List<String> batch = due.subList(from, Math.min(from + FIRE_BATCH_SIZE, due.size()));
+            try {
+                fire(batch, LocalDateTime.now());
+            } catch (RuntimeException ex) {
+                log.error("Firing {} reminders failed, retrying: {}", batch.size(), ex.getMessage(), ex);
+                long retryAt = System.currentTimeMillis() + RETRY_DELAY.toMillis();
+                batch.forEach(id -> wheel.schedule(id, retryAt));
+            }
+        }
+    }
+    
+    /**
+     * Claim the due reminders, deliver them and mark them FIRED
+     * @return number of reminders this replica fired
+     */
+    int fire(List<String> reminderIds, LocalDateTime now) {
+        String owner = schedulerLock.getOwnerId();
+        // cancelled, already fired, or claimed by a live replica: not matched, dropped here
+        Query claimable = new Query(new Criteria().andOperator(
+                Criteria.where("_id").in(reminderIds),
+                new Criteria().orOperator(
+                        Criteria.where("status").is(ReminderStatus.PENDING),
+                        Criteria.where("status").is(ReminderStatus.FIRING).and("claimedUntil").lt(now))));
+        mongoTemplate.updateMulti(claimable, new Update()
+                .set("status", ReminderStatus.FIRING)
+                .set("claimedBy", owner)
+                .set("claimedUntil", now.plus(CLAIM_LEASE)), Reminder.class);
+        
+        Query claimed = new Query(Criteria.where("_id").in(reminderIds)
+                .and("status").is(ReminderStatus.FIRING)
+                .and("claimedBy").is(owner));
+        List<Reminder> reminders = mongoTemplate.find(claimed, Reminder.class);
+        if (reminders.isEmpty()) {
+            return 0;
+        }
+        
+        List<InboxMessage> messages = new ArrayList<>(reminders.size());
+        for (Reminder reminder : reminders) {
+            messages.add(InboxMessage.builder()
+                    .id(reminder.getId()) // a retried firing collides instead of writing a second message
+                    .userId(reminder.getUserId())
+                    .type(InboxMessageType.REMINDER)
+                    .title("Reminder for \"" + reminder.getDealName() + "\": " + reminder.getNote())
+                    .dealId(reminder.getDealId())
+                    .dealName(reminder.getDealName())
+                    .reminderId(reminder.getId())
+                    .read(false)
+                    .createdAt(now)
+                    .build());
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, InboxMessage.class).insert(messages).execute();
+        } catch (BulkOperationException ex) {
+            if (ex.getErrors().stream().anyMatch(error -> error.getCode() != 11000)) {
+                throw ex;
+            }
+        }
+        
+        mongoTemplate.updateMulti(claimed, new Update()
+                .set("status", ReminderStatus.FIRED)
+                .set("firedAt", now)
+                .set("updatedAt", now)
+                .unset("claimedUntil"), Reminder.class);
+        log.debug("Fired {} of {} due reminders", reminders.size(), reminderIds.size());
+        return reminders.size();
+    }
+    
+    /**
+     * Reminders on a deleted deal never fire; their wheel entries are dropped when the claim misses
+     */
+    @EventListener
+    public void onDealChanged(DealChangedEvent event) {
+        if (event.getType() != DealChangedEvent.Type.DELETED) {
+            return;
+        }
+        try {
+            mongoTemplate.updateMulti(
+                    new Query(Criteria.where("dealId").is(event.getDealId()).and("status").is(ReminderStatus.PENDING)),
+                    new Update().set("status", ReminderStatus.CANCELLED).set("updatedAt", LocalDateTime.now()),
+                    Reminder.class);
+        } catch (RuntimeException ex) {
+            log.error("Failed to cancel reminders of deleted deal {}: {}", event.getDealId(), ex.getMessage(), ex);
+        }
+    }
+    
+    /**
+     * PENDING reminders due by until that are new to the horizon (due after loadedUntil) or were written
+     * since writtenSince, and FIRING reminders whose claim expired; loadedUntil null loads the whole horizon
+     */
+    static Query refreshQuery(LocalDateTime loadedUntil, LocalDateTime writtenSince, LocalDateTime until,
+                              LocalDateTime now) {
+        List<Criteria> branches = new ArrayList<>();
+        Criteria horizon = Criteria.where("status").is(ReminderStatus.PENDING).and("dueAt").lte(until);
+        if (loadedUntil == null) {
+            branches.add(horizon);
+        } else {
+            branches.add(Criteria.where("status").is(ReminderStatus.PENDING).and("dueAt").gt(loadedUntil).lte(until));
+            if (writtenSince != null) {
+                branches.add(Criteria.where("status").is(ReminderStatus.PENDING).and("updatedAt").gte(writtenSince)
+                        .and("dueAt").lte(until));
+            }
+        }
+        branches.add(Criteria.where("status").is(ReminderStatus.FIRING).and("claimedUntil").lt(now));
+        Query query = new Query(new Criteria().orOperator(branches));
+        query.fields().include("status", "dueAt");
+        return query;
+    }
+    
+    private static long toEpochMs(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,168 @@
+package com.investmentbanking.dealpipeline.reminder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel (Varghese &amp; Lauck) holding keys with a deadline.
+ *
+ * Level 0 has one slot per tick; each level above has slots WHEEL_SIZE times as wide. A key goes into
+ * the lowest level whose span covers its deadline, and when level 0 wraps the next level's current
+ * slot is cascaded down. Slots are intrusive doubly-linked lists and keys are looked up in a map,
+ * so schedule and cancel are O(1); advance costs one slot visit per elapsed tick plus the keys it
+ * cascades or expires. Deadlines past the wheel's span are rejected and the caller keeps them elsewhere.
+ *
+ * Thread safe; every operation holds the wheel's monitor.
+ */
+public class TimingWheel<K> {
+    
+    static final int WHEEL_BITS = 6;
+    static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    
+    private final long tickMs;
+    private final Node<K>[][] wheels;
+    private final Map<K, Node<K>> nodes = new HashMap<>();
+    private long currentTick;
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimingWheel(long tickMs, int levels, long startMs) {
+        if (tickMs < 1 || levels < 1 || levels * WHEEL_BITS >= 62) {
+            throw new IllegalArgumentException("tickMs must be positive and levels between 1 and " + (61 / WHEEL_BITS));
+        }
+        this.tickMs = tickMs;
+        this.wheels = new Node[levels][WHEEL_SIZE];
+        for (Node<K>[] wheel : wheels) {
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                wheel[slot] = Node.sentinel();
+            }
+        }
+        this.currentTick = startMs / tickMs;
+    }
+    
+    /**
+     * Longest delay, from the wheel's current time, that schedule accepts
+     */
+    public long spanMs() {
+        return ((1L << (WHEEL_BITS * wheels.length)) - 1) * tickMs;
+    }
+    
+    /**
+     * Schedule key to expire at deadlineMs, replacing any deadline it already has.
+     * Deadlines round up to the next tick, so a key never expires early; one at or before the
+     * current tick expires on the next advance.
+     * @return false if the deadline is beyond the wheel's span (the key is then not scheduled)
+     */
+    public synchronized boolean schedule(K key, long deadlineMs) {
+        long tick = Math.max(Math.floorDiv(deadlineMs + tickMs - 1, tickMs), currentTick + 1);
+        if (tick - currentTick > spanMs() / tickMs) {
+            cancel(key);
+            return false;
+        }
+        Node<K> node = nodes.get(key);
+        if (node == null) {
+            node = new Node<>(key);
+            nodes.put(key, node);
+        } else {
+            node.unlink();
+        }
+        node.tick = tick;
+        insert(node);
+        return true;
+    }
+    
+    /**
+     * @return true if key was scheduled
+     */
+    public synchronized boolean cancel(K key) {
+        Node<K> node = nodes.remove(key);
+        if (node == null) {
+            return false;
+        }
+        node.unlink();
+        return true;
+    }
+    
+    public synchronized boolean contains(K key) {
+        return nodes.containsKey(key);
+    }
+    
+    public synchronized int size() {
+        return nodes.size();
+    }
+    
+    /**
+     * Move the wheel forward to nowMs
+     * @return the keys whose deadline has passed, in deadline order; they are no longer scheduled
+     */
+    public synchronized List<K> advance(long nowMs) {
+        long target = nowMs / tickMs;
+        List<K> expired = new ArrayList<>();
+        while (currentTick < target) {
+            currentTick++;
+            int slot = (int) (currentTick & WHEEL_MASK);
+            // level 0 wrapped: bring the next level's current slot down, and so on up while they wrap too
+            for (int level = 1; level < wheels.length && slot == 0; level++) {
+                slot = (int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+                cascade(wheels[level][slot]);
+            }
+            Node<K> head = wheels[0][(int) (currentTick & WHEEL_MASK)];
+            while (head.next != head) {
+                Node<K> node = head.next;
+                node.unlink();
+                nodes.remove(node.key);
+                expired.add(node.key);
+            }
+        }
+        return expired;
+    }
+    
+    private void cascade(Node<K> head) {
+        while (head.next != head) {
+            Node<K> node = head.next;
+            node.unlink();
+            insert(node);
+        }
+    }
+    
+    private void insert(Node<K> node) {
+        long delta = node.tick - currentTick;
+        int level = 0;
+        while (level < wheels.length - 1 && delta >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+        Node<K> head = wheels[level][(int) ((node.tick >>> (WHEEL_BITS * level)) & WHEEL_MASK)];
+        node.prev = head.prev;
+        node.next = head;
+        head.prev.next = node;
+        head.prev = node;
+    }
+    
+    private static final class Node<K> {
+        
+        private final K key;
+        private long tick;
+        private Node<K> prev;
+        private Node<K> next;
+        
+        private Node(K key) {
+            this.key = key;
+        }
+        
+        private static <K> Node<K> sentinel() {
+            Node<K> head = new Node<>(null);
+            head.prev = head;
+            head.next = head;
+            return head;
+        }
+        
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = this;
+            next = this;
+        }
+    }
+}
@@ -31,11 +31,5 @@ public interface DealRepository extends MongoRepository<Deal, String> {
     @Query("{ 'sector': ?0, 'dealType': ?1 }")
     List<Deal> findBySectorAndDealType(String sector, String dealType);
     
-    @Query("{ 'dealName': { $regex: ?0, $options: 'i' } }")
-    List<Deal> findByDealNameContaining(String dealName);
-    
-    @Query("{ 'clientName': { $regex: ?0, $options: 'i' } }")
-    List<Deal> findByClientNameContaining(String clientName);
-    
     Optional<Deal> findByIdAndCreatedBy(String id, String createdBy);
 }
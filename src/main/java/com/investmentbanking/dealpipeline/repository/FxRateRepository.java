@@ -0,0 +1,12 @@
+package com.investmentbanking.dealpipeline.repository;
+
+import com.investmentbanking.dealpipeline.model.FxRate;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FxRateRepository extends MongoRepository<FxRate, String> {
+    List<FxRate> findByCurrencyOrderByEffectiveDateDesc(String currency);
+}
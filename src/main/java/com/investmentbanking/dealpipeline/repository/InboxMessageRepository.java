@@ -0,0 +1,15 @@
+package com.investmentbanking.dealpipeline.repository;
+
+import com.investmentbanking.dealpipeline.model.InboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface InboxMessageRepository extends MongoRepository<InboxMessage, String> {
+    List<InboxMessage> findByUserIdOrderByCreatedAtDesc(String userId, Pageable pageable);
+    List<InboxMessage> findByUserIdAndReadFalseOrderByCreatedAtDesc(String userId, Pageable pageable);
+    long countByUserIdAndReadFalse(String userId);
+}
@@ -0,0 +1,13 @@
+package com.investmentbanking.dealpipeline.repository;
+
+import com.investmentbanking.dealpipeline.model.Job;
+import org.springframework.stereotype.Repository;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+@Repository
+public interface JobRepository extends MongoRepository<Job, String> {
+    List<Job> findTop50ByOrderByCreatedAtDesc();
+    List<Job> findTop50ByTypeOrderByCreatedAtDesc(String type);
+}
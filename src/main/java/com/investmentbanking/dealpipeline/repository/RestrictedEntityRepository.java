@@ -0,0 +1,11 @@
+package com.investmentbanking.dealpipeline.repository;
+
+import com.investmentbanking.dealpipeline.model.RestrictedEntity;
+import com.investmentbanking.dealpipeline.model.RestrictedListType;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RestrictedEntityRepository extends MongoRepository<RestrictedEntity, String> {
+    boolean existsByNormalizedNameAndListType(String normalizedName, RestrictedListType listType);
+}
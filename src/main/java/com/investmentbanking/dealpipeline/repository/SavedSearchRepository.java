@@ -0,0 +1,13 @@
+package com.investmentbanking.dealpipeline.repository;
+
+import com.investmentbanking.dealpipeline.model.SavedSearch;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SavedSearchRepository extends MongoRepository<SavedSearch, String> {
+    List<SavedSearch> findByUserIdOrderByCreatedAtDesc(String userId);
+    long countByUserId(String userId);
+}
@@ -0,0 +1,251 @@
+package com.investmentbanking.dealpipeline.savedsearch;
+
+import com.investmentbanking.dealpipeline.exception.UnauthorizedException;
+import com.investmentbanking.dealpipeline.filter.DealPredicate;
+import com.investmentbanking.dealpipeline.filter.FilterField;
+import com.investmentbanking.dealpipeline.filter.FilterNode;
+import com.investmentbanking.dealpipeline.filter.FilterOperator;
+import com.investmentbanking.dealpipeline.filter.FilterParser;
+import com.investmentbanking.dealpipeline.filter.FilterPlan;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reverse index of saved searches: given a deal, find the searches it matches without testing all of them.
+ *
+ * Each search is indexed under the equality constraints (== or =in=) of its top-level AND on sector,
+ * dealType and currentStage, combined: "sector==TMT;dealType==IPO;dealValue>1B" is stored under
+ * (sector=TMT, dealType=IPO) and only tested for TMT IPOs; "sector=in=(TMT,Energy);stage==Prospect" under
+ * two keys. A deal probes one key per combination of those fields (at most 7 lookups).
+ * Searches with no such constraint (a top-level OR, only range filters, ...) are tested against every deal.
+ *
+ * Reads are lock-free; add and remove are synchronized.
+ */
+public class Percolator {
+    
+    private static final List<FilterField> ANCHOR_FIELDS = List.of(FilterField.SECTOR, FilterField.DEAL_TYPE,
+            FilterField.CURRENT_STAGE);
+    private static final int MAX_KEYS_PER_SEARCH = 64;
+    
+    /**
+     * A compiled saved search. USER searches only see deals the user created.
+     */
+    public record Subscription(String id, String userId, boolean admin, String name, DealPredicate predicate) {
+        
+        boolean matches(Deal deal, LocalDateTime now) {
+            return (admin || userId.equals(deal.getCreatedBy())) && predicate.test(deal, now);
+        }
+    }
+    
+    /**
+     * Values of the anchor fields in the mask, in ANCHOR_FIELDS order; null where the bit is clear
+     */
+    private record Key(int mask, Object sector, Object dealType, Object stage) {
+    }
+    
+    private final Map<Key, Set<Subscription>> anchored = new ConcurrentHashMap<>();
+    private final Set<Subscription> unanchored = ConcurrentHashMap.newKeySet();
+    private final Map<String, Registration> byId = new ConcurrentHashMap<>();
+    
+    private record Registration(Subscription subscription, List<Key> keys) {
+    }
+    
+    /**
+     * Parse, validate and index a saved search, replacing any search with the same id
+     * @throws com.investmentbanking.dealpipeline.exception.BadRequestException if the filter is invalid
+     * @throws UnauthorizedException if the filter uses ADMIN-only fields and the owner is not ADMIN (any more)
+     */
+    public synchronized Subscription add(String id, String userId, boolean admin, String name, String filter) {
+        FilterParser.Lexed lexed = FilterParser.lex(filter);
+        FilterNode root = FilterParser.parse(lexed);
+        if (!admin && FilterPlan.compile(root).isAdminOnly()) {
+            throw new UnauthorizedException("Only ADMIN can filter on dealValue or baseCurrencyValue");
+        }
+        Subscription subscription = new Subscription(id, userId, admin, name,
+                DealPredicate.compile(root, lexed.arguments()));
+        List<Key> keys = anchorKeys(root, lexed.arguments());
+        
+        remove(id);
+        if (keys.isEmpty()) {
+            unanchored.add(subscription);
+        } else {
+            for (Key key : keys) {
+                anchored.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscription);
+            }
+        }
+        byId.put(id, new Registration(subscription, keys));
+        return subscription;
+    }
+    
+    public synchronized void remove(String id) {
+        Registration registration = byId.remove(id);
+        if (registration == null) {
+            return;
+        }
+        if (registration.keys().isEmpty()) {
+            unanchored.remove(registration.subscription());
+        }
+        for (Key key : registration.keys()) {
+            anchored.computeIfPresent(key, (k, subscriptions) -> {
+                subscriptions.remove(registration.subscription());
+                return subscriptions.isEmpty() ? null : subscriptions;
+            });
+        }
+    }
+    
+    /**
+     * Searches the deal newly matches: it matches current and did not match previous (null for a new deal)
+     */
+    public List<Subscription> match(Deal previous, Deal current, LocalDateTime now) {
+        List<Subscription> matches = new ArrayList<>();
+        Object[] values = new Object[ANCHOR_FIELDS.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = ANCHOR_FIELDS.get(i).valueOf(current);
+        }
+        // a search is indexed under one mask and the deal has one value per field, so it is found at most once
+        for (int mask = 1; mask < 1 << values.length; mask++) {
+            Key key = key(mask, values);
+            Set<Subscription> candidates = key == null ? null : anchored.get(key);
+            if (candidates != null) {
+                collect(candidates, previous, current, now, matches);
+            }
+        }
+        collect(unanchored, previous, current, now, matches);
+        return matches;
+    }
+    
+    public int size() {
+        return byId.size();
+    }
+    
+    public int unanchoredSize() {
+        return unanchored.size();
+    }
+    
+    private static void collect(Set<Subscription> candidates, Deal previous, Deal current, LocalDateTime now,
+                                List<Subscription> matches) {
+        for (Subscription subscription : candidates) {
+            if (subscription.matches(current, now) && (previous == null || !subscription.matches(previous, now))) {
+                matches.add(subscription);
+            }
+        }
+    }
+    
+    private static List<Key> anchorKeys(FilterNode root, List<List<String>> arguments) {
+        List<FilterNode> conjuncts = root instanceof FilterNode.And and ? and.children() : List.of(root);
+        List<List<Object>> valuesByField = new ArrayList<>();
+        for (FilterField field : ANCHOR_FIELDS) {
+            valuesByField.add(equalityValues(field, conjuncts, arguments));
+        }
+        // keep the key count bounded: drop the widest =in= lists first
+        while (keyCount(valuesByField) > MAX_KEYS_PER_SEARCH) {
+            int widest = 0;
+            for (int i = 1; i < valuesByField.size(); i++) {
+                if (size(valuesByField.get(i)) > size(valuesByField.get(widest))) {
+                    widest = i;
+                }
+            }
+            valuesByField.set(widest, null);
+        }
+        
+        int mask = 0;
+        for (int i = 0; i < valuesByField.size(); i++) {
+            if (valuesByField.get(i) != null) {
+                mask |= 1 << i;
+            }
+        }
+        if (mask == 0) {
+            return List.of();
+        }
+        List<Key> keys = new ArrayList<>();
+        expand(mask, valuesByField, 0, new Object[ANCHOR_FIELDS.size()], keys);
+        return keys;
+    }
+    
+    /**
+     * Values of the first == or =in= constraint on a field in the top-level AND, or null if there is none
+     */
+    private static List<Object> equalityValues(FilterField field, List<FilterNode> conjuncts,
+                                               List<List<String>> arguments) {
+        for (FilterNode node : conjuncts) {
+            if (node instanceof FilterNode.Comparison comparison
+                    && FilterField.fromSelector(comparison.selector()) == field
+                    && (comparison.operator() == FilterOperator.EQ || comparison.operator() == FilterOperator.IN)) {
+                List<String> raw = arguments.get(comparison.argumentIndex());
+                if (raw.stream().anyMatch(value -> field.getType() == FilterField.Type.STRING && value.endsWith("*"))) {
+                    continue; // prefix matches cannot be looked up by exact value
+                }
+                List<Object> values = new ArrayList<>(raw.size());
+                for (String value : raw) {
+                    values.add(anchorValue(field, value));
+                }
+                return values;
+            }
+        }
+        return null;
+    }
+    
+    private static void expand(int mask, List<List<Object>> valuesByField, int index, Object[] current, List<Key> keys) {
+        if (index == valuesByField.size()) {
+            keys.add(key(mask, current));
+            return;
+        }
+        List<Object> values = valuesByField.get(index);
+        if (values == null) {
+            expand(mask, valuesByField, index + 1, current, keys);
+            return;
+        }
+        for (Object value : values) {
+            current[index] = value;
+            expand(mask, valuesByField, index + 1, current, keys);
+        }
+        current[index] = null;
+    }
+    
+    /**
+     * The key for the fields in the mask, or null if the deal has no value for one of them
+     */
+    private static Key key(int mask, Object[] values) {
+        Object[] masked = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            if ((mask & 1 << i) != 0) {
+                if (values[i] == null) {
+                    return null;
+                }
+                masked[i] = values[i];
+            }
+        }
+        return new Key(mask, masked[0], masked[1], masked[2]);
+    }
+    
+    private static long keyCount(List<List<Object>> valuesByField) {
+        long count = 1;
+        for (List<Object> values : valuesByField) {
+            count *= size(values);
+        }
+        return count;
+    }
+    
+    private static int size(List<Object> values) {
+        return values == null ? 1 : values.size();
+    }
+    
+    // literals were already validated when the predicate compiled
+    private static Object anchorValue(FilterField field, String raw) {
+        if (field == FilterField.CURRENT_STAGE) {
+            for (DealStage stage : DealStage.values()) {
+                if (stage.name().equalsIgnoreCase(raw)) {
+                    return stage;
+                }
+            }
+        }
+        return raw;
+    }
+}
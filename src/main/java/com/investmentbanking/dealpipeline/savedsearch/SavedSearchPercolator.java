@@ -0,0 +1,150 @@
+package com.investmentbanking.dealpipeline.savedsearch;
+
+import com.investmentbanking.dealpipeline.event.DealChangedEvent;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.InboxMessage;
+import com.investmentbanking.dealpipeline.model.InboxMessageType;
+import com.investmentbanking.dealpipeline.model.Role;
+import com.investmentbanking.dealpipeline.model.SavedSearch;
+import com.investmentbanking.dealpipeline.model.User;
+import com.investmentbanking.dealpipeline.repository.SavedSearchRepository;
+import com.investmentbanking.dealpipeline.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Matches every deal write against all saved searches and drops a message in the owner's inbox
+ * when a deal starts matching one. Percolation runs on the writing thread (it is an in-memory lookup);
+ * inbox inserts are handed to a single background writer so a deal write never waits on them.
+ *
+ * Loaded from Mongo at startup and on a fixed interval (which also picks up searches saved on other
+ * replicas and role changes), and updated directly by SavedSearchService on this replica.
+ */
+@Component
+@Slf4j
+public class SavedSearchPercolator {
+    
+    private final SavedSearchRepository savedSearchRepository;
+    private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ExecutorService inboxWriter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "inbox-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Percolator percolator = new Percolator();
+    
+    public SavedSearchPercolator(SavedSearchRepository savedSearchRepository,
+                                 UserRepository userRepository,
+                                 MongoTemplate mongoTemplate) {
+        this.savedSearchRepository = savedSearchRepository;
+        this.userRepository = userRepository;
+        this.mongoTemplate = mongoTemplate;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reload();
+    }
+    
+    @Scheduled(initialDelayString = "${pipeline.saved-searches.reload-interval-ms:60000}",
+            fixedDelayString = "${pipeline.saved-searches.reload-interval-ms:60000}")
+    public void reload() {
+        long startedAt = System.currentTimeMillis();
+        try {
+            List<SavedSearch> searches = savedSearchRepository.findAll();
+            Map<String, User> owners = userRepository.findAllById(
+                            searches.stream().map(SavedSearch::getUserId).distinct().collect(Collectors.toList()))
+                    .stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity()));
+            
+            Percolator loaded = new Percolator();
+            for (SavedSearch search : searches) {
+                User owner = owners.get(search.getUserId());
+                if (owner == null) {
+                    continue;
+                }
+                try {
+                    // rejects searches on ADMIN-only fields whose owner has lost ADMIN since saving them
+                    loaded.add(search.getId(), owner.getId(), isAdmin(owner), search.getName(), search.getFilter());
+                } catch (RuntimeException ex) {
+                    log.warn("Skipping saved search {} of user {}: {}", search.getId(), owner.getUsername(), ex.getMessage());
+                }
+            }
+            percolator = loaded;
+            log.info("Percolator loaded {} saved searches ({} unanchored) in {} ms",
+                    loaded.size(), loaded.unanchoredSize(), System.currentTimeMillis() - startedAt);
+        } catch (RuntimeException ex) {
+            log.error("Percolator reload failed: {}", ex.getMessage(), ex);
+        }
+    }
+    
+    /**
+     * Index a saved search on this replica; the filter must already be validated
+     */
+    public void register(SavedSearch search, boolean ownerIsAdmin) {
+        percolator.add(search.getId(), search.getUserId(), ownerIsAdmin, search.getName(), search.getFilter());
+    }
+    
+    public void unregister(String savedSearchId) {
+        percolator.remove(savedSearchId);
+    }
+    
+    @EventListener
+    public void onDealChanged(DealChangedEvent event) {
+        if (event.getType() == DealChangedEvent.Type.DELETED) {
+            return;
+        }
+        try {
+            Deal deal = event.getCurrent();
+            LocalDateTime now = LocalDateTime.now();
+            List<InboxMessage> messages = percolator.match(event.getPrevious(), deal, now).stream()
+                    .map(subscription -> InboxMessage.builder()
+                            .userId(subscription.userId())
+                            .type(InboxMessageType.SAVED_SEARCH_MATCH)
+                            .title("\"" + deal.getDealName() + "\" now matches your saved search \"" + subscription.name() + "\"")
+                            .dealId(deal.getId())
+                            .dealName(deal.getDealName())
+                            .savedSearchId(subscription.id())
+                            .read(false)
+                            .createdAt(now)
+                            .build())
+                    .collect(Collectors.toList());
+            if (!messages.isEmpty()) {
+                inboxWriter.execute(() -> writeInbox(messages));
+            }
+        } catch (RuntimeException ex) {
+            log.error("Saved search percolation failed for deal {}: {}", event.getDealId(), ex.getMessage(), ex);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        inboxWriter.shutdown();
+    }
+    
+    private void writeInbox(List<InboxMessage> messages) {
+        try {
+            mongoTemplate.insert(messages, InboxMessage.class);
+        } catch (RuntimeException ex) {
+            log.error("Failed to write {} inbox messages: {}", messages.size(), ex.getMessage(), ex);
+        }
+    }
+    
+    private static boolean isAdmin(User user) {
+        return user.getRoles().stream().anyMatch(role -> role == Role.ADMIN);
+    }
+}
@@ -0,0 +1,23 @@
+package com.investmentbanking.dealpipeline.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class DealSearchHits {
+    
+    private final long totalHits;
+    private final List<Hit> hits;
+    
+    @Getter
+    @AllArgsConstructor
+    public static class Hit {
+        private final String id;
+        private final float score;
+        private final Map<String, String> highlights;
+    }
+}
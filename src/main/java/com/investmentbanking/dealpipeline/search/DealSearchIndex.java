@@ -0,0 +1,375 @@
+package com.investmentbanking.dealpipeline.search;
+
+import com.investmentbanking.dealpipeline.event.DealChangedEvent;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.model.Note;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Embedded Lucene index over deal text fields, BM25-ranked (Lucene's default similarity).
+ *
+ * Kept current three ways:
+ * - DealChangedEvent from DealService writes on this replica (visible to searches within a second)
+ * - a catch-up poll on updatedAt, which picks up writes made by other replicas
+ * - an online full reindex (SEARCH_REINDEX job, or automatically when the index is empty)
+ * Deletes on other replicas are only purged by a reindex, so callers must re-load hits from Mongo.
+ */
+@Component
+@Slf4j
+public class DealSearchIndex {
+    
+    static final String ID = "id";
+    static final String CREATED_BY = "createdBy";
+    static final String GENERATION = "generation";
+    
+    static final Map<String, Float> FIELD_BOOSTS = Map.of(
+            "dealName", 3.0f,
+            "clientName", 2.5f,
+            "tags", 2.0f,
+            "summary", 1.5f,
+            "description", 1.0f,
+            "notes", 1.0f);
+    
+    private static final String[] HIGHLIGHT_FIELDS = {"dealName", "clientName", "summary", "description", "notes"};
+    private static final String COMMIT_GENERATION = "generation";
+    private static final String COMMIT_WATERMARK = "watermark";
+    private static final int CURSOR_BATCH_SIZE = 1000;
+    private static final long CATCH_UP_OVERLAP_SECONDS = 5;
+    
+    private final MongoTemplate mongoTemplate;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicBoolean reindexing = new AtomicBoolean();
+    
+    @Value("${pipeline.search.index-path:}")
+    private String indexPath;
+    
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private volatile LocalDateTime watermark; // every deal updated before this is in the index
+    
+    public DealSearchIndex(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+    
+    @PostConstruct
+    public void open() throws IOException {
+        directory = indexPath == null || indexPath.isBlank()
+                ? new ByteBuffersDirectory()
+                : FSDirectory.open(Path.of(indexPath));
+        
+        if (DirectoryReader.indexExists(directory)) {
+            Map<String, String> commitData = SegmentInfos.readLatestCommit(directory).getUserData();
+            generation.set(Long.parseLong(commitData.getOrDefault(COMMIT_GENERATION, "0")));
+            String committedWatermark = commitData.get(COMMIT_WATERMARK);
+            watermark = committedWatermark != null ? LocalDateTime.parse(committedWatermark) : null;
+        }
+        
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+    }
+    
+    /**
+     * Rebuild in the background when there is no usable index (first start or in-memory directory)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (writer.getDocStats().numDocs == 0 || watermark == null) {
+            Thread rebuild = new Thread(() -> {
+                try {
+                    reindex(count -> true);
+                } catch (RuntimeException ex) {
+                    log.error("Initial search index build failed: {}", ex.getMessage(), ex);
+                }
+            }, "search-index-rebuild");
+            rebuild.setDaemon(true);
+            rebuild.start();
+        }
+    }
+    
+    @EventListener
+    public void onDealChanged(DealChangedEvent event) {
+        try {
+            if (event.getType() == DealChangedEvent.Type.DELETED) {
+                remove(event.getDealId());
+            } else {
+                index(event.getCurrent());
+            }
+        } catch (RuntimeException ex) {
+            // The catch-up poll will retry from updatedAt - never fail the write
+            log.error("Failed to update search index for deal {}: {}", event.getDealId(), ex.getMessage());
+        }
+    }
+    
+    public void index(Deal deal) {
+        try {
+            writer.updateDocument(new Term(ID, deal.getId()), toDocument(deal, generation.get()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    
+    public void remove(String dealId) {
+        try {
+            writer.deleteDocuments(new Term(ID, dealId));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    
+    /**
+     * BM25 search with field boosts
+     * Query syntax: terms, "phrases", +required, -excluded, prefix*
+     *
+     * @param restrictToCreatedBy owner filter for USER callers, null for ADMIN
+     */
+    public DealSearchHits search(String queryText, String restrictToCreatedBy, int offset, int limit) {
+        Query parsed = new SimpleQueryParser(analyzer, FIELD_BOOSTS).parse(queryText);
+        if (parsed == null) {
+            return new DealSearchHits(0, List.of()); // nothing but stop words / punctuation
+        }
+        
+        BooleanQuery.Builder builder = new BooleanQuery.Builder().add(parsed, BooleanClause.Occur.MUST);
+        if (restrictToCreatedBy != null) {
+            builder.add(new TermQuery(new Term(CREATED_BY, restrictToCreatedBy)), BooleanClause.Occur.FILTER);
+        }
+        Query query = builder.build();
+        
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            TopDocs top = searcher.search(query, offset + limit);
+            ScoreDoc[] pageDocs = top.scoreDocs.length > offset
+                    ? Arrays.copyOfRange(top.scoreDocs, offset, top.scoreDocs.length)
+                    : new ScoreDoc[0];
+            TopDocs page = new TopDocs(top.totalHits, pageDocs);
+            
+            Map<String, String[]> snippets = pageDocs.length == 0 ? Map.of() : UnifiedHighlighter.builder(searcher, analyzer)
+                    .withFormatter(new DefaultPassageFormatter("<em>", "</em>", "... ", false))
+                    .build()
+                    .highlightFields(HIGHLIGHT_FIELDS, query, page);
+            
+            List<DealSearchHits.Hit> hits = new ArrayList<>(pageDocs.length);
+            for (int i = 0; i < pageDocs.length; i++) {
+                String id = searcher.storedFields().document(pageDocs[i].doc).get(ID);
+                Map<String, String> highlights = new LinkedHashMap<>();
+                for (String field : HIGHLIGHT_FIELDS) {
+                    String[] fieldSnippets = snippets.get(field);
+                    if (fieldSnippets != null && fieldSnippets[i] != null) {
+                        highlights.put(field, fieldSnippets[i]);
+                    }
+                }
+                hits.add(new DealSearchHits.Hit(id, pageDocs[i].score, highlights));
+            }
+            return new DealSearchHits(top.totalHits.value, hits);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            if (searcher != null) {
+                try {
+                    searcherManager.release(searcher);
+                } catch (IOException ignored) {
+                    // Searcher already closed
+                }
+            }
+        }
+    }
+    
+    /**
+     * Online full reindex - searches keep working throughout.
+     * Every deal is re-added under a new generation, then documents from older generations
+     * (deals deleted in Mongo) are purged in one delete-by-query.
+     *
+     * @param progress called every CURSOR_BATCH_SIZE deals with the running count; return false to stop
+     * @return number of deals indexed
+     */
+    public long reindex(LongPredicate progress) {
+        if (!reindexing.compareAndSet(false, true)) {
+            throw new IllegalStateException("A search reindex is already running");
+        }
+        try {
+            long startedAt = System.currentTimeMillis();
+            LocalDateTime scanStartedAt = LocalDateTime.now();
+            long newGeneration = generation.incrementAndGet();
+            long count = 0;
+            
+            org.springframework.data.mongodb.core.query.Query query = new org.springframework.data.mongodb.core.query.Query()
+                    .with(Sort.by(Sort.Direction.ASC, "_id"))
+                    .cursorBatchSize(CURSOR_BATCH_SIZE);
+            try (Stream<Deal> deals = mongoTemplate.stream(query, Deal.class)) {
+                for (Deal deal : (Iterable<Deal>) deals::iterator) {
+                    writer.updateDocument(new Term(ID, deal.getId()), toDocument(deal, newGeneration));
+                    count++;
+                    if (count % CURSOR_BATCH_SIZE == 0 && !progress.test(count)) {
+                        log.warn("Search reindex stopped after {} deals", count);
+                        return count;
+                    }
+                }
+            }
+            
+            writer.deleteDocuments(LongPoint.newRangeQuery(GENERATION, Long.MIN_VALUE, newGeneration - 1));
+            watermark = scanStartedAt;
+            commit();
+            searcherManager.maybeRefresh();
+            log.info("Reindexed {} deals in {} ms", count, System.currentTimeMillis() - startedAt);
+            return count;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            reindexing.set(false);
+        }
+    }
+    
+    /**
+     * Index deals changed since the watermark, including writes made by other replicas
+     */
+    @Scheduled(fixedDelayString = "${pipeline.search.catch-up-interval-ms:30000}")
+    public void catchUp() {
+        LocalDateTime since = watermark;
+        if (since == null || reindexing.get()) {
+            return;
+        }
+        LocalDateTime scanStartedAt = LocalDateTime.now();
+        // every stage, so the stage/updatedAt index serves the range instead of a collection scan
+        org.springframework.data.mongodb.core.query.Query query = new org.springframework.data.mongodb.core.query.Query(
+                Criteria.where("currentStage").in((Object[]) DealStage.values())
+                        .and("updatedAt").gte(since.minusSeconds(CATCH_UP_OVERLAP_SECONDS)))
+                .cursorBatchSize(CURSOR_BATCH_SIZE);
+        long count = 0;
+        try (Stream<Deal> deals = mongoTemplate.stream(query, Deal.class)) {
+            for (Deal deal : (Iterable<Deal>) deals::iterator) {
+                index(deal);
+                count++;
+            }
+            watermark = scanStartedAt;
+        } catch (RuntimeException ex) {
+            log.error("Search index catch-up failed: {}", ex.getMessage());
+        }
+        if (count > 0) {
+            log.debug("Search index caught up {} deal(s)", count);
+        }
+    }
+    
+    /**
+     * Make recent writes visible to searches
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException ex) {
+            log.error("Search index refresh failed: {}", ex.getMessage());
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${pipeline.search.commit-interval-ms:60000}")
+    public void commit() {
+        try {
+            Map<String, String> commitData = new HashMap<>();
+            commitData.put(COMMIT_GENERATION, Long.toString(generation.get()));
+            if (watermark != null) {
+                commitData.put(COMMIT_WATERMARK, watermark.toString());
+            }
+            writer.setLiveCommitData(commitData.entrySet());
+            writer.commit();
+        } catch (IOException ex) {
+            log.error("Search index commit failed: {}", ex.getMessage());
+        }
+    }
+    
+    public long getDocumentCount() {
+        return writer.getDocStats().numDocs;
+    }
+    
+    @PreDestroy
+    public void close() throws IOException {
+        commit();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+    
+    private Document toDocument(Deal deal, long documentGeneration) {
+        Document document = new Document();
+        document.add(new StringField(ID, deal.getId(), Field.Store.YES));
+        if (deal.getCreatedBy() != null) {
+            document.add(new StringField(CREATED_BY, deal.getCreatedBy(), Field.Store.NO));
+        }
+        document.add(new LongPoint(GENERATION, documentGeneration));
+        addText(document, "dealName", deal.getDealName());
+        addText(document, "clientName", deal.getClientName());
+        addText(document, "summary", deal.getSummary());
+        addText(document, "description", deal.getDescription());
+        if (deal.getTags() != null) {
+            deal.getTags().forEach(tag -> addText(document, "tags", tag));
+        }
+        if (deal.getNotes() != null && !deal.getNotes().isEmpty()) {
+            addText(document, "notes", deal.getNotes().stream()
+                    .map(Note::getNoteText)
+                    .filter(text -> text != null && !text.isBlank())
+                    .collect(Collectors.joining("\n")));
+        }
+        return document;
+    }
+    
+    private void addText(Document document, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            document.add(new TextField(field, value, Field.Store.YES));
+        }
+    }
+}
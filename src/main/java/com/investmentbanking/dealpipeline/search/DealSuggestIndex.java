@@ -0,0 +1,137 @@
+package com.investmentbanking.dealpipeline.search;
+
+import com.investmentbanking.dealpipeline.event.DealChangedEvent;
+import com.investmentbanking.dealpipeline.model.Deal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory typeahead over client and deal names.
+ * One trie per field for ADMIN callers, plus one per deal owner so USER suggestions only
+ * come from their own deals.
+ * Built from Mongo at startup and on a fixed interval (which also picks up writes from other
+ * replicas), and kept current on this replica from DealChangedEvent.
+ */
+@Component
+@Slf4j
+public class DealSuggestIndex {
+    
+    public static final int MAX_SUGGESTIONS = 10;
+    
+    private static final int CURSOR_BATCH_SIZE = 2000;
+    
+    private final MongoTemplate mongoTemplate;
+    private volatile Map<SuggestField, FieldTries> tries = emptyTries();
+    
+    public DealSuggestIndex(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+    
+    /**
+     * @param owner createdBy to restrict to (USER callers), null for all deals
+     */
+    public List<TermTrie.TermCount> suggest(SuggestField field, String prefix, String owner, int limit) {
+        FieldTries fieldTries = tries.get(field);
+        TermTrie trie = owner == null ? fieldTries.all : fieldTries.byOwner.get(owner);
+        return trie == null ? List.of() : trie.suggest(prefix, limit);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+    
+    /**
+     * Full rebuild from Mongo; the new tries replace the old ones in one step.
+     * A change event that lands mid-rebuild may be missed until the next rebuild.
+     */
+    @Scheduled(initialDelayString = "${pipeline.suggest.rebuild-interval-ms:600000}",
+            fixedDelayString = "${pipeline.suggest.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        Map<SuggestField, FieldTries> rebuilt = emptyTries();
+        Query query = new Query().cursorBatchSize(CURSOR_BATCH_SIZE);
+        query.fields().include("clientName", "dealName", "createdBy");
+        
+        long count = 0;
+        try (Stream<Deal> deals = mongoTemplate.stream(query, Deal.class)) {
+            for (Deal deal : (Iterable<Deal>) deals::iterator) {
+                rebuilt.values().forEach(fieldTries -> fieldTries.add(deal));
+                count++;
+            }
+        } catch (RuntimeException ex) {
+            log.error("Suggest index rebuild failed: {}", ex.getMessage(), ex);
+            return;
+        }
+        tries = rebuilt;
+        log.info("Suggest index rebuilt from {} deals in {} ms", count, System.currentTimeMillis() - startedAt);
+    }
+    
+    @EventListener
+    public void onDealChanged(DealChangedEvent event) {
+        Map<SuggestField, FieldTries> current = tries;
+        for (Map.Entry<SuggestField, FieldTries> entry : current.entrySet()) {
+            SuggestField field = entry.getKey();
+            FieldTries fieldTries = entry.getValue();
+            switch (event.getType()) {
+                case CREATED -> fieldTries.add(event.getCurrent());
+                case DELETED -> fieldTries.remove(event.getPrevious());
+                case UPDATED -> {
+                    if (!Objects.equals(field.valueOf(event.getPrevious()), field.valueOf(event.getCurrent()))) {
+                        fieldTries.remove(event.getPrevious());
+                        fieldTries.add(event.getCurrent());
+                    }
+                }
+            }
+        }
+    }
+    
+    private static Map<SuggestField, FieldTries> emptyTries() {
+        Map<SuggestField, FieldTries> map = new EnumMap<>(SuggestField.class);
+        for (SuggestField field : SuggestField.values()) {
+            map.put(field, new FieldTries(field));
+        }
+        return map;
+    }
+    
+    private static final class FieldTries {
+        private final SuggestField field;
+        private final TermTrie all = new TermTrie(MAX_SUGGESTIONS);
+        private final Map<String, TermTrie> byOwner = new ConcurrentHashMap<>();
+        
+        FieldTries(SuggestField field) {
+            this.field = field;
+        }
+        
+        void add(Deal deal) {
+            String value = field.valueOf(deal);
+            all.add(value);
+            if (deal.getCreatedBy() != null) {
+                byOwner.computeIfAbsent(deal.getCreatedBy(), owner -> new TermTrie(MAX_SUGGESTIONS)).add(value);
+            }
+        }
+        
+        void remove(Deal deal) {
+            String value = field.valueOf(deal);
+            all.remove(value);
+            if (deal.getCreatedBy() != null) {
+                TermTrie ownerTrie = byOwner.get(deal.getCreatedBy());
+                if (ownerTrie != null) {
+                    ownerTrie.remove(value);
+                }
+            }
+        }
+    }
+}
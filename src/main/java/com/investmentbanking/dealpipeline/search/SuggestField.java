@@ -0,0 +1,36 @@
+package com.investmentbanking.dealpipeline.search;
+
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import com.investmentbanking.dealpipeline.model.Deal;
+
+import java.util.function.Function;
+
+public enum SuggestField {
+    CLIENT_NAME("clientName", Deal::getClientName),
+    DEAL_NAME("dealName", Deal::getDealName);
+    
+    private final String param;
+    private final Function<Deal, String> extractor;
+    
+    SuggestField(String param, Function<Deal, String> extractor) {
+        this.param = param;
+        this.extractor = extractor;
+    }
+    
+    public String getParam() {
+        return param;
+    }
+    
+    public String valueOf(Deal deal) {
+        return extractor.apply(deal);
+    }
+    
+    public static SuggestField fromParam(String value) {
+        for (SuggestField field : values()) {
+            if (field.param.equalsIgnoreCase(value)) {
+                return field;
+            }
+        }
+        throw new BadRequestException("Invalid suggest field: " + value + ". Valid values are: clientName, dealName");
+    }
+}
@@ -0,0 +1,185 @@
+package com.investmentbanking.dealpipeline.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Case-insensitive prefix trie of terms with occurrence counts.
+ * Every node caches the top-K terms of its subtree, so a lookup is a walk down the prefix
+ * plus a copy of at most K entries - independent of how many terms share the prefix.
+ * Writes recompute the cache bottom-up along the term's path only.
+ * Children are kept in sorted parallel arrays rather than maps to keep nodes small.
+ * Reads take no lock: writers are serialized and replace child arrays and cached lists
+ * copy-on-write, publishing them through volatile fields.
+ */
+public class TermTrie {
+    
+    public record TermCount(String term, int count) {
+    }
+    
+    private static final Comparator<TermCount> RANKING = Comparator.comparingInt(TermCount::count).reversed()
+            .thenComparing(TermCount::term, String.CASE_INSENSITIVE_ORDER);
+    
+    private final int topK;
+    private final Object writeLock = new Object();
+    private final Node root = new Node();
+    private volatile int size;
+    
+    public TermTrie(int topK) {
+        this.topK = topK;
+    }
+    
+    public void add(String term) {
+        adjust(term, 1);
+    }
+    
+    public void remove(String term) {
+        adjust(term, -1);
+    }
+    
+    /**
+     * Most frequent terms starting with prefix (case-insensitive), highest count first
+     */
+    public List<TermCount> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        List<TermCount> top = node.top;
+        return top.size() <= limit ? top : top.subList(0, limit);
+    }
+    
+    /**
+     * Number of distinct terms
+     */
+    public int size() {
+        return size;
+    }
+    
+    private void adjust(String term, int delta) {
+        if (term == null || term.isBlank()) {
+            return;
+        }
+        String display = term.strip();
+        String key = normalize(display);
+        
+        synchronized (writeLock) {
+            Node[] path = new Node[key.length() + 1];
+            path[0] = root;
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                Node next = node.child(key.charAt(i));
+                if (next == null) {
+                    if (delta < 0) {
+                        return; // unknown term
+                    }
+                    next = node.addChild(key.charAt(i));
+                }
+                path[i + 1] = next;
+                node = next;
+            }
+            
+            if (node.count == 0 && delta < 0) {
+                return;
+            }
+            if (node.count == 0) {
+                node.term = display; // first spelling seen is the one suggested
+                size++;
+            }
+            node.count += delta;
+            if (node.count == 0) {
+                node.term = null;
+                size--;
+            }
+            
+            for (int depth = key.length(); depth >= 0; depth--) {
+                Node current = path[depth];
+                if (depth > 0 && current.count == 0 && current.childrenRef.nodes().length == 0) {
+                    path[depth - 1].removeChild(key.charAt(depth - 1));
+                    continue;
+                }
+                current.top = rank(current);
+            }
+        }
+    }
+    
+    private List<TermCount> rank(Node node) {
+        List<TermCount> candidates = new ArrayList<>();
+        if (node.count > 0) {
+            candidates.add(new TermCount(node.term, node.count));
+        }
+        for (Node child : node.childrenRef.nodes()) {
+            candidates.addAll(child.top);
+        }
+        candidates.sort(RANKING);
+        return candidates.size() > topK ? List.copyOf(candidates.subList(0, topK)) : List.copyOf(candidates);
+    }
+    
+    private static String normalize(String value) {
+        return value == null ? "" : value.strip().toLowerCase(Locale.ROOT);
+    }
+    
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        
+        // Keys and child nodes are swapped as one immutable pair, so readers never see them out of step
+        private volatile Children childrenRef = new Children(NO_KEYS, NO_CHILDREN);
+        private String term;
+        private int count;
+        private volatile List<TermCount> top = List.of();
+        
+        Node child(char c) {
+            Children current = childrenRef;
+            int index = Arrays.binarySearch(current.keys(), c);
+            return index >= 0 ? current.nodes()[index] : null;
+        }
+        
+        Node addChild(char c) {
+            Children current = childrenRef;
+            int insertAt = -(Arrays.binarySearch(current.keys(), c) + 1);
+            int length = current.keys().length;
+            char[] keys = new char[length + 1];
+            Node[] nodes = new Node[length + 1];
+            System.arraycopy(current.keys(), 0, keys, 0, insertAt);
+            System.arraycopy(current.nodes(), 0, nodes, 0, insertAt);
+            System.arraycopy(current.keys(), insertAt, keys, insertAt + 1, length - insertAt);
+            System.arraycopy(current.nodes(), insertAt, nodes, insertAt + 1, length - insertAt);
+            Node child = new Node();
+            keys[insertAt] = c;
+            nodes[insertAt] = child;
+            publish(keys, nodes);
+            return child;
+        }
+        
+        void removeChild(char c) {
+            Children current = childrenRef;
+            int index = Arrays.binarySearch(current.keys(), c);
+            if (index < 0) {
+                return;
+            }
+            int length = current.keys().length;
+            char[] keys = new char[length - 1];
+            Node[] nodes = new Node[length - 1];
+            System.arraycopy(current.keys(), 0, keys, 0, index);
+            System.arraycopy(current.nodes(), 0, nodes, 0, index);
+            System.arraycopy(current.keys(), index + 1, keys, index, length - index - 1);
+            System.arraycopy(current.nodes(), index + 1, nodes, index, length - index - 1);
+            publish(keys, nodes);
+        }
+        
+        private void publish(char[] keys, Node[] nodes) {
+            childrenRef = new Children(keys, nodes);
+        }
+    }
+    
+    private record Children(char[] keys, Node[] nodes) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.investmentbanking.dealpipeline.service;
+
+import com.investmentbanking.dealpipeline.compliance.ClearanceBook;
+import com.investmentbanking.dealpipeline.compliance.ClearanceIndex;
+import com.investmentbanking.dealpipeline.dto.ClearanceConflict;
+import com.investmentbanking.dealpipeline.dto.ClearanceSweepResponse;
+import com.investmentbanking.dealpipeline.dto.ClearanceSweepResult;
+import com.investmentbanking.dealpipeline.model.Deal;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class ClearanceService {
+    
+    private final ClearanceIndex clearanceIndex;
+    private final ForkJoinPool sweepPool;
+    
+    public ClearanceService(ClearanceIndex clearanceIndex,
+                            @Value("${pipeline.clearance.sweep-parallelism:0}") int sweepParallelism) {
+        this.clearanceIndex = clearanceIndex;
+        this.sweepPool = new ForkJoinPool(sweepParallelism > 0 ? sweepParallelism : Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Full clearance sweep - every active deal checked against every other
+     * Runs against a fresh snapshot of the book loaded from Mongo, not the live index,
+     * with the checks spread over a dedicated ForkJoinPool (pipeline.clearance.sweep-parallelism)
+     */
+    public ClearanceSweepResponse sweep() {
+        long startedAt = System.currentTimeMillis();
+        List<Deal> deals = clearanceIndex.loadActiveDeals();
+        ClearanceBook book = new ClearanceBook();
+        deals.forEach(book::put);
+        
+        List<ClearanceSweepResult> results;
+        try {
+            results = sweepPool.submit(() -> deals.parallelStream()
+                    .map(deal -> toResult(deal, book.check(deal.getId(), deal.getClientName(), deal.getCounterparty(), deal.getSector())))
+                    .filter(result -> !result.getConflicts().isEmpty())
+                    .sorted(Comparator.comparing(ClearanceSweepResult::getDealId))
+                    .collect(Collectors.toList())).get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Clearance sweep interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Clearance sweep failed: " + ex.getCause().getMessage(), ex.getCause());
+        }
+        
+        long tookMs = System.currentTimeMillis() - startedAt;
+        log.info("Clearance sweep checked {} active deals, {} with conflicts, in {} ms", deals.size(), results.size(), tookMs);
+        return ClearanceSweepResponse.builder()
+                .activeDeals(deals.size())
+                .conflictedDeals(results.size())
+                .tookMs(tookMs)
+                .results(results)
+                .build();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        sweepPool.shutdownNow();
+    }
+    
+    private ClearanceSweepResult toResult(Deal deal, List<ClearanceConflict> conflicts) {
+        return ClearanceSweepResult.builder()
+                .dealId(deal.getId())
+                .dealName(deal.getDealName())
+                .clientName(deal.getClientName())
+                .counterparty(deal.getCounterparty())
+                .sector(deal.getSector())
+                .conflicts(conflicts)
+                .build();
+    }
+}
@@ -0,0 +1,895 @@
+package com.investmentbanking.dealpipeline.service;
+
+import com.investmentbanking.dealpipeline.analytics.ForecastBook;
+import com.investmentbanking.dealpipeline.analytics.ForecastIndex;
+import com.investmentbanking.dealpipeline.analytics.FunnelContribution;
+import com.investmentbanking.dealpipeline.analytics.HyperLogLog;
+import com.investmentbanking.dealpipeline.analytics.KllSketch;
+import com.investmentbanking.dealpipeline.analytics.LeaderboardBook;
+import com.investmentbanking.dealpipeline.analytics.LeaderboardIndex;
+import com.investmentbanking.dealpipeline.analytics.PipelineSimulator;
+import com.investmentbanking.dealpipeline.analytics.SketchBook;
+import com.investmentbanking.dealpipeline.analytics.SketchIndex;
+import com.investmentbanking.dealpipeline.dto.DistinctClientsResponse;
+import com.investmentbanking.dealpipeline.dto.DistinctEstimate;
+import com.investmentbanking.dealpipeline.dto.ForecastResponse;
+import com.investmentbanking.dealpipeline.dto.ForecastRow;
+import com.investmentbanking.dealpipeline.dto.FunnelResponse;
+import com.investmentbanking.dealpipeline.dto.FunnelRow;
+import com.investmentbanking.dealpipeline.dto.FunnelStageCount;
+import com.investmentbanking.dealpipeline.dto.HistogramBin;
+import com.investmentbanking.dealpipeline.dto.LeaderboardEntry;
+import com.investmentbanking.dealpipeline.dto.LeaderboardResponse;
+import com.investmentbanking.dealpipeline.dto.PipelineTrendResponse;
+import com.investmentbanking.dealpipeline.dto.QuantileEstimate;
+import com.investmentbanking.dealpipeline.dto.QuantileResponse;
+import com.investmentbanking.dealpipeline.dto.SimulationPercentile;
+import com.investmentbanking.dealpipeline.dto.SimulationResponse;
+import com.investmentbanking.dealpipeline.dto.SimulationSlip;
+import com.investmentbanking.dealpipeline.dto.TrendPoint;
+import com.investmentbanking.dealpipeline.dto.TrendRow;
+import com.investmentbanking.dealpipeline.dto.WorkloadResponse;
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import com.investmentbanking.dealpipeline.exception.ResourceNotFoundException;
+import com.investmentbanking.dealpipeline.exception.UnauthorizedException;
+import com.investmentbanking.dealpipeline.fx.FxRates;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.model.FunnelCohort;
+import com.investmentbanking.dealpipeline.model.PipelineSnapshot;
+import com.investmentbanking.dealpipeline.model.Role;
+import com.investmentbanking.dealpipeline.model.SnapshotCell;
+import com.investmentbanking.dealpipeline.model.User;
+import com.investmentbanking.dealpipeline.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+@Service
+@RequiredArgsConstructor
+public class DealAnalyticsService {
+    
+    private static final Set<String> GROUP_FIELDS = Set.of("quarter", "sector", "dealType");
+    private static final Pattern QUARTER = Pattern.compile("\\d{4}-Q[1-4]");
+    
+    private static final int MAX_FORECAST_MONTHS = 60;
+    private static final int MAX_TREND_DAYS = 1096;
+    private static final int MAX_QUANTILES = 20;
+    private static final int MIN_SIMULATION_TRIALS = 1000;
+    private static final int MAX_SIMULATION_TRIALS = 1_000_000;
+    private static final int MAX_HISTOGRAM_BINS = 100;
+    private static final double MAX_SLIP_DAYS = 3650;
+    private static final Map<DealStage, PipelineSimulator.Slip> DEFAULT_SLIPS = new EnumMap<>(Map.of(
+            DealStage.Prospect, new PipelineSimulator.Slip(45, 30),
+            DealStage.UnderEvaluation, new PipelineSimulator.Slip(30, 20),
+            DealStage.TermSheetSubmitted, new PipelineSimulator.Slip(14, 10)));
+    private static final Set<String> TREND_GROUPINGS = Set.of("none", "stage", "sector", "stage,sector");
+    private static final Comparator<TrendRow> TREND_ROW_ORDER = Comparator
+            .comparing(TrendRow::getStage, Comparator.nullsFirst(Comparator.<DealStage>naturalOrder()))
+            .thenComparing(TrendRow::getSector, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+    private static final Map<DealStage, Double> DEFAULT_PROBABILITIES = new EnumMap<>(Map.of(
+            DealStage.Prospect, 0.10,
+            DealStage.UnderEvaluation, 0.25,
+            DealStage.TermSheetSubmitted, 0.60,
+            DealStage.Closed, 1.0));
+    
+    private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ForecastIndex forecastIndex;
+    private final LeaderboardIndex leaderboardIndex;
+    private final SketchIndex sketchIndex;
+    private final PipelineSimulator pipelineSimulator;
+    private final Environment environment;
+    private final FxRates fxRates;
+    
+    /**
+     * Conversion funnel and win rates from the precomputed cohort counters
+     * ADMIN only - the counters cover every desk's deals
+     * @param groupBy comma-separated subset of quarter, sector, dealType; empty for the total only
+     * @param fromQuarter / toQuarter inclusive creation quarter range, e.g. 2024-Q1
+     */
+    public FunnelResponse getFunnel(String groupBy, String fromQuarter, String toQuarter, String sector, String dealType) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        
+        boolean isAdmin = user.getRoles().stream().anyMatch(role -> role == Role.ADMIN);
+        if (!isAdmin) {
+            throw new UnauthorizedException("Only ADMIN can view funnel analytics");
+        }
+        
+        List<String> groups = parseGroupBy(groupBy);
+        Criteria criteria = new Criteria();
+        if (fromQuarter != null || toQuarter != null) {
+            criteria = Criteria.where("quarter");
+            if (fromQuarter != null) {
+                criteria.gte(parseQuarter(fromQuarter));
+            }
+            if (toQuarter != null) {
+                criteria.lte(parseQuarter(toQuarter));
+            }
+        }
+        if (sector != null) {
+            criteria.and("sector").is(sector);
+        }
+        if (dealType != null) {
+            criteria.and("dealType").is(dealType);
+        }
+        List<FunnelCohort> cohorts = mongoTemplate.find(new Query(criteria), FunnelCohort.class);
+        
+        // Cohorts are already aggregated per quarter x sector x dealType, so rolling them up is a
+        // pass over a few hundred small documents rather than over the deals
+        Map<List<String>, FunnelCohort> rolledUp = new TreeMap<>(Comparator.comparing(key -> String.join("\u0000", key)));
+        FunnelCohort total = emptyCohort(null, null, null);
+        for (FunnelCohort cohort : cohorts) {
+            String quarter = groups.contains("quarter") ? cohort.getQuarter() : null;
+            String cohortSector = groups.contains("sector") ? cohort.getSector() : null;
+            String cohortDealType = groups.contains("dealType") ? cohort.getDealType() : null;
+            List<String> key = Arrays.asList(nullToEmpty(quarter), nullToEmpty(cohortSector), nullToEmpty(cohortDealType));
+            accumulate(rolledUp.computeIfAbsent(key, k -> emptyCohort(quarter, cohortSector, cohortDealType)), cohort);
+            accumulate(total, cohort);
+        }
+        
+        List<FunnelRow> rows = new ArrayList<>();
+        if (!groups.isEmpty()) {
+            rolledUp.values().stream()
+                    .filter(cohort -> cohort.getDeals() > 0)
+                    .map(this::toRow)
+                    .forEach(rows::add);
+        }
+        return FunnelResponse.builder()
+                .groupBy(groups)
+                .rows(rows)
+                .total(toRow(total))
+                .build();
+    }
+    
+    /**
+     * Probability-weighted pipeline value by expected close month, from the in-memory forecast rollup
+     * ADMIN only - exposes deal values
+     * @param groupBy none, sector or banker (assignedTo)
+     * @param probabilities per-stage overrides, e.g. "TermSheetSubmitted:0.7,Prospect:0.05"; other stages
+     *                      use pipeline.forecast.probability.&lt;Stage&gt;
+     * @param from / to inclusive close month range (yyyy-MM); defaults to this month and the 11 after it
+     */
+    public ForecastResponse getForecast(String groupBy, String probabilities, String from, String to,
+                                        String sector, String assignedTo) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        
+        boolean isAdmin = user.getRoles().stream().anyMatch(role -> role == Role.ADMIN);
+        if (!isAdmin) {
+            throw new UnauthorizedException("Only ADMIN can view the pipeline forecast");
+        }
+        
+        String grouping = groupBy != null ? groupBy : "none";
+        if (!grouping.equals("none") && !grouping.equals("sector") && !grouping.equals("banker")) {
+            throw new BadRequestException("Invalid groupBy '" + groupBy + "'. Use none, sector or banker");
+        }
+        YearMonth fromMonth = from != null ? parseMonth(from) : YearMonth.now();
+        YearMonth toMonth = to != null ? parseMonth(to) : fromMonth.plusMonths(11);
+        if (toMonth.isBefore(fromMonth) || fromMonth.plusMonths(MAX_FORECAST_MONTHS - 1).isBefore(toMonth)) {
+            throw new BadRequestException("to must be on or after from and at most " + MAX_FORECAST_MONTHS + " months later");
+        }
+        Map<DealStage, Double> weights = resolveProbabilities(probabilities);
+        Map<DealStage, BigDecimal> factors = new EnumMap<>(DealStage.class);
+        weights.forEach((stage, probability) -> factors.put(stage, BigDecimal.valueOf(probability)));
+        
+        Map<String, ForecastRow> rows = new TreeMap<>();
+        Map<YearMonth, ForecastRow> months = new TreeMap<>();
+        for (YearMonth month = fromMonth; !month.isAfter(toMonth); month = month.plusMonths(1)) {
+            months.put(month, emptyForecastRow(month.toString(), null, null, null));
+        }
+        ForecastRow total = emptyForecastRow(null, null, null, null);
+        
+        ForecastBook.Grain grain = ForecastBook.Grain.of(grouping.equals("sector") || sector != null,
+                grouping.equals("banker") || assignedTo != null);
+        forecastIndex.getBook().forEach(grain, (cell, totals) -> {
+            if (cell.month().isBefore(fromMonth) || cell.month().isAfter(toMonth)
+                    || (sector != null && !sector.equals(cell.sector()))
+                    || (assignedTo != null && !assignedTo.equals(cell.assignedTo()))) {
+                return;
+            }
+            BigDecimal expected = totals.value().multiply(factors.get(cell.stage()));
+            if (!grouping.equals("none")) {
+                boolean bySector = grouping.equals("sector");
+                String group = bySector ? cell.sector() : cell.assignedToUsername() + "\u0000" + cell.assignedTo();
+                ForecastRow row = rows.computeIfAbsent(cell.month() + "\u0000" + (group != null ? group : ""),
+                        key -> bySector
+                                ? emptyForecastRow(cell.month().toString(), cell.sector(), null, null)
+                                : emptyForecastRow(cell.month().toString(), null, cell.assignedTo(), cell.assignedToUsername()));
+                addToForecastRow(row, cell.stage(), totals, expected);
+            }
+            addToForecastRow(months.get(cell.month()), cell.stage(), totals, expected);
+            addToForecastRow(total, cell.stage(), totals, expected);
+        });
+        
+        return ForecastResponse.builder()
+                .from(fromMonth.toString())
+                .to(toMonth.toString())
+                .groupBy(grouping)
+                .baseCurrency(fxRates.getBaseCurrency())
+                .probabilities(weights)
+                .rows(rows.values().stream().map(DealAnalyticsService::roundForecastRow).toList())
+                .months(months.values().stream().map(DealAnalyticsService::roundForecastRow).toList())
+                .total(roundForecastRow(total))
+                .build();
+    }
+    
+    /**
+     * Daily pipeline count and value over a date range, from the pipeline_snapshots documents
+     * ADMIN only - exposes deal values
+     * @param groupBy none, stage, sector or stage,sector
+     * @param from / to inclusive day range (yyyy-MM-dd); defaults to the 365 days up to today
+     * @param stage / sector only count cells of this stage / sector
+     */
+    public PipelineTrendResponse getTrend(String groupBy, String from, String to, String stage, String sector) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        
+        boolean isAdmin = user.getRoles().stream().anyMatch(role -> role == Role.ADMIN);
+        if (!isAdmin) {
+            throw new UnauthorizedException("Only ADMIN can view the pipeline trend");
+        }
+        
+        String grouping = groupBy != null ? groupBy.replace(" ", "") : "stage";
+        if (!TREND_GROUPINGS.contains(grouping)) {
+            throw new BadRequestException("Invalid groupBy '" + groupBy + "'. Use none, stage, sector or stage,sector");
+        }
+        boolean byStage = grouping.startsWith("stage");
+        boolean bySector = grouping.endsWith("sector");
+        LocalDate toDay = to != null ? parseDay(to) : LocalDate.now();
+        LocalDate fromDay = from != null ? parseDay(from) : toDay.minusDays(364);
+        if (toDay.isBefore(fromDay) || fromDay.plusDays(MAX_TREND_DAYS - 1).isBefore(toDay)) {
+            throw new BadRequestException("to must be on or after from and at most " + MAX_TREND_DAYS + " days later");
+        }
+        DealStage stageFilter = stage != null ? parseStage(stage) : null;
+        
+        // Snapshot ids are the day, so the range is one read on the _id index
+        Query query = new Query(Criteria.where("_id").gte(fromDay.toString()).lte(toDay.toString()))
+                .with(Sort.by(Sort.Direction.ASC, "_id"));
+        List<PipelineSnapshot> snapshots = mongoTemplate.find(query, PipelineSnapshot.class);
+        
+        List<TrendPoint> points = new ArrayList<>(snapshots.size());
+        for (PipelineSnapshot snapshot : snapshots) {
+            Map<List<Object>, TrendRow> rows = new HashMap<>();
+            long count = 0;
+            BigDecimal value = BigDecimal.ZERO;
+            for (SnapshotCell cell : snapshot.getCells() != null ? snapshot.getCells() : List.<SnapshotCell>of()) {
+                if ((stageFilter != null && stageFilter != cell.getStage())
+                        || (sector != null && !sector.equals(cell.getSector()))) {
+                    continue;
+                }
+                BigDecimal cellValue = cell.getValue() != null ? cell.getValue() : BigDecimal.ZERO;
+                count += cell.getCount();
+                value = value.add(cellValue);
+                if (byStage || bySector) {
+                    DealStage rowStage = byStage ? cell.getStage() : null;
+                    String rowSector = bySector ? cell.getSector() : null;
+                    TrendRow row = rows.computeIfAbsent(Arrays.asList(rowStage, rowSector), key -> TrendRow.builder()
+                            .stage(rowStage)
+                            .sector(rowSector)
+                            .value(BigDecimal.ZERO)
+                            .build());
+                    row.setCount(row.getCount() + cell.getCount());
+                    row.setValue(row.getValue().add(cellValue));
+                }
+            }
+            points.add(TrendPoint.builder()
+                    .date(LocalDate.parse(snapshot.getId()))
+                    .source(snapshot.getSource())
+                    .count(count)
+                    .value(value)
+                    .rows(byStage || bySector ? rows.values().stream().sorted(TREND_ROW_ORDER).toList() : null)
+                    .build());
+        }
+        
+        return PipelineTrendResponse.builder()
+                .from(fromDay)
+                .to(toDay)
+                .groupBy(grouping)
+                .baseCurrency(fxRates.getBaseCurrency())
+                .points(points)
+                .build();
+    }
+    
+    /**
+     * Top bankers by closed value, open pipeline value or deal count, from the live leaderboard
+     * ADMIN only - exposes deal values
+     * @param metric closedValue, pipelineValue or dealCount
+     * @param limit number of bankers, at most pipeline.leaderboard.top-k
+     */
+    public LeaderboardResponse getLeaderboard(String metric, int limit) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        
+        boolean isAdmin = user.getRoles().stream().anyMatch(role -> role == Role.ADMIN);
+        if (!isAdmin) {
+            throw new UnauthorizedException("Only ADMIN can view the banker leaderboard");
+        }
+        
+        LeaderboardBook.Metric ranking = LeaderboardBook.Metric.fromParam(metric);
+        if (ranking == null) {
+            throw new BadRequestException("Invalid metric '" + metric + "'. Use closedValue, pipelineValue or dealCount");
+        }
+        LeaderboardBook book = leaderboardIndex.getBook();
+        if (limit < 1 || limit > book.getTopK()) {
+            throw new BadRequestException("limit must be between 1 and " + book.getTopK());
+        }
+        
+        List<LeaderboardBook.Workload> top = book.top(ranking, limit);
+        List<LeaderboardEntry> entries = new ArrayList<>(top.size());
+        for (LeaderboardBook.Workload workload : top) {
+            entries.add(LeaderboardEntry.builder()
+                    .rank(entries.size() + 1)
+                    .userId(workload.userId())
+                    .username(workload.username())
+                    .closedValue(workload.closedValue())
+                    .pipelineValue(workload.openValue())
+                    .dealCount(workload.totalDeals())
+                    .build());
+        }
+        return LeaderboardResponse.builder()
+                .metric(ranking.getParam())
+                .baseCurrency(fxRates.getBaseCurrency())
+                .reconciledAt(leaderboardIndex.getReconciledAt())
+                .entries(entries)
+                .build();
+    }
+    
+    /**
+     * A banker's deal counts by stage and their open and closed value, from the live leaderboard counters
+     * USER can only view their own workload, without values
+     * ADMIN can view any banker's workload
+     * @param userId the banker; defaults to the current user
+     */
+    public WorkloadResponse getWorkload(String userId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        
+        boolean isAdmin = user.getRoles().stream().anyMatch(role -> role == Role.ADMIN);
+        String bankerId = userId != null ? userId : user.getId();
+        if (!isAdmin && !bankerId.equals(user.getId())) {
+            throw new UnauthorizedException("You can only view your own workload");
+        }
+        
+        LeaderboardBook.Workload workload = leaderboardIndex.getBook().getWorkload(bankerId);
+        if (workload == null) {
+            // No deals - still confirm the banker exists
+            User banker = bankerId.equals(user.getId()) ? user : userRepository.findById(bankerId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User", "id", bankerId));
+            return WorkloadResponse.builder()
+                    .userId(banker.getId())
+                    .username(banker.getUsername())
+                    .dealsByStage(Map.of())
+                    .baseCurrency(fxRates.getBaseCurrency())
+                    .pipelineValue(isAdmin ? BigDecimal.ZERO : null)
+                    .closedValue(isAdmin ? BigDecimal.ZERO : null)
+                    .build();
+        }
+        return WorkloadResponse.builder()
+                .userId(workload.userId())
+                .username(workload.username())
+                .dealsByStage(workload.dealsByStage())
+                .openDeals(workload.openDeals())
+                .closedDeals(workload.closedDeals())
+                .totalDeals(workload.totalDeals())
+                .baseCurrency(fxRates.getBaseCurrency())
+                .pipelineValue(isAdmin ? workload.openValue() : null) // Hide values for USER
+                .closedValue(isAdmin ? workload.closedValue() : null)
+                .build();
+    }
+    
+    /**
+     * Approximate distinct clients per sector, from the HyperLogLog sketches
+     * ADMIN only - the sketches cover every desk's deals
+     * @param sector only this sector; every sector when null
+     */
+    public DistinctClientsResponse getDistinctClients(String sector) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        
+        boolean isAdmin = user.getRoles().stream().anyMatch(role -> role == Role.ADMIN);
+        if (!isAdmin) {
+            throw new UnauthorizedException("Only ADMIN can view client analytics");
+        }
+        
+        SketchBook sketches = sketchIndex.getView();
+        List<DistinctEstimate> sectors = new ArrayList<>();
+        if (sector != null) {
+            sectors.add(distinctEstimate(sector, sketches.distinctClients(sector)));
+        } else {
+            sketches.distinctClientsBySector().forEach((name, estimate) -> sectors.add(distinctEstimate(name, estimate)));
+            sectors.sort(Comparator.comparingLong(DistinctEstimate::getEstimate).reversed()
+                    .thenComparing(DistinctEstimate::getSector));
+        }
+        return DistinctClientsResponse.builder()
+                .relativeStandardError(HyperLogLog.RELATIVE_STANDARD_ERROR)
+                .asOf(sketchIndex.getSyncedAt())
+                .total(distinctEstimate(null, sketches.distinctClients(SketchBook.ALL)))
+                .sectors(sectors)
+                .build();
+    }
+    
+    /**
+     * Approximate quantiles of deal size or days spent in a stage, from the KLL sketches
+     * ADMIN only - exposes deal values
+     * @param metric dealSize (baseCurrencyValue) or daysInStage (completed stays only)
+     * @param dealType / stage narrow the sketch; stage applies to daysInStage only
+     * @param quantiles comma-separated fractions, e.g. 0.5,0.9
+     */
+    public QuantileResponse getQuantiles(String metric, String dealType, String stage, String quantiles) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        
+        boolean isAdmin = user.getRoles().stream().anyMatch(role -> role == Role.ADMIN);
+        if (!isAdmin) {
+            throw new UnauthorizedException("Only ADMIN can view deal size and stage time analytics");
+        }
+        
+        boolean dealSize = "dealSize".equals(metric);
+        if (!dealSize && !"daysInStage".equals(metric)) {
+            throw new BadRequestException("Invalid metric '" + metric + "'. Use dealSize or daysInStage");
+        }
+        if (dealSize && stage != null) {
+            throw new BadRequestException("stage only applies to daysInStage");
+        }
+        DealStage stageFilter = stage != null ? parseStage(stage) : null;
+        double[] fractions = parseQuantiles(quantiles);
+        
+        String typeKey = dealType != null ? dealType : SketchBook.ALL;
+        KllSketch sketch = dealSize
+                ? sketchIndex.getView().dealSize(typeKey)
+                : sketchIndex.getView().daysInStage(typeKey, stageFilter != null ? stageFilter.name() : SketchBook.ALL);
+        
+        List<QuantileEstimate> estimates = new ArrayList<>(fractions.length);
+        double rankError = sketch != null ? sketch.getRankError() : new KllSketch().getRankError();
+        if (sketch != null) {
+            // value, then the values rankError below and above it, from one pass over the sketch
+            double[] probes = new double[fractions.length * 3];
+            for (int i = 0; i < fractions.length; i++) {
+                probes[3 * i] = fractions[i];
+                probes[3 * i + 1] = Math.max(0, fractions[i] - rankError);
+                probes[3 * i + 2] = Math.min(1, fractions[i] + rankError);
+            }
+            double[] values = sketch.quantiles(probes);
+            for (int i = 0; i < fractions.length; i++) {
+                estimates.add(QuantileEstimate.builder()
+                        .quantile(fractions[i])
+                        .value(values[3 * i])
+                        .lowerBound(values[3 * i + 1])
+                        .upperBound(values[3 * i + 2])
+                        .build());
+            }
+        }
+        return QuantileResponse.builder()
+                .metric(metric)
+                .dealType(dealType)
+                .stage(stageFilter != null ? stageFilter.name() : null)
+                .unit(dealSize ? fxRates.getBaseCurrency() : "days")
+                .count(sketch != null ? sketch.getCount() : 0)
+                .min(sketch != null ? sketch.getMin() : null)
+                .max(sketch != null ? sketch.getMax() : null)
+                .rankError(rankError)
+                .asOf(sketchIndex.getSyncedAt())
+                .quantiles(estimates)
+                .build();
+    }
+    
+    /**
+     * Distribution of the value of open deals that close within a quarter, by Monte Carlo simulation
+     * ADMIN only - exposes deal values
+     * @param quarter e.g. 2024-Q4; defaults to the current quarter
+     * @param probabilities per-stage overrides, as for the forecast
+     * @param slips per-stage slip overrides as Stage:meanDays:deviationDays, e.g. Prospect:45:30; other
+     *              stages use pipeline.simulation.slip.&lt;Stage&gt;
+     * @param seed random seed; a random one when null
+     */
+    public SimulationResponse simulate(String quarter, int trials, String probabilities, String slips, Long seed,
+                                       int bins, String quantiles) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        
+        boolean isAdmin = user.getRoles().stream().anyMatch(role -> role == Role.ADMIN);
+        if (!isAdmin) {
+            throw new UnauthorizedException("Only ADMIN can run pipeline simulations");
+        }
+        
+        if (trials < MIN_SIMULATION_TRIALS || trials > MAX_SIMULATION_TRIALS) {
+            throw new BadRequestException("trials must be between " + MIN_SIMULATION_TRIALS + " and " + MAX_SIMULATION_TRIALS);
+        }
+        if (bins < 1 || bins > MAX_HISTOGRAM_BINS) {
+            throw new BadRequestException("bins must be between 1 and " + MAX_HISTOGRAM_BINS);
+        }
+        LocalDate from = quarterStart(quarter != null ? parseQuarter(quarter) : currentQuarter());
+        LocalDate to = from.plusMonths(3).minusDays(1);
+        Map<DealStage, Double> weights = resolveProbabilities(probabilities);
+        weights.remove(DealStage.Closed); // only open deals are simulated
+        Map<DealStage, PipelineSimulator.Slip> slipDistributions = resolveSlips(slips);
+        double[] fractions = parseQuantiles(quantiles != null ? quantiles : "0.05,0.1,0.25,0.5,0.75,0.9,0.95");
+        long runSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        
+        PipelineSimulator.Result result = pipelineSimulator.simulate(from, to, weights, slipDistributions, trials, runSeed);
+        double[] outcomes = result.outcomes();
+        
+        double sum = 0;
+        for (double outcome : outcomes) {
+            sum += outcome;
+        }
+        double mean = sum / outcomes.length;
+        double squares = 0;
+        for (double outcome : outcomes) {
+            squares += (outcome - mean) * (outcome - mean);
+        }
+        
+        List<SimulationPercentile> percentiles = new ArrayList<>(fractions.length);
+        for (double fraction : fractions) {
+            int rank = (int) Math.ceil(fraction * outcomes.length); // nearest rank on the sorted outcomes
+            percentiles.add(SimulationPercentile.builder()
+                    .quantile(fraction)
+                    .value(money(outcomes[Math.max(0, rank - 1)]))
+                    .build());
+        }
+        
+        double low = outcomes[0];
+        double width = (outcomes[outcomes.length - 1] - low) / bins;
+        int[] counts = new int[bins];
+        for (double outcome : outcomes) {
+            int bin = width > 0 ? (int) ((outcome - low) / width) : 0;
+            counts[Math.min(bin, bins - 1)]++;
+        }
+        List<HistogramBin> histogram = new ArrayList<>(bins);
+        for (int i = 0; i < bins; i++) {
+            histogram.add(HistogramBin.builder()
+                    .from(money(low + i * width))
+                    .to(money(low + (i + 1) * width))
+                    .trials(counts[i])
+                    .build());
+        }
+        
+        Map<DealStage, SimulationSlip> appliedSlips = new EnumMap<>(DealStage.class);
+        slipDistributions.forEach((stage, slip) -> appliedSlips.put(stage, new SimulationSlip(slip.meanDays(), slip.deviationDays())));
+        return SimulationResponse.builder()
+                .quarter(quarterOf(from))
+                .from(from)
+                .to(to)
+                .baseCurrency(fxRates.getBaseCurrency())
+                .trials(trials)
+                .seed(runSeed)
+                .deals(result.deals())
+                .skippedDeals(result.skippedDeals())
+                .probabilities(weights)
+                .slips(appliedSlips)
+                .mean(money(mean))
+                .standardDeviation(money(Math.sqrt(squares / outcomes.length)))
+                .percentiles(percentiles)
+                .histogram(histogram)
+                .build();
+    }
+    
+    private Map<DealStage, PipelineSimulator.Slip> resolveSlips(String overrides) {
+        Map<DealStage, PipelineSimulator.Slip> slips = new EnumMap<>(DealStage.class);
+        DEFAULT_SLIPS.forEach((stage, fallback) -> slips.put(stage, new PipelineSimulator.Slip(
+                environment.getProperty("pipeline.simulation.slip." + stage.name() + ".mean-days", Double.class, fallback.meanDays()),
+                environment.getProperty("pipeline.simulation.slip." + stage.name() + ".deviation-days", Double.class, fallback.deviationDays()))));
+        if (overrides != null && !overrides.isBlank()) {
+            for (String override : overrides.split(",")) {
+                String[] parts = override.split(":", 3);
+                DealStage stage = null;
+                Double mean = null;
+                Double deviation = null;
+                if (parts.length == 3) {
+                    for (DealStage candidate : DEFAULT_SLIPS.keySet()) {
+                        if (candidate.name().equalsIgnoreCase(parts[0].trim())) {
+                            stage = candidate;
+                        }
+                    }
+                    mean = parseDays(parts[1].trim());
+                    deviation = parseDays(parts[2].trim());
+                }
+                if (stage == null || mean == null || deviation == null || deviation < 0) {
+                    throw new BadRequestException("Invalid slip override '" + override
+                            + "'. Use Stage:meanDays:deviationDays, e.g. Prospect:45:30 (stages: " + DEFAULT_SLIPS.keySet() + ")");
+                }
+                slips.put(stage, new PipelineSimulator.Slip(mean, deviation));
+            }
+        }
+        return slips;
+    }
+    
+    private static Double parseDays(String value) {
+        try {
+            double days = Double.parseDouble(value);
+            return Math.abs(days) <= MAX_SLIP_DAYS ? days : null;
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+    
+    private static String currentQuarter() {
+        return quarterOf(LocalDate.now());
+    }
+    
+    private static String quarterOf(LocalDate date) {
+        return date.getYear() + "-Q" + ((date.getMonthValue() - 1) / 3 + 1);
+    }
+    
+    private static LocalDate quarterStart(String quarter) {
+        int year = Integer.parseInt(quarter.substring(0, 4));
+        int number = quarter.charAt(6) - '0';
+        return LocalDate.of(year, (number - 1) * 3 + 1, 1);
+    }
+    
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_EVEN);
+    }
+    
+    private Map<DealStage, Double> resolveProbabilities(String overrides) {
+        Map<DealStage, Double> probabilities = new EnumMap<>(DealStage.class);
+        DEFAULT_PROBABILITIES.forEach((stage, fallback) -> probabilities.put(stage,
+                environment.getProperty("pipeline.forecast.probability." + stage.name(), Double.class, fallback)));
+        if (overrides != null && !overrides.isBlank()) {
+            for (String override : overrides.split(",")) {
+                String[] parts = override.split(":", 2);
+                DealStage stage = parts.length == 2 ? parseForecastStage(parts[0].trim()) : null;
+                Double probability = parts.length == 2 ? parseProbability(parts[1].trim()) : null;
+                if (stage == null || probability == null) {
+                    throw new BadRequestException("Invalid probability override '" + override
+                            + "'. Use Stage:probability, e.g. TermSheetSubmitted:0.7 (stages: " + DEFAULT_PROBABILITIES.keySet() + ")");
+                }
+                probabilities.put(stage, probability);
+            }
+        }
+        return probabilities;
+    }
+    
+    private static DealStage parseForecastStage(String name) {
+        for (DealStage stage : DEFAULT_PROBABILITIES.keySet()) {
+            if (stage.name().equalsIgnoreCase(name)) {
+                return stage;
+            }
+        }
+        return null;
+    }
+    
+    private static Double parseProbability(String value) {
+        try {
+            double probability = Double.parseDouble(value);
+            return probability >= 0 && probability <= 1 ? probability : null;
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+    
+    private static LocalDate parseDay(String day) {
+        try {
+            return LocalDate.parse(day);
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("Invalid date '" + day + "'. Use yyyy-MM-dd, e.g. 2024-09-30");
+        }
+    }
+    
+    private static DealStage parseStage(String name) {
+        for (DealStage stage : DealStage.values()) {
+            if (stage.name().equalsIgnoreCase(name)) {
+                return stage;
+            }
+        }
+        throw new BadRequestException("Invalid stage '" + name + "'. Use one of " + Arrays.toString(DealStage.values()));
+    }
+    
+    private static double[] parseQuantiles(String quantiles) {
+        String[] parts = quantiles != null && !quantiles.isBlank() ? quantiles.split(",") : new String[]{"0.5", "0.9"};
+        if (parts.length > MAX_QUANTILES) {
+            throw new BadRequestException("At most " + MAX_QUANTILES + " quantiles per request");
+        }
+        double[] fractions = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            Double fraction = parseProbability(parts[i].trim());
+            if (fraction == null) {
+                throw new BadRequestException("Invalid quantile '" + parts[i].trim() + "'. Use fractions between 0 and 1, e.g. 0.5,0.9");
+            }
+            fractions[i] = fraction;
+        }
+        return fractions;
+    }
+    
+    private static DistinctEstimate distinctEstimate(String sector, long estimate) {
+        long margin = Math.round(2 * HyperLogLog.RELATIVE_STANDARD_ERROR * estimate);
+        return DistinctEstimate.builder()
+                .sector(sector)
+                .estimate(estimate)
+                .lowerBound(Math.max(0, estimate - margin))
+                .upperBound(estimate + margin)
+                .build();
+    }
+    
+    private static YearMonth parseMonth(String month) {
+        try {
+            return YearMonth.parse(month);
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("Invalid month '" + month + "'. Use yyyy-MM, e.g. 2024-09");
+        }
+    }
+    
+    private static ForecastRow emptyForecastRow(String month, String sector, String assignedTo, String assignedToUsername) {
+        return ForecastRow.builder()
+                .month(month)
+                .sector(sector)
+                .assignedTo(assignedTo)
+                .assignedToUsername(assignedToUsername)
+                .pipelineValue(BigDecimal.ZERO)
+                .expectedValue(BigDecimal.ZERO)
+                .expectedByStage(new EnumMap<>(DealStage.class))
+                .build();
+    }
+    
+    private static void addToForecastRow(ForecastRow row, DealStage stage, ForecastBook.Totals totals, BigDecimal expected) {
+        row.setDealCount(row.getDealCount() + totals.count());
+        row.setPipelineValue(row.getPipelineValue().add(totals.value()));
+        row.setExpectedValue(row.getExpectedValue().add(expected));
+        row.getExpectedByStage().merge(stage, expected, BigDecimal::add);
+    }
+    
+    private static ForecastRow roundForecastRow(ForecastRow row) {
+        row.setExpectedValue(row.getExpectedValue().setScale(2, RoundingMode.HALF_EVEN));
+        row.getExpectedByStage().replaceAll((stage, value) -> value.setScale(2, RoundingMode.HALF_EVEN));
+        return row;
+    }
+    
+    private List<String> parseGroupBy(String groupBy) {
+        Set<String> groups = new LinkedHashSet<>();
+        if (groupBy != null && !groupBy.isBlank()) {
+            for (String field : groupBy.split(",")) {
+                String trimmed = field.trim();
+                if (!GROUP_FIELDS.contains(trimmed)) {
+                    throw new BadRequestException("Invalid groupBy '" + trimmed + "'. Use quarter, sector and/or dealType");
+                }
+                groups.add(trimmed);
+            }
+        }
+        return new ArrayList<>(groups);
+    }
+    
+    private String parseQuarter(String quarter) {
+        if (!QUARTER.matcher(quarter).matches()) {
+            throw new BadRequestException("Invalid quarter '" + quarter + "'. Use e.g. 2024-Q3");
+        }
+        return quarter;
+    }
+    
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+    
+    private static FunnelCohort emptyCohort(String quarter, String sector, String dealType) {
+        return FunnelCohort.builder()
+                .quarter(quarter)
+                .sector(sector)
+                .dealType(dealType)
+                .reached(new TreeMap<>())
+                .moves(new TreeMap<>())
+                .build();
+    }
+    
+    private static void accumulate(FunnelCohort into, FunnelCohort cohort) {
+        into.setDeals(into.getDeals() + cohort.getDeals());
+        into.setWon(into.getWon() + cohort.getWon());
+        into.setLost(into.getLost() + cohort.getLost());
+        if (cohort.getReached() != null) {
+            cohort.getReached().forEach((stage, count) -> into.getReached().merge(stage, count, Long::sum));
+        }
+        if (cohort.getMoves() != null) {
+            cohort.getMoves().forEach((move, count) -> into.getMoves().merge(move, count, Long::sum));
+        }
+    }
+    
+    private FunnelRow toRow(FunnelCohort cohort) {
+        List<FunnelStageCount> stages = new ArrayList<>();
+        Long previous = null;
+        for (DealStage stage : FunnelContribution.FUNNEL) {
+            long reached = cohort.getReached().getOrDefault(stage, 0L);
+            stages.add(FunnelStageCount.builder()
+                    .stage(stage)
+                    .reached(reached)
+                    .conversionRate(previous != null ? rate(reached, previous) : null)
+                    .build());
+            previous = reached;
+        }
+        cohort.getMoves().values().removeIf(count -> count == 0);
+        return FunnelRow.builder()
+                .quarter(cohort.getQuarter())
+                .sector(cohort.getSector())
+                .dealType(cohort.getDealType())
+                .deals(cohort.getDeals())
+                .open(cohort.getDeals() - cohort.getWon() - cohort.getLost())
+                .won(cohort.getWon())
+                .lost(cohort.getLost())
+                .winRate(rate(cohort.getWon(), cohort.getWon() + cohort.getLost()))
+                .stages(stages)
+                .moves(cohort.getMoves())
+                .build();
+    }
+    
+    private static Double rate(long numerator, long denominator) {
+        return denominator > 0 ? Math.round(numerator * 10_000.0 / denominator) / 10_000.0 : null;
+    }
+}
@@ -0,0 +1,364 @@
+package com.investmentbanking.dealpipeline.service;
+
+import com.investmentbanking.dealpipeline.dto.BoardColumn;
+import com.investmentbanking.dealpipeline.dto.DealBoardResponse;
+import com.investmentbanking.dealpipeline.dto.DealCard;
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import com.investmentbanking.dealpipeline.exception.ResourceNotFoundException;
+import com.investmentbanking.dealpipeline.exception.UnauthorizedException;
+import com.investmentbanking.dealpipeline.filter.DealFilterCompiler;
+import com.investmentbanking.dealpipeline.fx.FxRates;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.model.Role;
+import com.investmentbanking.dealpipeline.model.User;
+import com.investmentbanking.dealpipeline.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.FacetOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kanban board of deals by stage
+ *
+ * The board is one aggregation: the $match (USER ownership + optional RSQL filter) runs first so it can
+ * use the deal indexes, then a $facet computes the per-stage count and value totals and the first N cards
+ * of every column. Each column returns a keyset cursor (last card's sort value and _id) for
+ * GET /api/deals/board/{stage}. Every sort key has a (currentStage, sortKey, _id) index and the cursor's
+ * sort value is also a plain range bound, so "load more" for ADMIN is an index range scan however deep the
+ * column is; a USER's column is narrowed to their own deals by createdBy first.
+ */
+@Service
+@RequiredArgsConstructor
+public class DealBoardService {
+    
+    private static final int MAX_CARDS = 100;
+    private static final String[] CARD_FIELDS = {"dealName", "clientName", "dealType", "sector", "status", "dealValue",
+            "currency", "baseCurrencyValue", "assignedToUsername", "tags", "expectedCloseDate", "updatedAt"};
+    
+    /**
+     * Card sort keys; dealValue and baseCurrencyValue are ADMIN only
+     * Sorting on baseCurrencyValue orders deals across currencies
+     */
+    public enum SortKey {
+        UPDATED_AT("updatedAt"),
+        CREATED_AT("createdAt"),
+        EXPECTED_CLOSE_DATE("expectedCloseDate"),
+        DEAL_VALUE("dealValue"),
+        BASE_CURRENCY_VALUE("baseCurrencyValue");
+        
+        private final String field;
+        
+        SortKey(String field) {
+            this.field = field;
+        }
+        
+        public static SortKey fromParam(String value) {
+            for (SortKey key : values()) {
+                if (key.field.equalsIgnoreCase(value)) {
+                    return key;
+                }
+            }
+            throw new BadRequestException("Invalid sort: " + value
+                    + ". Use updatedAt, createdAt, expectedCloseDate, dealValue or baseCurrencyValue");
+        }
+    }
+    
+    private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
+    private final DealFilterCompiler dealFilterCompiler;
+    private final FxRates fxRates;
+    
+    /**
+     * Every stage column with its totals and first cards
+     * USER sees only their own deals and no value totals
+     */
+    public DealBoardResponse getBoard(String sort, String direction, int perStage, String filter) {
+        SortKey sortKey = SortKey.fromParam(sort);
+        boolean descending = isDescending(direction);
+        checkLimit("perStage", perStage);
+        User user = getCurrentUser();
+        boolean isAdmin = isAdmin(user);
+        checkSortAllowed(sortKey, isAdmin);
+        
+        FacetOperation facets = Aggregation.facet(
+                Aggregation.group("currentStage").count().as("count").sum("baseCurrencyValue").as("totalValue")).as("totals");
+        for (DealStage stage : DealStage.values()) {
+            facets = facets.and(columnPipeline(stage, sortKey, descending, perStage)).as(stage.name());
+        }
+        
+        Document result = mongoTemplate.aggregate(
+                        Aggregation.newAggregation(Aggregation.match(scope(user, isAdmin, filter)), facets),
+                        Deal.class, Document.class)
+                .getUniqueMappedResult();
+        
+        Map<String, Document> totals = new HashMap<>();
+        for (Document total : result.getList("totals", Document.class)) {
+            totals.put(String.valueOf(total.get("_id")), total);
+        }
+        
+        List<BoardColumn> columns = new ArrayList<>();
+        for (DealStage stage : DealStage.values()) {
+            Document total = totals.get(stage.name());
+            long count = total == null ? 0 : total.get("count", Number.class).longValue();
+            List<Document> cards = result.getList(stage.name(), Document.class);
+            columns.add(BoardColumn.builder()
+                    .stage(stage)
+                    .count(count)
+                    .totalValue(isAdmin ? toBigDecimal(total == null ? null : total.get("totalValue")) : null)
+                    .cards(toCards(cards, isAdmin))
+                    .nextCursor(count > cards.size() && !cards.isEmpty()
+                            ? encodeCursor(sortKey, descending, cards.get(cards.size() - 1)) : null)
+                    .build());
+        }
+        
+        return DealBoardResponse.builder()
+                .sort(sortKey.field)
+                .direction(descending ? "desc" : "asc")
+                .baseCurrency(fxRates.getBaseCurrency())
+                .columns(columns)
+                .build();
+    }
+    
+    /**
+     * Next page of one column after a cursor from getBoard or a previous call
+     * The sort, direction and filter must be the ones the cursor was issued for
+     */
+    public BoardColumn getColumn(DealStage stage, String sort, String direction, String cursor, int limit, String filter) {
+        SortKey sortKey = SortKey.fromParam(sort);
+        boolean descending = isDescending(direction);
+        checkLimit("limit", limit);
+        User user = getCurrentUser();
+        boolean isAdmin = isAdmin(user);
+        checkSortAllowed(sortKey, isAdmin);
+        
+        Criteria criteria = scope(user, isAdmin, filter);
+        criteria.and("currentStage").is(stage);
+        if (cursor != null) {
+            Cursor position = decodeCursor(cursor, sortKey, descending);
+            List<Criteria> clauses = new ArrayList<>(List.of(criteria, after(position, sortKey, descending)));
+            Criteria bound = bound(position, sortKey, descending);
+            if (bound != null) {
+                clauses.add(bound);
+            }
+            criteria = new Criteria().andOperator(clauses);
+        }
+        Query query = new Query(criteria)
+                .with(sortOf(sortKey, descending))
+                .limit(limit + 1);
+        query.fields().include(CARD_FIELDS);
+        
+        List<Document> page = new ArrayList<>(mongoTemplate.find(query, Document.class,
+                mongoTemplate.getCollectionName(Deal.class)));
+        boolean more = page.size() > limit;
+        if (more) {
+            page = page.subList(0, limit);
+        }
+        return BoardColumn.builder()
+                .stage(stage)
+                .cards(toCards(page, isAdmin))
+                .nextCursor(more ? encodeCursor(sortKey, descending, page.get(page.size() - 1)) : null)
+                .build();
+    }
+    
+    private static AggregationOperation[] columnPipeline(DealStage stage, SortKey sortKey, boolean descending, int limit) {
+        return new AggregationOperation[]{
+                Aggregation.match(Criteria.where("currentStage").is(stage)),
+                Aggregation.sort(sortOf(sortKey, descending)),
+                Aggregation.limit(limit),
+                Aggregation.project(CARD_FIELDS)
+        };
+    }
+    
+    private static Sort sortOf(SortKey sortKey, boolean descending) {
+        Sort.Direction order = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return Sort.by(order, sortKey.field, "_id");
+    }
+    
+    /**
+     * Keyset condition for rows after (sortValue, id). Missing/null sort values sort lowest in Mongo,
+     * i.e. last when descending and first when ascending, and a range operator never matches them.
+     */
+    private static Criteria after(Cursor cursor, SortKey sortKey, boolean descending) {
+        String field = sortKey.field;
+        Object value = cursor.sortValue();
+        Object id = cursor.id();
+        if (descending) {
+            if (value == null) {
+                return new Criteria().andOperator(Criteria.where(field).is(null), Criteria.where("_id").lt(id));
+            }
+            return new Criteria().orOperator(
+                    Criteria.where(field).lt(value),
+                    new Criteria().andOperator(Criteria.where(field).is(value), Criteria.where("_id").lt(id)),
+                    Criteria.where(field).is(null));
+        }
+        if (value == null) {
+            return new Criteria().orOperator(
+                    new Criteria().andOperator(Criteria.where(field).is(null), Criteria.where("_id").gt(id)),
+                    Criteria.where(field).ne(null));
+        }
+        return new Criteria().orOperator(
+                Criteria.where(field).gt(value),
+                new Criteria().andOperator(Criteria.where(field).is(value), Criteria.where("_id").gt(id)));
+    }
+    
+    /**
+     * Plain range on the sort field from the cursor's value on, so the index scan starts at the cursor
+     * rather than the $or being applied to the whole column. Descending keeps the null/missing values
+     * ($not $gt rather than $lte); a null cursor value is already an equality in after().
+     */
+    private static Criteria bound(Cursor cursor, SortKey sortKey, boolean descending) {
+        if (cursor.sortValue() == null) {
+            return null;
+        }
+        return descending
+                ? Criteria.where(sortKey.field).not().gt(cursor.sortValue())
+                : Criteria.where(sortKey.field).gte(cursor.sortValue());
+    }
+    
+    private Criteria scope(User user, boolean isAdmin, String filter) {
+        Criteria criteria = new Criteria();
+        if (!isAdmin) {
+            criteria.and("createdBy").is(user.getId());
+        }
+        if (filter != null) {
+            criteria.andOperator(dealFilterCompiler.compile(filter, isAdmin));
+        }
+        return criteria;
+    }
+    
+    private List<DealCard> toCards(List<Document> documents, boolean isAdmin) {
+        List<DealCard> cards = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            Deal deal = mongoTemplate.getConverter().read(Deal.class, document);
+            cards.add(DealCard.builder()
+                    .id(deal.getId())
+                    .dealName(deal.getDealName())
+                    .clientName(deal.getClientName())
+                    .dealType(deal.getDealType())
+                    .sector(deal.getSector())
+                    .status(deal.getStatus())
+                    .dealValue(isAdmin ? deal.getDealValue() : null) // Hide dealValue for USER
+                    .currency(deal.getCurrency())
+                    .baseCurrencyValue(isAdmin ? deal.getBaseCurrencyValue() : null)
+                    .assignedToUsername(deal.getAssignedToUsername())
+                    .tags(deal.getTags())
+                    .expectedCloseDate(deal.getExpectedCloseDate())
+                    .updatedAt(deal.getUpdatedAt())
+                    .build());
+        }
+        return cards;
+    }
+    
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof Decimal128 decimal) {
+            return decimal.bigDecimalValue();
+        }
+        if (value instanceof Number number) {
+            return new BigDecimal(number.toString());
+        }
+        return BigDecimal.ZERO;
+    }
+    
+    // ---- cursors: base64url of "sortField|direction|valueType|value|idType|id" ----
+    
+    private record Cursor(Object sortValue, Object id) {
+    }
+    
+    private static String encodeCursor(SortKey sortKey, boolean descending, Document last) {
+        Object value = last.get(sortKey.field);
+        Object id = last.get("_id");
+        String encodedValue;
+        if (value instanceof Date date) {
+            encodedValue = "d|" + date.getTime();
+        } else if (value instanceof Decimal128 decimal) {
+            encodedValue = "n|" + decimal;
+        } else {
+            encodedValue = "z|";
+        }
+        String encodedId = id instanceof ObjectId objectId ? "o|" + objectId.toHexString() : "s|" + id;
+        String raw = sortKey.field + "|" + (descending ? "desc" : "asc") + "|" + encodedValue + "|" + encodedId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static Cursor decodeCursor(String cursor, SortKey sortKey, boolean descending) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 6);
+            if (parts.length != 6 || !parts[0].equals(sortKey.field) || !parts[1].equals(descending ? "desc" : "asc")) {
+                throw new BadRequestException("Cursor does not match the requested sort");
+            }
+            Object value = switch (parts[2]) {
+                case "d" -> new Date(Long.parseLong(parts[3]));
+                case "n" -> Decimal128.parse(parts[3]);
+                case "z" -> null;
+                default -> throw new IllegalArgumentException();
+            };
+            Object id = switch (parts[4]) {
+                case "o" -> new ObjectId(parts[5]);
+                case "s" -> parts[5];
+                default -> throw new IllegalArgumentException();
+            };
+            return new Cursor(value, id);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+    
+    private static boolean isDescending(String direction) {
+        if ("desc".equalsIgnoreCase(direction)) {
+            return true;
+        }
+        if ("asc".equalsIgnoreCase(direction)) {
+            return false;
+        }
+        throw new BadRequestException("direction must be asc or desc");
+    }
+    
+    private static void checkLimit(String name, int limit) {
+        if (limit < 1 || limit > MAX_CARDS) {
+            throw new BadRequestException(name + " must be between 1 and " + MAX_CARDS);
+        }
+    }
+    
+    private static void checkSortAllowed(SortKey sortKey, boolean isAdmin) {
+        if ((sortKey == SortKey.DEAL_VALUE || sortKey == SortKey.BASE_CURRENCY_VALUE) && !isAdmin) {
+            throw new UnauthorizedException("Only ADMIN can sort by " + sortKey.field);
+        }
+    }
+    
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    }
+    
+    private static boolean isAdmin(User user) {
+        return user.getRoles().stream().anyMatch(role -> role == Role.ADMIN);
+    }
+}
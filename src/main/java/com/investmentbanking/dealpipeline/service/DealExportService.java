@@ -0,0 +1,115 @@
+package com.investmentbanking.dealpipeline.service;
+
+import com.investmentbanking.dealpipeline.export.DealArrowWriter;
+import com.investmentbanking.dealpipeline.export.DealExportFormat;
+import com.investmentbanking.dealpipeline.export.DealExportWriter;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.LongPredicate;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Full-book deal extracts
+ * ADMIN only - exports include dealValue
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DealExportService {
+    
+    private static final int CURSOR_BATCH_SIZE = 500;
+    private static final int PROGRESS_EVERY_ROWS = 1000;
+    private static final int ARROW_BATCH_SIZE = 8192;
+    
+    private final MongoTemplate mongoTemplate;
+    
+    /**
+     * Same optional filters as GET /api/deals, in _id order so the extract is stable
+     */
+    public Query buildExportQuery(DealStage stage, String sector, String dealType) {
+        Query query = new Query();
+        if (stage != null) {
+            query.addCriteria(Criteria.where("currentStage").is(stage));
+        }
+        if (sector != null) {
+            query.addCriteria(Criteria.where("sector").is(sector));
+        }
+        if (dealType != null) {
+            query.addCriteria(Criteria.where("dealType").is(dealType));
+        }
+        return query;
+    }
+    
+    public long countDeals(Query query) {
+        return mongoTemplate.count(query, Deal.class);
+    }
+    
+    /**
+     * Stream every matching deal from a Mongo cursor into the output
+     * The cursor fetches CURSOR_BATCH_SIZE documents at a time and rows go through the writer's
+     * fixed-size buffer, so a slow or disconnected client blocks or aborts the cursor instead of
+     * letting rows pile up in memory. The cursor is closed however the export ends.
+     *
+     * @param progress called every PROGRESS_EVERY_ROWS rows with the running count; return false to stop early
+     * @return number of rows written
+     */
+    public long writeDeals(Query query, DealExportFormat format, boolean gzip, OutputStream out,
+                           LongPredicate progress) throws IOException {
+        Query cursorQuery = Query.of(query)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .cursorBatchSize(CURSOR_BATCH_SIZE);
+        cursorQuery.fields().exclude("notes");
+        
+        long startedAt = System.nanoTime();
+        long rows = 0;
+        OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+        
+        try (Stream<Deal> deals = mongoTemplate.stream(cursorQuery, Deal.class);
+             DealExportWriter writer = openWriter(format, query, target)) {
+            writer.writeHeader();
+            Iterator<Deal> iterator = deals.iterator();
+            while (iterator.hasNext()) {
+                writer.writeRow(iterator.next());
+                rows++;
+                if (rows % PROGRESS_EVERY_ROWS == 0 && !progress.test(rows)) {
+                    log.info("Deal export stopped after {} rows", rows);
+                    break;
+                }
+            }
+            writer.flush();
+        } catch (IOException ex) {
+            // Typically the client went away - the cursor is already closed by try-with-resources
+            log.warn("Deal export aborted after {} rows: {}", rows, ex.getMessage());
+            throw ex;
+        }
+        
+        long elapsedMs = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        log.info("Exported {} deals as {}{} in {} ms ({} rows/s)", rows, format, gzip ? " (gzip)" : "",
+                elapsedMs, rows * 1000 / elapsedMs);
+        return rows;
+    }
+    
+    private DealExportWriter openWriter(DealExportFormat format, Query query, OutputStream target) throws IOException {
+        if (format != DealExportFormat.ARROW) {
+            return DealExportWriter.create(format, target);
+        }
+        // Dictionary values for the encoded string columns - distinct queries, bounded by cardinality not row count
+        return new DealArrowWriter(target,
+                mongoTemplate.findDistinct(query, "dealType", Deal.class, String.class),
+                mongoTemplate.findDistinct(query, "sector", Deal.class, String.class),
+                mongoTemplate.findDistinct(query, "currency", Deal.class, String.class),
+                ARROW_BATCH_SIZE);
+    }
+}
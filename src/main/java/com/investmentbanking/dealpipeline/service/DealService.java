@@ -1,24 +1,56 @@
 package com.investmentbanking.dealpipeline.service;
 
+import com.investmentbanking.dealpipeline.compliance.ClearanceIndex;
+import com.investmentbanking.dealpipeline.compliance.RestrictedListScreener;
 import com.investmentbanking.dealpipeline.dto.*;
+import com.investmentbanking.dealpipeline.event.DealChangedEvent;
 import com.investmentbanking.dealpipeline.exception.BadRequestException;
 import com.investmentbanking.dealpipeline.exception.ResourceNotFoundException;
 import com.investmentbanking.dealpipeline.exception.UnauthorizedException;
+import com.investmentbanking.dealpipeline.filter.DealFilterCompiler;
+import com.investmentbanking.dealpipeline.fx.FxRates;
+import com.investmentbanking.dealpipeline.matching.ClientMatchIndex;
 import com.investmentbanking.dealpipeline.model.Deal;
 import com.investmentbanking.dealpipeline.model.DealStage;
 import com.investmentbanking.dealpipeline.model.Note;
 import com.investmentbanking.dealpipeline.model.Role;
+import com.investmentbanking.dealpipeline.model.StageTransition;
 import com.investmentbanking.dealpipeline.model.User;
 import com.investmentbanking.dealpipeline.repository.DealRepository;
 import com.investmentbanking.dealpipeline.repository.UserRepository;
+import com.investmentbanking.dealpipeline.search.DealSearchHits;
+import com.investmentbanking.dealpipeline.search.DealSearchIndex;
+import com.investmentbanking.dealpipeline.search.DealSuggestIndex;
+import com.investmentbanking.dealpipeline.search.SuggestField;
+import com.investmentbanking.dealpipeline.workflow.DealStageMachine;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.FacetOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,6 +59,23 @@ public class DealService {
     
     private final DealRepository dealRepository;
     private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DealSearchIndex dealSearchIndex;
+    private final DealSuggestIndex dealSuggestIndex;
+    private final ClientMatchIndex clientMatchIndex;
+    private final ClearanceIndex clearanceIndex;
+    private final RestrictedListScreener restrictedListScreener;
+    private final DealFilterCompiler dealFilterCompiler;
+    private final FxRates fxRates;
+    
+    private static final int BULK_PAGE_SIZE = 500;
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int MAX_FACET_PAGE_SIZE = 200;
+    private static final int TOP_TAGS = 20;
+    private static final List<String> FACET_FIELDS = List.of("currentStage", "sector", "dealType", "status");
+    private static final int MAX_SEARCH_OFFSET = 10_000;
+    private static final int MAX_FILTER_LIMIT = 1000;
     
     /**
      * Create a new deal
@@ -57,6 +106,7 @@ public class DealService {
                 .status(request.getStatus() != null ? request.getStatus() : com.investmentbanking.dealpipeline.model.DealStatus.INITIATED)
                 .currentStage(request.getCurrentStage())
                 .clientName(request.getClientName())
+                .counterparty(request.getCounterparty())
                 .dealValue(request.getDealValue()) // Only ADMIN can set this
                 .currency(request.getCurrency() != null ? request.getCurrency() : "USD")
                 .description(request.getDescription())
@@ -69,12 +119,29 @@ public class DealService {
                 .tags(request.getTags())
                 .expectedCloseDate(request.getExpectedCloseDate())
                 .notes(new java.util.ArrayList<>())
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
                 .build();
+        LocalDateTime now = LocalDateTime.now();
+        deal.setCreatedAt(now);
+        deal.setUpdatedAt(now);
+        
+        DealStageMachine.start(deal, user, deal.getCreatedAt());
+        deal.setBaseCurrencyValue(fxRates.toBase(deal));
+        deal.setScreeningHits(restrictedListScreener.screen(deal));
+        deal.setScreenedAt(deal.getCreatedAt());
+        
+        // Looked up before the save so the new deal does not match itself
+        List<ClientMatchCandidate> clientMatches = clientMatchIndex.match(request.getClientName(), isUser ? user.getId() : null);
+        // Conflicts are flagged for follow-up, they do not block the deal
+        List<ClearanceConflict> clearanceConflicts = clearanceIndex.check(
+                null, request.getClientName(), request.getCounterparty(), request.getSector());
         
         deal = dealRepository.save(deal);
-        return mapToDealResponse(deal, user);
+        eventPublisher.publishEvent(DealChangedEvent.created(deal));
+        DealResponse response = mapToDealResponse(deal, user);
+        response.setClientMatches(clientMatches);
+        // Other desks' deals stay hidden from USER, like dealValue
+        response.setClearanceConflicts(isUser ? summarizeClearanceConflicts(clearanceConflicts) : clearanceConflicts);
+        return response;
     }
     
     /**
@@ -194,6 +261,144 @@ public class DealService {
         return mapToDealResponse(deal, user);
     }
     
+    /**
+     * Deals matching an RSQL filter expression, newest first
+     * e.g. stage=in=(Prospect,UnderEvaluation);tags=in=(tech,cross-border);expectedCloseDate=le=90d;dealValue=gt=100M
+     * Combined with the stage / sector / dealType params and USER ownership, all ANDed
+     * USER sees only their own deals and cannot filter on dealValue
+     */
+    @Transactional(readOnly = true)
+    public List<DealResponse> getDealsByFilter(String filter, DealStage stage, String sector, String dealType, int limit) {
+        if (limit < 1 || limit > MAX_FILTER_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_FILTER_LIMIT);
+        }
+        
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        
+        boolean isAdmin = user.getRoles().stream().anyMatch(role -> role == Role.ADMIN);
+        
+        Query query = new Query(listCriteria(user, isAdmin, stage, sector, dealType, filter))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "_id"))
+                .limit(limit);
+        
+        return mongoTemplate.find(query, Deal.class).stream()
+                .map(deal -> mapToDealResponse(deal, user))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Page of deals plus facet counts for the filter sidebar, in one $facet aggregation
+     * The $match (filters + USER ownership) runs first so it can use the deal indexes;
+     * every facet then counts the same matched set
+     * USER sees only their own deals
+     */
+    @Transactional(readOnly = true)
+    public DealFacetsResponse getDealsWithFacets(DealStage stage, String sector, String dealType, String filter,
+                                                 int offset, int limit) {
+        if (offset < 0) {
+            throw new BadRequestException("offset must not be negative");
+        }
+        if (limit < 1 || limit > MAX_FACET_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_FACET_PAGE_SIZE);
+        }
+        
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        
+        boolean isAdmin = user.getRoles().stream().anyMatch(role -> role == Role.ADMIN);
+        
+        Criteria criteria = listCriteria(user, isAdmin, stage, sector, dealType, filter);
+        
+        FacetOperation facets = Aggregation.facet(
+                        Aggregation.sort(Sort.by(Sort.Direction.DESC, "createdAt", "_id")),
+                        Aggregation.skip((long) offset),
+                        Aggregation.limit(limit)).as("deals")
+                .and(Aggregation.count().as("count")).as("total")
+                .and(Aggregation.unwind("tags"), Aggregation.sortByCount("tags"), Aggregation.limit(TOP_TAGS)).as("tags");
+        for (String field : FACET_FIELDS) {
+            facets = facets.and(Aggregation.sortByCount(field)).as(field);
+        }
+        
+        Document result = mongoTemplate.aggregate(
+                        Aggregation.newAggregation(Aggregation.match(criteria), facets), Deal.class, Document.class)
+                .getUniqueMappedResult();
+        
+        List<DealResponse> deals = result.getList("deals", Document.class).stream()
+                .map(document -> mapToDealResponse(mongoTemplate.getConverter().read(Deal.class, document), user))
+                .collect(Collectors.toList());
+        List<Document> total = result.getList("total", Document.class);
+        
+        Map<String, List<FacetCount>> facetCounts = new LinkedHashMap<>();
+        for (String field : FACET_FIELDS) {
+            facetCounts.put(field, toFacetCounts(result.getList(field, Document.class)));
+        }
+        facetCounts.put("tags", toFacetCounts(result.getList("tags", Document.class)));
+        
+        return DealFacetsResponse.builder()
+                .total(total.isEmpty() ? 0 : total.get(0).get("count", Number.class).longValue())
+                .offset(offset)
+                .limit(limit)
+                .deals(deals)
+                .facets(facetCounts)
+                .build();
+    }
+    
+    /**
+     * Get many deals by ID in one round trip
+     * Single $in query, results returned in request order
+     * Same visibility and dealValue masking as getDealById
+     */
+    @Transactional(readOnly = true)
+    public List<BatchDealResult> getDealsByIds(List<String> ids) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        
+        boolean isAdmin = user.getRoles().stream().anyMatch(role -> role == Role.ADMIN);
+        
+        Map<String, Deal> dealsById = dealRepository.findAllById(new LinkedHashSet<>(ids))
+                .stream()
+                .collect(Collectors.toMap(Deal::getId, Function.identity()));
+        
+        List<BatchDealResult> results = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Deal deal = dealsById.get(id);
+            BatchDealResult.BatchDealResultBuilder result = BatchDealResult.builder().id(id);
+            if (deal == null) {
+                result.status(BatchDealResult.Status.NOT_FOUND);
+            } else if (!isAdmin && !deal.getCreatedBy().equals(user.getId())) {
+                // USER can only see their own deals
+                result.status(BatchDealResult.Status.FORBIDDEN);
+            } else {
+                result.status(BatchDealResult.Status.FOUND).deal(mapToDealResponse(deal, user));
+            }
+            results.add(result.build());
+        }
+        
+        return results;
+    }
+    
     /**
      * Update deal
      * USER cannot update dealValue
@@ -226,6 +431,8 @@ public class DealService {
             throw new UnauthorizedException("Users cannot update dealValue. Only ADMIN can update deal value.");
         }
         
+        Deal previous = snapshot(deal);
+        
         // Update fields
         if (request.getDealName() != null) {
             deal.setDealName(request.getDealName());
@@ -254,8 +461,8 @@ public class DealService {
         if (request.getSector() != null) {
             deal.setSector(request.getSector());
         }
-        if (request.getCurrentStage() != null) {
-            deal.setCurrentStage(request.getCurrentStage());
+        if (request.getCurrentStage() != null && request.getCurrentStage() != deal.getCurrentStage()) {
+            DealStageMachine.transition(deal, request.getCurrentStage(), user, LocalDateTime.now());
         }
         if (request.getAssignedTo() != null) {
             deal.setAssignedTo(request.getAssignedTo());
@@ -268,8 +475,12 @@ public class DealService {
         }
         
         deal.setUpdatedAt(LocalDateTime.now());
+        deal.setBaseCurrencyValue(fxRates.toBase(deal));
+        deal.setScreeningHits(restrictedListScreener.screen(deal));
+        deal.setScreenedAt(deal.getUpdatedAt());
         
         deal = dealRepository.save(deal);
+        eventPublisher.publishEvent(DealChangedEvent.updated(previous, deal));
         return mapToDealResponse(deal, user);
     }
     
@@ -300,10 +511,14 @@ public class DealService {
             throw new UnauthorizedException("You can only update your own deals");
         }
         
-        deal.setCurrentStage(request.getStage());
-        deal.setUpdatedAt(LocalDateTime.now());
+        Deal previous = snapshot(deal);
+        LocalDateTime now = LocalDateTime.now();
+        DealStageMachine.transition(deal, request.getStage(), user, now);
+        deal.setBaseCurrencyValue(fxRates.toBase(deal)); // a Closed or Lost deal is valued at its close date
+        deal.setUpdatedAt(now);
         
         deal = dealRepository.save(deal);
+        eventPublisher.publishEvent(DealChangedEvent.updated(previous, deal));
         return mapToDealResponse(deal, user);
     }
     
@@ -331,10 +546,13 @@ public class DealService {
         Deal deal = dealRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Deal", "id", id));
         
+        Deal previous = snapshot(deal);
         deal.setDealValue(request.getDealValue());
+        deal.setBaseCurrencyValue(fxRates.toBase(deal));
         deal.setUpdatedAt(LocalDateTime.now());
         
         deal = dealRepository.save(deal);
+        eventPublisher.publishEvent(DealChangedEvent.updated(previous, deal));
         return mapToDealResponse(deal, user);
     }
     
@@ -372,6 +590,7 @@ public class DealService {
                 .timestamp(LocalDateTime.now())
                 .build();
         
+        Deal previous = snapshot(deal);
         if (deal.getNotes() == null) {
             deal.setNotes(new java.util.ArrayList<>());
         }
@@ -379,6 +598,7 @@ public class DealService {
         deal.setUpdatedAt(LocalDateTime.now());
         
         deal = dealRepository.save(deal);
+        eventPublisher.publishEvent(DealChangedEvent.updated(previous, deal));
         return mapToDealResponse(deal, user);
     }
     
@@ -407,6 +627,370 @@ public class DealService {
                 .orElseThrow(() -> new ResourceNotFoundException("Deal", "id", id));
         
         dealRepository.delete(deal);
+        eventPublisher.publishEvent(DealChangedEvent.deleted(deal));
+    }
+    
+    /**
+     * Bulk update deals selected by id list and/or filters
+     * Runs as server-side updateMany in pages of BULK_PAGE_SIZE deals - no per-deal findById + save
+     * USER can only update their own deals
+     * ADMIN can update any deal
+     */
+    @Transactional
+    public BulkUpdateResponse bulkUpdateDeals(BulkUpdateDealsRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        
+        boolean isAdmin = user.getRoles().stream().anyMatch(role -> role == Role.ADMIN);
+        
+        boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (!hasIds && request.getStage() == null && request.getSector() == null && request.getDealType() == null) {
+            throw new BadRequestException("Bulk update requires deal ids or at least one filter (stage, sector, dealType)");
+        }
+        
+        List<Criteria> clauses = new ArrayList<>();
+        if (hasIds) {
+            clauses.add(Criteria.where("_id").in(request.getIds()));
+        }
+        if (request.getStage() != null) {
+            clauses.add(Criteria.where("currentStage").is(request.getStage()));
+        }
+        if (request.getSector() != null) {
+            clauses.add(Criteria.where("sector").is(request.getSector()));
+        }
+        if (request.getDealType() != null) {
+            clauses.add(Criteria.where("dealType").is(request.getDealType()));
+        }
+        
+        // USER can only update their own deals
+        if (!isAdmin) {
+            clauses.add(Criteria.where("createdBy").is(user.getId()));
+        }
+        
+        // Millisecond precision so the timestamp read back from Mongo identifies the deals this call modified
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Update preUpdate = null; // RENAME_TAG only
+        Update update;
+        
+        switch (request.getOperation()) {
+            case SET_STAGE -> {
+                if (request.getTargetStage() == null) {
+                    throw new BadRequestException("targetStage is required for SET_STAGE");
+                }
+                // Only deals the transition table allows to move; each gets its own history entry,
+                // so the update is built per deal below
+                clauses.add(Criteria.where("currentStage").in(DealStageMachine.allowedSources(request.getTargetStage())));
+                update = null;
+            }
+            case REASSIGN -> {
+                if (request.getAssignedTo() == null) {
+                    throw new BadRequestException("assignedTo is required for REASSIGN");
+                }
+                User assignee = userRepository.findById(request.getAssignedTo())
+                        .orElseThrow(() -> new ResourceNotFoundException("User", "id", request.getAssignedTo()));
+                update = new Update()
+                        .set("assignedTo", assignee.getId())
+                        .set("assignedToUsername", assignee.getUsername())
+                        .set("updatedAt", now);
+            }
+            case ADD_TAGS -> {
+                if (request.getTags() == null || request.getTags().isEmpty()) {
+                    throw new BadRequestException("tags are required for ADD_TAGS");
+                }
+                update = new Update().set("updatedAt", now);
+                update.addToSet("tags").each(request.getTags().toArray());
+            }
+            case REMOVE_TAGS -> {
+                if (request.getTags() == null || request.getTags().isEmpty()) {
+                    throw new BadRequestException("tags are required for REMOVE_TAGS");
+                }
+                clauses.add(Criteria.where("tags").in(request.getTags()));
+                update = new Update().pullAll("tags", request.getTags().toArray()).set("updatedAt", now);
+            }
+            case RENAME_TAG -> {
+                if (request.getFromTag() == null || request.getToTag() == null) {
+                    throw new BadRequestException("fromTag and toTag are required for RENAME_TAG");
+                }
+                if (request.getFromTag().equals(request.getToTag())) {
+                    // the $pull below would otherwise strip the tag from every selected deal
+                    throw new BadRequestException("fromTag and toTag must differ for RENAME_TAG");
+                }
+                clauses.add(Criteria.where("tags").is(request.getFromTag()));
+                // $addToSet first so a deal that already carries toTag does not end up with it twice,
+                // then $pull the old tag from the same selection
+                preUpdate = new Update().addToSet("tags", request.getToTag());
+                update = new Update().pull("tags", request.getFromTag()).set("updatedAt", now);
+            }
+            default -> throw new BadRequestException("Unsupported bulk operation: " + request.getOperation());
+        }
+        
+        Criteria selection = new Criteria().andOperator(clauses.toArray(new Criteria[0]));
+        long matched = 0;
+        long modified = 0;
+        String lastId = null;
+        List<Deal> page;
+        
+        // Page through the selection by _id; each page is one updateMany, and the before/after
+        // documents of the page are published as change events for the search index and other listeners
+        do {
+            Criteria pageCriteria = lastId == null
+                    ? selection
+                    : new Criteria().andOperator(selection, Criteria.where("_id").gt(lastId));
+            page = mongoTemplate.find(new Query(pageCriteria)
+                    .with(Sort.by(Sort.Direction.ASC, "_id"))
+                    .limit(BULK_PAGE_SIZE), Deal.class);
+            if (page.isEmpty()) {
+                break;
+            }
+            
+            List<String> pageIds = page.stream().map(Deal::getId).collect(Collectors.toList());
+            Query target = new Query(new Criteria().andOperator(selection, Criteria.where("_id").in(pageIds)));
+            if (preUpdate != null) {
+                mongoTemplate.updateMulti(target, preUpdate, Deal.class);
+            }
+            long pageModified;
+            if (update != null) {
+                UpdateResult result = mongoTemplate.updateMulti(target, update, Deal.class);
+                matched += result.getMatchedCount();
+                pageModified = result.getModifiedCount();
+            } else {
+                BulkWriteResult result = stageUpdates(page, request.getTargetStage(), user, now).execute();
+                matched += result.getMatchedCount();
+                pageModified = result.getModifiedCount();
+            }
+            modified += pageModified;
+            
+            if (pageModified > 0) {
+                Map<String, Deal> previousById = page.stream()
+                        .collect(Collectors.toMap(Deal::getId, Function.identity()));
+                for (Deal current : dealRepository.findAllById(pageIds)) {
+                    if (now.equals(current.getUpdatedAt())) {
+                        eventPublisher.publishEvent(DealChangedEvent.updated(previousById.get(current.getId()), current));
+                    }
+                }
+            }
+            lastId = pageIds.get(pageIds.size() - 1);
+        } while (page.size() == BULK_PAGE_SIZE);
+        
+        return BulkUpdateResponse.builder()
+                .operation(request.getOperation())
+                .matchedCount(matched)
+                .modifiedCount(modified)
+                .build();
+    }
+    
+    /**
+     * Full-text search over deal names, client names, descriptions, summaries, tags and notes
+     * Results are BM25-ranked by the embedded search index, then loaded from Mongo so that
+     * visibility and dealValue masking are applied to current data
+     * USER sees only their own deals
+     */
+    @Transactional(readOnly = true)
+    public DealSearchResponse searchDeals(String q, int offset, int limit) {
+        if (q == null || q.isBlank()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        if (offset < 0 || offset > MAX_SEARCH_OFFSET) {
+            throw new BadRequestException("offset must be between 0 and " + MAX_SEARCH_OFFSET);
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        
+        boolean isAdmin = user.getRoles().stream().anyMatch(role -> role == Role.ADMIN);
+        
+        long startedAt = System.nanoTime();
+        DealSearchHits hits = dealSearchIndex.search(q, isAdmin ? null : user.getId(), offset, limit);
+        
+        Map<String, Deal> dealsById = dealRepository.findAllById(
+                        hits.getHits().stream().map(DealSearchHits.Hit::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Deal::getId, Function.identity()));
+        
+        List<DealSearchResult> results = new ArrayList<>();
+        for (DealSearchHits.Hit hit : hits.getHits()) {
+            Deal deal = dealsById.get(hit.getId());
+            // Skip deals deleted since they were indexed, and re-check ownership against current data
+            if (deal == null || (!isAdmin && !deal.getCreatedBy().equals(user.getId()))) {
+                continue;
+            }
+            results.add(DealSearchResult.builder()
+                    .score(hit.getScore())
+                    .highlights(hit.getHighlights())
+                    .deal(mapToDealResponse(deal, user))
+                    .build());
+        }
+        
+        return DealSearchResponse.builder()
+                .query(q)
+                .totalHits(hits.getTotalHits())
+                .offset(offset)
+                .tookMs((System.nanoTime() - startedAt) / 1_000_000)
+                .results(results)
+                .build();
+    }
+    
+    /**
+     * Typeahead for the deal form - most used values of clientName or dealName starting with prefix
+     * Served from the in-memory suggest index, no Mongo query
+     * USER only gets values from their own deals
+     */
+    public List<DealSuggestion> suggest(String field, String prefix, int limit) {
+        SuggestField suggestField = SuggestField.fromParam(field);
+        if (prefix == null || prefix.isBlank()) {
+            throw new BadRequestException("prefix must not be blank");
+        }
+        if (limit < 1 || limit > DealSuggestIndex.MAX_SUGGESTIONS) {
+            throw new BadRequestException("limit must be between 1 and " + DealSuggestIndex.MAX_SUGGESTIONS);
+        }
+        
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        
+        boolean isAdmin = user.getRoles().stream().anyMatch(role -> role == Role.ADMIN);
+        
+        return dealSuggestIndex.suggest(suggestField, prefix, isAdmin ? null : user.getId(), limit).stream()
+                .map(term -> DealSuggestion.builder()
+                        .value(term.term())
+                        .count(term.count())
+                        .build())
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Existing clients whose normalized name matches or is close to clientName
+     * Lets the deal form offer the established spelling before a new variant is saved
+     * USER sees only clients on their own deals
+     * ADMIN sees the whole firm's clients
+     */
+    public List<ClientMatchCandidate> findClientMatches(String clientName) {
+        if (clientName == null || clientName.isBlank()) {
+            throw new BadRequestException("clientName must not be blank");
+        }
+        
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        
+        boolean isAdmin = user.getRoles().stream().anyMatch(role -> role == Role.ADMIN);
+        return clientMatchIndex.match(clientName, isAdmin ? null : user.getId());
+    }
+    
+    /**
+     * USER ownership, the simple list params and the compiled filter, ANDed
+     */
+    private Criteria listCriteria(User user, boolean isAdmin, DealStage stage, String sector, String dealType,
+                                  String filter) {
+        Criteria criteria = new Criteria();
+        if (!isAdmin) {
+            criteria.and("createdBy").is(user.getId());
+        }
+        if (stage != null) {
+            criteria.and("currentStage").is(stage);
+        }
+        if (sector != null) {
+            criteria.and("sector").is(sector);
+        }
+        if (dealType != null) {
+            criteria.and("dealType").is(dealType);
+        }
+        if (filter != null) {
+            // under $and so the filter can repeat a field the params already constrain
+            criteria.andOperator(dealFilterCompiler.compile(filter, isAdmin));
+        }
+        return criteria;
+    }
+    
+    private List<FacetCount> toFacetCounts(List<Document> buckets) {
+        return buckets.stream()
+                .map(bucket -> FacetCount.builder()
+                        .value(bucket.get("_id") != null ? bucket.get("_id").toString() : null) // null = field not set
+                        .count(bucket.get("count", Number.class).longValue())
+                        .build())
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * One guarded update per deal for a bulk stage change. The guard on currentStage skips a deal
+     * whose stage changed since the page was read, as its durations were computed from the old stage.
+     */
+    private BulkOperations stageUpdates(List<Deal> page, DealStage targetStage, User user, LocalDateTime now) {
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Deal.class);
+        for (Deal deal : page) {
+            Deal moved = snapshot(deal);
+            StageTransition entry = DealStageMachine.transition(moved, targetStage, user, now);
+            Update update = new Update()
+                    .set("currentStage", moved.getCurrentStage())
+                    .set("status", moved.getStatus())
+                    .set("stageEnteredAt", moved.getStageEnteredAt())
+                    .set("stageDurationSeconds", moved.getStageDurationSeconds())
+                    .push("stageHistory", entry)
+                    .set("updatedAt", now);
+            BigDecimal baseValue = fxRates.toBase(moved);
+            update.set("baseCurrencyValue", baseValue != null ? new Decimal128(baseValue) : null);
+            if (moved.getActualCloseDate() != null) {
+                update.set("actualCloseDate", moved.getActualCloseDate());
+            } else {
+                update.unset("actualCloseDate");
+            }
+            operations.updateOne(new Query(Criteria.where("_id").is(deal.getId())
+                    .and("currentStage").is(deal.getCurrentStage())), update);
+        }
+        return operations;
+    }
+    
+    /**
+     * Copy of a deal's state before it is modified, published with the change event
+     */
+    private Deal snapshot(Deal deal) {
+        return deal.toBuilder()
+                .notes(deal.getNotes() != null ? new ArrayList<>(deal.getNotes()) : null)
+                .stageHistory(deal.getStageHistory() != null ? new ArrayList<>(deal.getStageHistory()) : null)
+                .build();
+    }
+    
+    /**
+     * Count of conflicts per relationship, without the other deals' ids, stages, sectors or owners
+     */
+    private List<ClearanceConflict> summarizeClearanceConflicts(List<ClearanceConflict> conflicts) {
+        Map<ClearanceConflict.Relationship, Long> counts = conflicts.stream()
+                .collect(Collectors.groupingBy(ClearanceConflict::getRelationship, LinkedHashMap::new, Collectors.counting()));
+        return counts.entrySet().stream()
+                .map(entry -> ClearanceConflict.builder()
+                        .relationship(entry.getKey())
+                        .dealCount(entry.getValue().intValue())
+                        .build())
+                .collect(Collectors.toList());
     }
     
     /**
@@ -422,7 +1006,11 @@ public class DealService {
                 .dealType(deal.getDealType())
                 .status(deal.getStatus())
                 .currentStage(deal.getCurrentStage())
+                .stageEnteredAt(deal.getStageEnteredAt())
+                .stageDurationSeconds(deal.getStageDurationSeconds())
+                .stageHistory(deal.getStageHistory())
                 .clientName(deal.getClientName())
+                .counterparty(deal.getCounterparty())
                 .currency(deal.getCurrency())
                 .description(deal.getDescription())
                 .summary(deal.getSummary())
@@ -438,9 +1026,11 @@ public class DealService {
                 .createdAt(deal.getCreatedAt())
                 .updatedAt(deal.getUpdatedAt());
         
-        // Only ADMIN can see dealValue
+        // Only ADMIN can see dealValue and restricted list hits
         if (isAdmin) {
             builder.dealValue(deal.getDealValue());
+            builder.baseCurrencyValue(deal.getBaseCurrencyValue());
+            builder.screeningHits(deal.getScreeningHits());
         } else {
             builder.dealValue(null); // Hide dealValue for USER
         }
@@ -0,0 +1,248 @@
+package com.investmentbanking.dealpipeline.service;
+
+import com.investmentbanking.dealpipeline.dto.TimelineBucket;
+import com.investmentbanking.dealpipeline.dto.TimelineDeal;
+import com.investmentbanking.dealpipeline.dto.TimelineResponse;
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import com.investmentbanking.dealpipeline.exception.ResourceNotFoundException;
+import com.investmentbanking.dealpipeline.exception.UnauthorizedException;
+import com.investmentbanking.dealpipeline.filter.DealFilterCompiler;
+import com.investmentbanking.dealpipeline.fx.FxRates;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.model.Role;
+import com.investmentbanking.dealpipeline.model.User;
+import com.investmentbanking.dealpipeline.repository.UserRepository;
+import com.investmentbanking.dealpipeline.workflow.DealStageMachine;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.FacetOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Open deals by expected close date, in weekly or monthly buckets, plus the overdue ones
+ *
+ * One aggregation: the $match (open stages, expectedCloseDate before the horizon, USER ownership, optional
+ * RSQL filter) runs on deal_stage_close_id_idx, then a $facet computes every bucket's count and value with
+ * one $bucket and picks each bucket's top deals. Only the totals and a few deals per bucket come back.
+ */
+@Service
+@RequiredArgsConstructor
+public class DealTimelineService {
+    
+    private static final int MAX_TOP_DEALS = 20;
+    private static final String OVERDUE = "overdue";
+    private static final List<DealStage> OPEN_STAGES = Arrays.stream(DealStage.values())
+            .filter(stage -> !DealStageMachine.isTerminal(stage))
+            .toList();
+    private static final String[] DEAL_FIELDS = {"dealName", "clientName", "currentStage", "assignedToUsername",
+            "expectedCloseDate", "baseCurrencyValue"};
+    
+    public enum Granularity {
+        WEEK(52),
+        MONTH(24);
+        
+        private final int maxBuckets;
+        
+        Granularity(int maxBuckets) {
+            this.maxBuckets = maxBuckets;
+        }
+        
+        public static Granularity fromParam(String value) {
+            for (Granularity granularity : values()) {
+                if (granularity.name().equalsIgnoreCase(value)) {
+                    return granularity;
+                }
+            }
+            throw new BadRequestException("Invalid granularity: " + value + ". Use week or month");
+        }
+        
+        LocalDate bucketStart(LocalDate date) {
+            return this == WEEK
+                    ? date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                    : date.withDayOfMonth(1);
+        }
+        
+        LocalDate next(LocalDate bucketStart) {
+            return this == WEEK ? bucketStart.plusWeeks(1) : bucketStart.plusMonths(1);
+        }
+    }
+    
+    private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
+    private final DealFilterCompiler dealFilterCompiler;
+    private final FxRates fxRates;
+    
+    /**
+     * Open deals expected to close in each of the next horizon weeks or months, and the overdue ones
+     * USER sees only their own deals and no values
+     */
+    public TimelineResponse getTimeline(String granularity, int horizon, int top, String filter) {
+        Granularity bucketSize = Granularity.fromParam(granularity);
+        if (horizon < 1 || horizon > bucketSize.maxBuckets) {
+            throw new BadRequestException("horizon must be between 1 and " + bucketSize.maxBuckets
+                    + " for " + bucketSize.name().toLowerCase());
+        }
+        if (top < 0 || top > MAX_TOP_DEALS) {
+            throw new BadRequestException("top must be between 0 and " + MAX_TOP_DEALS);
+        }
+        User user = getCurrentUser();
+        return buildTimeline(user, isAdmin(user), bucketSize, horizon, top, filter, LocalDateTime.now());
+    }
+    
+    TimelineResponse buildTimeline(User user, boolean isAdmin, Granularity granularity, int horizon, int top,
+                                   String filter, LocalDateTime now) {
+        List<LocalDate> starts = new ArrayList<>(horizon + 1);
+        starts.add(granularity.bucketStart(now.toLocalDate()));
+        for (int i = 0; i < horizon; i++) {
+            starts.add(granularity.next(starts.get(i)));
+        }
+        // $bucket boundaries: now, then each later bucket start; earlier dates fall in the overdue default bucket
+        List<Date> bounds = new ArrayList<>(horizon + 1);
+        bounds.add(toDate(now));
+        for (int i = 1; i <= horizon; i++) {
+            bounds.add(toDate(starts.get(i).atStartOfDay()));
+        }
+        
+        Criteria match = scope(user, isAdmin, filter);
+        match.and("currentStage").in(OPEN_STAGES).and("expectedCloseDate").lt(bounds.get(horizon));
+        
+        FacetOperation facets = Aggregation.facet(Aggregation.bucket("expectedCloseDate")
+                        .withBoundaries(bounds.toArray())
+                        .withDefaultBucket(OVERDUE)
+                        .andOutputCount().as("count")
+                        .andOutput("baseCurrencyValue").sum().as("totalValue"))
+                .as("totals");
+        if (top > 0) {
+            Sort order = isAdmin
+                    ? Sort.by(Sort.Direction.DESC, "baseCurrencyValue").and(Sort.by(Sort.Direction.ASC, "expectedCloseDate", "_id"))
+                    : Sort.by(Sort.Direction.ASC, "expectedCloseDate", "_id");
+            facets = facets.and(topDeals(Criteria.where("expectedCloseDate").lt(bounds.get(0)), order, top)).as(OVERDUE);
+            for (int i = 0; i < horizon; i++) {
+                facets = facets.and(topDeals(Criteria.where("expectedCloseDate").gte(bounds.get(i)).lt(bounds.get(i + 1)),
+                        order, top)).as("bucket" + i);
+            }
+        }
+        
+        Document result = mongoTemplate.aggregate(
+                        Aggregation.newAggregation(Aggregation.match(match), facets),
+                        Deal.class, Document.class)
+                .getUniqueMappedResult();
+        
+        Map<Object, Document> totals = new HashMap<>();
+        for (Document total : result.getList("totals", Document.class)) {
+            totals.put(total.get("_id"), total);
+        }
+        
+        List<TimelineBucket> buckets = new ArrayList<>(horizon);
+        for (int i = 0; i < horizon; i++) {
+            buckets.add(toBucket(starts.get(i), starts.get(i + 1), totals.get(bounds.get(i)),
+                    result.getList("bucket" + i, Document.class), isAdmin));
+        }
+        return TimelineResponse.builder()
+                .granularity(granularity.name().toLowerCase())
+                .baseCurrency(fxRates.getBaseCurrency())
+                .asOf(now)
+                .overdue(toBucket(null, null, totals.get(OVERDUE),
+                        result.getList(OVERDUE, Document.class), isAdmin))
+                .buckets(buckets)
+                .build();
+    }
+    
+    private static AggregationOperation[] topDeals(Criteria range, Sort order, int top) {
+        return new AggregationOperation[]{
+                Aggregation.match(range),
+                Aggregation.sort(order),
+                Aggregation.limit(top),
+                Aggregation.project(DEAL_FIELDS)
+        };
+    }
+    
+    private TimelineBucket toBucket(LocalDate start, LocalDate end, Document total, List<Document> documents,
+                                    boolean isAdmin) {
+        List<TimelineDeal> deals = new ArrayList<>();
+        if (documents != null) {
+            for (Document document : documents) {
+                Deal deal = mongoTemplate.getConverter().read(Deal.class, document);
+                deals.add(TimelineDeal.builder()
+                        .id(deal.getId())
+                        .dealName(deal.getDealName())
+                        .clientName(deal.getClientName())
+                        .currentStage(deal.getCurrentStage())
+                        .assignedToUsername(deal.getAssignedToUsername())
+                        .expectedCloseDate(deal.getExpectedCloseDate())
+                        .baseCurrencyValue(isAdmin ? deal.getBaseCurrencyValue() : null) // Hide value for USER
+                        .build());
+            }
+        }
+        return TimelineBucket.builder()
+                .start(start)
+                .end(end)
+                .count(total == null ? 0 : total.get("count", Number.class).longValue())
+                .totalValue(isAdmin ? toBigDecimal(total == null ? null : total.get("totalValue")) : null)
+                .deals(deals)
+                .build();
+    }
+    
+    private Criteria scope(User user, boolean isAdmin, String filter) {
+        Criteria criteria = new Criteria();
+        if (!isAdmin) {
+            criteria.and("createdBy").is(user.getId());
+        }
+        if (filter != null) {
+            criteria.andOperator(dealFilterCompiler.compile(filter, isAdmin));
+        }
+        return criteria;
+    }
+    
+    private static Date toDate(LocalDateTime time) {
+        return Date.from(time.atZone(ZoneId.systemDefault()).toInstant());
+    }
+    
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof Decimal128 decimal) {
+            return decimal.bigDecimalValue();
+        }
+        if (value instanceof Number number) {
+            return new BigDecimal(number.toString());
+        }
+        return BigDecimal.ZERO;
+    }
+    
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    }
+    
+    private static boolean isAdmin(User user) {
+        return user.getRoles().stream().anyMatch(role -> role == Role.ADMIN);
+    }
+}
@@ -0,0 +1,239 @@
+package com.investmentbanking.dealpipeline.service;
+
+import com.investmentbanking.dealpipeline.dto.BulkFxRatesRequest;
+import com.investmentbanking.dealpipeline.dto.FxRateRequest;
+import com.investmentbanking.dealpipeline.dto.FxRateResponse;
+import com.investmentbanking.dealpipeline.dto.FxRateUploadResponse;
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import com.investmentbanking.dealpipeline.exception.ResourceNotFoundException;
+import com.investmentbanking.dealpipeline.exception.UnauthorizedException;
+import com.investmentbanking.dealpipeline.fx.FxRateTable;
+import com.investmentbanking.dealpipeline.fx.FxRates;
+import com.investmentbanking.dealpipeline.job.FxRevalueJobHandler;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.model.FxRate;
+import com.investmentbanking.dealpipeline.model.User;
+import com.investmentbanking.dealpipeline.repository.FxRateRepository;
+import com.investmentbanking.dealpipeline.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.Decimal128;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.LongPredicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class FxRateService {
+    
+    private static final Pattern CURRENCY_CODE = Pattern.compile("[A-Z]{3}");
+    private static final List<DealStage> TERMINAL_STAGES = List.of(DealStage.Closed, DealStage.Lost);
+    
+    private final FxRateRepository fxRateRepository;
+    private final UserRepository userRepository;
+    private final FxRates fxRates;
+    private final JobService jobService;
+    private final MongoTemplate mongoTemplate;
+    
+    /**
+     * Latest rate of every currency, or the full history of one currency, newest first
+     */
+    public List<FxRateResponse> getRates(String currency) {
+        List<FxRate> rates;
+        if (currency != null && !currency.isBlank()) {
+            rates = fxRateRepository.findByCurrencyOrderByEffectiveDateDesc(normalizeCode(currency));
+        } else {
+            rates = mongoTemplate.aggregate(Aggregation.newAggregation(
+                    Aggregation.sort(Sort.by(Sort.Order.asc("currency"), Sort.Order.desc("effectiveDate"))),
+                    Aggregation.group("currency").first(Aggregation.ROOT).as("latest"),
+                    Aggregation.replaceRoot("latest"),
+                    Aggregation.sort(Sort.Direction.ASC, "currency")), FxRate.class, FxRate.class).getMappedResults();
+        }
+        return rates.stream().map(this::mapToResponse).collect(Collectors.toList());
+    }
+    
+    /**
+     * Add or replace rates, reload the rate table and queue a revaluation of the affected deals
+     * A rate uploaded for an existing (currency, effectiveDate) replaces it
+     */
+    public FxRateUploadResponse uploadRates(BulkFxRatesRequest request) {
+        User user = getCurrentUser();
+        String baseCurrency = fxRates.getBaseCurrency();
+        
+        Set<String> seen = new HashSet<>();
+        Set<String> currencies = new TreeSet<>();
+        LocalDate earliest = null;
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FxRate.class);
+        for (FxRateRequest entry : request.getRates()) {
+            String currency = normalizeCode(entry.getCurrency());
+            if (currency.equals(baseCurrency)) {
+                throw new BadRequestException(baseCurrency + " is the base currency, its rate is always 1");
+            }
+            if (!seen.add(currency + "|" + entry.getEffectiveDate())) {
+                throw new BadRequestException("Duplicate rate for " + currency + " on " + entry.getEffectiveDate());
+            }
+            operations.upsert(
+                    new Query(Criteria.where("currency").is(currency).and("effectiveDate").is(entry.getEffectiveDate())),
+                    new Update()
+                            .set("rate", new Decimal128(entry.getRate()))
+                            .set("createdBy", user.getId())
+                            .set("createdByUsername", user.getUsername())
+                            .set("createdAt", now));
+            currencies.add(currency);
+            if (earliest == null || entry.getEffectiveDate().isBefore(earliest)) {
+                earliest = entry.getEffectiveDate();
+            }
+        }
+        operations.execute();
+        fxRates.reload();
+        
+        String jobId = jobService.submit(FxRevalueJobHandler.TYPE,
+                Map.of(FxRevalueJobHandler.PARAM_CURRENCIES, String.join(",", currencies),
+                        FxRevalueJobHandler.PARAM_FROM, earliest.toString()),
+                user.getId(), user.getUsername()).getId();
+        return FxRateUploadResponse.builder()
+                .baseCurrency(baseCurrency)
+                .uploaded(seen.size())
+                .currencies(List.copyOf(currencies))
+                .revalueJobId(jobId)
+                .build();
+    }
+    
+    /**
+     * Recompute baseCurrencyValue server-side, one updateMany per rate segment, so no deal is read.
+     * Open deals take the currency's latest rate; Closed and Lost deals the rate in effect on their
+     * actualCloseDate. Segments that end before {@code from} are skipped - their deals are unaffected.
+     * With no currencies every deal is revalued, including base currency deals and deals whose
+     * currency has no rate (set to null); this is also the backfill for deals written before the field existed.
+     *
+     * @param progress called after every currency with the running count; return false to stop
+     * @return number of deals whose value changed
+     */
+    public long revalue(List<String> currencies, LocalDate from, LongPredicate progress) {
+        FxRateTable table = fxRates.getTable();
+        boolean everything = currencies.isEmpty();
+        List<String> targets = new ArrayList<>(everything ? table.getCurrencies() : currencies);
+        
+        long changed = 0;
+        long done = 0;
+        if (everything) {
+            // a deal with no currency is in the base currency
+            changed += multiply(new Criteria().orOperator(currencyIs(table.getBaseCurrency()), currencyIs(""),
+                    Criteria.where("currency").is(null)), BigDecimal.ONE);
+            List<Pattern> priced = new ArrayList<>();
+            priced.add(currencyPattern(table.getBaseCurrency()));
+            priced.add(currencyPattern(""));
+            targets.forEach(currency -> priced.add(currencyPattern(currency)));
+            changed += mongoTemplate.updateMulti(
+                    new Query(Criteria.where("currency").ne(null).nin(priced)),
+                    new Update().set("baseCurrencyValue", null), Deal.class).getModifiedCount();
+        }
+        for (String currency : targets) {
+            changed += revalueCurrency(table, normalizeCode(currency), everything ? null : from);
+            if (!progress.test(++done)) {
+                return changed;
+            }
+        }
+        log.info("Revalued {} currencies against {}, {} deals changed", targets.size(), table.getBaseCurrency(), changed);
+        return changed;
+    }
+    
+    private long revalueCurrency(FxRateTable table, String currency, LocalDate from) {
+        List<FxRateTable.Segment> segments = table.segments(currency);
+        if (segments.isEmpty()) {
+            return mongoTemplate.updateMulti(new Query(currencyIs(currency)),
+                    new Update().set("baseCurrencyValue", null), Deal.class).getModifiedCount();
+        }
+        long changed = multiply(new Criteria().andOperator(currencyIs(currency), new Criteria().orOperator(
+                        Criteria.where("currentStage").nin(TERMINAL_STAGES),
+                        Criteria.where("actualCloseDate").is(null))),
+                segments.get(segments.size() - 1).rate());
+        for (int i = 0; i < segments.size(); i++) {
+            FxRateTable.Segment segment = segments.get(i);
+            if (from != null && segment.to() != null && !segment.to().isAfter(from)) {
+                continue;
+            }
+            Criteria closedIn = Criteria.where("actualCloseDate").ne(null);
+            if (i > 0) {
+                closedIn.gte(segment.from().atStartOfDay());
+            }
+            if (segment.to() != null) {
+                closedIn.lt(segment.to().atStartOfDay());
+            }
+            changed += multiply(new Criteria().andOperator(currencyIs(currency),
+                    Criteria.where("currentStage").in(TERMINAL_STAGES), closedIn), segment.rate());
+        }
+        return changed;
+    }
+    
+    private long multiply(Criteria selection, BigDecimal rate) {
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("baseCurrencyValue").toValue(ArithmeticOperators.valueOf("dealValue").multiplyBy(new Decimal128(rate)));
+        return mongoTemplate.updateMulti(new Query(selection), update, Deal.class).getModifiedCount();
+    }
+    
+    // currency is free text on a deal, so match the code case-insensitively
+    private static Criteria currencyIs(String currency) {
+        return Criteria.where("currency").regex(currencyPattern(currency));
+    }
+    
+    private static Pattern currencyPattern(String currency) {
+        return Pattern.compile("^\\s*" + Pattern.quote(currency) + "\\s*$", Pattern.CASE_INSENSITIVE);
+    }
+    
+    private static String normalizeCode(String currency) {
+        String code = currency.strip().toUpperCase(Locale.ROOT);
+        if (!CURRENCY_CODE.matcher(code).matches()) {
+            throw new BadRequestException("Invalid currency code: " + currency + ". Use a three-letter ISO 4217 code");
+        }
+        return code;
+    }
+    
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    }
+    
+    private FxRateResponse mapToResponse(FxRate rate) {
+        return FxRateResponse.builder()
+                .currency(rate.getCurrency())
+                .rate(rate.getRate())
+                .effectiveDate(rate.getEffectiveDate())
+                .createdByUsername(rate.getCreatedByUsername())
+                .createdAt(rate.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.investmentbanking.dealpipeline.service;
+
+import com.investmentbanking.dealpipeline.dto.InboxMessageResponse;
+import com.investmentbanking.dealpipeline.dto.InboxResponse;
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import com.investmentbanking.dealpipeline.exception.ResourceNotFoundException;
+import com.investmentbanking.dealpipeline.exception.UnauthorizedException;
+import com.investmentbanking.dealpipeline.model.InboxMessage;
+import com.investmentbanking.dealpipeline.model.User;
+import com.investmentbanking.dealpipeline.repository.InboxMessageRepository;
+import com.investmentbanking.dealpipeline.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user inbox. Every user only ever sees their own messages, ADMIN included.
+ */
+@Service
+@RequiredArgsConstructor
+public class InboxService {
+    
+    private static final int MAX_INBOX_PAGE_SIZE = 200;
+    
+    private final InboxMessageRepository inboxMessageRepository;
+    private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
+    
+    public InboxResponse getInbox(boolean unreadOnly, int limit) {
+        if (limit < 1 || limit > MAX_INBOX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_INBOX_PAGE_SIZE);
+        }
+        User user = getCurrentUser();
+        PageRequest page = PageRequest.of(0, limit);
+        List<InboxMessage> messages = unreadOnly
+                ? inboxMessageRepository.findByUserIdAndReadFalseOrderByCreatedAtDesc(user.getId(), page)
+                : inboxMessageRepository.findByUserIdOrderByCreatedAtDesc(user.getId(), page);
+        return InboxResponse.builder()
+                .unreadCount(inboxMessageRepository.countByUserIdAndReadFalse(user.getId()))
+                .messages(messages.stream().map(this::mapToResponse).collect(Collectors.toList()))
+                .build();
+    }
+    
+    public InboxMessageResponse markRead(String id) {
+        User user = getCurrentUser();
+        InboxMessage message = inboxMessageRepository.findById(id)
+                .filter(found -> found.getUserId().equals(user.getId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Inbox message", "id", id));
+        if (!message.isRead()) {
+            message.setRead(true);
+            message = inboxMessageRepository.save(message);
+        }
+        return mapToResponse(message);
+    }
+    
+    /**
+     * @return number of messages marked read
+     */
+    public long markAllRead() {
+        User user = getCurrentUser();
+        Query query = new Query(Criteria.where("userId").is(user.getId()).and("read").is(false));
+        return mongoTemplate.updateMulti(query, new Update().set("read", true), InboxMessage.class).getModifiedCount();
+    }
+    
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    }
+    
+    private InboxMessageResponse mapToResponse(InboxMessage message) {
+        return InboxMessageResponse.builder()
+                .id(message.getId())
+                .type(message.getType())
+                .title(message.getTitle())
+                .dealId(message.getDealId())
+                .dealName(message.getDealName())
+                .savedSearchId(message.getSavedSearchId())
+                .staleAlertId(message.getStaleAlertId())
+                .reminderId(message.getReminderId())
+                .read(message.isRead())
+                .createdAt(message.getCreatedAt())
+                .build();
+    }
+}
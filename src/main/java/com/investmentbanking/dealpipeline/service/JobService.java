@@ -0,0 +1,133 @@
+package com.investmentbanking.dealpipeline.service;
+
+import com.investmentbanking.dealpipeline.dto.CreateJobRequest;
+import com.investmentbanking.dealpipeline.dto.JobResponse;
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import com.investmentbanking.dealpipeline.exception.ResourceNotFoundException;
+import com.investmentbanking.dealpipeline.exception.UnauthorizedException;
+import com.investmentbanking.dealpipeline.job.JobArtifact;
+import com.investmentbanking.dealpipeline.job.JobHandler;
+import com.investmentbanking.dealpipeline.job.JobQueue;
+import com.investmentbanking.dealpipeline.model.Job;
+import com.investmentbanking.dealpipeline.model.JobStatus;
+import com.investmentbanking.dealpipeline.model.User;
+import com.investmentbanking.dealpipeline.repository.JobRepository;
+import com.investmentbanking.dealpipeline.repository.UserRepository;
+import com.mongodb.client.gridfs.GridFSDownloadStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class JobService {
+    
+    private final JobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final JobQueue jobQueue;
+    private final ObjectProvider<JobHandler> handlers;
+    
+    /**
+     * Submit a background job
+     * ADMIN only (enforced on /api/admin/**)
+     */
+    public JobResponse submitJob(CreateJobRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        
+        Job job = submit(request.getType(), request.getParams(), user.getId(), user.getUsername());
+        return mapToJobResponse(job);
+    }
+    
+    /**
+     * Validate and enqueue a job on behalf of a user or the system
+     */
+    public Job submit(String type, Map<String, String> params, String userId, String username) {
+        JobHandler handler = handlers.orderedStream()
+                .filter(candidate -> candidate.getType().equals(type))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException("Unknown job type: " + type
+                        + ". Supported types: " + getSupportedTypes()));
+        
+        handler.validate(params != null ? params : Map.of());
+        return jobQueue.enqueue(type, params, userId, username);
+    }
+    
+    public List<String> getSupportedTypes() {
+        return handlers.orderedStream()
+                .map(JobHandler::getType)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+    
+    public JobResponse getJob(String id) {
+        Job job = jobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Job", "id", id));
+        return mapToJobResponse(job);
+    }
+    
+    public List<JobResponse> getRecentJobs(String type) {
+        List<Job> jobs = type != null
+                ? jobRepository.findTop50ByTypeOrderByCreatedAtDesc(type)
+                : jobRepository.findTop50ByOrderByCreatedAtDesc();
+        return jobs.stream()
+                .map(this::mapToJobResponse)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Open the file produced by a finished job
+     */
+    public JobArtifact openArtifact(String id) {
+        Job job = jobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Job", "id", id));
+        
+        if (job.getStatus() != JobStatus.SUCCEEDED || job.getArtifactId() == null) {
+            throw new BadRequestException("Job " + id + " has no artifact available (status: " + job.getStatus() + ")");
+        }
+        
+        GridFSDownloadStream download = jobQueue.openArtifactDownload(job.getArtifactId());
+        return new JobArtifact(job.getArtifactName(), job.getArtifactContentType(),
+                download.getGridFSFile().getLength(), download);
+    }
+    
+    private JobResponse mapToJobResponse(Job job) {
+        Double percentComplete = null;
+        if (job.getStatus() == JobStatus.SUCCEEDED) {
+            percentComplete = 100.0;
+        } else if (job.getTotal() != null && job.getTotal() > 0) {
+            percentComplete = Math.min(100.0, job.getProcessed() * 100.0 / job.getTotal());
+        }
+        
+        return JobResponse.builder()
+                .id(job.getId())
+                .type(job.getType())
+                .status(job.getStatus())
+                .params(job.getParams())
+                .processed(job.getProcessed())
+                .total(job.getTotal())
+                .percentComplete(percentComplete)
+                .attempts(job.getAttempts())
+                .error(job.getError())
+                .artifactName(job.getArtifactName())
+                .artifactAvailable(job.getStatus() == JobStatus.SUCCEEDED && job.getArtifactId() != null)
+                .createdByUsername(job.getCreatedByUsername())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
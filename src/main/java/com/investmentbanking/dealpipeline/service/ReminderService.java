@@ -0,0 +1,167 @@
+package com.investmentbanking.dealpipeline.service;
+
+import com.investmentbanking.dealpipeline.dto.ReminderRequest;
+import com.investmentbanking.dealpipeline.dto.ReminderResponse;
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import com.investmentbanking.dealpipeline.exception.ResourceNotFoundException;
+import com.investmentbanking.dealpipeline.exception.UnauthorizedException;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.Reminder;
+import com.investmentbanking.dealpipeline.model.ReminderStatus;
+import com.investmentbanking.dealpipeline.model.Role;
+import com.investmentbanking.dealpipeline.model.User;
+import com.investmentbanking.dealpipeline.reminder.ReminderScheduler;
+import com.investmentbanking.dealpipeline.repository.DealRepository;
+import com.investmentbanking.dealpipeline.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Follow-up reminders on deals, delivered to the creator's inbox when due by ReminderScheduler
+ */
+@Service
+@RequiredArgsConstructor
+public class ReminderService {
+    
+    private static final int MAX_PENDING_PER_DEAL = 100;
+    
+    private final DealRepository dealRepository;
+    private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ReminderScheduler reminderScheduler;
+    
+    /**
+     * Add a reminder for the current user
+     * USER can add reminders to their own deals
+     * ADMIN can add reminders to any deal
+     */
+    public ReminderResponse createReminder(String dealId, ReminderRequest request) {
+        User user = getCurrentUser();
+        Deal deal = getAccessibleDeal(dealId, user);
+        
+        Query pending = new Query(Criteria.where("dealId").is(dealId)
+                .and("userId").is(user.getId())
+                .and("status").is(ReminderStatus.PENDING));
+        if (mongoTemplate.count(pending, Reminder.class) >= MAX_PENDING_PER_DEAL) {
+            throw new BadRequestException("You already have " + MAX_PENDING_PER_DEAL + " pending reminders on this deal");
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        Reminder reminder = mongoTemplate.insert(Reminder.builder()
+                .dealId(deal.getId())
+                .dealName(deal.getDealName())
+                .userId(user.getId())
+                .username(user.getUsername())
+                .note(request.getNote())
+                .dueAt(request.getDueAt())
+                .status(ReminderStatus.PENDING)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        reminderScheduler.track(reminder);
+        return mapToResponse(reminder);
+    }
+    
+    /**
+     * Reminders on a deal, soonest due first
+     * USER sees their own reminders on their own deals
+     * ADMIN sees every user's reminders
+     */
+    public List<ReminderResponse> getReminders(String dealId, boolean pendingOnly) {
+        User user = getCurrentUser();
+        getAccessibleDeal(dealId, user);
+        
+        Query query = new Query(Criteria.where("dealId").is(dealId))
+                .with(Sort.by(Sort.Direction.ASC, "dueAt"));
+        if (!isAdmin(user)) {
+            query.addCriteria(Criteria.where("userId").is(user.getId()));
+        }
+        if (pendingOnly) {
+            query.addCriteria(Criteria.where("status").is(ReminderStatus.PENDING));
+        }
+        return mongoTemplate.find(query, Reminder.class).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Cancel a pending reminder
+     * USER can cancel their own reminders
+     * ADMIN can cancel any reminder
+     */
+    public ReminderResponse cancelReminder(String dealId, String reminderId) {
+        User user = getCurrentUser();
+        Reminder reminder = mongoTemplate.findById(reminderId, Reminder.class);
+        if (reminder == null || !reminder.getDealId().equals(dealId)) {
+            throw new ResourceNotFoundException("Reminder", "id", reminderId);
+        }
+        if (!isAdmin(user) && !reminder.getUserId().equals(user.getId())) {
+            throw new UnauthorizedException("You can only cancel your own reminders");
+        }
+        
+        Reminder cancelled = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(reminderId).and("status").is(ReminderStatus.PENDING)),
+                new Update().set("status", ReminderStatus.CANCELLED).set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                Reminder.class);
+        if (cancelled == null) {
+            throw new BadRequestException("Reminder is already " + reminder.getStatus().name().toLowerCase());
+        }
+        reminderScheduler.untrack(reminderId);
+        return mapToResponse(cancelled);
+    }
+    
+    private Deal getAccessibleDeal(String dealId, User user) {
+        Deal deal = dealRepository.findById(dealId)
+                .orElseThrow(() -> new ResourceNotFoundException("Deal", "id", dealId));
+        
+        // USER can only use reminders on their own deals
+        if (!isAdmin(user) && !deal.getCreatedBy().equals(user.getId())) {
+            throw new UnauthorizedException("You can only set reminders on your own deals");
+        }
+        return deal;
+    }
+    
+    private static boolean isAdmin(User user) {
+        return user.getRoles().stream().anyMatch(role -> role == Role.ADMIN);
+    }
+    
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    }
+    
+    private ReminderResponse mapToResponse(Reminder reminder) {
+        return ReminderResponse.builder()
+                .id(reminder.getId())
+                .dealId(reminder.getDealId())
+                .dealName(reminder.getDealName())
+                .userId(reminder.getUserId())
+                .username(reminder.getUsername())
+                .note(reminder.getNote())
+                .dueAt(reminder.getDueAt())
+                .status(reminder.getStatus())
+                .firedAt(reminder.getFiredAt())
+                .createdAt(reminder.getCreatedAt())
+                .build();
+    }
+}
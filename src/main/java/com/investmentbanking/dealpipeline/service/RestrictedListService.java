@@ -0,0 +1,234 @@
+package com.investmentbanking.dealpipeline.service;
+
+import com.investmentbanking.dealpipeline.compliance.RestrictedListScreener;
+import com.investmentbanking.dealpipeline.dto.BulkRestrictedEntitiesRequest;
+import com.investmentbanking.dealpipeline.dto.RestrictedEntityRequest;
+import com.investmentbanking.dealpipeline.dto.RestrictedEntityResponse;
+import com.investmentbanking.dealpipeline.dto.RestrictedListUpdateResponse;
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import com.investmentbanking.dealpipeline.exception.ResourceNotFoundException;
+import com.investmentbanking.dealpipeline.exception.UnauthorizedException;
+import com.investmentbanking.dealpipeline.job.RestrictedRescreenJobHandler;
+import com.investmentbanking.dealpipeline.matching.ClientNameNormalizer;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.RestrictedEntity;
+import com.investmentbanking.dealpipeline.model.ScreeningHit;
+import com.investmentbanking.dealpipeline.model.User;
+import com.investmentbanking.dealpipeline.repository.RestrictedEntityRepository;
+import com.investmentbanking.dealpipeline.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class RestrictedListService {
+    
+    private static final int RESCREEN_BATCH_SIZE = 1000;
+    
+    private final RestrictedEntityRepository restrictedEntityRepository;
+    private final UserRepository userRepository;
+    private final RestrictedListScreener screener;
+    private final JobService jobService;
+    private final MongoTemplate mongoTemplate;
+    private final ForkJoinPool rescreenPool;
+    
+    public RestrictedListService(RestrictedEntityRepository restrictedEntityRepository,
+                                 UserRepository userRepository,
+                                 RestrictedListScreener screener,
+                                 JobService jobService,
+                                 MongoTemplate mongoTemplate,
+                                 @Value("${pipeline.screening.rescreen-parallelism:0}") int rescreenParallelism) {
+        this.restrictedEntityRepository = restrictedEntityRepository;
+        this.userRepository = userRepository;
+        this.screener = screener;
+        this.jobService = jobService;
+        this.mongoTemplate = mongoTemplate;
+        this.rescreenPool = new ForkJoinPool(rescreenParallelism > 0 ? rescreenParallelism : Runtime.getRuntime().availableProcessors());
+    }
+    
+    public List<RestrictedEntityResponse> getAll() {
+        return restrictedEntityRepository.findAll(Sort.by("name")).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+    
+    public RestrictedListUpdateResponse addEntity(RestrictedEntityRequest request) {
+        return addEntities(new BulkRestrictedEntitiesRequest(List.of(request)));
+    }
+    
+    /**
+     * Add entities to the list, recompile the screener and queue a rescreen of the book
+     * Entries whose normalized name is already on the same list are skipped
+     */
+    public RestrictedListUpdateResponse addEntities(BulkRestrictedEntitiesRequest request) {
+        User user = getCurrentUser();
+        
+        Set<String> seen = new HashSet<>();
+        List<RestrictedEntity> toSave = new ArrayList<>();
+        int skipped = 0;
+        for (RestrictedEntityRequest entry : request.getEntities()) {
+            String normalizedName = ClientNameNormalizer.normalize(entry.getName());
+            if (normalizedName.isEmpty()) {
+                throw new BadRequestException("Entity name has no letters or digits: " + entry.getName());
+            }
+            if (!seen.add(entry.getListType() + ":" + normalizedName)
+                    || restrictedEntityRepository.existsByNormalizedNameAndListType(normalizedName, entry.getListType())) {
+                skipped++;
+                continue;
+            }
+            toSave.add(RestrictedEntity.builder()
+                    .name(entry.getName().strip())
+                    .normalizedName(normalizedName)
+                    .aliases(entry.getAliases())
+                    .listType(entry.getListType())
+                    .reason(entry.getReason())
+                    .createdBy(user.getId())
+                    .createdByUsername(user.getUsername())
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        
+        restrictedEntityRepository.saveAll(toSave);
+        String jobId = toSave.isEmpty() ? null : onListChanged(user);
+        return RestrictedListUpdateResponse.builder()
+                .added(toSave.size())
+                .skippedDuplicates(skipped)
+                .rescreenJobId(jobId)
+                .build();
+    }
+    
+    public RestrictedListUpdateResponse removeEntity(String id) {
+        User user = getCurrentUser();
+        RestrictedEntity entity = restrictedEntityRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Restricted entity", "id", id));
+        restrictedEntityRepository.delete(entity);
+        return RestrictedListUpdateResponse.builder()
+                .removed(1)
+                .rescreenJobId(onListChanged(user))
+                .build();
+    }
+    
+    /**
+     * Rescreen every deal against the current list
+     * Deals are read in batches, screened in parallel on a dedicated ForkJoinPool
+     * (pipeline.screening.rescreen-parallelism), and only deals whose hits changed are written back.
+     * A write is skipped if the deal was updated after it was read - that update screened it already.
+     *
+     * @param progress called after every batch with the running count; return false to stop
+     * @return number of deals whose hits changed
+     */
+    public long rescreenAll(LongPredicate progress) {
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .cursorBatchSize(RESCREEN_BATCH_SIZE);
+        query.fields().include("clientName", "counterparty", "dealName", "description", "screeningHits", "updatedAt");
+        
+        long scanned = 0;
+        long changed = 0;
+        List<Deal> batch = new ArrayList<>(RESCREEN_BATCH_SIZE);
+        try (Stream<Deal> deals = mongoTemplate.stream(query, Deal.class)) {
+            for (Deal deal : (Iterable<Deal>) deals::iterator) {
+                batch.add(deal);
+                if (batch.size() == RESCREEN_BATCH_SIZE) {
+                    changed += rescreenBatch(batch);
+                    scanned += batch.size();
+                    batch.clear();
+                    if (!progress.test(scanned)) {
+                        return changed;
+                    }
+                }
+            }
+        }
+        changed += rescreenBatch(batch);
+        scanned += batch.size();
+        progress.test(scanned);
+        log.info("Rescreened {} deals against the restricted list, {} changed", scanned, changed);
+        return changed;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        rescreenPool.shutdownNow();
+    }
+    
+    private long rescreenBatch(List<Deal> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<Map.Entry<Deal, List<ScreeningHit>>> changed;
+        try {
+            changed = rescreenPool.submit(() -> batch.parallelStream()
+                    .map(deal -> Map.entry(deal, screener.screen(deal)))
+                    .filter(entry -> !entry.getValue().equals(
+                            entry.getKey().getScreeningHits() != null ? entry.getKey().getScreeningHits() : List.of()))
+                    .collect(Collectors.toList())).get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Rescreen interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Rescreen failed: " + ex.getCause().getMessage(), ex.getCause());
+        }
+        if (changed.isEmpty()) {
+            return 0;
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Deal.class);
+        changed.forEach(entry -> operations.updateOne(
+                new Query(Criteria.where("_id").is(entry.getKey().getId()).and("updatedAt").is(entry.getKey().getUpdatedAt())),
+                new Update().set("screeningHits", entry.getValue()).set("screenedAt", now)));
+        return operations.execute().getModifiedCount();
+    }
+    
+    private String onListChanged(User user) {
+        screener.reload();
+        return jobService.submit(RestrictedRescreenJobHandler.TYPE, Map.of(), user.getId(), user.getUsername()).getId();
+    }
+    
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    }
+    
+    private RestrictedEntityResponse mapToResponse(RestrictedEntity entity) {
+        return RestrictedEntityResponse.builder()
+                .id(entity.getId())
+                .name(entity.getName())
+                .normalizedName(entity.getNormalizedName())
+                .aliases(entity.getAliases())
+                .listType(entity.getListType())
+                .reason(entity.getReason())
+                .createdByUsername(entity.getCreatedByUsername())
+                .createdAt(entity.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.investmentbanking.dealpipeline.service;
+
+import com.investmentbanking.dealpipeline.dto.SavedSearchRequest;
+import com.investmentbanking.dealpipeline.dto.SavedSearchResponse;
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import com.investmentbanking.dealpipeline.exception.ResourceNotFoundException;
+import com.investmentbanking.dealpipeline.exception.UnauthorizedException;
+import com.investmentbanking.dealpipeline.filter.DealPredicate;
+import com.investmentbanking.dealpipeline.filter.FilterNode;
+import com.investmentbanking.dealpipeline.filter.FilterParser;
+import com.investmentbanking.dealpipeline.filter.FilterPlan;
+import com.investmentbanking.dealpipeline.model.Role;
+import com.investmentbanking.dealpipeline.model.SavedSearch;
+import com.investmentbanking.dealpipeline.model.User;
+import com.investmentbanking.dealpipeline.repository.SavedSearchRepository;
+import com.investmentbanking.dealpipeline.repository.UserRepository;
+import com.investmentbanking.dealpipeline.savedsearch.SavedSearchPercolator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class SavedSearchService {
+    
+    private static final int MAX_SAVED_SEARCHES_PER_USER = 50;
+    
+    private final SavedSearchRepository savedSearchRepository;
+    private final UserRepository userRepository;
+    private final SavedSearchPercolator percolator;
+    
+    /**
+     * The current user's saved searches, newest first
+     */
+    public List<SavedSearchResponse> getMySavedSearches() {
+        User user = getCurrentUser();
+        return savedSearchRepository.findByUserIdOrderByCreatedAtDesc(user.getId()).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Save a search; from now on deals that start matching it are posted to the user's inbox
+     * The filter is validated like GET /api/deals?filter= (dealValue is ADMIN only)
+     */
+    public SavedSearchResponse create(SavedSearchRequest request) {
+        User user = getCurrentUser();
+        boolean isAdmin = isAdmin(user);
+        
+        FilterParser.Lexed lexed = FilterParser.lex(request.getFilter());
+        FilterNode root = FilterParser.parse(lexed);
+        if (FilterPlan.compile(root).isAdminOnly() && !isAdmin) {
+            throw new UnauthorizedException("Only ADMIN can filter on dealValue");
+        }
+        DealPredicate.compile(root, lexed.arguments()); // rejects bad literals before anything is saved
+        
+        if (savedSearchRepository.countByUserId(user.getId()) >= MAX_SAVED_SEARCHES_PER_USER) {
+            throw new BadRequestException("You can have at most " + MAX_SAVED_SEARCHES_PER_USER + " saved searches");
+        }
+        
+        SavedSearch search = savedSearchRepository.save(SavedSearch.builder()
+                .userId(user.getId())
+                .username(user.getUsername())
+                .name(request.getName().strip())
+                .filter(request.getFilter())
+                .createdAt(LocalDateTime.now())
+                .build());
+        percolator.register(search, isAdmin);
+        return mapToResponse(search);
+    }
+    
+    /**
+     * Delete a saved search
+     * USER can only delete their own; ADMIN can delete any
+     */
+    public void delete(String id) {
+        User user = getCurrentUser();
+        SavedSearch search = savedSearchRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Saved search", "id", id));
+        if (!isAdmin(user) && !search.getUserId().equals(user.getId())) {
+            throw new UnauthorizedException("You can only delete your own saved searches");
+        }
+        savedSearchRepository.delete(search);
+        percolator.unregister(id);
+    }
+    
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    }
+    
+    private static boolean isAdmin(User user) {
+        return user.getRoles().stream().anyMatch(role -> role == Role.ADMIN);
+    }
+    
+    private SavedSearchResponse mapToResponse(SavedSearch search) {
+        return SavedSearchResponse.builder()
+                .id(search.getId())
+                .name(search.getName())
+                .filter(search.getFilter())
+                .createdAt(search.getCreatedAt())
+                .build();
+    }
+}
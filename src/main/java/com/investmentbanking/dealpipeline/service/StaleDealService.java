@@ -0,0 +1,141 @@
+package com.investmentbanking.dealpipeline.service;
+
+import com.investmentbanking.dealpipeline.dto.StaleDealAlertResponse;
+import com.investmentbanking.dealpipeline.dto.StaleDealScanResponse;
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import com.investmentbanking.dealpipeline.exception.ResourceNotFoundException;
+import com.investmentbanking.dealpipeline.exception.UnauthorizedException;
+import com.investmentbanking.dealpipeline.model.Role;
+import com.investmentbanking.dealpipeline.model.StaleDealAlert;
+import com.investmentbanking.dealpipeline.model.StaleDealScan;
+import com.investmentbanking.dealpipeline.model.User;
+import com.investmentbanking.dealpipeline.repository.UserRepository;
+import com.investmentbanking.dealpipeline.workflow.StaleDealDetector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class StaleDealService {
+    
+    private static final int MAX_PAGE_SIZE = 200;
+    
+    private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
+    private final StaleDealDetector staleDealDetector;
+    
+    /**
+     * Stale-deal alerts, newest first
+     * USER sees only alerts for deals assigned to them
+     * ADMIN sees every owner's alerts, optionally for one owner (assignedTo)
+     */
+    public List<StaleDealAlertResponse> getAlerts(String assignedTo, int limit) {
+        checkLimit(limit);
+        User user = getCurrentUser();
+        boolean isAdmin = user.getRoles().stream().anyMatch(role -> role == Role.ADMIN);
+        
+        String owner = assignedTo;
+        if (!isAdmin) {
+            if (assignedTo != null && !assignedTo.equals(user.getId())) {
+                throw new UnauthorizedException("You can only view stale-deal alerts for your own deals");
+            }
+            owner = user.getId();
+        }
+        
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.DESC, "createdAt"))
+                .limit(limit);
+        if (owner != null) {
+            query.addCriteria(Criteria.where("assignedTo").is(owner));
+        }
+        return mongoTemplate.find(query, StaleDealAlert.class).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Recent detector runs with their timings, newest first - ADMIN only
+     */
+    public List<StaleDealScanResponse> getScans(int limit) {
+        checkLimit(limit);
+        requireAdmin();
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.DESC, "startedAt"))
+                .limit(limit);
+        return mongoTemplate.find(query, StaleDealScan.class).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Run the detector now instead of waiting for the schedule - ADMIN only
+     */
+    public StaleDealScanResponse runScan() {
+        requireAdmin();
+        StaleDealScan scan = staleDealDetector.scan();
+        if (scan == null) {
+            throw new BadRequestException("A stale deal scan is already running on another instance");
+        }
+        return mapToResponse(scan);
+    }
+    
+    private static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+    
+    private void requireAdmin() {
+        User user = getCurrentUser();
+        boolean isAdmin = user.getRoles().stream().anyMatch(role -> role == Role.ADMIN);
+        if (!isAdmin) {
+            throw new UnauthorizedException("Only ADMIN can access stale deal scans");
+        }
+    }
+    
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    }
+    
+    private StaleDealAlertResponse mapToResponse(StaleDealAlert alert) {
+        return StaleDealAlertResponse.builder()
+                .id(alert.getId())
+                .scanId(alert.getScanId())
+                .assignedTo(alert.getAssignedTo())
+                .assignedToUsername(alert.getAssignedToUsername())
+                .dealCount(alert.getDealCount())
+                .deals(alert.getDeals())
+                .createdAt(alert.getCreatedAt())
+                .build();
+    }
+    
+    private StaleDealScanResponse mapToResponse(StaleDealScan scan) {
+        return StaleDealScanResponse.builder()
+                .id(scan.getId())
+                .runBy(scan.getRunBy())
+                .thresholdDays(scan.getThresholdDays())
+                .staleDeals(scan.getStaleDeals())
+                .alerts(scan.getAlerts())
+                .pages(scan.getPages())
+                .durationMs(scan.getDurationMs())
+                .startedAt(scan.getStartedAt())
+                .build();
+    }
+}
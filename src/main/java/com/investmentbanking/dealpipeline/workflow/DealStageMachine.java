@@ -0,0 +1,151 @@
+package com.investmentbanking.dealpipeline.workflow;
+
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.model.DealStatus;
+import com.investmentbanking.dealpipeline.model.StageTransition;
+import com.investmentbanking.dealpipeline.model.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Allowed deal stage transitions and the bookkeeping done on each one.
+ *
+ * <ul>
+ *   <li>an open stage may move forward to any later open stage, or back one step</li>
+ *   <li>any open stage may move to Closed or Lost</li>
+ *   <li>Closed is terminal; Lost may only be reopened as a Prospect</li>
+ * </ul>
+ * Every transition appends to stageHistory, adds the time spent in the stage being left to
+ * stageDurationSeconds and restarts stageEnteredAt, so time-in-stage and aging are plain
+ * field reads. Closed / Lost set actualCloseDate and the CLOSED / CANCELLED status.
+ */
+public final class DealStageMachine {
+    
+    private static final Map<DealStage, Set<DealStage>> ALLOWED = new EnumMap<>(DealStage.class);
+    private static final Map<DealStage, Set<DealStage>> SOURCES = new EnumMap<>(DealStage.class);
+    
+    static {
+        ALLOWED.put(DealStage.Prospect, EnumSet.of(DealStage.UnderEvaluation, DealStage.TermSheetSubmitted,
+                DealStage.Closed, DealStage.Lost));
+        ALLOWED.put(DealStage.UnderEvaluation, EnumSet.of(DealStage.Prospect, DealStage.TermSheetSubmitted,
+                DealStage.Closed, DealStage.Lost));
+        ALLOWED.put(DealStage.TermSheetSubmitted, EnumSet.of(DealStage.UnderEvaluation,
+                DealStage.Closed, DealStage.Lost));
+        ALLOWED.put(DealStage.Closed, EnumSet.noneOf(DealStage.class));
+        ALLOWED.put(DealStage.Lost, EnumSet.of(DealStage.Prospect));
+        
+        for (DealStage stage : DealStage.values()) {
+            SOURCES.put(stage, EnumSet.noneOf(DealStage.class));
+        }
+        ALLOWED.forEach((from, targets) -> targets.forEach(to -> SOURCES.get(to).add(from)));
+    }
+    
+    private DealStageMachine() {
+    }
+    
+    public static boolean isTerminal(DealStage stage) {
+        return stage == DealStage.Closed || stage == DealStage.Lost;
+    }
+    
+    public static boolean canTransition(DealStage from, DealStage to) {
+        return ALLOWED.get(from).contains(to);
+    }
+    
+    /**
+     * Stages a deal may move to from the given stage
+     */
+    public static Set<DealStage> allowedTargets(DealStage from) {
+        return Collections.unmodifiableSet(ALLOWED.get(from));
+    }
+    
+    /**
+     * Stages a deal may move to the given stage from - used to narrow bulk stage updates
+     */
+    public static Set<DealStage> allowedSources(DealStage to) {
+        return Collections.unmodifiableSet(SOURCES.get(to));
+    }
+    
+    /**
+     * Record the stage a new deal starts in
+     */
+    public static void start(Deal deal, User actor, LocalDateTime now) {
+        deal.setStageEnteredAt(now);
+        deal.setStageDurationSeconds(new EnumMap<>(DealStage.class));
+        deal.setStageHistory(new ArrayList<>());
+        deal.getStageHistory().add(StageTransition.builder()
+                .toStage(deal.getCurrentStage())
+                .changedAt(now)
+                .changedBy(actor.getId())
+                .changedByUsername(actor.getUsername())
+                .build());
+        if (isTerminal(deal.getCurrentStage())) {
+            closeOut(deal, now);
+        }
+    }
+    
+    /**
+     * Validate and apply a stage change to the deal in place
+     * @return the history entry that was appended
+     * @throws BadRequestException if the table does not allow the transition
+     */
+    public static StageTransition transition(Deal deal, DealStage to, User actor, LocalDateTime now) {
+        DealStage from = deal.getCurrentStage();
+        if (from == to) {
+            throw new BadRequestException("Deal is already in stage " + to);
+        }
+        if (from != null && !canTransition(from, to)) {
+            throw new BadRequestException("Cannot move a deal from " + from + " to " + to
+                    + ". Allowed: " + allowedTargets(from));
+        }
+        
+        // Deals created before stage tracking have no stageEnteredAt; count from creation
+        LocalDateTime enteredAt = deal.getStageEnteredAt() != null ? deal.getStageEnteredAt() : deal.getCreatedAt();
+        Long seconds = enteredAt != null ? Math.max(0, Duration.between(enteredAt, now).getSeconds()) : null;
+        
+        StageTransition entry = StageTransition.builder()
+                .fromStage(from)
+                .toStage(to)
+                .changedAt(now)
+                .changedBy(actor.getId())
+                .changedByUsername(actor.getUsername())
+                .secondsInPreviousStage(seconds)
+                .build();
+        
+        Map<DealStage, Long> durations = new EnumMap<>(DealStage.class);
+        if (deal.getStageDurationSeconds() != null) {
+            durations.putAll(deal.getStageDurationSeconds());
+        }
+        if (from != null && seconds != null) {
+            durations.merge(from, seconds, Long::sum);
+        }
+        deal.setStageDurationSeconds(durations);
+        deal.setStageHistory(deal.getStageHistory() != null ? new ArrayList<>(deal.getStageHistory()) : new ArrayList<>());
+        deal.getStageHistory().add(entry);
+        deal.setCurrentStage(to);
+        deal.setStageEnteredAt(now);
+        
+        if (isTerminal(to)) {
+            closeOut(deal, now);
+        } else if (from == DealStage.Lost) {
+            deal.setActualCloseDate(null);
+            deal.setStatus(DealStatus.IN_PROGRESS);
+        }
+        return entry;
+    }
+    
+    private static void closeOut(Deal deal, LocalDateTime now) {
+        if (deal.getActualCloseDate() == null) {
+            deal.setActualCloseDate(now);
+        }
+        deal.setStatus(deal.getCurrentStage() == DealStage.Closed ? DealStatus.CLOSED : DealStatus.CANCELLED);
+    }
+}
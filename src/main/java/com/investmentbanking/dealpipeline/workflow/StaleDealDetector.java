@@ -0,0 +1,268 @@
+package com.investmentbanking.dealpipeline.workflow;
+
+import com.investmentbanking.dealpipeline.job.SchedulerLock;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.model.InboxMessage;
+import com.investmentbanking.dealpipeline.model.InboxMessageType;
+import com.investmentbanking.dealpipeline.model.StaleDeal;
+import com.investmentbanking.dealpipeline.model.StaleDealAlert;
+import com.investmentbanking.dealpipeline.model.StaleDealScan;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.BooleanOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Finds open deals that have not been updated for longer than their stage's threshold
+ * (pipeline.stale.threshold-days.&lt;Stage&gt;) and sends each owner one alert listing them.
+ *
+ * Each stage is read as a keyset-paged range on deal_stage_updated_id_idx (currentStage, updatedAt, _id),
+ * oldest first in index order, so a scan touches only the stale end of each stage and holds one page
+ * plus each owner's MAX_DEALS_PER_ALERT longest idle deals. A deal is alerted once per idle spell: once
+ * the alerts are written, each stage's stale range is stamped with staleAlertedAt in one update, and a
+ * stamped deal is skipped until an update moves updatedAt past the stamp. Scans run on one replica at a time under a SchedulerLock,
+ * and a replica skips its scheduled run if any replica scanned within the last interval.
+ */
+@Component
+@Slf4j
+public class StaleDealDetector {
+    
+    static final String LOCK_NAME = "stale-deal-scan";
+    static final int PAGE_SIZE = 500;
+    static final int MAX_DEALS_PER_ALERT = 100;
+    private static final String STAGE_UPDATED_INDEX = "deal_stage_updated_id_idx";
+    private static final Map<DealStage, Integer> DEFAULT_THRESHOLD_DAYS = new EnumMap<>(Map.of(
+            DealStage.Prospect, 90,
+            DealStage.UnderEvaluation, 60,
+            DealStage.TermSheetSubmitted, 30));
+    
+    private final MongoTemplate mongoTemplate;
+    private final SchedulerLock schedulerLock;
+    private final Environment environment;
+    private final long scanIntervalMs;
+    private final long lockLeaseMs;
+    
+    public StaleDealDetector(MongoTemplate mongoTemplate, SchedulerLock schedulerLock, Environment environment,
+                             @Value("${pipeline.stale.scan-interval-ms:3600000}") long scanIntervalMs,
+                             @Value("${pipeline.stale.lock-lease-ms:600000}") long lockLeaseMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.schedulerLock = schedulerLock;
+        this.environment = environment;
+        this.scanIntervalMs = scanIntervalMs;
+        this.lockLeaseMs = lockLeaseMs;
+    }
+    
+    @Scheduled(initialDelayString = "${pipeline.stale.scan-interval-ms:3600000}",
+            fixedDelayString = "${pipeline.stale.scan-interval-ms:3600000}")
+    public void scheduledScan() {
+        try {
+            // every replica fires on its own schedule; only the first one per interval scans
+            StaleDealScan last = mongoTemplate.findOne(new Query().with(Sort.by(Sort.Direction.DESC, "startedAt")),
+                    StaleDealScan.class);
+            LocalDateTime recent = LocalDateTime.now().minus(Duration.ofMillis(scanIntervalMs * 9 / 10));
+            if (last != null && last.getStartedAt().isAfter(recent)) {
+                return;
+            }
+            scan();
+        } catch (RuntimeException ex) {
+            log.error("Stale deal scan failed: {}", ex.getMessage(), ex);
+        }
+    }
+    
+    /**
+     * Run a scan now
+     * @return the scan, or null if another replica holds the scan lock
+     */
+    public StaleDealScan scan() {
+        if (!schedulerLock.tryAcquire(LOCK_NAME, Duration.ofMillis(lockLeaseMs))) {
+            log.debug("Stale deal scan skipped, another replica holds {}", LOCK_NAME);
+            return null;
+        }
+        try {
+            return runScan(LocalDateTime.now());
+        } finally {
+            schedulerLock.release(LOCK_NAME);
+        }
+    }
+    
+    /**
+     * Stage thresholds in days; a threshold of 0 or less turns detection off for the stage
+     */
+    public Map<DealStage, Integer> thresholdDays() {
+        Map<DealStage, Integer> thresholds = new EnumMap<>(DealStage.class);
+        DEFAULT_THRESHOLD_DAYS.forEach((stage, fallback) -> {
+            Integer days = environment.getProperty("pipeline.stale.threshold-days." + stage.name(), Integer.class, fallback);
+            if (days != null && days > 0) {
+                thresholds.put(stage, days);
+            }
+        });
+        return thresholds;
+    }
+    
+    StaleDealScan runScan(LocalDateTime now) {
+        long startedAt = System.nanoTime();
+        Map<DealStage, Integer> thresholds = thresholdDays();
+        Map<String, OwnerBatch> byOwner = new HashMap<>();
+        int staleDeals = 0;
+        int pages = 0;
+        
+        for (Map.Entry<DealStage, Integer> threshold : thresholds.entrySet()) {
+            LocalDateTime cutoff = now.minusDays(threshold.getValue());
+            Deal last = null;
+            List<Deal> page;
+            do {
+                page = mongoTemplate.find(pageQuery(threshold.getKey(), cutoff, last), Deal.class);
+                pages++;
+                for (Deal deal : page) {
+                    byOwner.computeIfAbsent(deal.getAssignedTo(), owner -> new OwnerBatch(deal.getAssignedToUsername()))
+                            .add(StaleDeal.builder()
+                                    .dealId(deal.getId())
+                                    .dealName(deal.getDealName())
+                                    .clientName(deal.getClientName())
+                                    .stage(deal.getCurrentStage())
+                                    .updatedAt(deal.getUpdatedAt())
+                                    .idleDays(Duration.between(deal.getUpdatedAt(), now).toDays())
+                                    .build());
+                    staleDeals++;
+                }
+                last = page.isEmpty() ? null : page.get(page.size() - 1);
+            } while (page.size() == PAGE_SIZE);
+        }
+        
+        String scanId = new ObjectId().toHexString();
+        List<StaleDealAlert> alerts = new ArrayList<>(byOwner.size());
+        byOwner.forEach((owner, batch) -> alerts.add(StaleDealAlert.builder()
+                .scanId(scanId)
+                .assignedTo(owner)
+                .assignedToUsername(batch.username)
+                .dealCount(batch.count)
+                .deals(batch.longestIdle())
+                .createdAt(now)
+                .build()));
+        if (!alerts.isEmpty()) {
+            mongoTemplate.insert(alerts, StaleDealAlert.class);
+            List<InboxMessage> messages = alerts.stream()
+                    .filter(alert -> alert.getAssignedTo() != null)
+                    .map(alert -> InboxMessage.builder()
+                            .userId(alert.getAssignedTo())
+                            .type(InboxMessageType.STALE_DEALS)
+                            .title(alert.getDealCount() == 1
+                                    ? "\"" + alert.getDeals().get(0).getDealName() + "\" has had no update for "
+                                    + alert.getDeals().get(0).getIdleDays() + " days"
+                                    : alert.getDealCount() + " of your deals have had no update past their stage's threshold")
+                            .dealId(alert.getDealCount() == 1 ? alert.getDeals().get(0).getDealId() : null)
+                            .dealName(alert.getDealCount() == 1 ? alert.getDeals().get(0).getDealName() : null)
+                            .staleAlertId(alert.getId())
+                            .read(false)
+                            .createdAt(now)
+                            .build())
+                    .toList();
+            mongoTemplate.insert(messages, InboxMessage.class);
+        }
+        // stamped after the alerts are written, so a failed scan alerts the same deals next time;
+        // the cutoff is fixed, so each stage's range matches the deals just read (an update since moves a deal out)
+        if (staleDeals > 0) {
+            for (Map.Entry<DealStage, Integer> threshold : thresholds.entrySet()) {
+                mongoTemplate.updateMulti(new Query(staleRange(threshold.getKey(), now.minusDays(threshold.getValue()), null))
+                                .withHint(STAGE_UPDATED_INDEX),
+                        new Update().set("staleAlertedAt", now), Deal.class);
+            }
+        }
+        
+        StaleDealScan scan = StaleDealScan.builder()
+                .id(scanId)
+                .runBy(schedulerLock.getOwnerId())
+                .thresholdDays(thresholds)
+                .staleDeals(staleDeals)
+                .alerts(alerts.size())
+                .pages(pages)
+                .durationMs((System.nanoTime() - startedAt) / 1_000_000)
+                .startedAt(now)
+                .build();
+        mongoTemplate.insert(scan);
+        log.info("Stale deal scan found {} deals for {} owners in {} pages, {} ms",
+                scan.getStaleDeals(), scan.getAlerts(), scan.getPages(), scan.getDurationMs());
+        return scan;
+    }
+    
+    /**
+     * One index range page of a stage: updatedAt before the cutoff, after the previous page's last
+     * (updatedAt, _id), not yet alerted since the deal's last update
+     */
+    static Query pageQuery(DealStage stage, LocalDateTime cutoff, Deal after) {
+        Query query = new Query(staleRange(stage, cutoff, after))
+                .with(Sort.by(Sort.Direction.ASC, "updatedAt", "_id"))
+                .limit(PAGE_SIZE)
+                .withHint(STAGE_UPDATED_INDEX);
+        query.fields().include("dealName", "clientName", "currentStage", "updatedAt", "assignedTo", "assignedToUsername");
+        return query;
+    }
+    
+    /**
+     * A stage's not yet alerted deals with updatedAt before the cutoff, from after's (updatedAt, _id) on if given
+     */
+    private static Criteria staleRange(DealStage stage, LocalDateTime cutoff, Deal after) {
+        Criteria range = Criteria.where("currentStage").is(stage).and("updatedAt").lt(cutoff);
+        List<Criteria> clauses = new ArrayList<>();
+        clauses.add(range);
+        if (after != null) {
+            // plain lower bound so the index scan starts at the last page's updatedAt; the $or only breaks ties
+            range.gte(after.getUpdatedAt());
+            clauses.add(new Criteria().orOperator(
+                    Criteria.where("updatedAt").gt(after.getUpdatedAt()),
+                    Criteria.where("_id").gt(after.getId())));
+        }
+        // residual filter on the fetched range: missing staleAlertedAt compares lower than any date
+        clauses.add(Criteria.expr(BooleanOperators.Not.not(
+                ComparisonOperators.valueOf("staleAlertedAt").greaterThanEqualTo("updatedAt"))));
+        return new Criteria().andOperator(clauses);
+    }
+    
+    /**
+     * An owner's stale deals, keeping only the MAX_DEALS_PER_ALERT longest idle
+     */
+    private static final class OwnerBatch {
+        
+        private final String username;
+        private final PriorityQueue<StaleDeal> deals = new PriorityQueue<>(Comparator.comparing(StaleDeal::getUpdatedAt).reversed());
+        private int count;
+        
+        private OwnerBatch(String username) {
+            this.username = username;
+        }
+        
+        private void add(StaleDeal deal) {
+            count++;
+            deals.add(deal);
+            if (deals.size() > MAX_DEALS_PER_ALERT) {
+                deals.poll(); // most recently updated
+            }
+        }
+        
+        private List<StaleDeal> longestIdle() {
+            List<StaleDeal> sorted = new ArrayList<>(deals);
+            sorted.sort(Comparator.comparing(StaleDeal::getUpdatedAt));
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.investmentbanking.dealpipeline.analytics;
+
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ForecastBook Unit Tests")
+class ForecastBookTest {
+
+    private static final LocalDateTime SEPTEMBER = LocalDateTime.of(2024, 9, 15, 0, 0);
+
+    @Test
+    @DisplayName("Should move a deal between cells when it is refreshed and drop empty cells")
+    void testPut_RefreshAndRemove() {
+        // Arrange
+        ForecastBook book = new ForecastBook();
+        Deal deal = deal("d1", DealStage.Prospect, "5000000", SEPTEMBER);
+        book.put(deal);
+        book.put(deal("d2", DealStage.Prospect, "1000000", SEPTEMBER));
+
+        // Act
+        deal.setCurrentStage(DealStage.TermSheetSubmitted);
+        deal.setExpectedCloseDate(SEPTEMBER.plusMonths(1));
+        book.put(deal);
+
+        // Assert
+        Map<ForecastBook.Cell, ForecastBook.Totals> cells = cells(book);
+        assertEquals(2, cells.size());
+        assertEquals(new ForecastBook.Totals(1, new BigDecimal("1000000")),
+                cells.get(new ForecastBook.Cell(DealStage.Prospect, YearMonth.of(2024, 9), "Technology", "u1", "alice")));
+        assertEquals(new ForecastBook.Totals(1, new BigDecimal("5000000")),
+                cells.get(new ForecastBook.Cell(DealStage.TermSheetSubmitted, YearMonth.of(2024, 10), "Technology", "u1", "alice")));
+
+        Map<ForecastBook.Cell, ForecastBook.Totals> byMonth = new HashMap<>();
+        book.forEach(ForecastBook.Grain.MONTH, byMonth::put);
+        assertEquals(new ForecastBook.Totals(1, new BigDecimal("1000000")),
+                byMonth.get(new ForecastBook.Cell(DealStage.Prospect, YearMonth.of(2024, 9), null, null, null)));
+
+        book.remove("d2");
+        book.remove("missing");
+        assertEquals(1, book.cellCount());
+        assertEquals(1, book.size());
+    }
+
+    @Test
+    @DisplayName("Should forecast closed deals in their close month and leave out lost or undated deals")
+    void testCellOf() {
+        // Arrange
+        Deal closed = deal("d1", DealStage.Closed, "100", SEPTEMBER);
+        closed.setActualCloseDate(SEPTEMBER.minusMonths(2));
+        Deal lost = deal("d2", DealStage.Lost, "100", SEPTEMBER);
+        Deal undated = deal("d3", DealStage.Prospect, "100", null);
+        Deal unvalued = deal("d4", DealStage.Prospect, null, SEPTEMBER);
+
+        // Act & Assert
+        assertEquals(YearMonth.of(2024, 7), ForecastBook.cellOf(closed).month());
+        assertNull(ForecastBook.cellOf(lost));
+        assertNull(ForecastBook.cellOf(undated));
+        assertNull(ForecastBook.cellOf(unvalued));
+    }
+
+    private static Map<ForecastBook.Cell, ForecastBook.Totals> cells(ForecastBook book) {
+        Map<ForecastBook.Cell, ForecastBook.Totals> cells = new HashMap<>();
+        book.forEach(ForecastBook.Grain.SECTOR_BANKER, cells::put);
+        return cells;
+    }
+
+    private static Deal deal(String id, DealStage stage, String value, LocalDateTime expectedCloseDate) {
+        return Deal.builder()
+                .id(id)
+                .currentStage(stage)
+                .dealValue(value != null ? new BigDecimal(value) : null)
+                .baseCurrencyValue(value != null ? new BigDecimal(value) : null)
+                .expectedCloseDate(expectedCloseDate)
+                .sector("Technology")
+                .assignedTo("u1")
+                .assignedToUsername("alice")
+                .build();
+    }
+}
@@ -0,0 +1,177 @@
+package com.investmentbanking.dealpipeline.analytics;
+
+import com.investmentbanking.dealpipeline.event.DealChangedEvent;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.model.FunnelCohort;
+import com.investmentbanking.dealpipeline.model.User;
+import com.investmentbanking.dealpipeline.service.JobService;
+import com.investmentbanking.dealpipeline.workflow.DealStageMachine;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FunnelTracker Unit Tests")
+class FunnelTrackerTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 8, 14, 10, 0);
+    private static final User ALICE = User.builder().id("u1").username("alice").build();
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private JobService jobService;
+
+    @Test
+    @DisplayName("Should increment only the counters a stage move changes")
+    void testOnDealChanged_StageMove() {
+        // Arrange
+        FunnelTracker tracker = new FunnelTracker(mongoTemplate, jobService);
+        Deal previous = deal("Technology", DealStage.Prospect);
+        Deal current = copy(previous);
+        DealStageMachine.transition(current, DealStage.TermSheetSubmitted, ALICE, CREATED.plusDays(3));
+
+        // Act
+        tracker.onDealChanged(DealChangedEvent.updated(previous, current));
+
+        // Assert
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(query.capture(), update.capture(), eq(FunnelCohort.class));
+        assertEquals("2024-Q3|Technology|M&A", query.getValue().getQueryObject().get("_id"));
+        Document inc = update.getValue().getUpdateObject().get("$inc", Document.class);
+        // skipping UnderEvaluation still passes it
+        assertEquals(Map.of("reached.UnderEvaluation", 1L, "reached.TermSheetSubmitted", 1L,
+                "moves.Prospect>TermSheetSubmitted", 1L), new HashMap<>(inc));
+    }
+
+    @Test
+    @DisplayName("Should move a deal's counters between cohorts and skip writes that change nothing")
+    void testOnDealChanged_CohortChangeAndNoOp() {
+        // Arrange
+        FunnelTracker tracker = new FunnelTracker(mongoTemplate, jobService);
+        Deal previous = deal("Technology", DealStage.Prospect);
+        Deal resectored = copy(previous);
+        resectored.setSector("Healthcare");
+        Deal noted = copy(previous);
+        noted.setSummary("new summary");
+
+        // Act
+        tracker.onDealChanged(DealChangedEvent.updated(previous, noted));
+        tracker.onDealChanged(DealChangedEvent.updated(previous, resectored));
+
+        // Assert
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).upsert(query.capture(), update.capture(), eq(FunnelCohort.class));
+        Map<Object, Document> incById = new HashMap<>();
+        for (int i = 0; i < 2; i++) {
+            incById.put(query.getAllValues().get(i).getQueryObject().get("_id"),
+                    update.getAllValues().get(i).getUpdateObject().get("$inc", Document.class));
+        }
+        assertEquals(-1L, incById.get("2024-Q3|Technology|M&A").get("deals"));
+        assertEquals(1L, incById.get("2024-Q3|Healthcare|M&A").get("deals"));
+        assertEquals(1L, incById.get("2024-Q3|Healthcare|M&A").get("reached.Prospect"));
+    }
+
+    @Test
+    @DisplayName("Should match a full recount after any sequence of creates, moves and deletes")
+    void testIncrementalMatchesRebuild() {
+        // Arrange
+        Random random = new Random(7);
+        DealStage[] stages = DealStage.values();
+        Map<String, Map<String, Long>> incremental = new HashMap<>();
+        List<Deal> deals = new ArrayList<>();
+
+        // Act
+        for (int step = 0; step < 2000; step++) {
+            if (deals.isEmpty() || random.nextInt(10) == 0) {
+                Deal created = deal(random.nextBoolean() ? "Technology" : "Energy", DealStage.Prospect);
+                created.setCreatedAt(CREATED.plusMonths(random.nextInt(12)));
+                DealStageMachine.start(created, ALICE, created.getCreatedAt());
+                deals.add(created);
+                FunnelContribution.of(created).addTo(incremental, 1);
+                continue;
+            }
+            int index = random.nextInt(deals.size());
+            Deal previous = deals.get(index);
+            if (random.nextInt(30) == 0) {
+                FunnelContribution.of(previous).addTo(incremental, -1);
+                deals.remove(index);
+                continue;
+            }
+            DealStage target = stages[random.nextInt(stages.length)];
+            if (!DealStageMachine.canTransition(previous.getCurrentStage(), target)) {
+                continue;
+            }
+            Deal current = copy(previous);
+            DealStageMachine.transition(current, target, ALICE, CREATED.plusDays(step));
+            FunnelContribution.of(previous).addTo(incremental, -1);
+            FunnelContribution.of(current).addTo(incremental, 1);
+            deals.set(index, current);
+        }
+
+        // Assert
+        Map<String, Map<String, Long>> recount = new HashMap<>();
+        deals.forEach(deal -> FunnelContribution.of(deal).addTo(recount, 1));
+        incremental.values().forEach(counters -> counters.values().removeIf(count -> count == 0));
+        incremental.values().removeIf(Map::isEmpty);
+        assertEquals(recount, incremental);
+        assertTrue(recount.values().stream().anyMatch(counters -> counters.containsKey("won")));
+    }
+
+    @Test
+    @DisplayName("Should queue a rebuild at startup only when there are deals but no counters")
+    void testInitialize_QueuesRebuild() {
+        // Arrange
+        FunnelTracker tracker = new FunnelTracker(mongoTemplate, jobService);
+        when(mongoTemplate.exists(any(Query.class), eq(FunnelCohort.class))).thenReturn(false, true);
+        when(mongoTemplate.exists(any(Query.class), eq(Deal.class))).thenReturn(true);
+
+        // Act
+        tracker.initialize();
+        tracker.initialize();
+
+        // Assert
+        verify(jobService, times(1)).submit(eq("FUNNEL_REBUILD"), any(), any(), eq("system"));
+    }
+
+    private static Deal deal(String sector, DealStage stage) {
+        Deal deal = Deal.builder()
+                .id("deal-" + System.nanoTime())
+                .sector(sector)
+                .dealType("M&A")
+                .currentStage(stage)
+                .createdAt(CREATED)
+                .build();
+        DealStageMachine.start(deal, ALICE, CREATED);
+        return deal;
+    }
+
+    private static Deal copy(Deal deal) {
+        return deal.toBuilder()
+                .stageHistory(new ArrayList<>(deal.getStageHistory()))
+                .build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.investmentbanking.dealpipeline.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HyperLogLog Unit Tests")
+class HyperLogLogTest {
+
+    @Test
+    @DisplayName("Should estimate small and large distinct counts within a few standard errors and ignore repeats")
+    void testEstimate() {
+        // Arrange
+        HyperLogLog small = new HyperLogLog();
+        HyperLogLog large = new HyperLogLog();
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            small.add("client-" + i);
+            small.add("client-" + i);
+        }
+        for (int i = 0; i < 200_000; i++) {
+            large.add("client-" + i);
+        }
+
+        // Assert
+        assertEquals(100, small.estimate(), 3); // linear counting is near exact for small sets
+        assertEquals(200_000, large.estimate(), 200_000 * 4 * HyperLogLog.RELATIVE_STANDARD_ERROR);
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    @Test
+    @DisplayName("Should merge overlapping counters into the counter of the union and round-trip through bytes")
+    void testMergeAndSerialize() {
+        // Arrange
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        HyperLogLog union = new HyperLogLog();
+        for (int i = 0; i < 30_000; i++) {
+            first.add("client-" + i);
+            union.add("client-" + i);
+        }
+        for (int i = 20_000; i < 50_000; i++) {
+            second.add("client-" + i);
+            union.add("client-" + i);
+        }
+
+        // Act
+        HyperLogLog merged = HyperLogLog.fromBytes(first.toBytes());
+        merged.merge(second);
+
+        // Assert
+        assertEquals(union, merged);
+        assertEquals(50_000, merged.estimate(), 50_000 * 4 * HyperLogLog.RELATIVE_STANDARD_ERROR);
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[16]));
+    }
+}
@@ -0,0 +1,64 @@
+package com.investmentbanking.dealpipeline.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("KllSketch Unit Tests")
+class KllSketchTest {
+
+    private static final int N = 100_000;
+
+    @Test
+    @DisplayName("Should estimate quantiles within the rank error while retaining a small fraction of the values")
+    void testQuantiles() {
+        // Arrange
+        KllSketch sketch = new KllSketch();
+        Random random = new Random(42);
+
+        // Act
+        for (int i = 0; i < N; i++) {
+            sketch.update(random.nextInt(N)); // uniform over 0..N-1, so a value's rank is about the value itself
+        }
+        double[] quantiles = sketch.quantiles(0.0, 0.5, 0.9, 0.99, 1.0);
+
+        // Assert
+        assertEquals(N, sketch.getCount());
+        double tolerance = 2 * sketch.getRankError() * N; // rank error plus the sampling noise of the input
+        assertEquals(0.5 * N, quantiles[1], tolerance);
+        assertEquals(0.9 * N, quantiles[2], tolerance);
+        assertEquals(0.99 * N, quantiles[3], tolerance);
+        assertEquals(sketch.getMin(), quantiles[0]);
+        assertEquals(sketch.getMax(), quantiles[4]);
+        assertTrue(sketch.toBytes().length < 8 * 2000, "sketch should stay small");
+    }
+
+    @Test
+    @DisplayName("Should merge sketches built separately and round-trip through bytes")
+    void testMergeAndSerialize() {
+        // Arrange
+        KllSketch low = new KllSketch();
+        KllSketch high = new KllSketch();
+        for (int i = 0; i < N / 2; i++) {
+            low.update(i);
+            high.update(N / 2 + i);
+        }
+
+        // Act
+        KllSketch merged = KllSketch.fromBytes(low.toBytes());
+        merged.merge(high);
+        KllSketch restored = KllSketch.fromBytes(merged.toBytes());
+
+        // Assert
+        assertEquals(N, restored.getCount());
+        assertEquals(0, restored.getMin());
+        assertEquals(N - 1, restored.getMax());
+        double tolerance = 2 * restored.getRankError() * N;
+        assertEquals(0.25 * N, restored.quantiles(0.25)[0], tolerance);
+        assertEquals(0.75 * N, restored.quantiles(0.75)[0], tolerance);
+        assertTrue(Double.isNaN(new KllSketch().quantiles(0.5)[0]));
+    }
+}
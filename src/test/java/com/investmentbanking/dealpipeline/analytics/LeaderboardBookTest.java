@@ -0,0 +1,105 @@
+package com.investmentbanking.dealpipeline.analytics;
+
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LeaderboardBook Unit Tests")
+class LeaderboardBookTest {
+
+    @Test
+    @DisplayName("Should keep per-banker counters current as deals move stage, change banker and are removed")
+    void testPut_Workload() {
+        // Arrange
+        LeaderboardBook book = new LeaderboardBook(10);
+        Deal deal = deal("d1", "u1", "alice", DealStage.Prospect, "500");
+        book.put(deal);
+        book.put(deal("d2", "u1", "alice", DealStage.Closed, "200"));
+        Deal unassigned = deal("d3", null, null, DealStage.UnderEvaluation, "50");
+        unassigned.setCreatedBy("u2");
+        unassigned.setCreatedByUsername("bob");
+        book.put(unassigned);
+
+        // Act
+        deal.setCurrentStage(DealStage.Closed);
+        book.put(deal);
+        unassigned.setAssignedTo("u1");
+        unassigned.setAssignedToUsername("alice");
+        book.put(unassigned);
+
+        // Assert
+        LeaderboardBook.Workload alice = book.getWorkload("u1");
+        assertEquals(Map.of(DealStage.Closed, 2L, DealStage.UnderEvaluation, 1L), alice.dealsByStage());
+        assertEquals(2, alice.closedDeals());
+        assertEquals(0, new BigDecimal("700").compareTo(alice.closedValue()));
+        assertEquals(1, alice.openDeals());
+        assertEquals(0, new BigDecimal("50").compareTo(alice.openValue()));
+        assertNull(book.getWorkload("u2")); // bob's only deal was reassigned
+
+        book.remove("d1");
+        book.remove("d2");
+        book.remove("d3");
+        assertEquals(0, book.bankerCount());
+        assertTrue(book.top(LeaderboardBook.Metric.DEAL_COUNT, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should rank only the top K per metric and promote a banker from outside the top K when one drops")
+    void testTop_Bounded() {
+        // Arrange
+        LeaderboardBook book = new LeaderboardBook(2);
+        book.put(deal("d1", "u1", "alice", DealStage.Closed, "300"));
+        book.put(deal("d2", "u2", "bob", DealStage.Closed, "200"));
+        book.put(deal("d3", "u3", "carol", DealStage.Closed, "100"));
+        book.put(deal("d4", "u3", "carol", DealStage.Prospect, "900"));
+
+        // Act
+        List<LeaderboardBook.Workload> closed = book.top(LeaderboardBook.Metric.CLOSED_VALUE, 10);
+        Deal lost = deal("d1", "u1", "alice", DealStage.Lost, "300");
+        book.put(lost);
+
+        // Assert
+        assertEquals(List.of("u1", "u2"), closed.stream().map(LeaderboardBook.Workload::userId).toList());
+        assertEquals(List.of("u2", "u3"), userIds(book.top(LeaderboardBook.Metric.CLOSED_VALUE, 10)));
+        assertEquals(List.of("u3"), userIds(book.top(LeaderboardBook.Metric.PIPELINE_VALUE, 1)));
+        assertEquals(List.of("u3", "u1"), userIds(book.top(LeaderboardBook.Metric.DEAL_COUNT, 2))); // ties by user id
+    }
+
+    @Test
+    @DisplayName("Should report bankers whose counters differ from a reloaded book")
+    void testDiff() {
+        // Arrange
+        LeaderboardBook live = new LeaderboardBook(10);
+        live.put(deal("d1", "u1", "alice", DealStage.Closed, "100.00"));
+        live.put(deal("d2", "u2", "bob", DealStage.Prospect, "100"));
+        LeaderboardBook reloaded = new LeaderboardBook(10);
+        reloaded.put(deal("d1", "u1", "alice", DealStage.Closed, "100"));
+        reloaded.put(deal("d3", "u3", "carol", DealStage.Prospect, "100"));
+
+        // Act & Assert
+        assertEquals(2, reloaded.diff(live)); // bob and carol; alice only differs in scale
+        assertEquals(LeaderboardBook.Metric.PIPELINE_VALUE, LeaderboardBook.Metric.fromParam("pipelinevalue"));
+        assertNull(LeaderboardBook.Metric.fromParam("revenue"));
+    }
+
+    private static List<String> userIds(List<LeaderboardBook.Workload> workloads) {
+        return workloads.stream().map(LeaderboardBook.Workload::userId).toList();
+    }
+
+    private static Deal deal(String id, String assignedTo, String assignedToUsername, DealStage stage, String value) {
+        return Deal.builder()
+                .id(id)
+                .assignedTo(assignedTo)
+                .assignedToUsername(assignedToUsername)
+                .currentStage(stage)
+                .baseCurrencyValue(new BigDecimal(value))
+                .build();
+    }
+}
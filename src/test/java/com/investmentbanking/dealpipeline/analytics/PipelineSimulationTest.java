@@ -0,0 +1,73 @@
+package com.investmentbanking.dealpipeline.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PipelineSimulation Unit Tests")
+class PipelineSimulationTest {
+
+    private static final int TRIALS = 50_000;
+
+    @Test
+    @DisplayName("Should produce the same outcomes for a seed whatever the pool's parallelism")
+    void testRun_Reproducible() {
+        // Arrange
+        PipelineSimulation simulation = new PipelineSimulation();
+        for (int i = 0; i < 200; i++) {
+            simulation.addDeal(1_000_000 + i * 1000, 0.1 + (i % 8) * 0.1, i % 120, 20, 15);
+        }
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+
+        // Act
+        double[] first;
+        double[] second;
+        double[] otherSeed;
+        try {
+            first = simulation.run(single, 92, TRIALS, 7);
+            second = simulation.run(four, 92, TRIALS, 7);
+            otherSeed = simulation.run(four, 92, TRIALS, 8);
+        } finally {
+            single.shutdownNow();
+            four.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(200, simulation.size());
+        assertArrayEquals(first, second);
+        assertFalse(Arrays.equals(first, otherSeed));
+    }
+
+    @Test
+    @DisplayName("Should count won deals that close inside the window at their expected rate")
+    void testRun_Outcomes() {
+        // Arrange
+        PipelineSimulation simulation = new PipelineSimulation();
+        simulation.addDeal(100, 1.0, 10, 0, 0); // always won, inside the window
+        simulation.addDeal(1_000, 0.0, 10, 0, 0); // never won
+        simulation.addDeal(10_000, 1.0, 80, 30, 0); // always won, slips past the window
+        simulation.addDeal(500, 0.4, 45, 0, 5); // won 40% of the time, well inside the window
+        ForkJoinPool pool = new ForkJoinPool(2);
+
+        // Act
+        double[] outcomes;
+        try {
+            outcomes = simulation.run(pool, 92, TRIALS, 42);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Assert
+        double sum = 0;
+        for (double outcome : outcomes) {
+            assertTrue(outcome == 100 || outcome == 600, "unexpected outcome " + outcome);
+            sum += outcome;
+        }
+        assertEquals(100 + 0.4 * 500, sum / TRIALS, 3); // 3 standard errors of the mean is about 3.3
+    }
+}
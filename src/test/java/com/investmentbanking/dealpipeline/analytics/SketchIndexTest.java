@@ -0,0 +1,68 @@
+package com.investmentbanking.dealpipeline.analytics;
+
+import com.investmentbanking.dealpipeline.job.SchedulerLock;
+import com.investmentbanking.dealpipeline.model.DealSketchState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SketchIndex Unit Tests")
+class SketchIndexTest {
+
+    private static final long INTERVAL_MS = 3_600_000;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private SchedulerLock schedulerLock;
+
+    @Test
+    @DisplayName("Should skip the scheduled rebuild while another replica's base is recent")
+    void testScheduledRebuild_RecentBase() {
+        // Arrange
+        SketchIndex index = new SketchIndex(mongoTemplate, schedulerLock, INTERVAL_MS);
+        when(mongoTemplate.findById(DealSketchState.BASE_ID, DealSketchState.class))
+                .thenReturn(base(System.currentTimeMillis() - INTERVAL_MS / 2));
+
+        // Act
+        index.scheduledRebuild();
+
+        // Assert
+        verifyNoInteractions(schedulerLock);
+        verify(mongoTemplate, never()).stream(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should rebuild once the stored base is about an interval old")
+    void testScheduledRebuild_StaleBase() {
+        // Arrange
+        SketchIndex index = new SketchIndex(mongoTemplate, schedulerLock, INTERVAL_MS);
+        when(mongoTemplate.findById(DealSketchState.BASE_ID, DealSketchState.class))
+                .thenReturn(base(System.currentTimeMillis() - INTERVAL_MS * 95 / 100));
+        when(schedulerLock.tryAcquire(eq(SketchIndex.LOCK_NAME), any(Duration.class))).thenReturn(false);
+
+        // Act
+        index.scheduledRebuild();
+
+        // Assert
+        verify(schedulerLock).tryAcquire(eq(SketchIndex.LOCK_NAME), any(Duration.class));
+    }
+
+    private static DealSketchState base(long epoch) {
+        return DealSketchState.builder()
+                .id(DealSketchState.BASE_ID)
+                .epoch(epoch)
+                .build();
+    }
+}
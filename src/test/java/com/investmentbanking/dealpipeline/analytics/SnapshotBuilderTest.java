@@ -0,0 +1,108 @@
+package com.investmentbanking.dealpipeline.analytics;
+
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.model.PipelineSnapshot;
+import com.investmentbanking.dealpipeline.model.SnapshotCell;
+import com.investmentbanking.dealpipeline.model.SnapshotSource;
+import com.investmentbanking.dealpipeline.model.StageTransition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SnapshotBuilder Unit Tests")
+class SnapshotBuilderTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 9, 1);
+    private static final LocalDateTime TAKEN_AT = LocalDateTime.of(2024, 10, 1, 2, 0);
+
+    @Test
+    @DisplayName("Should count a deal in each stage from the day it moved there until the day it moved on")
+    void testBuild_StageHistory() {
+        // Arrange
+        SnapshotBuilder builder = new SnapshotBuilder(FROM, FROM.plusDays(4));
+        builder.add(deal("Technology", "1000000", DealStage.UnderEvaluation,
+                FROM.minusDays(10).atTime(9, 0), DealStage.Prospect,
+                FROM.plusDays(2).atTime(17, 30), DealStage.UnderEvaluation));
+        builder.add(deal("Healthcare", "500", DealStage.Prospect,
+                FROM.plusDays(1).atTime(8, 0), DealStage.Prospect));
+
+        // Act
+        List<PipelineSnapshot> snapshots = builder.build("USD", SnapshotSource.BACKFILL, TAKEN_AT);
+
+        // Assert
+        assertEquals(List.of("2024-09-01", "2024-09-02", "2024-09-03", "2024-09-04", "2024-09-05"),
+                snapshots.stream().map(PipelineSnapshot::getId).toList());
+        assertEquals(List.of(cell(DealStage.Prospect, "Technology", 1, "1000000")), snapshots.get(0).getCells());
+        assertEquals(List.of(cell(DealStage.Prospect, "Healthcare", 1, "500"),
+                cell(DealStage.Prospect, "Technology", 1, "1000000")), snapshots.get(1).getCells());
+        assertEquals(List.of(cell(DealStage.Prospect, "Healthcare", 1, "500"),
+                cell(DealStage.UnderEvaluation, "Technology", 1, "1000000")), snapshots.get(2).getCells());
+        assertEquals(snapshots.get(2).getCells(), snapshots.get(4).getCells());
+        assertEquals(SnapshotSource.BACKFILL, snapshots.get(4).getSource());
+        assertEquals("USD", snapshots.get(4).getBaseCurrency());
+    }
+
+    @Test
+    @DisplayName("Should count deals without history from creation, skip same-day stays and leave empty days empty")
+    void testBuild_NoHistoryAndSameDayMoves() {
+        // Arrange
+        SnapshotBuilder builder = new SnapshotBuilder(FROM, FROM.plusDays(2));
+        Deal created = deal("Energy", "250", DealStage.TermSheetSubmitted);
+        created.setCreatedAt(FROM.plusDays(2).atTime(11, 0));
+        builder.add(created);
+        builder.add(deal("Energy", "100", DealStage.Lost,
+                FROM.plusDays(1).atTime(9, 0), DealStage.Prospect,
+                FROM.plusDays(1).atTime(15, 0), DealStage.Lost));
+        builder.add(deal("Energy", "100", DealStage.Closed,
+                FROM.plusDays(5).atTime(9, 0), DealStage.Closed)); // after the range
+
+        // Act
+        List<PipelineSnapshot> snapshots = builder.build("USD", SnapshotSource.BACKFILL, TAKEN_AT);
+
+        // Assert
+        assertTrue(snapshots.get(0).getCells().isEmpty());
+        assertEquals(List.of(cell(DealStage.Lost, "Energy", 1, "100")), snapshots.get(1).getCells());
+        assertEquals(List.of(cell(DealStage.TermSheetSubmitted, "Energy", 1, "250"),
+                cell(DealStage.Lost, "Energy", 1, "100")), snapshots.get(2).getCells());
+    }
+
+    @Test
+    @DisplayName("Should reject a range that ends before it starts")
+    void testConstructor_InvalidRange() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new SnapshotBuilder(FROM, FROM.minusDays(1)));
+    }
+
+    private static Deal deal(String sector, String value, DealStage currentStage, Object... history) {
+        List<StageTransition> transitions = new ArrayList<>();
+        for (int i = 0; i < history.length; i += 2) {
+            transitions.add(StageTransition.builder()
+                    .changedAt((LocalDateTime) history[i])
+                    .toStage((DealStage) history[i + 1])
+                    .build());
+        }
+        return Deal.builder()
+                .sector(sector)
+                .baseCurrencyValue(new BigDecimal(value))
+                .currentStage(currentStage)
+                .stageHistory(transitions)
+                .build();
+    }
+
+    private static SnapshotCell cell(DealStage stage, String sector, long count, String value) {
+        return SnapshotCell.builder()
+                .stage(stage)
+                .sector(sector)
+                .count(count)
+                .value(new BigDecimal(value))
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.investmentbanking.dealpipeline.benchmark;
+
+import com.investmentbanking.dealpipeline.export.DealExportFormat;
+import com.investmentbanking.dealpipeline.export.DealExportWriter;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.model.DealStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Export serialization throughput - scores are rows/second.
+ * Mongo is left out so the number reflects the writer and gzip cost only.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DealExportBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"CSV", "NDJSON"})
+    public DealExportFormat format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private Deal[] deals;
+
+    @Setup
+    public void setUp() {
+        deals = new Deal[ROWS];
+        DealStage[] stages = DealStage.values();
+        for (int i = 0; i < ROWS; i++) {
+            deals[i] = Deal.builder()
+                    .id(String.format("%024x", i))
+                    .dealName("Project " + i)
+                    .dealType(i % 2 == 0 ? "M&A" : "IPO")
+                    .status(DealStatus.IN_PROGRESS)
+                    .currentStage(stages[i % stages.length])
+                    .clientName("Client, Holdings " + (i % 500))
+                    .dealValue(BigDecimal.valueOf(1_000_000L + i * 1000L))
+                    .currency("USD")
+                    .sector("Technology")
+                    .assignedTo("user" + (i % 40))
+                    .assignedToUsername("banker" + (i % 40))
+                    .createdBy("user" + (i % 40))
+                    .createdByUsername("banker" + (i % 40))
+                    .tags(List.of("tech", "cross-border"))
+                    .expectedCloseDate(LocalDateTime.of(2026, 12, 31, 0, 0))
+                    .createdAt(LocalDateTime.of(2026, 1, 1, 9, 30))
+                    .updatedAt(LocalDateTime.of(2026, 6, 1, 9, 30))
+                    .summary("Summary with \"quotes\" for deal " + i)
+                    .description("Multi-line\ndescription for deal " + i)
+                    .build();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long writeRows() throws IOException {
+        CountingOutputStream sink = new CountingOutputStream();
+        OutputStream target = gzip ? new GZIPOutputStream(sink, 8192) : sink;
+        try (DealExportWriter writer = DealExportWriter.create(format, target)) {
+            writer.writeHeader();
+            for (Deal deal : deals) {
+                writer.writeRow(deal);
+            }
+        }
+        return sink.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
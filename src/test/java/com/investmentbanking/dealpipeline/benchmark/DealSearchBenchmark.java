@@ -0,0 +1,126 @@
+package com.investmentbanking.dealpipeline.benchmark;
+
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.Note;
+import com.investmentbanking.dealpipeline.search.DealSearchHits;
+import com.investmentbanking.dealpipeline.search.DealSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Full-text search latency - sampled, so the report carries p50/p99 in milliseconds per search call;
+ * the target is p99 under 20 ms at 1M deals. Deal text draws on a Zipf-distributed vocabulary, so the
+ * queries range from terms in most deals (solar, a sector) to rare ones (a client number). Query shapes:
+ * single and two terms, phrase, prefix, excluded term; each run ADMIN-wide and USER-scoped, with the
+ * first page of 20 hits highlighted as the endpoint does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class DealSearchBenchmark {
+
+    private static final String[] SECTORS = {"solar", "telecom", "banking", "logistics", "pharma", "retail", "mining", "software"};
+    private static final String[] ACTIONS = {"acquisition", "carve-out", "refinancing", "merger", "divestiture", "recapitalization"};
+    private static final String[] CLIENTS = {"Acme", "Atlas", "Blue Harbor", "Cedar", "Delta", "Northern", "Summit", "Zephyr"};
+    private static final String[] SYLLABLES = {"ka", "lo", "mer", "ti", "van", "dor", "sil", "ra", "quen", "bel", "tro", "ny",
+            "gal", "pe", "stor", "vi", "mon", "cha", "rel", "du"};
+    private static final int VOCABULARY = 20_000;
+    private static final String[] QUERIES = {"solar", "telecom lomer", "\"management presentation\"", "refin*", "merger -pharma",
+            "atlas", "kalomer", "tidor vanra", "cedar 4711"};
+    private static final int OWNERS = 200;
+
+    @Param({"100000", "1000000"})
+    public int deals;
+
+    private DealSearchIndex index;
+    private String[] vocabulary;
+    private double[] zipf; // cumulative 1/rank weights over the vocabulary
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        vocabulary = new String[VOCABULARY];
+        zipf = new double[VOCABULARY];
+        double total = 0;
+        for (int i = 0; i < VOCABULARY; i++) {
+            vocabulary[i] = i < SECTORS.length ? SECTORS[i] : pseudoWord(i);
+            total += 1.0 / (i + 1);
+            zipf[i] = total;
+        }
+        index = new DealSearchIndex(mock(MongoTemplate.class));
+        index.open(); // no index-path configured - in-memory directory
+        for (int i = 0; i < deals; i++) {
+            String sector = SECTORS[random.nextInt(SECTORS.length)];
+            index.index(Deal.builder()
+                    .id(Integer.toString(i))
+                    .createdBy("user" + random.nextInt(OWNERS))
+                    .dealName(capitalize(sector) + " " + word(random) + " " + ACTIONS[random.nextInt(ACTIONS.length)])
+                    .clientName(CLIENTS[random.nextInt(CLIENTS.length)] + " " + i + " Holdings")
+                    .summary(words(random, 8))
+                    .description(words(random, 30))
+                    .tags(List.of(sector, ACTIONS[random.nextInt(ACTIONS.length)]))
+                    .notes(random.nextInt(4) == 0
+                            ? List.of(Note.builder().noteText("Management presentation " + words(random, 12)).build())
+                            : null)
+                    .build());
+        }
+        index.commit();
+        index.refresh();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Benchmark
+    public DealSearchHits searchAdmin() {
+        return index.search(QUERIES[next++ % QUERIES.length], null, 0, 20);
+    }
+
+    @Benchmark
+    public DealSearchHits searchUser() {
+        int call = next++;
+        return index.search(QUERIES[call % QUERIES.length], "user" + (call % OWNERS), 0, 20);
+    }
+
+    private String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(i == 0 ? "" : " ").append(word(random));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Zipf-distributed word: the sectors are the most frequent, then a long tail of rarer words
+     */
+    private String word(Random random) {
+        int rank = Arrays.binarySearch(zipf, random.nextDouble() * zipf[zipf.length - 1]);
+        return vocabulary[rank >= 0 ? rank : -rank - 1];
+    }
+
+    private static String pseudoWord(int i) {
+        StringBuilder word = new StringBuilder();
+        for (int n = i; n > 0; n /= SYLLABLES.length) {
+            word.append(SYLLABLES[n % SYLLABLES.length]);
+        }
+        return word.toString();
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
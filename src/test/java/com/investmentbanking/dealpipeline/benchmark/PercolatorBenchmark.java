@@ -0,0 +1,97 @@
+package com.investmentbanking.dealpipeline.benchmark;
+
+import com.investmentbanking.dealpipeline.filter.DealPredicate;
+import com.investmentbanking.dealpipeline.filter.FilterParser;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.savedsearch.Percolator;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saved-search matching throughput - scores are deal writes percolated per second.
+ * 10k saved searches over 40 sectors, 8 deal types and 5 stages; 5% have no equality anchor.
+ * scanAll tests every search's predicate, the baseline the percolator replaces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PercolatorBenchmark {
+
+    private static final int SAVED_SEARCHES = 10_000;
+    private static final String[] DEAL_TYPES = {"IPO", "M&A", "Debt", "Equity", "LBO", "SPAC", "Restructuring", "Bond"};
+
+    private Percolator percolator;
+    private List<DealPredicate> predicates;
+    private Deal[] previous;
+    private Deal[] current;
+    private LocalDateTime now;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        percolator = new Percolator();
+        predicates = new ArrayList<>();
+        for (int i = 0; i < SAVED_SEARCHES; i++) {
+            String filter = randomFilter(random);
+            percolator.add("s" + i, "admin", true, "search " + i, filter);
+            FilterParser.Lexed lexed = FilterParser.lex(filter);
+            predicates.add(DealPredicate.compile(FilterParser.parse(lexed), lexed.arguments()));
+        }
+        previous = new Deal[1024];
+        current = new Deal[1024];
+        for (int i = 0; i < current.length; i++) {
+            previous[i] = Deal.builder()
+                    .id("d" + i)
+                    .dealName("Deal " + i)
+                    .sector("Sector" + random.nextInt(40))
+                    .dealType(DEAL_TYPES[random.nextInt(DEAL_TYPES.length)])
+                    .currentStage(DealStage.values()[random.nextInt(4)])
+                    .dealValue(BigDecimal.valueOf(random.nextInt(5000)).movePointRight(6))
+                    .tags(List.of("tag" + random.nextInt(30)))
+                    .createdBy("user" + random.nextInt(100))
+                    .build();
+            current[i] = previous[i].toBuilder().currentStage(DealStage.values()[random.nextInt(4) + 1]).build();
+        }
+        now = LocalDateTime.now();
+    }
+
+    @Benchmark
+    public int percolate() {
+        int i = next++ & (current.length - 1);
+        return percolator.match(previous[i], current[i], now).size();
+    }
+
+    @Benchmark
+    public int scanAll() {
+        int i = next++ & (current.length - 1);
+        int matches = 0;
+        for (DealPredicate predicate : predicates) {
+            if (predicate.test(current[i], now) && !predicate.test(previous[i], now)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private static String randomFilter(Random random) {
+        String value = "dealValue>" + (1 + random.nextInt(4000)) + "M";
+        return switch (random.nextInt(20)) {
+            case 0 -> "tags==tag" + random.nextInt(30) + "," + value;
+            case 1, 2, 3 -> "dealType==" + DEAL_TYPES[random.nextInt(DEAL_TYPES.length)] + ";stage==TermSheetSubmitted";
+            case 4, 5 -> "stage=in=(UnderEvaluation,TermSheetSubmitted);" + value;
+            default -> "sector==Sector" + random.nextInt(40) + ";dealType=='" + DEAL_TYPES[random.nextInt(DEAL_TYPES.length)]
+                    + "';" + value;
+        };
+    }
+}
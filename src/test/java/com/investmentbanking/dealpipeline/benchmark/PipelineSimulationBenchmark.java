@@ -0,0 +1,53 @@
+package com.investmentbanking.dealpipeline.benchmark;
+
+import com.investmentbanking.dealpipeline.analytics.PipelineSimulation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monte Carlo simulation wall time - scores are milliseconds per run of 100,000 trials over 2,000 deals.
+ * Compare the parallelism params for the fork-join speedup; with enough cores the score should fall
+ * close to linearly up to the core count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PipelineSimulationBenchmark {
+
+    private static final int DEALS = 2_000;
+    private static final int TRIALS = 100_000;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private PipelineSimulation simulation;
+    private ForkJoinPool pool;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        simulation = new PipelineSimulation();
+        for (int i = 0; i < DEALS; i++) {
+            simulation.addDeal(1_000_000 + random.nextInt(50_000_000), 0.1 + random.nextDouble() * 0.6,
+                    random.nextInt(180), 14 + random.nextInt(30), 10 + random.nextInt(20));
+        }
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public double[] simulate() {
+        return simulation.run(pool, 92, TRIALS, seed++);
+    }
+}
@@ -0,0 +1,59 @@
+package com.investmentbanking.dealpipeline.benchmark;
+
+import com.investmentbanking.dealpipeline.search.TermTrie;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead lookup latency - scores are nanoseconds per suggest call.
+ * Prefixes of 1-4 characters against 200k distinct client names, the worst case for fan-out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TermTrieBenchmark {
+
+    private static final int TERMS = 200_000;
+    private static final String[] WORDS = {"Acme", "Atlas", "Blue", "Cedar", "Delta", "Harbor", "Northern", "Summit"};
+    private static final String[] SUFFIXES = {"Corp", "Holdings", "Capital", "Partners", "Group", "Industries"};
+
+    private TermTrie trie;
+    private String[] prefixes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        trie = new TermTrie(10);
+        for (int i = 0; i < TERMS; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + i + " " + SUFFIXES[random.nextInt(SUFFIXES.length)];
+            int occurrences = 1 + random.nextInt(5);
+            for (int j = 0; j < occurrences; j++) {
+                trie.add(name);
+            }
+        }
+        prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            prefixes[i] = word.substring(0, 1 + random.nextInt(Math.min(4, word.length())));
+        }
+    }
+
+    @Benchmark
+    public List<TermTrie.TermCount> suggest() {
+        return trie.suggest(prefixes[next++ & (prefixes.length - 1)], 10);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<TermTrie.TermCount> suggestConcurrent() {
+        return trie.suggest(prefixes[ThreadLocalRandom.current().nextInt(prefixes.length)], 10);
+    }
+}
@@ -0,0 +1,70 @@
+package com.investmentbanking.dealpipeline.compliance;
+
+import com.investmentbanking.dealpipeline.dto.ClearanceConflict;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ClearanceBook Unit Tests")
+class ClearanceBookTest {
+
+    @Test
+    @DisplayName("Should flag active deals on other desks involving the same party")
+    void testCheck_ConflictsAcrossDesks() {
+        // Arrange
+        ClearanceBook book = new ClearanceBook();
+        book.put(deal("d1", "Acme Corp", null, "Technology", DealStage.Prospect));
+        book.put(deal("d2", "Globex", "ACME Corporation", "Industrials", DealStage.UnderEvaluation));
+        book.put(deal("d3", "Acme Corp.", null, "Healthcare", DealStage.Closed));
+
+        // Act
+        List<ClearanceConflict> conflicts = book.check(null, "acme corp", null, "Healthcare");
+
+        // Assert
+        assertEquals(2, conflicts.size());
+        assertEquals("d1", conflicts.get(0).getDealId());
+        assertEquals(ClearanceConflict.Relationship.SAME_CLIENT, conflicts.get(0).getRelationship());
+        assertEquals("d2", conflicts.get(1).getDealId());
+        assertEquals(ClearanceConflict.Relationship.CLIENT_IS_COUNTERPARTY, conflicts.get(1).getRelationship());
+        assertEquals("acme", conflicts.get(1).getParty());
+    }
+
+    @Test
+    @DisplayName("Should ignore same-desk deals and the deal itself, and drop deals once closed")
+    void testCheck_SameDeskAndLifecycle() {
+        // Arrange
+        ClearanceBook book = new ClearanceBook();
+        Deal original = deal("d1", "Initech", "Umbrella", "Technology", DealStage.Prospect);
+        book.put(original);
+
+        // Act
+        List<ClearanceConflict> sameDesk = book.check(null, "Initech", null, "technology");
+        List<ClearanceConflict> itself = book.check("d1", "Initech", "Umbrella", "Healthcare");
+        List<ClearanceConflict> otherSide = book.check(null, "Umbrella Inc", null, "Healthcare");
+        book.put(deal("d1", "Initech", "Umbrella", "Technology", DealStage.Lost));
+        List<ClearanceConflict> afterLost = book.check(null, "Initech", null, "Healthcare");
+
+        // Assert
+        assertTrue(sameDesk.isEmpty());
+        assertTrue(itself.isEmpty());
+        assertEquals(ClearanceConflict.Relationship.CLIENT_IS_COUNTERPARTY, otherSide.get(0).getRelationship());
+        assertTrue(afterLost.isEmpty());
+        assertEquals(0, book.size());
+    }
+
+    private Deal deal(String id, String clientName, String counterparty, String sector, DealStage stage) {
+        return Deal.builder()
+                .id(id)
+                .clientName(clientName)
+                .counterparty(counterparty)
+                .sector(sector)
+                .currentStage(stage)
+                .assignedToUsername("banker")
+                .build();
+    }
+}
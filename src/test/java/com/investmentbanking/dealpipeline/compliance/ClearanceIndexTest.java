@@ -0,0 +1,66 @@
+package com.investmentbanking.dealpipeline.compliance;
+
+import com.investmentbanking.dealpipeline.dto.ClearanceConflict;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClearanceIndex Unit Tests")
+class ClearanceIndexTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private ClearanceIndex clearanceIndex;
+
+    @Test
+    @DisplayName("Should flag a deal booked on another replica after the catch-up poll, before the next rebuild")
+    void testCatchUp_PicksUpOtherReplicasDeals() {
+        // Arrange
+        when(mongoTemplate.stream(any(Query.class), eq(Deal.class)))
+                .thenReturn(Stream.of(deal("d1", "Initech", "Technology", DealStage.Prospect)))
+                .thenReturn(Stream.of(deal("d2", "Acme Corp", "Industrials", DealStage.Prospect),
+                        deal("d1", "Initech", "Technology", DealStage.Lost)));
+        clearanceIndex.rebuild();
+        assertTrue(clearanceIndex.check(null, "Acme Corp", null, "Healthcare").isEmpty());
+
+        // Act
+        clearanceIndex.catchUp();
+
+        // Assert
+        List<ClearanceConflict> conflicts = clearanceIndex.check(null, "Acme Corp", null, "Healthcare");
+        assertEquals(1, conflicts.size());
+        assertEquals("d2", conflicts.get(0).getDealId());
+        assertTrue(clearanceIndex.check(null, "Initech", null, "Healthcare").isEmpty()); // lost elsewhere, dropped
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).stream(queries.capture(), eq(Deal.class));
+        assertTrue(queries.getAllValues().get(1).getQueryObject().containsKey("updatedAt"));
+    }
+
+    private static Deal deal(String id, String clientName, String sector, DealStage stage) {
+        return Deal.builder()
+                .id(id)
+                .clientName(clientName)
+                .sector(sector)
+                .currentStage(stage)
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.investmentbanking.dealpipeline.compliance;
+
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.RestrictedEntity;
+import com.investmentbanking.dealpipeline.model.RestrictedListType;
+import com.investmentbanking.dealpipeline.model.ScreeningHit;
+import com.investmentbanking.dealpipeline.repository.RestrictedEntityRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("RestrictedListScreener Unit Tests")
+class RestrictedListScreenerTest {
+
+    @Test
+    @DisplayName("Should report every overlapping pattern occurrence in one pass")
+    void testAhoCorasick_OverlappingMatches() {
+        // Arrange
+        AhoCorasick automaton = AhoCorasick.compile(List.of("he", "she", "his", "hers"));
+        List<String> matches = new ArrayList<>();
+
+        // Act
+        automaton.search("ushers", (patternId, end) -> matches.add(patternId + "@" + end));
+
+        // Assert
+        assertEquals(List.of("1@4", "0@4", "3@6"), matches); // she, he, hers
+    }
+
+    @Test
+    @DisplayName("Should screen deal fields on whole words, aliases and normalized names")
+    void testScreen_HitsPerField() {
+        // Arrange
+        RestrictedListScreener screener = new RestrictedListScreener(mock(RestrictedEntityRepository.class));
+        screener.load(List.of(
+                entity("e1", "Acme Corporation", RestrictedListType.RESTRICTED, List.of("Acme Rockets")),
+                entity("e2", "Initech", RestrictedListType.WATCH, null),
+                entity("e3", "Ace", RestrictedListType.WATCH, null)));
+        Deal deal = Deal.builder()
+                .clientName("ACME Corp.")
+                .dealName("Project Peace")
+                .description("Carve-out of acme rockets; Initech and INITECH LLC are bidders")
+                .build();
+
+        // Act
+        List<ScreeningHit> hits = screener.screen(deal);
+
+        // Assert
+        assertEquals(3, hits.size());
+        assertEquals("clientName", hits.get(0).getField());
+        assertEquals("e1", hits.get(0).getEntityId());
+        assertEquals(RestrictedListType.RESTRICTED, hits.get(0).getListType());
+        assertEquals("description", hits.get(1).getField());
+        assertEquals("acme", hits.get(1).getMatchedText()); // first term of the entity to end in the text
+        assertEquals("e2", hits.get(2).getEntityId()); // reported once although mentioned twice
+        assertTrue(hits.stream().noneMatch(hit -> hit.getEntityId().equals("e3"))); // "ace" is not a word in "peace"
+    }
+
+    @Test
+    @DisplayName("Should swap in a recompiled list")
+    void testLoad_ReplacesList() {
+        // Arrange
+        RestrictedListScreener screener = new RestrictedListScreener(mock(RestrictedEntityRepository.class));
+        Deal deal = Deal.builder().clientName("Globex").build();
+        screener.load(List.of(entity("e1", "Globex", RestrictedListType.WATCH, null)));
+        List<ScreeningHit> before = screener.screen(deal);
+
+        // Act
+        screener.load(List.of());
+        List<ScreeningHit> after = screener.screen(deal);
+
+        // Assert
+        assertEquals(1, before.size());
+        assertTrue(after.isEmpty());
+    }
+
+    private RestrictedEntity entity(String id, String name, RestrictedListType listType, List<String> aliases) {
+        return RestrictedEntity.builder()
+                .id(id)
+                .name(name)
+                .listType(listType)
+                .aliases(aliases)
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.investmentbanking.dealpipeline.export;
+
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryEncoder;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DealArrowWriter Unit Tests")
+class DealArrowWriterTest {
+
+    @Test
+    @DisplayName("Should write dictionary-encoded record batches readable by an Arrow stream reader")
+    void testWrite_RoundTrip() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act - batch size 2 with 3 rows forces a full and a partial batch
+        try (DealArrowWriter writer = new DealArrowWriter(out, List.of("M&A", "IPO"), List.of("Technology"),
+                List.of("USD"), 2)) {
+            writer.writeHeader();
+            writer.writeRow(deal("d1", "IPO", DealStage.Prospect, new BigDecimal("1000000")));
+            writer.writeRow(deal("d2", "M&A", DealStage.Closed, null));
+            writer.writeRow(deal("d3", "Unknown", DealStage.Lost, new BigDecimal("12.345")));
+        }
+
+        // Assert
+        int rows = 0;
+        int batches = 0;
+        try (RootAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(out.toByteArray()), allocator)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            assertNotNull(root.getSchema().findField("dealType").getDictionary());
+            while (reader.loadNextBatch()) {
+                batches++;
+                IntVector stageIndexes = (IntVector) root.getVector("currentStage");
+                Dictionary stages = reader.getDictionaryVectors()
+                        .get(stageIndexes.getField().getDictionary().getId());
+                try (ValueVector decoded = DictionaryEncoder.decode(stageIndexes, stages)) {
+                    if (rows == 0) {
+                        assertEquals("Prospect", decoded.getObject(0).toString());
+                        assertEquals(new BigDecimal("1000000.00"), ((DecimalVector) root.getVector("dealValue")).getObject(0));
+                    } else {
+                        assertEquals("Lost", decoded.getObject(0).toString());
+                        assertTrue(root.getVector("dealType").isNull(0)); // not in the dictionary
+                        assertEquals(new BigDecimal("12.35"), ((DecimalVector) root.getVector("dealValue")).getObject(0));
+                    }
+                }
+                rows += root.getRowCount();
+            }
+        }
+        assertEquals(3, rows);
+        assertEquals(2, batches);
+    }
+
+    private Deal deal(String id, String dealType, DealStage stage, BigDecimal value) {
+        return Deal.builder()
+                .id(id)
+                .dealName("Deal " + id)
+                .dealType(dealType)
+                .currentStage(stage)
+                .sector("Technology")
+                .currency("USD")
+                .dealValue(value)
+                .build();
+    }
+}
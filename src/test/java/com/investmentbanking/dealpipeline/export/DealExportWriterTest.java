@@ -0,0 +1,71 @@
+package com.investmentbanking.dealpipeline.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DealExportWriter Unit Tests")
+class DealExportWriterTest {
+
+    private final Deal deal = Deal.builder()
+            .id("deal123")
+            .dealName("Acme, \"Project X\"")
+            .currentStage(DealStage.Prospect)
+            .clientName("Acme Corp")
+            .dealValue(new BigDecimal("1500000.00"))
+            .tags(List.of("tech", "cross-border"))
+            .description("line one\nline two")
+            .build();
+
+    @Test
+    @DisplayName("Should quote and escape CSV fields per RFC 4180")
+    void testCsv_Escaping() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        try (DealExportWriter writer = DealExportWriter.create(DealExportFormat.CSV, out)) {
+            writer.writeHeader();
+            writer.writeRow(deal);
+        }
+
+        // Assert
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("id,dealName,dealType,status,currentStage,clientName,dealValue"));
+        assertTrue(csv.contains("deal123,\"Acme, \"\"Project X\"\"\",,,Prospect,Acme Corp,1500000.00"));
+        assertTrue(csv.contains("tech|cross-border"));
+        assertTrue(csv.contains("\"line one\nline two\""));
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line for NDJSON")
+    void testNdjson_OneObjectPerLine() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        try (DealExportWriter writer = DealExportWriter.create(DealExportFormat.NDJSON, out)) {
+            writer.writeHeader();
+            writer.writeRow(deal);
+            writer.writeRow(deal);
+        }
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode row = new ObjectMapper().readTree(lines[0]);
+        assertEquals("Acme, \"Project X\"", row.get("dealName").asText());
+        assertTrue(lines[0].contains("\"dealValue\":1500000.00"));
+        assertEquals(2, row.get("tags").size());
+    }
+}
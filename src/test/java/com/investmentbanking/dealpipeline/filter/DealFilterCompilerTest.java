@@ -0,0 +1,166 @@
+package com.investmentbanking.dealpipeline.filter;
+
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import com.investmentbanking.dealpipeline.exception.UnauthorizedException;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DealFilterCompiler Unit Tests")
+class DealFilterCompilerTest {
+
+    @Test
+    @DisplayName("Should compile stage, tag, date and value constraints to one $and")
+    void testCompile_FullExample() {
+        // Arrange
+        DealFilterCompiler compiler = new DealFilterCompiler(16);
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        Document query = compiler.compile("stage=in=(Prospect,UnderEvaluation);tags=in=(tech,'cross-border');"
+                + "expectedCloseDate=le=90d;dealValue>100M", true).getCriteriaObject();
+
+        // Assert
+        List<Document> and = query.getList("$and", Document.class);
+        assertEquals(4, and.size());
+        assertEquals(List.of(DealStage.Prospect, DealStage.UnderEvaluation),
+                and.get(0).get("currentStage", Document.class).get("$in"));
+        assertEquals(List.of("tech", "cross-border"), and.get(1).get("tags", Document.class).get("$in"));
+        LocalDateTime closeBy = (LocalDateTime) and.get(2).get("expectedCloseDate", Document.class).get("$lte");
+        assertFalse(closeBy.isBefore(before.plusDays(90)));
+        assertFalse(closeBy.isAfter(LocalDateTime.now().plusDays(90)));
+        assertEquals(new Decimal128(new BigDecimal("100000000")), and.get(3).get("dealValue", Document.class).get("$gt"));
+    }
+
+    @Test
+    @DisplayName("Should bind AND tighter than OR and honour parentheses and keywords")
+    void testCompile_Precedence() {
+        // Arrange
+        DealFilterCompiler compiler = new DealFilterCompiler(16);
+
+        // Act
+        Document flat = compiler.compile("sector==Tech,sector==Energy;dealType==IPO", true).getCriteriaObject();
+        Document grouped = compiler.compile("(sector==Tech or sector==Energy) and dealType==IPO", true).getCriteriaObject();
+
+        // Assert
+        List<Document> or = flat.getList("$or", Document.class);
+        assertEquals(2, or.size());
+        assertEquals("Tech", or.get(0).get("sector"));
+        assertEquals(2, or.get(1).getList("$and", Document.class).size());
+        List<Document> and = grouped.getList("$and", Document.class);
+        assertEquals(2, and.get(0).getList("$or", Document.class).size());
+        assertEquals("IPO", and.get(1).get("dealType"));
+    }
+
+    @Test
+    @DisplayName("Should turn a trailing * into an anchored, quoted prefix regex")
+    void testCompile_PrefixWildcard() {
+        // Arrange
+        DealFilterCompiler compiler = new DealFilterCompiler(16);
+
+        // Act
+        Document query = compiler.compile("clientName==\"Acme (UK)*\"", true).getCriteriaObject();
+
+        // Assert
+        Pattern pattern = (Pattern) query.get("clientName");
+        assertTrue(pattern.matcher("Acme (UK) Holdings").find());
+        assertFalse(pattern.matcher("The Acme (UK)").find());
+    }
+
+    @Test
+    @DisplayName("Should reuse one cached plan for queries that differ only in literals or operator spelling")
+    void testCompile_PlanCacheByShape() {
+        // Arrange
+        DealFilterCompiler compiler = new DealFilterCompiler(16);
+
+        // Act
+        Document first = compiler.compile("dealValue=gt=100M;stage==Prospect", true).getCriteriaObject();
+        Document second = compiler.compile("dealValue > 5B ; stage == Closed", true).getCriteriaObject();
+
+        // Assert
+        assertEquals(1, compiler.getCacheMisses());
+        assertEquals(1, compiler.getCacheHits());
+        assertEquals(1, compiler.getCacheSize());
+        assertEquals(new Decimal128(new BigDecimal("100000000")),
+                first.getList("$and", Document.class).get(0).get("dealValue", Document.class).get("$gt"));
+        assertEquals(DealStage.Prospect, first.getList("$and", Document.class).get(1).get("currentStage"));
+        assertEquals(DealStage.Closed, second.getList("$and", Document.class).get(1).get("currentStage"));
+        assertEquals(new Decimal128(new BigDecimal("5000000000")),
+                second.getList("$and", Document.class).get(0).get("dealValue", Document.class).get("$gt"));
+    }
+
+    @Test
+    @DisplayName("Should keep the cache bounded and give plans in use a second chance")
+    void testCompile_PlanCacheBounded() {
+        // Arrange
+        DealFilterCompiler compiler = new DealFilterCompiler(2);
+
+        // Act
+        compiler.compile("sector==a", true);
+        compiler.compile("dealType==a", true);
+        compiler.compile("currency==a", true); // sweep clears both flags, evicts one of the first two on the second pass
+        compiler.compile("sector==b", true);
+        compiler.compile("dealType==b", true);
+
+        // Assert
+        assertEquals(2, compiler.getCacheSize());
+        assertEquals(5, compiler.getCacheHits() + compiler.getCacheMisses());
+        assertTrue(compiler.getCacheHits() >= 1); // at most one of sector / dealType was evicted
+    }
+
+    @Test
+    @DisplayName("Should compile without caching when the cache size is 0")
+    void testCompile_PlanCacheOff() {
+        // Arrange
+        DealFilterCompiler compiler = new DealFilterCompiler(0);
+
+        // Act
+        compiler.compile("sector==a", true);
+        compiler.compile("sector==b", true);
+
+        // Assert
+        assertEquals(0, compiler.getCacheSize());
+        assertEquals(0, compiler.getCacheHits());
+    }
+
+    @Test
+    @DisplayName("Should reject fields outside the whitelist, unsupported operators and bad values")
+    void testCompile_Validation() {
+        // Arrange
+        DealFilterCompiler compiler = new DealFilterCompiler(16);
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> compiler.compile("screeningHits.term==acme", true));
+        assertThrows(BadRequestException.class, () -> compiler.compile("dealName=gt=M", true));
+        assertThrows(BadRequestException.class, () -> compiler.compile("createdAt==2026-01-01", true));
+        assertThrows(BadRequestException.class, () -> compiler.compile("stage==Signed", true));
+        assertThrows(BadRequestException.class, () -> compiler.compile("dealValue=gt=lots", true));
+        assertThrows(BadRequestException.class, () -> compiler.compile("expectedCloseDate<soon", true));
+        assertThrows(BadRequestException.class, () -> compiler.compile("sector==(a,b)", true));
+        assertThrows(BadRequestException.class, () -> compiler.compile("sector=like=a", true));
+        assertThrows(BadRequestException.class, () -> compiler.compile("(sector==a", true));
+        assertThrows(BadRequestException.class, () -> compiler.compile("sector==a;", true));
+        assertEquals(3, compiler.getCacheSize()); // bad literals leave a valid plan; structural errors cache nothing
+    }
+
+    @Test
+    @DisplayName("Should only let ADMIN filter on dealValue")
+    void testCompile_DealValueAdminOnly() {
+        // Arrange
+        DealFilterCompiler compiler = new DealFilterCompiler(16);
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> compiler.compile("sector==a,dealValue>=1", false));
+        assertNotNull(compiler.compile("sector==a,dealValue>=1", true));
+        assertNotNull(compiler.compile("sector==a", false));
+    }
+}
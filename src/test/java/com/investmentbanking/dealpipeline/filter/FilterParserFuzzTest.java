@@ -0,0 +1,215 @@
+package com.investmentbanking.dealpipeline.filter;
+
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import com.investmentbanking.dealpipeline.exception.UnauthorizedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Randomized tests of the filter parser. Seeds are fixed so a failure reproduces;
+ * the failing input is part of the assertion message.
+ */
+@DisplayName("FilterParser Fuzz Tests")
+class FilterParserFuzzTest {
+
+    private static final int ITERATIONS = 20_000;
+    private static final String ALPHABET = "()();;,,==!<>''\"\"\\ \t*-+.:_abcdefgnorstuvwxyzABCDEFGIMOPSTU0123456789";
+    private static final String[] SEEDS = {
+            "stage=in=(Prospect,UnderEvaluation);tags=in=(tech,cross-border);expectedCloseDate=le=90d;dealValue>100M",
+            "(sector==Technology or sector==Energy) and dealType!=IPO",
+            "clientName==\"Acme (UK)*\",counterparty=out=('O''Neil', \"x\\\"y\")",
+            "createdAt>=2026-01-01;updatedAt<now-2w;actualCloseDate=gt=2026-03-01T10:15:30",
+    };
+    private static final String[] SELECTORS = {"stage", "currentStage", "status", "sector", "tags", "dealName",
+            "dealValue", "createdAt", "expectedCloseDate", "unknownField"};
+    private static final FilterOperator[] OPERATORS = FilterOperator.values();
+    private static final String[] VALUES = {"Prospect", "closed", "tech", "cross border", "O'Neil", "a,b;c",
+            "say \"hi\"", "back\\slash", "100M", "-1.5", "2026-01-31", "now", "90d", "Acme*", ""};
+
+    @Test
+    @DisplayName("Should reject random input with BadRequestException only")
+    void testRandomInput() {
+        // Arrange
+        Random random = new Random(37);
+        DealFilterCompiler compiler = new DealFilterCompiler(64);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            char[] chars = new char[random.nextInt(80)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+            }
+
+            // Act & Assert
+            assertCompilesOrRejects(compiler, new String(chars));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject mutated valid filters with BadRequestException only")
+    void testMutatedInput() {
+        // Arrange
+        Random random = new Random(41);
+        DealFilterCompiler compiler = new DealFilterCompiler(64);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            StringBuilder input = new StringBuilder(SEEDS[random.nextInt(SEEDS.length)]);
+            int mutations = 1 + random.nextInt(4);
+            for (int m = 0; m < mutations && input.length() > 0; m++) {
+                int at = random.nextInt(input.length());
+                char c = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+                switch (random.nextInt(3)) {
+                    case 0 -> input.insert(at, c);
+                    case 1 -> input.deleteCharAt(at);
+                    default -> input.setCharAt(at, c);
+                }
+            }
+
+            // Act & Assert
+            assertCompilesOrRejects(compiler, input.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should bound nesting depth and size instead of overflowing the stack")
+    void testPathologicalInput() {
+        // Arrange
+        String deep = "(".repeat(5000) + "sector==a" + ")".repeat(5000);
+        String wide = "sector==a;".repeat(FilterParser.MAX_COMPARISONS) + "sector==a";
+        String longList = "tags=in=(" + "a,".repeat(FilterParser.MAX_LIST_VALUES) + "a)";
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> FilterParser.parse(deep));
+        assertThrows(BadRequestException.class, () -> FilterParser.parse(wide));
+        assertThrows(BadRequestException.class, () -> FilterParser.parse(longList));
+        assertThrows(BadRequestException.class, () -> FilterParser.parse("a==" + "x".repeat(FilterParser.MAX_LENGTH)));
+        String nested = "(".repeat(FilterParser.MAX_DEPTH) + "sector==a" + ")".repeat(FilterParser.MAX_DEPTH);
+        assertInstanceOf(FilterNode.Comparison.class, FilterParser.parse(nested));
+    }
+
+    @Test
+    @DisplayName("Should parse a rendered random AST back to the same tree, literals and shape")
+    void testRoundTrip() {
+        // Arrange
+        Random random = new Random(43);
+
+        for (int i = 0; i < 5_000; i++) {
+            List<List<String>> arguments = new ArrayList<>();
+            FilterNode tree = randomTree(random, arguments, 0);
+            StringBuilder rendered = new StringBuilder();
+            render(tree, arguments, random, rendered, false);
+            StringBuilder shape = new StringBuilder();
+            render(tree, null, random, shape, true);
+
+            // Act
+            FilterParser.Lexed lexed = FilterParser.lex(rendered.toString());
+            FilterNode parsed = FilterParser.parse(lexed);
+
+            // Assert
+            assertEquals(tree, parsed, rendered::toString);
+            assertEquals(arguments, lexed.arguments(), rendered::toString);
+            assertEquals(shape.toString(), lexed.shape(), rendered::toString);
+        }
+    }
+
+    private static void assertCompilesOrRejects(DealFilterCompiler compiler, String input) {
+        try {
+            compiler.compile(input, true);
+            compiler.compile(input, false);
+        } catch (BadRequestException | UnauthorizedException expected) {
+            // rejected cleanly
+        } catch (Throwable unexpected) {
+            fail("Unexpected " + unexpected + " for input [" + input + "]", unexpected);
+        }
+    }
+
+    private static FilterNode randomTree(Random random, List<List<String>> arguments, int depth) {
+        if (depth >= 3 || arguments.size() >= 20 || random.nextInt(3) == 0) {
+            FilterOperator operator = OPERATORS[random.nextInt(OPERATORS.length)];
+            boolean list = operator.isMultiValue() && random.nextBoolean();
+            List<String> values = new ArrayList<>();
+            int count = list ? 1 + random.nextInt(4) : 1;
+            for (int i = 0; i < count; i++) {
+                values.add(VALUES[random.nextInt(VALUES.length)]);
+            }
+            arguments.add(values);
+            return new FilterNode.Comparison(SELECTORS[random.nextInt(SELECTORS.length)], operator, arguments.size() - 1, list);
+        }
+        List<FilterNode> children = new ArrayList<>();
+        int count = 2 + random.nextInt(3);
+        for (int i = 0; i < count; i++) {
+            children.add(randomTree(random, arguments, depth + 1));
+        }
+        return random.nextBoolean() ? new FilterNode.And(children) : new FilterNode.Or(children);
+    }
+
+    /**
+     * Renders with random spacing, keyword or symbol connectives and quoting;
+     * with shapeOnly it renders the normalized shape the lexer should produce instead
+     */
+    private static void render(FilterNode node, List<List<String>> arguments, Random random, StringBuilder out,
+                               boolean shapeOnly) {
+        if (node instanceof FilterNode.Comparison comparison) {
+            out.append(comparison.selector()).append(shapeOnly ? "" : space(random))
+                    .append(comparison.operator().getSymbol()).append(shapeOnly ? "" : space(random));
+            if (shapeOnly) {
+                out.append(comparison.list() ? "(*)" : "?");
+                return;
+            }
+            List<String> values = arguments.get(comparison.argumentIndex());
+            if (comparison.list()) {
+                out.append('(');
+                for (int i = 0; i < values.size(); i++) {
+                    out.append(i > 0 ? "," + space(random) : "").append(quote(values.get(i), random));
+                }
+                out.append(')');
+            } else {
+                out.append(quote(values.get(0), random));
+            }
+            return;
+        }
+        boolean and = node instanceof FilterNode.And;
+        List<FilterNode> children = and ? ((FilterNode.And) node).children() : ((FilterNode.Or) node).children();
+        for (int i = 0; i < children.size(); i++) {
+            if (i > 0) {
+                if (shapeOnly) {
+                    out.append(and ? ';' : ',');
+                } else if (random.nextBoolean()) {
+                    out.append(and ? " and " : " OR ");
+                } else {
+                    out.append(space(random)).append(and ? ';' : ',').append(space(random));
+                }
+            }
+            FilterNode child = children.get(i);
+            boolean group = !(child instanceof FilterNode.Comparison);
+            out.append(group ? "(" : "");
+            render(child, arguments, random, out, shapeOnly);
+            out.append(group ? ")" : "");
+        }
+    }
+
+    private static String quote(String value, Random random) {
+        boolean plain = !value.isEmpty() && value.chars().noneMatch(c -> " \"'\\(),;=!<>".indexOf(c) >= 0);
+        if (plain && random.nextBoolean()) {
+            return value;
+        }
+        char quote = random.nextBoolean() ? '"' : '\'';
+        StringBuilder quoted = new StringBuilder().append(quote);
+        for (char c : value.toCharArray()) {
+            if (c == quote || c == '\\') {
+                quoted.append('\\');
+            }
+            quoted.append(c);
+        }
+        return quoted.append(quote).toString();
+    }
+
+    private static String space(Random random) {
+        return random.nextInt(4) == 0 ? " " : "";
+    }
+}
@@ -0,0 +1,92 @@
+package com.investmentbanking.dealpipeline.fx;
+
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.model.FxRate;
+import com.investmentbanking.dealpipeline.repository.FxRateRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("FxRateTable Unit Tests")
+class FxRateTableTest {
+
+    private static final List<FxRate> RATES = List.of(
+            rate("EUR", "1.10", 2024, 3, 1),
+            rate("EUR", "1.05", 2024, 1, 1),
+            rate("EUR", "1.20", 2024, 6, 1),
+            rate("GBP", "1.25", 2024, 1, 1));
+
+    @Test
+    @DisplayName("Should look up the rate in effect on a date, the latest rate and the base currency")
+    void testRate() {
+        // Arrange
+        FxRateTable table = FxRateTable.of("usd", RATES);
+
+        // Act & Assert
+        assertEquals("USD", table.getBaseCurrency());
+        assertEquals(List.of("EUR", "GBP"), table.getCurrencies());
+        assertEquals(4, table.getRateCount());
+        assertEquals(new BigDecimal("1.05"), table.rate("EUR", LocalDate.of(2023, 6, 30))); // before the first rate
+        assertEquals(new BigDecimal("1.05"), table.rate("EUR", LocalDate.of(2024, 2, 29)));
+        assertEquals(new BigDecimal("1.10"), table.rate("EUR", LocalDate.of(2024, 3, 1)));
+        assertEquals(new BigDecimal("1.20"), table.rate(" eur ", LocalDate.of(2025, 1, 1)));
+        assertEquals(new BigDecimal("1.20"), table.rate("EUR", null));
+        assertEquals(BigDecimal.ONE, table.rate("USD", null));
+        assertEquals(BigDecimal.ONE, table.rate(null, null));
+        assertNull(table.rate("JPY", null));
+        assertNull(table.rate("EURO", null));
+    }
+
+    @Test
+    @DisplayName("Should split a currency's rates into consecutive date ranges")
+    void testSegments() {
+        // Arrange
+        FxRateTable table = FxRateTable.of("USD", RATES);
+
+        // Act
+        List<FxRateTable.Segment> segments = table.segments("EUR");
+
+        // Assert
+        assertEquals(List.of(
+                new FxRateTable.Segment(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 1), new BigDecimal("1.05")),
+                new FxRateTable.Segment(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 6, 1), new BigDecimal("1.10")),
+                new FxRateTable.Segment(LocalDate.of(2024, 6, 1), null, new BigDecimal("1.20"))), segments);
+        assertTrue(table.segments("JPY").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should value open deals at the latest rate and closed deals at their close date")
+    void testToBase() {
+        // Arrange
+        FxRateRepository repository = mock(FxRateRepository.class);
+        when(repository.findAll()).thenReturn(RATES);
+        FxRates fxRates = new FxRates(repository, null, null, "USD");
+        fxRates.reload();
+        Deal open = Deal.builder().currentStage(DealStage.Prospect).currency("EUR").dealValue(new BigDecimal("1000")).build();
+        Deal closed = open.toBuilder().currentStage(DealStage.Closed)
+                .actualCloseDate(LocalDateTime.of(2024, 4, 15, 12, 0)).build();
+
+        // Act & Assert
+        assertEquals(0, new BigDecimal("1200").compareTo(fxRates.toBase(open)));
+        assertEquals(0, new BigDecimal("1100").compareTo(fxRates.toBase(closed)));
+        assertNull(fxRates.toBase(open.toBuilder().currency("JPY").build()));
+        assertNull(fxRates.toBase(open.toBuilder().dealValue(null).build()));
+    }
+
+    private static FxRate rate(String currency, String rate, int year, int month, int day) {
+        return FxRate.builder()
+                .currency(currency)
+                .rate(new BigDecimal(rate))
+                .effectiveDate(LocalDate.of(year, month, day))
+                .build();
+    }
+}
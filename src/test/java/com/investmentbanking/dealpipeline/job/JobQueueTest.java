@@ -0,0 +1,101 @@
+package com.investmentbanking.dealpipeline.job;
+
+import com.investmentbanking.dealpipeline.model.Job;
+import com.investmentbanking.dealpipeline.model.JobStatus;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JobQueue Unit Tests")
+class JobQueueTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private JobQueue jobQueue;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jobQueue, "leaseDurationMs", 60000L);
+        ReflectionTestUtils.setField(jobQueue, "maxAttempts", 3);
+        ReflectionTestUtils.setField(jobQueue, "retryBackoffMs", 30000L);
+    }
+
+    @Test
+    @DisplayName("Should claim only with an atomic findAndModify guarded by status and lease")
+    void testClaimNext_UsesFindAndModify() {
+        // Arrange
+        Job claimed = Job.builder().id("job1").type("DEAL_EXPORT").status(JobStatus.RUNNING).attempts(1).build();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Job.class)))
+                .thenReturn(claimed);
+
+        // Act
+        Job job = jobQueue.claimNext("DEAL_EXPORT", "worker-1");
+
+        // Assert
+        assertSame(claimed, job);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(Job.class));
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals(JobStatus.RUNNING, set.get("status"));
+        assertEquals("worker-1", set.get("leaseOwner"));
+        assertNotNull(set.get("leaseExpiresAt"));
+    }
+
+    @Test
+    @DisplayName("Should requeue a failed job while attempts remain")
+    void testFail_RequeuesWithBackoff() {
+        // Arrange
+        Job job = Job.builder().id("job1").attempts(1).build();
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Job.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        // Act
+        jobQueue.fail(job, "worker-1", new IllegalStateException("boom"));
+
+        // Assert
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(Job.class));
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals(JobStatus.QUEUED, set.get("status"));
+        assertNotNull(set.get("nextRunAt"));
+        assertEquals("IllegalStateException: boom", set.get("error"));
+    }
+
+    @Test
+    @DisplayName("Should mark job FAILED once attempts are exhausted")
+    void testFail_FinalAttempt() {
+        // Arrange
+        Job job = Job.builder().id("job1").attempts(3).build();
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Job.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        // Act
+        jobQueue.fail(job, "worker-1", new RuntimeException("boom"));
+
+        // Assert
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(Job.class));
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals(JobStatus.FAILED, set.get("status"));
+        assertNotNull(set.get("finishedAt"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.investmentbanking.dealpipeline.job;
+
+import com.investmentbanking.dealpipeline.export.DealExportFormat;
+import com.investmentbanking.dealpipeline.model.Job;
+import com.investmentbanking.dealpipeline.model.JobStatus;
+import com.investmentbanking.dealpipeline.service.DealExportService;
+import com.mongodb.client.gridfs.GridFSUploadStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.env.Environment;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JobWorker Unit Tests")
+class JobWorkerTest {
+
+    @Mock
+    private JobQueue jobQueue;
+
+    @Mock
+    private ObjectProvider<JobHandler> handlers;
+
+    @Mock
+    private Environment environment;
+
+    @Mock
+    private DealExportService dealExportService;
+
+    @Mock
+    private GridFSUploadStream artifactStream;
+
+    @Test
+    @DisplayName("Should requeue an export interrupted by shutdown instead of completing it with a partial artifact")
+    void testRun_InterruptedMidExport() throws Exception {
+        // Arrange
+        Job job = Job.builder().id("job1").type(DealExportJobHandler.TYPE).status(JobStatus.RUNNING)
+                .attempts(1).params(Map.of("format", "csv")).build();
+        when(handlers.orderedStream()).thenAnswer(invocation -> Stream.of(new DealExportJobHandler(dealExportService)));
+        when(jobQueue.claimNext(eq(DealExportJobHandler.TYPE), anyString())).thenReturn(job, (Job) null);
+        when(jobQueue.openArtifactUpload(eq("job1"), anyString(), anyString())).thenReturn(artifactStream);
+        when(jobQueue.updateProgress(anyString(), anyString(), anyLong(), any())).thenReturn(true);
+        when(dealExportService.countDeals(any())).thenReturn(1_000_000L);
+        CountDownLatch exporting = new CountDownLatch(1);
+        when(dealExportService.writeDeals(any(), eq(DealExportFormat.CSV), anyBoolean(), any(OutputStream.class), any()))
+                .thenAnswer(invocation -> {
+                    LongPredicate progress = invocation.getArgument(4);
+                    long rows = 0;
+                    // like the real export: keep writing until the progress callback says stop, then return the partial count
+                    while (progress.test(++rows)) {
+                        exporting.countDown();
+                        try {
+                            Thread.sleep(1);
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    return rows;
+                });
+        JobWorker worker = new JobWorker(jobQueue, handlers, environment);
+
+        // Act
+        worker.poll();
+        assertTrue(exporting.await(5, TimeUnit.SECONDS), "export should have started");
+        worker.shutdown();
+
+        // Assert
+        verify(jobQueue).release(eq(job), anyString());
+        verify(jobQueue, never()).complete(any(), anyString(), any());
+        verify(jobQueue, never()).fail(any(), anyString(), any());
+        verify(artifactStream).abort();
+        verify(artifactStream, never()).close();
+    }
+}
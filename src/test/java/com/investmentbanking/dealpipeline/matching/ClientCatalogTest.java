@@ -0,0 +1,102 @@
+package com.investmentbanking.dealpipeline.matching;
+
+import com.investmentbanking.dealpipeline.dto.ClientMatchCandidate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ClientCatalog Unit Tests")
+class ClientCatalogTest {
+
+    @Test
+    @DisplayName("Should normalize case, punctuation, accents and legal suffixes")
+    void testNormalize() {
+        assertEquals("acme", ClientNameNormalizer.normalize("Acme Corp"));
+        assertEquals("acme", ClientNameNormalizer.normalize("ACME Corporation"));
+        assertEquals("acme", ClientNameNormalizer.normalize("Acme Corp."));
+        assertEquals("acme", ClientNameNormalizer.normalize("The Acme Company, L.L.C."));
+        assertEquals("societe generale", ClientNameNormalizer.normalize("Société Générale S.A."));
+        assertEquals("johnson and johnson", ClientNameNormalizer.normalize("Johnson & Johnson"));
+        assertEquals("company", ClientNameNormalizer.normalize("The Company"));
+        assertEquals("", ClientNameNormalizer.normalize(" ... "));
+    }
+
+    @Test
+    @DisplayName("Should match same-key spellings and near-duplicates, best first")
+    void testMatch() {
+        // Arrange
+        ClientCatalog catalog = new ClientCatalog();
+        catalog.add("Acme Corp", "user1");
+        catalog.add("Acme Corp", "user2");
+        catalog.add("Acme Corp.", "user1");
+        catalog.add("Northwind Holdings", "user2");
+        catalog.add("Blue Harbor Capital", "user1");
+
+        // Act
+        List<ClientMatchCandidate> exact = catalog.match("ACME Corporation", 0.5, 5, null);
+        List<ClientMatchCandidate> fuzzy = catalog.match("Northwind Holdngs", 0.5, 5, null);
+        List<ClientMatchCandidate> none = catalog.match("Zephyr Labs", 0.5, 5, null);
+
+        // Assert
+        assertEquals(1, exact.size());
+        assertEquals("Acme Corp", exact.get(0).getClientName());
+        assertEquals(1.0, exact.get(0).getSimilarity());
+        assertEquals(3, exact.get(0).getDealCount());
+        assertEquals(1, fuzzy.size());
+        assertEquals("northwind holdings", fuzzy.get(0).getNormalizedName());
+        assertTrue(fuzzy.get(0).getSimilarity() < 1.0);
+        assertTrue(none.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should cluster spelling variants and drop clients once their last deal is removed")
+    void testClustersAndRemove() {
+        // Arrange
+        ClientCatalog catalog = new ClientCatalog();
+        catalog.add("Acme Corp", "user1");
+        catalog.add("ACME Corporation", "user1");
+        catalog.add("Northwind Holdings", "user1");
+        catalog.add("Northwind Holdngs", "user1");
+        catalog.add("Blue Harbor Capital", "user1");
+
+        // Act
+        List<ClientCluster> clusters = catalog.clusters(0.5);
+        catalog.remove("Blue Harbor Capital", "user1");
+
+        // Assert
+        assertEquals(2, clusters.size());
+        assertTrue(clusters.stream().allMatch(cluster -> cluster.getMembers().size() == 2));
+        assertTrue(clusters.stream().anyMatch(cluster -> cluster.getMembers().stream()
+                .anyMatch(member -> member.getClientName().equals("ACME Corporation"))));
+        assertEquals(3, catalog.size()); // acme, northwind holdings, northwind holdngs
+        assertTrue(catalog.match("Blue Harbor Capital", 0.5, 5, null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should only match an owner's own clients, with the owner's deal count")
+    void testMatchRestrictedToOwner() {
+        // Arrange
+        ClientCatalog catalog = new ClientCatalog();
+        catalog.add("Acme Corp", "user1");
+        catalog.add("Acme Corp.", "user1");
+        catalog.add("Acme Corp", "user2");
+        catalog.add("Northwind Holdings", "user2");
+
+        // Act
+        List<ClientMatchCandidate> own = catalog.match("ACME Corporation", 0.5, 5, "user1");
+        List<ClientMatchCandidate> otherDesk = catalog.match("Northwind Holdngs", 0.5, 5, "user1");
+        catalog.remove("Acme Corp", "user1");
+        catalog.remove("Acme Corp.", "user1");
+        List<ClientMatchCandidate> afterRemove = catalog.match("ACME Corporation", 0.5, 5, "user1");
+
+        // Assert
+        assertEquals(1, own.size());
+        assertEquals(2, own.get(0).getDealCount());
+        assertTrue(otherDesk.isEmpty());
+        assertTrue(afterRemove.isEmpty());
+        assertEquals(1, catalog.match("ACME Corporation", 0.5, 5, "user2").size());
+    }
+}
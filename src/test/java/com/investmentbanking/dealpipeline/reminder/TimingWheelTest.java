@@ -0,0 +1,93 @@
+package com.investmentbanking.dealpipeline.reminder;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TimingWheel Unit Tests")
+class TimingWheelTest {
+
+    private static final long START = 1_700_000_000_000L;
+    private static final long TICK = 1000;
+
+    @Test
+    @DisplayName("Should expire keys at their deadline across cascades from the upper levels")
+    void testAdvance_CascadesAndExpiresOnTime() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 3, START);
+        wheel.schedule("soon", START + 5 * TICK);
+        wheel.schedule("level1", START + 100 * TICK + 1); // rounds up to the next tick
+        wheel.schedule("level2", START + 5000 * TICK);
+
+        // Act & Assert
+        assertEquals(List.of(), wheel.advance(START + 4 * TICK));
+        assertEquals(List.of("soon"), wheel.advance(START + 5 * TICK));
+        assertEquals(List.of(), wheel.advance(START + 100 * TICK + 999));
+        assertEquals(List.of("level1"), wheel.advance(START + 101 * TICK));
+        assertEquals(List.of(), wheel.advance(START + 4999 * TICK));
+        assertEquals(List.of("level2"), wheel.advance(START + 5000 * TICK));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should cancel and reschedule keys, and reject deadlines past the span")
+    void testScheduleAndCancel() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 2, START);
+
+        // Act
+        wheel.schedule("a", START + 10 * TICK);
+        wheel.schedule("b", START + 10 * TICK);
+        wheel.schedule("c", START + 10 * TICK);
+        boolean cancelled = wheel.cancel("b");
+        wheel.schedule("c", START + 2000 * TICK); // moved to a later deadline
+        boolean beyondSpan = wheel.schedule("d", START + wheel.spanMs() + TICK);
+        boolean overdue = wheel.schedule("e", START - 60 * TICK);
+
+        // Assert
+        assertTrue(cancelled);
+        assertFalse(wheel.cancel("b"));
+        assertFalse(beyondSpan);
+        assertFalse(wheel.contains("d"));
+        assertTrue(overdue);
+        assertEquals(List.of("e"), wheel.advance(START + TICK)); // overdue keys expire on the next tick
+        assertEquals(List.of("a"), wheel.advance(START + 10 * TICK));
+        assertEquals(List.of("c"), wheel.advance(START + 2000 * TICK));
+    }
+
+    @Test
+    @DisplayName("Should expire every key exactly once, never early, over random deadlines and advance steps")
+    void testAdvance_RandomDeadlines() {
+        // Arrange
+        Random random = new Random(42);
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK, 3, START);
+        long span = wheel.spanMs();
+        long[] deadlines = new long[5000];
+        for (int key = 0; key < deadlines.length; key++) {
+            deadlines[key] = START + (long) (random.nextDouble() * span);
+            assertTrue(wheel.schedule(key, deadlines[key]));
+        }
+
+        // Act
+        List<Integer> expired = new ArrayList<>();
+        long now = START;
+        while (wheel.size() > 0) {
+            now += 1 + random.nextInt(200) * TICK;
+            for (int key : wheel.advance(now)) {
+                // Assert
+                assertTrue(deadlines[key] <= now, "key " + key + " expired early");
+                assertTrue(deadlines[key] > now - 200 * TICK - TICK, "key " + key + " expired late");
+                expired.add(key);
+            }
+        }
+
+        // Assert
+        assertEquals(deadlines.length, expired.size());
+        assertEquals(deadlines.length, expired.stream().distinct().count());
+    }
+}
@@ -0,0 +1,141 @@
+package com.investmentbanking.dealpipeline.savedsearch;
+
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import com.investmentbanking.dealpipeline.exception.UnauthorizedException;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Percolator Unit Tests")
+class PercolatorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 1, 9, 0);
+
+    @Test
+    @DisplayName("Should match anchored, multi-value anchored and unanchored searches")
+    void testMatch_AnchoredAndUnanchored() {
+        // Arrange
+        Percolator percolator = new Percolator();
+        percolator.add("tmt-ipo", "admin1", true, "TMT IPOs over 1B", "sector==TMT;dealType==IPO;dealValue>1B");
+        percolator.add("tmt-or-energy", "admin1", true, "TMT or Energy", "sector=in=(TMT,Energy)");
+        percolator.add("late-stage", "admin1", true, "Late stage", "stage==TermSheetSubmitted");
+        percolator.add("tagged", "admin1", true, "Cross-border", "tags==cross-border,clientName==Acme*");
+        Deal deal = deal("TMT", "IPO", DealStage.Prospect, new BigDecimal("2500000000"), List.of("cross-border"));
+
+        // Act
+        List<String> matched = ids(percolator.match(null, deal, NOW));
+
+        // Assert
+        assertEquals(Set.of("tmt-ipo", "tmt-or-energy", "tagged"), Set.copyOf(matched));
+        assertEquals(3, matched.size());
+        assertEquals(1, percolator.unanchoredSize());
+        assertEquals(4, percolator.size());
+    }
+
+    @Test
+    @DisplayName("Should only report searches a deal starts matching")
+    void testMatch_OnlyTransitions() {
+        // Arrange
+        Percolator percolator = new Percolator();
+        percolator.add("big", "admin1", true, "Big TMT", "sector==TMT;dealValue>=1B");
+        percolator.add("tmt", "admin1", true, "TMT", "sector==TMT");
+        Deal before = deal("TMT", "IPO", DealStage.Prospect, new BigDecimal("500000000"), null);
+        Deal after = before.toBuilder().dealValue(new BigDecimal("1000000000")).build();
+
+        // Act & Assert
+        assertEquals(List.of("big"), ids(percolator.match(before, after, NOW)));
+        assertTrue(percolator.match(after, after, NOW).isEmpty());
+        assertTrue(percolator.match(after, before, NOW).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should scope USER searches to their own deals")
+    void testMatch_UserScope() {
+        // Arrange
+        Percolator percolator = new Percolator();
+        percolator.add("mine", "user123", false, "My TMT", "sector==TMT");
+        Deal own = deal("TMT", "IPO", DealStage.Prospect, null, null);
+        Deal other = own.toBuilder().createdBy("someone-else").build();
+
+        // Act & Assert
+        assertEquals(List.of("mine"), ids(percolator.match(null, own, NOW)));
+        assertTrue(percolator.match(null, other, NOW).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject ADMIN-only filters for a USER owner, e.g. one demoted since saving")
+    void testAdd_AdminOnlyFilterForUser() {
+        // Arrange
+        Percolator percolator = new Percolator();
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class,
+                () -> percolator.add("big", "user123", false, "Big TMT", "sector==TMT;dealValue>=1B"));
+        assertEquals(0, percolator.size());
+        percolator.add("big", "admin1", true, "Big TMT", "sector==TMT;dealValue>=1B");
+        assertEquals(1, percolator.size());
+    }
+
+    @Test
+    @DisplayName("Should evaluate like the Mongo query: != and =out= match a missing field, ranges do not")
+    void testMatch_MissingFieldSemantics() {
+        // Arrange
+        Percolator percolator = new Percolator();
+        percolator.add("ne", "admin1", true, "ne", "counterparty!=Globex");
+        percolator.add("out", "admin1", true, "out", "tags=out=(internal)");
+        percolator.add("range", "admin1", true, "range", "expectedCloseDate=le=90d");
+        Deal deal = deal("TMT", "IPO", DealStage.Prospect, null, null);
+        Deal closing = deal.toBuilder().expectedCloseDate(NOW.plusDays(30)).tags(List.of("internal")).build();
+
+        // Act & Assert
+        assertEquals(Set.of("ne", "out"), Set.copyOf(ids(percolator.match(null, deal, NOW))));
+        assertEquals(Set.of("ne", "range"), Set.copyOf(ids(percolator.match(null, closing, NOW))));
+    }
+
+    @Test
+    @DisplayName("Should replace and remove searches by id and reject invalid filters")
+    void testAddRemove() {
+        // Arrange
+        Percolator percolator = new Percolator();
+        percolator.add("s1", "admin1", true, "TMT", "sector==TMT");
+        percolator.add("s1", "admin1", true, "Energy", "sector==Energy");
+        Deal tmt = deal("TMT", "IPO", DealStage.Prospect, null, null);
+        Deal energy = deal("Energy", "IPO", DealStage.Prospect, null, null);
+
+        // Act & Assert
+        assertTrue(percolator.match(null, tmt, NOW).isEmpty());
+        assertEquals(List.of("s1"), ids(percolator.match(null, energy, NOW)));
+        percolator.remove("s1");
+        assertTrue(percolator.match(null, energy, NOW).isEmpty());
+        assertEquals(0, percolator.size());
+        assertThrows(BadRequestException.class, () -> percolator.add("s2", "admin1", true, "bad", "stage==Signed"));
+        assertThrows(BadRequestException.class, () -> percolator.add("s3", "admin1", true, "bad", "notes==x"));
+    }
+
+    private static Deal deal(String sector, String dealType, DealStage stage, BigDecimal value, List<String> tags) {
+        return Deal.builder()
+                .id("deal1")
+                .dealName("Project Atlas")
+                .clientName("Acme Corp")
+                .sector(sector)
+                .dealType(dealType)
+                .currentStage(stage)
+                .dealValue(value)
+                .tags(tags)
+                .createdBy("user123")
+                .build();
+    }
+
+    private static List<String> ids(List<Percolator.Subscription> subscriptions) {
+        return subscriptions.stream().map(Percolator.Subscription::id).collect(Collectors.toList());
+    }
+}
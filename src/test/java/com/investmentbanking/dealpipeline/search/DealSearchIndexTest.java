@@ -0,0 +1,102 @@
+package com.investmentbanking.dealpipeline.search;
+
+import com.investmentbanking.dealpipeline.event.DealChangedEvent;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.Note;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("DealSearchIndex Unit Tests")
+class DealSearchIndexTest {
+
+    private DealSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new DealSearchIndex(mock(MongoTemplate.class));
+        index.open(); // no index-path configured - in-memory directory
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    @DisplayName("Should rank deal name matches above description matches and highlight them")
+    void testSearch_FieldBoosts() {
+        // Arrange
+        index.index(deal("d1", "user1", "Regional bank carve-out", "Acquisition of a solar developer"));
+        index.index(deal("d2", "user1", "Solar developer acquisition", "Regional utility roll-up"));
+        index.refresh();
+
+        // Act
+        DealSearchHits hits = index.search("solar", null, 0, 10);
+
+        // Assert
+        assertEquals(2, hits.getTotalHits());
+        assertEquals("d2", hits.getHits().get(0).getId());
+        assertEquals("<em>Solar</em> developer acquisition", hits.getHits().get(0).getHighlights().get("dealName"));
+    }
+
+    @Test
+    @DisplayName("Should restrict USER searches to their own deals and find note text")
+    void testSearch_OwnerFilterAndNotes() {
+        // Arrange
+        Deal own = deal("d1", "user1", "Project Atlas", null);
+        own.setNotes(List.of(Note.builder().noteText("Management presentation moved to Friday").build()));
+        index.index(own);
+        Deal other = deal("d2", "user2", "Project Atlas II", null);
+        other.setNotes(List.of(Note.builder().noteText("Management call scheduled").build()));
+        index.index(other);
+        index.refresh();
+
+        // Act
+        DealSearchHits hits = index.search("management", "user1", 0, 10);
+
+        // Assert
+        assertEquals(1, hits.getTotalHits());
+        assertEquals("d1", hits.getHits().get(0).getId());
+        assertTrue(hits.getHits().get(0).getHighlights().get("notes").contains("<em>Management</em>"));
+    }
+
+    @Test
+    @DisplayName("Should drop deleted deals and page results")
+    void testSearch_DeleteAndPaging() {
+        // Arrange
+        index.index(deal("d1", "user1", "Telecom tower sale", null));
+        index.index(deal("d2", "user1", "Telecom spectrum auction", null));
+        index.index(deal("d3", "user1", "Telecom fibre joint venture", null));
+        index.onDealChanged(DealChangedEvent.deleted(deal("d2", "user1", "Telecom spectrum auction", null)));
+        index.refresh();
+
+        // Act
+        DealSearchHits firstPage = index.search("telecom", null, 0, 1);
+        DealSearchHits secondPage = index.search("telecom", null, 1, 1);
+
+        // Assert
+        assertEquals(2, firstPage.getTotalHits());
+        assertEquals(1, firstPage.getHits().size());
+        assertEquals(1, secondPage.getHits().size());
+        assertNotEquals(firstPage.getHits().get(0).getId(), secondPage.getHits().get(0).getId());
+        assertTrue(index.search("spectrum", null, 0, 10).getHits().isEmpty());
+    }
+
+    private Deal deal(String id, String createdBy, String dealName, String description) {
+        return Deal.builder()
+                .id(id)
+                .createdBy(createdBy)
+                .dealName(dealName)
+                .clientName("Client " + id)
+                .description(description)
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.investmentbanking.dealpipeline.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TermTrie Unit Tests")
+class TermTrieTest {
+
+    @Test
+    @DisplayName("Should rank prefix matches by count, case-insensitively")
+    void testSuggest_RankedByCount() {
+        // Arrange
+        TermTrie trie = new TermTrie(10);
+        trie.add("Acme Corp");
+        trie.add("acme corp");
+        trie.add("Acme Holdings");
+        trie.add("Acorn Capital");
+        trie.add("Acorn Capital");
+        trie.add("Acorn Capital");
+        trie.add("Blue Harbor");
+
+        // Act
+        List<TermTrie.TermCount> suggestions = trie.suggest("AC", 10);
+
+        // Assert
+        assertEquals(List.of(
+                new TermTrie.TermCount("Acorn Capital", 3),
+                new TermTrie.TermCount("Acme Corp", 2),
+                new TermTrie.TermCount("Acme Holdings", 1)), suggestions);
+        assertEquals(4, trie.size());
+        assertTrue(trie.suggest("zz", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep only the top K per prefix and promote terms after removals")
+    void testSuggest_TopKAfterRemove() {
+        // Arrange
+        TermTrie trie = new TermTrie(2);
+        trie.add("Delta One");
+        trie.add("Delta One");
+        trie.add("Delta Two");
+        trie.add("Delta Two");
+        trie.add("Delta Three");
+
+        // Act
+        List<TermTrie.TermCount> before = trie.suggest("delta", 10);
+        trie.remove("Delta One");
+        trie.remove("Delta One");
+        List<TermTrie.TermCount> after = trie.suggest("delta", 10);
+
+        // Assert
+        assertEquals(2, before.size());
+        assertEquals(List.of(
+                new TermTrie.TermCount("Delta Two", 2),
+                new TermTrie.TermCount("Delta Three", 1)), after);
+        assertTrue(trie.suggest("delta o", 10).isEmpty());
+        assertEquals(2, trie.size());
+    }
+}
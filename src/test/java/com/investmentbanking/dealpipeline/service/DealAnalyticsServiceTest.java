@@ -0,0 +1,400 @@
+package com.investmentbanking.dealpipeline.service;
+
+import com.investmentbanking.dealpipeline.analytics.ForecastBook;
+import com.investmentbanking.dealpipeline.analytics.ForecastIndex;
+import com.investmentbanking.dealpipeline.analytics.LeaderboardBook;
+import com.investmentbanking.dealpipeline.analytics.LeaderboardIndex;
+import com.investmentbanking.dealpipeline.analytics.PipelineSimulator;
+import com.investmentbanking.dealpipeline.analytics.SketchBook;
+import com.investmentbanking.dealpipeline.analytics.SketchIndex;
+import com.investmentbanking.dealpipeline.dto.DistinctClientsResponse;
+import com.investmentbanking.dealpipeline.dto.DistinctEstimate;
+import com.investmentbanking.dealpipeline.dto.ForecastResponse;
+import com.investmentbanking.dealpipeline.dto.ForecastRow;
+import com.investmentbanking.dealpipeline.dto.FunnelResponse;
+import com.investmentbanking.dealpipeline.dto.FunnelRow;
+import com.investmentbanking.dealpipeline.dto.LeaderboardEntry;
+import com.investmentbanking.dealpipeline.dto.LeaderboardResponse;
+import com.investmentbanking.dealpipeline.dto.QuantileResponse;
+import com.investmentbanking.dealpipeline.dto.SimulationResponse;
+import com.investmentbanking.dealpipeline.dto.WorkloadResponse;
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import com.investmentbanking.dealpipeline.exception.UnauthorizedException;
+import com.investmentbanking.dealpipeline.fx.FxRates;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.model.FunnelCohort;
+import com.investmentbanking.dealpipeline.model.Role;
+import com.investmentbanking.dealpipeline.model.StageTransition;
+import com.investmentbanking.dealpipeline.model.User;
+import com.investmentbanking.dealpipeline.repository.UserRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.env.Environment;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DealAnalyticsService Unit Tests")
+class DealAnalyticsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ForecastIndex forecastIndex;
+
+    @Mock
+    private LeaderboardIndex leaderboardIndex;
+
+    @Mock
+    private SketchIndex sketchIndex;
+
+    @Mock
+    private PipelineSimulator pipelineSimulator;
+
+    @Mock
+    private Environment environment;
+
+    @Mock
+    private FxRates fxRates;
+
+    @Mock
+    private SecurityContext securityContext;
+
+    @Mock
+    private Authentication authentication;
+
+    @InjectMocks
+    private DealAnalyticsService dealAnalyticsService;
+
+    private User testUser;
+    private User adminUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = User.builder()
+                .id("user123")
+                .username("testuser")
+                .roles(new HashSet<>(Set.of(Role.USER)))
+                .build();
+        adminUser = User.builder()
+                .id("admin123")
+                .username("admin")
+                .roles(new HashSet<>(Set.of(Role.ADMIN)))
+                .build();
+        SecurityContextHolder.setContext(securityContext);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Should roll cohorts up by the requested dimensions and compute conversion and win rates")
+    void testGetFunnel_GroupBySector() {
+        // Arrange
+        loginAs(adminUser);
+        when(mongoTemplate.find(any(Query.class), eq(FunnelCohort.class))).thenReturn(List.of(
+                cohort("2024-Q1", "Technology", 10, 10, 6, 4, 2, 2, 3),
+                cohort("2024-Q2", "Technology", 10, 10, 4, 2, 2, 1, 1),
+                cohort("2024-Q1", "Energy", 5, 5, 0, 0, 0, 2, 5)));
+
+        // Act
+        FunnelResponse funnel = dealAnalyticsService.getFunnel("sector", "2024-Q1", "2024-Q2", null, null);
+
+        // Assert
+        assertEquals(List.of("sector"), funnel.getGroupBy());
+        assertEquals(2, funnel.getRows().size());
+        FunnelRow energy = funnel.getRows().get(0);
+        assertEquals("Energy", energy.getSector());
+        assertNull(energy.getQuarter());
+        assertEquals(0.0, energy.getWinRate());
+        FunnelRow technology = funnel.getRows().get(1);
+        assertEquals(20, technology.getDeals());
+        assertEquals(0.5, technology.getStages().get(1).getConversionRate()); // 10 of 20 evaluated
+        assertEquals(0.6, technology.getStages().get(2).getConversionRate()); // 6 of 10 reached a term sheet
+        assertNull(technology.getStages().get(0).getConversionRate());
+        assertEquals(0.5714, technology.getWinRate()); // 4 won, 3 lost
+        assertEquals(13, technology.getOpen());
+        assertEquals(25, funnel.getTotal().getDeals());
+        assertEquals(Map.of("Prospect>UnderEvaluation", 4L), technology.getMoves());
+        verify(mongoTemplate).find(argThat((Query query) -> {
+            Document quarter = query.getQueryObject().get("quarter", Document.class);
+            return "2024-Q1".equals(quarter.get("$gte")) && "2024-Q2".equals(quarter.get("$lte"));
+        }), eq(FunnelCohort.class));
+    }
+
+    @Test
+    @DisplayName("Should restrict the funnel to ADMIN and validate parameters")
+    void testGetFunnel_Validation() {
+        // Arrange
+        loginAs(testUser);
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> dealAnalyticsService.getFunnel("quarter", null, null, null, null));
+        loginAs(adminUser);
+        assertThrows(BadRequestException.class, () -> dealAnalyticsService.getFunnel("owner", null, null, null, null));
+        assertThrows(BadRequestException.class, () -> dealAnalyticsService.getFunnel("quarter", "2024Q1", null, null, null));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Should weight pipeline value by stage probability with per-request overrides")
+    void testGetForecast_GroupByBanker() {
+        // Arrange
+        loginAs(adminUser);
+        ForecastBook book = new ForecastBook();
+        book.put(forecastDeal("d1", DealStage.Prospect, "10000000", 2024, 9, "u1", "alice"));
+        book.put(forecastDeal("d2", DealStage.TermSheetSubmitted, "4000000", 2024, 9, "u1", "alice"));
+        book.put(forecastDeal("d3", DealStage.UnderEvaluation, "2000000", 2024, 10, "u2", "bob"));
+        book.put(forecastDeal("d4", DealStage.Prospect, "9000000", 2025, 3, "u2", "bob")); // outside the range
+        when(forecastIndex.getBook()).thenReturn(book);
+        when(environment.getProperty(anyString(), eq(Double.class), anyDouble()))
+                .thenAnswer(invocation -> invocation.getArgument(2));
+        when(fxRates.getBaseCurrency()).thenReturn("USD");
+
+        // Act
+        ForecastResponse forecast = dealAnalyticsService.getForecast("banker", "TermSheetSubmitted:0.5", "2024-09", "2024-11", null, null);
+
+        // Assert
+        assertEquals("USD", forecast.getBaseCurrency());
+        assertEquals(0.5, forecast.getProbabilities().get(DealStage.TermSheetSubmitted));
+        assertEquals(0.1, forecast.getProbabilities().get(DealStage.Prospect));
+        assertEquals(2, forecast.getRows().size());
+        ForecastRow alice = forecast.getRows().get(0);
+        assertEquals("alice", alice.getAssignedToUsername());
+        assertEquals("2024-09", alice.getMonth());
+        assertEquals(2, alice.getDealCount());
+        assertEquals(new BigDecimal("14000000"), alice.getPipelineValue());
+        assertEquals(new BigDecimal("3000000.00"), alice.getExpectedValue()); // 10M x 0.1 + 4M x 0.5
+        assertEquals(new BigDecimal("500000.00"), forecast.getRows().get(1).getExpectedValue()); // 2M x 0.25
+        assertEquals(List.of("2024-09", "2024-10", "2024-11"), forecast.getMonths().stream().map(ForecastRow::getMonth).toList());
+        assertEquals(0, forecast.getMonths().get(2).getDealCount());
+        assertEquals(new BigDecimal("3500000.00"), forecast.getTotal().getExpectedValue());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Should restrict the forecast to ADMIN and reject invalid overrides and ranges")
+    void testGetForecast_Validation() {
+        // Arrange
+        loginAs(testUser);
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> dealAnalyticsService.getForecast("none", null, null, null, null, null));
+        loginAs(adminUser);
+        lenient().when(environment.getProperty(anyString(), eq(Double.class), anyDouble()))
+                .thenAnswer(invocation -> invocation.getArgument(2));
+        assertThrows(BadRequestException.class, () -> dealAnalyticsService.getForecast("desk", null, null, null, null, null));
+        assertThrows(BadRequestException.class, () -> dealAnalyticsService.getForecast("none", "Lost:0.5", null, null, null, null));
+        assertThrows(BadRequestException.class, () -> dealAnalyticsService.getForecast("none", "Prospect:1.5", null, null, null, null));
+        assertThrows(BadRequestException.class, () -> dealAnalyticsService.getForecast("none", null, "2024-09", "2024-08", null, null));
+        assertThrows(BadRequestException.class, () -> dealAnalyticsService.getForecast("none", null, "2024-9", null, null, null));
+        verifyNoInteractions(forecastIndex);
+    }
+
+    private static Deal forecastDeal(String id, DealStage stage, String value, int year, int month,
+                                     String assignedTo, String assignedToUsername) {
+        return Deal.builder()
+                .id(id)
+                .currentStage(stage)
+                .dealValue(new BigDecimal(value))
+                .baseCurrencyValue(new BigDecimal(value))
+                .expectedCloseDate(LocalDateTime.of(year, month, 10, 0, 0))
+                .sector("Technology")
+                .assignedTo(assignedTo)
+                .assignedToUsername(assignedToUsername)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should rank bankers for ADMIN and show USER their own workload without values")
+    void testGetLeaderboardAndWorkload() {
+        // Arrange
+        LeaderboardBook book = new LeaderboardBook(5);
+        book.put(leaderboardDeal("d1", "user123", "testuser", DealStage.Closed, "300"));
+        book.put(leaderboardDeal("d2", "user123", "testuser", DealStage.Prospect, "50"));
+        book.put(leaderboardDeal("d3", "user456", "other", DealStage.Closed, "400"));
+        when(leaderboardIndex.getBook()).thenReturn(book);
+        loginAs(adminUser);
+
+        // Act
+        LeaderboardResponse leaderboard = dealAnalyticsService.getLeaderboard("closedValue", 5);
+        loginAs(testUser);
+        WorkloadResponse workload = dealAnalyticsService.getWorkload(null);
+
+        // Assert
+        assertEquals("closedValue", leaderboard.getMetric());
+        assertEquals(List.of("user456", "user123"),
+                leaderboard.getEntries().stream().map(LeaderboardEntry::getUserId).toList());
+        assertEquals(2, leaderboard.getEntries().get(1).getRank());
+        assertEquals(new BigDecimal("50"), leaderboard.getEntries().get(1).getPipelineValue());
+        assertEquals(Map.of(DealStage.Closed, 1L, DealStage.Prospect, 1L), workload.getDealsByStage());
+        assertEquals(1, workload.getOpenDeals());
+        assertNull(workload.getPipelineValue()); // USER cannot see values
+        assertThrows(UnauthorizedException.class, () -> dealAnalyticsService.getWorkload("user456"));
+        assertThrows(UnauthorizedException.class, () -> dealAnalyticsService.getLeaderboard("closedValue", 5));
+        loginAs(adminUser);
+        assertThrows(BadRequestException.class, () -> dealAnalyticsService.getLeaderboard("revenue", 5));
+        assertThrows(BadRequestException.class, () -> dealAnalyticsService.getLeaderboard("dealCount", 6));
+    }
+
+    @Test
+    @DisplayName("Should return sketched quantiles with rank-error bounds and distinct clients per sector")
+    void testGetQuantilesAndDistinctClients() {
+        // Arrange
+        SketchBook sketches = new SketchBook();
+        for (int i = 1; i <= 100; i++) {
+            Deal deal = leaderboardDeal("d" + i, "user123", "testuser", DealStage.Prospect, String.valueOf(i * 1000));
+            deal.setDealType("M&A");
+            deal.setSector(i % 2 == 0 ? "Technology" : "Energy");
+            deal.setClientName("Client " + (i % 10));
+            deal.setStageHistory(List.of(StageTransition.builder()
+                    .fromStage(DealStage.Prospect)
+                    .toStage(DealStage.UnderEvaluation)
+                    .secondsInPreviousStage(i * 86_400L)
+                    .build()));
+            sketches.addDeal(deal);
+        }
+        when(sketchIndex.getView()).thenReturn(sketches);
+        loginAs(adminUser);
+
+        // Act
+        QuantileResponse days = dealAnalyticsService.getQuantiles("daysInStage", "M&A", "prospect", "0.5,0.9");
+        DistinctClientsResponse clients = dealAnalyticsService.getDistinctClients(null);
+
+        // Assert
+        assertEquals(100, days.getCount());
+        assertEquals("days", days.getUnit());
+        assertEquals("Prospect", days.getStage());
+        assertEquals(50.0, days.getQuantiles().get(0).getValue()); // exact below the sketch's capacity
+        assertEquals(90.0, days.getQuantiles().get(1).getValue());
+        assertTrue(days.getQuantiles().get(1).getLowerBound() <= 90.0 && days.getQuantiles().get(1).getUpperBound() >= 90.0);
+        assertEquals(10, clients.getTotal().getEstimate());
+        assertEquals(List.of("Energy", "Technology"),
+                clients.getSectors().stream().map(DistinctEstimate::getSector).toList()); // 5 clients each
+        assertThrows(BadRequestException.class, () -> dealAnalyticsService.getQuantiles("dealSize", null, "Prospect", null));
+        assertThrows(BadRequestException.class, () -> dealAnalyticsService.getQuantiles("dealSize", null, null, "0.5,1.5"));
+        assertThrows(BadRequestException.class, () -> dealAnalyticsService.getQuantiles("revenue", null, null, null));
+        loginAs(testUser);
+        assertThrows(UnauthorizedException.class, () -> dealAnalyticsService.getDistinctClients(null));
+    }
+
+    @Test
+    @DisplayName("Should summarize simulated quarter revenue into percentiles and a histogram")
+    void testSimulate() {
+        // Arrange
+        loginAs(adminUser);
+        lenient().when(environment.getProperty(anyString(), eq(Double.class), anyDouble()))
+                .thenAnswer(invocation -> invocation.getArgument(2));
+        when(fxRates.getBaseCurrency()).thenReturn("USD");
+        double[] outcomes = new double[1000];
+        for (int i = 0; i < outcomes.length; i++) {
+            outcomes[i] = (i + 1) * 1000.0; // 1,000 to 1,000,000 ascending
+        }
+        when(pipelineSimulator.simulate(eq(LocalDate.of(2024, 10, 1)), eq(LocalDate.of(2024, 12, 31)), any(), any(), eq(1000), eq(42L)))
+                .thenReturn(new PipelineSimulator.Result(outcomes, 25, 3));
+
+        // Act
+        SimulationResponse simulation = dealAnalyticsService.simulate("2024-Q4", 1000, "TermSheetSubmitted:0.7",
+                "Prospect:60:15", 42L, 4, "0.1,0.5,0.9");
+
+        // Assert
+        assertEquals("2024-Q4", simulation.getQuarter());
+        assertEquals(42L, simulation.getSeed());
+        assertEquals(25, simulation.getDeals());
+        assertEquals(3, simulation.getSkippedDeals());
+        assertFalse(simulation.getProbabilities().containsKey(DealStage.Closed));
+        assertEquals(0.7, simulation.getProbabilities().get(DealStage.TermSheetSubmitted));
+        assertEquals(60.0, simulation.getSlips().get(DealStage.Prospect).getMeanDays());
+        assertEquals(20.0, simulation.getSlips().get(DealStage.UnderEvaluation).getDeviationDays());
+        assertEquals(new BigDecimal("500500.00"), simulation.getMean());
+        assertEquals(List.of(new BigDecimal("100000.00"), new BigDecimal("500000.00"), new BigDecimal("900000.00")),
+                simulation.getPercentiles().stream().map(percentile -> percentile.getValue()).toList());
+        assertEquals(4, simulation.getHistogram().size());
+        assertEquals(1000, simulation.getHistogram().stream().mapToLong(bin -> bin.getTrials()).sum());
+        assertEquals(new BigDecimal("1000.00"), simulation.getHistogram().get(0).getFrom());
+        assertEquals(new BigDecimal("1000000.00"), simulation.getHistogram().get(3).getTo());
+    }
+
+    @Test
+    @DisplayName("Should restrict simulations to ADMIN and reject invalid trials, bins and overrides")
+    void testSimulate_Validation() {
+        // Arrange
+        loginAs(testUser);
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> dealAnalyticsService.simulate(null, 1000, null, null, null, 10, null));
+        loginAs(adminUser);
+        lenient().when(environment.getProperty(anyString(), eq(Double.class), anyDouble()))
+                .thenAnswer(invocation -> invocation.getArgument(2));
+        assertThrows(BadRequestException.class, () -> dealAnalyticsService.simulate(null, 10, null, null, null, 10, null));
+        assertThrows(BadRequestException.class, () -> dealAnalyticsService.simulate(null, 1000, null, null, null, 0, null));
+        assertThrows(BadRequestException.class, () -> dealAnalyticsService.simulate("2024-Q5", 1000, null, null, null, 10, null));
+        assertThrows(BadRequestException.class, () -> dealAnalyticsService.simulate(null, 1000, null, "Prospect:45", null, 10, null));
+        assertThrows(BadRequestException.class, () -> dealAnalyticsService.simulate(null, 1000, null, "Closed:0:0", null, 10, null));
+        assertThrows(BadRequestException.class, () -> dealAnalyticsService.simulate(null, 1000, null, "Prospect:45:-1", null, 10, null));
+        verify(pipelineSimulator, never()).simulate(any(), any(), any(), any(), anyInt(), anyLong());
+    }
+
+    private void loginAs(User user) {
+        when(authentication.getName()).thenReturn(user.getUsername());
+        when(userRepository.findByUsername(user.getUsername())).thenReturn(Optional.of(user));
+    }
+
+    private static Deal leaderboardDeal(String id, String assignedTo, String assignedToUsername, DealStage stage,
+                                        String value) {
+        return Deal.builder()
+                .id(id)
+                .assignedTo(assignedTo)
+                .assignedToUsername(assignedToUsername)
+                .currentStage(stage)
+                .baseCurrencyValue(new BigDecimal(value))
+                .build();
+    }
+
+    private static FunnelCohort cohort(String quarter, String sector, long deals, long prospect, long evaluated,
+                                       long termSheet, long won, long lost, long prospectToEvaluation) {
+        return FunnelCohort.builder()
+                .id(quarter + "|" + sector + "|M&A")
+                .quarter(quarter)
+                .sector(sector)
+                .dealType("M&A")
+                .deals(deals)
+                .reached(new java.util.EnumMap<>(Map.of(DealStage.Prospect, prospect, DealStage.UnderEvaluation, evaluated,
+                        DealStage.TermSheetSubmitted, termSheet, DealStage.Closed, won)))
+                .won(won)
+                .lost(lost)
+                .moves(Map.of("Prospect>UnderEvaluation", prospectToEvaluation))
+                .build();
+    }
+}
@@ -0,0 +1,213 @@
+package com.investmentbanking.dealpipeline.service;
+
+import com.investmentbanking.dealpipeline.dto.BoardColumn;
+import com.investmentbanking.dealpipeline.dto.DealBoardResponse;
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import com.investmentbanking.dealpipeline.exception.UnauthorizedException;
+import com.investmentbanking.dealpipeline.filter.DealFilterCompiler;
+import com.investmentbanking.dealpipeline.fx.FxRates;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.model.Role;
+import com.investmentbanking.dealpipeline.model.User;
+import com.investmentbanking.dealpipeline.repository.UserRepository;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DealBoardService Unit Tests")
+class DealBoardServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Spy
+    private DealFilterCompiler dealFilterCompiler = new DealFilterCompiler(16);
+
+    @Mock
+    private FxRates fxRates;
+
+    @Mock
+    private SecurityContext securityContext;
+
+    @Mock
+    private Authentication authentication;
+
+    @InjectMocks
+    private DealBoardService dealBoardService;
+
+    private User testUser;
+    private User adminUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = User.builder()
+                .id("user123")
+                .username("testuser")
+                .roles(new HashSet<>(Set.of(Role.USER)))
+                .build();
+        adminUser = User.builder()
+                .id("admin123")
+                .username("admin")
+                .roles(new HashSet<>(Set.of(Role.ADMIN)))
+                .build();
+        SecurityContextHolder.setContext(securityContext);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Should build every column from one USER-scoped aggregation and hide values")
+    void testGetBoard_User() {
+        // Arrange
+        loginAs(testUser);
+        ObjectId lastId = new ObjectId();
+        Document result = new Document()
+                .append("totals", List.of(
+                        new Document("_id", "Prospect").append("count", 3).append("totalValue", new Decimal128(new BigDecimal("3000000"))),
+                        new Document("_id", "Closed").append("count", 1).append("totalValue", new Decimal128(BigDecimal.ONE))))
+                .append("Prospect", List.of(
+                        card(new ObjectId(), "Atlas", new Date(2_000_000)),
+                        card(lastId, "Borealis", new Date(1_000_000))))
+                .append("UnderEvaluation", List.of())
+                .append("TermSheetSubmitted", List.of())
+                .append("Closed", List.of(card(new ObjectId(), "Cobalt", new Date(500_000))))
+                .append("Lost", List.of());
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Deal.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(result), new Document()));
+        when(mongoTemplate.getConverter()).thenReturn(converter());
+
+        // Act
+        DealBoardResponse board = dealBoardService.getBoard("updatedAt", "desc", 2, "sector==Technology");
+
+        // Assert
+        assertEquals(DealStage.values().length, board.getColumns().size());
+        BoardColumn prospect = board.getColumns().get(0);
+        assertEquals(DealStage.Prospect, prospect.getStage());
+        assertEquals(3, prospect.getCount());
+        assertNull(prospect.getTotalValue()); // USER cannot see value totals
+        assertEquals(List.of("Atlas", "Borealis"), prospect.getCards().stream().map(c -> c.getDealName()).toList());
+        assertNull(prospect.getCards().get(0).getDealValue());
+        assertNotNull(prospect.getNextCursor()); // 3 deals, 2 cards
+        assertNull(board.getColumns().get(3).getNextCursor()); // Closed: 1 deal, 1 card
+        assertEquals(0, board.getColumns().get(1).getCount());
+        verify(mongoTemplate).aggregate(argThat((Aggregation aggregation) -> {
+            Document match = aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT).get(0).get("$match", Document.class);
+            return "user123".equals(match.get("createdBy")) && match.containsKey("$and");
+        }), eq(Deal.class), eq(Document.class));
+    }
+
+    @Test
+    @DisplayName("Should continue a column after the cursor's sort value and id")
+    void testGetColumn_KeysetCursor() {
+        // Arrange
+        loginAs(adminUser);
+        ObjectId lastId = new ObjectId();
+        Document result = new Document()
+                .append("totals", List.of(new Document("_id", "Prospect").append("count", 5)
+                        .append("totalValue", new Decimal128(new BigDecimal("5000000")))))
+                .append("Prospect", List.of(card(lastId, "Atlas", new Date(1_000_000))));
+        for (DealStage stage : DealStage.values()) {
+            result.putIfAbsent(stage.name(), List.of());
+        }
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Deal.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(result), new Document()));
+        when(mongoTemplate.getConverter()).thenReturn(converter());
+        when(mongoTemplate.getCollectionName(Deal.class)).thenReturn("deals");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), anyString()))
+                .thenReturn(List.of(card(new ObjectId(), "Borealis", new Date(900_000)),
+                        card(new ObjectId(), "Cobalt", new Date(800_000))));
+        BoardColumn first = dealBoardService.getBoard("updatedAt", "desc", 1, null).getColumns().get(0);
+        assertEquals(new BigDecimal("5000000"), first.getTotalValue());
+
+        // Act
+        BoardColumn next = dealBoardService.getColumn(DealStage.Prospect, "updatedAt", "desc", first.getNextCursor(), 1, null);
+
+        // Assert
+        assertEquals(1, next.getCards().size());
+        assertEquals("Borealis", next.getCards().get(0).getDealName());
+        assertNotNull(next.getNextCursor()); // a second row came back, so there is more
+        verify(mongoTemplate).find(argThat((Query query) -> {
+            List<Document> and = query.getQueryObject().getList("$and", Document.class);
+            List<Document> or = and.get(1).getList("$or", Document.class);
+            return "Prospect".equals(String.valueOf(and.get(0).get("currentStage")))
+                    && new Date(1_000_000).equals(or.get(0).get("updatedAt", Document.class).get("$lt"))
+                    && lastId.equals(or.get(1).getList("$and", Document.class).get(1).get("_id", Document.class).get("$lt"))
+                    && new Date(1_000_000).equals(and.get(2).get("updatedAt", Document.class).get("$not", Document.class).get("$gt"))
+                    && query.getLimit() == 2;
+        }), eq(Document.class), eq("deals"));
+    }
+
+    @Test
+    @DisplayName("Should reject dealValue sort for USER and cursors issued for another sort")
+    void testValidation() {
+        // Arrange
+        loginAs(testUser);
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> dealBoardService.getBoard("dealValue", "desc", 20, null));
+        assertThrows(BadRequestException.class, () -> dealBoardService.getBoard("priority", "desc", 20, null));
+        assertThrows(BadRequestException.class, () -> dealBoardService.getBoard("updatedAt", "down", 20, null));
+        assertThrows(BadRequestException.class, () -> dealBoardService.getBoard("updatedAt", "desc", 500, null));
+        assertThrows(BadRequestException.class,
+                () -> dealBoardService.getColumn(DealStage.Prospect, "updatedAt", "desc", "not-a-cursor", 20, null));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private void loginAs(User user) {
+        when(authentication.getName()).thenReturn(user.getUsername());
+        when(userRepository.findByUsername(user.getUsername())).thenReturn(Optional.of(user));
+    }
+
+    private static Document card(ObjectId id, String dealName, Date updatedAt) {
+        return new Document("_id", id)
+                .append("dealName", dealName)
+                .append("dealValue", new Decimal128(new BigDecimal("1000000")))
+                .append("updatedAt", updatedAt);
+    }
+
+    private static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+}
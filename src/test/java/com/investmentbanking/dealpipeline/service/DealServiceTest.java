@@ -1,24 +1,51 @@
 package com.investmentbanking.dealpipeline.service;
 
+import com.investmentbanking.dealpipeline.compliance.ClearanceIndex;
+import com.investmentbanking.dealpipeline.compliance.RestrictedListScreener;
 import com.investmentbanking.dealpipeline.dto.*;
 import com.investmentbanking.dealpipeline.exception.BadRequestException;
 import com.investmentbanking.dealpipeline.exception.ResourceNotFoundException;
 import com.investmentbanking.dealpipeline.exception.UnauthorizedException;
+import com.investmentbanking.dealpipeline.filter.DealFilterCompiler;
+import com.investmentbanking.dealpipeline.fx.FxRates;
+import com.investmentbanking.dealpipeline.matching.ClientMatchIndex;
 import com.investmentbanking.dealpipeline.model.Deal;
 import com.investmentbanking.dealpipeline.model.DealStage;
 import com.investmentbanking.dealpipeline.model.DealStatus;
 import com.investmentbanking.dealpipeline.model.Note;
 import com.investmentbanking.dealpipeline.model.Role;
+import com.investmentbanking.dealpipeline.model.StageTransition;
 import com.investmentbanking.dealpipeline.model.User;
 import com.investmentbanking.dealpipeline.repository.DealRepository;
 import com.investmentbanking.dealpipeline.repository.UserRepository;
+import com.investmentbanking.dealpipeline.search.DealSearchHits;
+import com.investmentbanking.dealpipeline.search.DealSearchIndex;
+import com.investmentbanking.dealpipeline.search.DealSuggestIndex;
+import com.investmentbanking.dealpipeline.search.SuggestField;
+import com.investmentbanking.dealpipeline.search.TermTrie;
+import com.investmentbanking.dealpipeline.workflow.DealStageMachine;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -28,6 +55,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -46,6 +74,33 @@ class DealServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private DealSearchIndex dealSearchIndex;
+
+    @Mock
+    private DealSuggestIndex dealSuggestIndex;
+
+    @Mock
+    private ClientMatchIndex clientMatchIndex;
+
+    @Mock
+    private ClearanceIndex clearanceIndex;
+
+    @Mock
+    private RestrictedListScreener restrictedListScreener;
+
+    @Spy
+    private DealFilterCompiler dealFilterCompiler = new DealFilterCompiler(16);
+
+    @Mock
+    private FxRates fxRates;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -143,6 +198,79 @@ class DealServiceTest {
         verify(dealRepository).save(any(Deal.class));
     }
 
+    @Test
+    @DisplayName("Should return existing client matches when creating a deal")
+    void testCreateDeal_ReturnsClientMatches() {
+        // Arrange
+        DealRequest request = new DealRequest();
+        request.setDealName("Acme Refinancing");
+        request.setDealType("Debt");
+        request.setClientName("ACME Corporation");
+        request.setCurrentStage(DealStage.Prospect);
+
+        ClientMatchCandidate existing = ClientMatchCandidate.builder()
+                .clientName("Acme Corp")
+                .normalizedName("acme")
+                .similarity(1.0)
+                .dealCount(4)
+                .build();
+
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getName()).thenReturn("testuser");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(clientMatchIndex.match("ACME Corporation", "user123")).thenReturn(List.of(existing));
+        when(dealRepository.save(any(Deal.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        DealResponse response = dealService.createDeal(request);
+
+        // Assert
+        assertEquals(List.of(existing), response.getClientMatches());
+        verify(clientMatchIndex).match("ACME Corporation", "user123");
+    }
+
+    @Test
+    @DisplayName("Should only tell USER how many clearance conflicts exist, not which deals")
+    void testCreateDeal_User_ClearanceConflictsSummarized() {
+        // Arrange
+        DealRequest request = new DealRequest();
+        request.setDealName("Acme Refinancing");
+        request.setDealType("Debt");
+        request.setClientName("Acme Corp");
+        request.setSector("Healthcare");
+        request.setCurrentStage(DealStage.Prospect);
+
+        List<ClearanceConflict> conflicts = List.of(
+                ClearanceConflict.builder().dealId("d1").currentStage(DealStage.UnderEvaluation).sector("Industrials")
+                        .assignedToUsername("banker1").party("acme").relationship(ClearanceConflict.Relationship.SAME_CLIENT).build(),
+                ClearanceConflict.builder().dealId("d2").currentStage(DealStage.Prospect).sector("Energy")
+                        .assignedToUsername("banker2").party("acme").relationship(ClearanceConflict.Relationship.SAME_CLIENT).build(),
+                ClearanceConflict.builder().dealId("d3").currentStage(DealStage.Prospect).sector("Energy")
+                        .assignedToUsername("banker2").party("acme").relationship(ClearanceConflict.Relationship.CLIENT_IS_COUNTERPARTY).build());
+
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getName()).thenReturn("testuser");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(clearanceIndex.check(null, "Acme Corp", null, "Healthcare")).thenReturn(conflicts);
+        when(dealRepository.save(any(Deal.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        DealResponse response = dealService.createDeal(request);
+
+        // Assert
+        assertEquals(2, response.getClearanceConflicts().size());
+        ClearanceConflict sameClient = response.getClearanceConflicts().get(0);
+        assertEquals(ClearanceConflict.Relationship.SAME_CLIENT, sameClient.getRelationship());
+        assertEquals(2, sameClient.getDealCount());
+        assertNull(sameClient.getDealId());
+        assertNull(sameClient.getAssignedToUsername());
+        assertNull(sameClient.getCurrentStage());
+        assertNull(sameClient.getSector());
+        assertEquals(1, response.getClearanceConflicts().get(1).getDealCount());
+    }
+
     @Test
     @DisplayName("Should successfully create deal as ADMIN with dealValue")
     void testCreateDeal_Admin_WithDealValue() {
@@ -520,6 +648,31 @@ class DealServiceTest {
         verify(dealRepository).save(any(Deal.class));
     }
 
+    @Test
+    @DisplayName("Should restamp the base currency value when the deal value changes")
+    void testUpdateDealValue_RecomputesBaseCurrencyValue() {
+        // Arrange
+        UpdateValueRequest request = new UpdateValueRequest();
+        request.setDealValue(new BigDecimal("2000000"));
+        testDeal.setCurrency("EUR");
+
+        when(dealRepository.findById("deal123")).thenReturn(Optional.of(testDeal));
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getName()).thenReturn("admin");
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+        when(fxRates.toBase(any(Deal.class))).thenAnswer(invocation ->
+                invocation.<Deal>getArgument(0).getDealValue().multiply(new BigDecimal("1.10")));
+        when(dealRepository.save(any(Deal.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        DealResponse response = dealService.updateDealValue("deal123", request);
+
+        // Assert
+        assertEquals(0, new BigDecimal("2200000").compareTo(response.getBaseCurrencyValue()));
+        assertEquals(0, new BigDecimal("2200000").compareTo(testDeal.getBaseCurrencyValue()));
+    }
+
     @Test
     @DisplayName("Should throw UnauthorizedException when USER tries to update deal value")
     void testUpdateDealValue_User_Unauthorized() {
@@ -656,4 +809,333 @@ class DealServiceTest {
         verify(dealRepository).findById("nonexistent");
         verify(dealRepository, never()).delete(any(Deal.class));
     }
+
+    @Test
+    @DisplayName("Should scope USER bulk update to own deals")
+    void testBulkUpdateDeals_User_ScopedToOwnDeals() {
+        // Arrange
+        BulkUpdateDealsRequest request = new BulkUpdateDealsRequest();
+        request.setSector("Technology");
+        request.setOperation(BulkUpdateDealsRequest.Operation.ADD_TAGS);
+        request.setTags(List.of("q4"));
+
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getName()).thenReturn("testuser");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(mongoTemplate.find(any(Query.class), eq(Deal.class))).thenReturn(List.of(testDeal));
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Deal.class)))
+                .thenReturn(UpdateResult.acknowledged(3, 2L, null));
+        when(dealRepository.findAllById(List.of("deal123"))).thenReturn(List.of(testDeal));
+
+        // Act
+        BulkUpdateResponse response = dealService.bulkUpdateDeals(request);
+
+        // Assert
+        assertEquals(3, response.getMatchedCount());
+        assertEquals(2, response.getModifiedCount());
+        verify(mongoTemplate).updateMulti(argThat(query -> {
+            String json = query.getQueryObject().toJson();
+            return json.contains("\"createdBy\": \"user123\"") && json.contains("\"sector\": \"Technology\"");
+        }), any(Update.class), eq(Deal.class));
+    }
+
+    @Test
+    @DisplayName("Should reject renaming a tag to itself instead of removing it from every deal")
+    void testBulkUpdateDeals_RenameTagToItself() {
+        // Arrange
+        BulkUpdateDealsRequest request = new BulkUpdateDealsRequest();
+        request.setSector("Technology");
+        request.setOperation(BulkUpdateDealsRequest.Operation.RENAME_TAG);
+        request.setFromTag("q4");
+        request.setToTag("q4");
+
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getName()).thenReturn("testuser");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> dealService.bulkUpdateDeals(request));
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(Deal.class));
+    }
+
+    @Test
+    @DisplayName("Should reject reopening a closed deal and save nothing")
+    void testUpdateDealStage_InvalidTransition() {
+        // Arrange
+        testDeal.setCurrentStage(DealStage.Closed);
+        UpdateStageRequest request = new UpdateStageRequest();
+        request.setStage(DealStage.Prospect);
+
+        when(dealRepository.findById("deal123")).thenReturn(Optional.of(testDeal));
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getName()).thenReturn("testuser");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> dealService.updateDealStage("deal123", request));
+        verify(dealRepository, never()).save(any(Deal.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should move only deals the transition table allows and write one history entry per deal")
+    void testBulkUpdateDeals_SetStage_RespectsTransitions() {
+        // Arrange
+        BulkUpdateDealsRequest request = new BulkUpdateDealsRequest();
+        request.setSector("Technology");
+        request.setOperation(BulkUpdateDealsRequest.Operation.SET_STAGE);
+        request.setTargetStage(DealStage.Lost);
+        BulkOperations bulkOperations = mock(BulkOperations.class);
+
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getName()).thenReturn("admin");
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+        when(mongoTemplate.find(any(Query.class), eq(Deal.class))).thenReturn(List.of(testDeal));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Deal.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+        when(dealRepository.findAllById(List.of("deal123"))).thenReturn(List.of(testDeal));
+
+        // Act
+        BulkUpdateResponse response = dealService.bulkUpdateDeals(request);
+
+        // Assert
+        assertEquals(1, response.getModifiedCount());
+        verify(mongoTemplate).find(argThat((Query query) -> {
+            List<Document> clauses = query.getQueryObject().getList("$and", Document.class);
+            return clauses.get(1).get("currentStage", Document.class).get("$in")
+                    .equals(DealStageMachine.allowedSources(DealStage.Lost));
+        }), eq(Deal.class));
+        verify(bulkOperations).updateOne(argThat((Query query) ->
+                DealStage.Prospect == query.getQueryObject().get("currentStage")), argThat((Update update) -> {
+            Document set = update.getUpdateObject().get("$set", Document.class);
+            StageTransition entry = (StageTransition) update.getUpdateObject().get("$push", Document.class).get("stageHistory");
+            return set.get("currentStage") == DealStage.Lost && set.get("status") == DealStatus.CANCELLED
+                    && set.get("actualCloseDate") != null && entry.getFromStage() == DealStage.Prospect
+                    && "admin".equals(entry.getChangedByUsername());
+        }));
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(Deal.class));
+        assertEquals(DealStage.Prospect, testDeal.getCurrentStage()); // the page copy is not modified
+    }
+
+    @Test
+    @DisplayName("Should reject bulk update without ids or filters")
+    void testBulkUpdateDeals_NoSelection() {
+        // Arrange
+        BulkUpdateDealsRequest request = new BulkUpdateDealsRequest();
+        request.setOperation(BulkUpdateDealsRequest.Operation.SET_STAGE);
+        request.setTargetStage(DealStage.Lost);
+
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getName()).thenReturn("admin");
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> dealService.bulkUpdateDeals(request));
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(Deal.class));
+    }
+
+    @Test
+    @DisplayName("Should return batch results in request order with per-id markers")
+    void testGetDealsByIds_User_MixedResults() {
+        // Arrange
+        Deal otherUserDeal = Deal.builder()
+                .id("deal456")
+                .createdBy("otheruser123")
+                .notes(new ArrayList<>())
+                .build();
+
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getName()).thenReturn("testuser");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(dealRepository.findAllById(any())).thenReturn(List.of(otherUserDeal, testDeal));
+
+        // Act
+        List<BatchDealResult> results = dealService.getDealsByIds(List.of("missing", "deal123", "deal456"));
+
+        // Assert
+        assertEquals(3, results.size());
+        assertEquals(BatchDealResult.Status.NOT_FOUND, results.get(0).getStatus());
+        assertEquals(BatchDealResult.Status.FOUND, results.get(1).getStatus());
+        assertEquals("deal123", results.get(1).getDeal().getId());
+        assertNull(results.get(1).getDeal().getDealValue()); // USER cannot see dealValue
+        assertEquals(BatchDealResult.Status.FORBIDDEN, results.get(2).getStatus());
+        assertNull(results.get(2).getDeal());
+        verify(dealRepository).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Should scope USER search to own deals and drop hits no longer visible")
+    void testSearchDeals_User_FiltersStaleHits() {
+        // Arrange
+        Deal otherUserDeal = Deal.builder()
+                .id("deal456")
+                .createdBy("otheruser123")
+                .notes(new ArrayList<>())
+                .build();
+        DealSearchHits hits = new DealSearchHits(3, List.of(
+                new DealSearchHits.Hit("deal123", 2.5f, Map.of("dealName", "<em>Test</em> Deal")),
+                new DealSearchHits.Hit("deal456", 1.5f, Map.of()),
+                new DealSearchHits.Hit("deleted", 1.0f, Map.of())));
+
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getName()).thenReturn("testuser");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(dealSearchIndex.search("test", "user123", 0, 20)).thenReturn(hits);
+        when(dealRepository.findAllById(any())).thenReturn(List.of(testDeal, otherUserDeal));
+
+        // Act
+        DealSearchResponse response = dealService.searchDeals("test", 0, 20);
+
+        // Assert
+        assertEquals(1, response.getResults().size());
+        assertEquals("deal123", response.getResults().get(0).getDeal().getId());
+        assertEquals("<em>Test</em> Deal", response.getResults().get(0).getHighlights().get("dealName"));
+        assertNull(response.getResults().get(0).getDeal().getDealValue()); // USER cannot see dealValue
+        verify(dealSearchIndex).search("test", "user123", 0, 20);
+    }
+
+    @Test
+    @DisplayName("Should reject blank search query")
+    void testSearchDeals_BlankQuery() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> dealService.searchDeals("  ", 0, 20));
+        verifyNoInteractions(dealSearchIndex);
+    }
+
+    @Test
+    @DisplayName("Should serve USER suggestions from their own deals only")
+    void testSuggest_User_ScopedToOwner() {
+        // Arrange
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getName()).thenReturn("testuser");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(dealSuggestIndex.suggest(SuggestField.CLIENT_NAME, "ac", "user123", 5))
+                .thenReturn(List.of(new TermTrie.TermCount("Acme Corp", 3)));
+
+        // Act
+        List<DealSuggestion> suggestions = dealService.suggest("clientName", "ac", 5);
+
+        // Assert
+        assertEquals(1, suggestions.size());
+        assertEquals("Acme Corp", suggestions.get(0).getValue());
+        assertEquals(3, suggestions.get(0).getCount());
+        verifyNoInteractions(dealRepository);
+    }
+
+    @Test
+    @DisplayName("Should return a page and facet counts from one USER-scoped $facet aggregation")
+    void testGetDealsWithFacets_User_Scoped() {
+        // Arrange
+        Document result = new Document()
+                .append("deals", List.of(new Document("_id", "deal123")
+                        .append("dealName", "Test Deal")
+                        .append("createdBy", "user123")
+                        .append("currentStage", "Prospect")
+                        .append("dealValue", "1000000")))
+                .append("total", List.of(new Document("count", 7)))
+                .append("currentStage", List.of(new Document("_id", "Prospect").append("count", 5),
+                        new Document("_id", "Closed").append("count", 2)))
+                .append("sector", List.of(new Document("_id", "Technology").append("count", 7)))
+                .append("dealType", List.of())
+                .append("status", List.of(new Document("_id", null).append("count", 7)))
+                .append("tags", List.of(new Document("_id", "q4").append("count", 3)));
+
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getName()).thenReturn("testuser");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Deal.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(result), new Document()));
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+
+        // Act
+        DealFacetsResponse response = dealService.getDealsWithFacets(null, "Technology", null, null, 0, 50);
+
+        // Assert
+        assertEquals(7, response.getTotal());
+        assertEquals(1, response.getDeals().size());
+        assertEquals("deal123", response.getDeals().get(0).getId());
+        assertNull(response.getDeals().get(0).getDealValue()); // USER cannot see dealValue
+        assertEquals(2, response.getFacets().get("currentStage").size());
+        assertEquals("Prospect", response.getFacets().get("currentStage").get(0).getValue());
+        assertEquals(5, response.getFacets().get("currentStage").get(0).getCount());
+        assertNull(response.getFacets().get("status").get(0).getValue());
+        assertEquals("q4", response.getFacets().get("tags").get(0).getValue());
+        verify(mongoTemplate).aggregate(argThat((Aggregation aggregation) -> {
+            Document match = aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT).get(0).get("$match", Document.class);
+            return "user123".equals(match.get("createdBy")) && "Technology".equals(match.get("sector"));
+        }), eq(Deal.class), eq(Document.class));
+    }
+
+    @Test
+    @DisplayName("Should AND a compiled filter with USER ownership and sort newest first")
+    void testGetDealsByFilter_User_Scoped() {
+        // Arrange
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getName()).thenReturn("testuser");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(mongoTemplate.find(any(Query.class), eq(Deal.class))).thenReturn(List.of(testDeal));
+
+        // Act
+        List<DealResponse> deals = dealService.getDealsByFilter(
+                "stage=in=(Prospect,UnderEvaluation);tags=in=(tech,cross-border)", null, null, null, 100);
+
+        // Assert
+        assertEquals(1, deals.size());
+        verify(mongoTemplate).find(argThat((Query query) -> {
+            Document document = query.getQueryObject();
+            List<Document> filter = document.getList("$and", Document.class).get(0).getList("$and", Document.class);
+            return "user123".equals(document.get("createdBy"))
+                    && List.of(DealStage.Prospect, DealStage.UnderEvaluation)
+                            .equals(filter.get(0).get("currentStage", Document.class).get("$in"))
+                    && List.of("tech", "cross-border").equals(filter.get(1).get("tags", Document.class).get("$in"))
+                    && query.getLimit() == 100
+                    && query.getSortObject().containsKey("createdAt");
+        }), eq(Deal.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a USER filter on dealValue")
+    void testGetDealsByFilter_User_DealValue() {
+        // Arrange
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getName()).thenReturn("testuser");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class,
+                () -> dealService.getDealsByFilter("dealValue=gt=100M", null, null, null, 100));
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Deal.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a filter on a field outside the whitelist")
+    void testGetDealsByFilter_UnknownField() {
+        // Arrange
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getName()).thenReturn("admin");
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+
+        // Act & Assert
+        assertThrows(BadRequestException.class,
+                () -> dealService.getDealsByFilter("notes.content==secret", null, null, null, 100));
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Deal.class));
+    }
 }
@@ -0,0 +1,194 @@
+package com.investmentbanking.dealpipeline.service;
+
+import com.investmentbanking.dealpipeline.dto.TimelineBucket;
+import com.investmentbanking.dealpipeline.dto.TimelineResponse;
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import com.investmentbanking.dealpipeline.filter.DealFilterCompiler;
+import com.investmentbanking.dealpipeline.fx.FxRates;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.Role;
+import com.investmentbanking.dealpipeline.model.User;
+import com.investmentbanking.dealpipeline.repository.UserRepository;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DealTimelineService Unit Tests")
+class DealTimelineServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 10, 2, 10, 0); // a Wednesday
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Spy
+    private DealFilterCompiler dealFilterCompiler = new DealFilterCompiler(16);
+
+    @Mock
+    private FxRates fxRates;
+
+    @InjectMocks
+    private DealTimelineService dealTimelineService;
+
+    private User testUser;
+    private User adminUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = User.builder()
+                .id("user123")
+                .username("testuser")
+                .roles(new HashSet<>(Set.of(Role.USER)))
+                .build();
+        adminUser = User.builder()
+                .id("admin123")
+                .username("admin")
+                .roles(new HashSet<>(Set.of(Role.ADMIN)))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should bucket open deals by week from now, with overdue deals and value totals for ADMIN")
+    void testBuildTimeline_WeeklyAdmin() {
+        // Arrange
+        Document result = new Document()
+                .append("totals", List.of(
+                        new Document("_id", "overdue").append("count", 4).append("totalValue", new Decimal128(new BigDecimal("4000000"))),
+                        new Document("_id", date(NOW)).append("count", 2).append("totalValue", new Decimal128(new BigDecimal("2500000"))),
+                        new Document("_id", date(LocalDate.of(2024, 10, 14).atStartOfDay())).append("count", 1)
+                                .append("totalValue", new Decimal128(BigDecimal.TEN))))
+                .append("overdue", List.of(deal("Atlas", LocalDate.of(2024, 9, 1).atStartOfDay())))
+                .append("bucket0", List.of(deal("Borealis", NOW.plusDays(1)), deal("Cobalt", NOW.plusDays(2))))
+                .append("bucket1", List.of())
+                .append("bucket2", List.of(deal("Delta", LocalDateTime.of(2024, 10, 15, 0, 0))));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Deal.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(result), new Document()));
+        when(mongoTemplate.getConverter()).thenReturn(converter());
+        when(fxRates.getBaseCurrency()).thenReturn("USD");
+
+        // Act
+        TimelineResponse timeline = dealTimelineService.buildTimeline(adminUser, true,
+                DealTimelineService.Granularity.WEEK, 3, 2, null, NOW);
+
+        // Assert
+        assertEquals("week", timeline.getGranularity());
+        assertEquals("USD", timeline.getBaseCurrency());
+        assertEquals(4, timeline.getOverdue().getCount());
+        assertEquals(new BigDecimal("4000000"), timeline.getOverdue().getTotalValue());
+        assertEquals("Atlas", timeline.getOverdue().getDeals().get(0).getDealName());
+        List<TimelineBucket> buckets = timeline.getBuckets();
+        assertEquals(List.of(LocalDate.of(2024, 9, 30), LocalDate.of(2024, 10, 7), LocalDate.of(2024, 10, 14)),
+                buckets.stream().map(TimelineBucket::getStart).toList());
+        assertEquals(LocalDate.of(2024, 10, 21), buckets.get(2).getEnd());
+        assertEquals(List.of(2L, 0L, 1L), buckets.stream().map(TimelineBucket::getCount).toList());
+        assertEquals(new BigDecimal("2500000"), buckets.get(0).getTotalValue());
+        assertEquals(BigDecimal.ZERO, buckets.get(1).getTotalValue());
+        assertEquals(new BigDecimal("1000000"), buckets.get(0).getDeals().get(0).getBaseCurrencyValue());
+
+        verify(mongoTemplate).aggregate(argThat((Aggregation aggregation) -> {
+            List<Document> pipeline = aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT);
+            Document match = pipeline.get(0).get("$match", Document.class);
+            Document bucket = pipeline.get(1).get("$facet", Document.class).getList("totals", Document.class).get(0)
+                    .get("$bucket", Document.class);
+            return !match.containsKey("createdBy")
+                    && date(LocalDate.of(2024, 10, 21).atStartOfDay())
+                    .equals(match.get("expectedCloseDate", Document.class).get("$lt"))
+                    && List.of(date(NOW), date(LocalDate.of(2024, 10, 7).atStartOfDay()),
+                    date(LocalDate.of(2024, 10, 14).atStartOfDay()), date(LocalDate.of(2024, 10, 21).atStartOfDay()))
+                    .equals(bucket.getList("boundaries", Date.class))
+                    && "overdue".equals(bucket.get("default"));
+        }), eq(Deal.class), eq(Document.class));
+    }
+
+    @Test
+    @DisplayName("Should scope USER timelines to their own deals, hide values and skip top deals when top is 0")
+    void testBuildTimeline_MonthlyUser() {
+        // Arrange
+        Document result = new Document()
+                .append("totals", List.of(new Document("_id", date(NOW)).append("count", 3)
+                        .append("totalValue", new Decimal128(new BigDecimal("3000000")))));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Deal.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(result), new Document()));
+
+        // Act
+        TimelineResponse timeline = dealTimelineService.buildTimeline(testUser, false,
+                DealTimelineService.Granularity.MONTH, 2, 0, null, NOW);
+
+        // Assert
+        assertEquals(List.of(LocalDate.of(2024, 10, 1), LocalDate.of(2024, 11, 1)),
+                timeline.getBuckets().stream().map(TimelineBucket::getStart).toList());
+        assertEquals(3, timeline.getBuckets().get(0).getCount());
+        assertNull(timeline.getBuckets().get(0).getTotalValue()); // USER cannot see value totals
+        assertEquals(0, timeline.getOverdue().getCount());
+        assertTrue(timeline.getBuckets().get(0).getDeals().isEmpty());
+        verify(mongoTemplate).aggregate(argThat((Aggregation aggregation) -> {
+            List<Document> pipeline = aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT);
+            return "user123".equals(pipeline.get(0).get("$match", Document.class).get("createdBy"))
+                    && pipeline.get(1).get("$facet", Document.class).keySet().equals(Set.of("totals"));
+        }), eq(Deal.class), eq(Document.class));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown granularity, a horizon past the maximum and too many top deals")
+    void testGetTimeline_InvalidParams() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> dealTimelineService.getTimeline("day", 12, 5, null));
+        assertThrows(BadRequestException.class, () -> dealTimelineService.getTimeline("week", 53, 5, null));
+        assertThrows(BadRequestException.class, () -> dealTimelineService.getTimeline("month", 0, 5, null));
+        assertThrows(BadRequestException.class, () -> dealTimelineService.getTimeline("month", 12, 21, null));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private static Date date(LocalDateTime time) {
+        return Date.from(time.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static Document deal(String dealName, LocalDateTime expectedCloseDate) {
+        return new Document("_id", new ObjectId())
+                .append("dealName", dealName)
+                .append("baseCurrencyValue", new Decimal128(new BigDecimal("1000000")))
+                .append("expectedCloseDate", date(expectedCloseDate));
+    }
+
+    private static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+}
@@ -0,0 +1,100 @@
+package com.investmentbanking.dealpipeline.workflow;
+
+import com.investmentbanking.dealpipeline.exception.BadRequestException;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.model.DealStatus;
+import com.investmentbanking.dealpipeline.model.StageTransition;
+import com.investmentbanking.dealpipeline.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DealStageMachine Unit Tests")
+class DealStageMachineTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 9, 0);
+    private static final User ALICE = User.builder().id("u1").username("alice").build();
+
+    @Test
+    @DisplayName("Should record history and accumulate time in each stage")
+    void testTransition_HistoryAndDurations() {
+        // Arrange
+        Deal deal = Deal.builder().currentStage(DealStage.Prospect).status(DealStatus.INITIATED).build();
+        DealStageMachine.start(deal, ALICE, T0);
+
+        // Act
+        DealStageMachine.transition(deal, DealStage.UnderEvaluation, ALICE, T0.plusDays(2));
+        DealStageMachine.transition(deal, DealStage.Prospect, ALICE, T0.plusDays(3));
+        StageTransition last = DealStageMachine.transition(deal, DealStage.UnderEvaluation, ALICE, T0.plusDays(10));
+
+        // Assert
+        assertEquals(4, deal.getStageHistory().size());
+        assertNull(deal.getStageHistory().get(0).getFromStage());
+        assertEquals(DealStage.Prospect, last.getFromStage());
+        assertEquals(7 * 86_400L, last.getSecondsInPreviousStage());
+        assertEquals("alice", last.getChangedByUsername());
+        assertEquals(9 * 86_400L, deal.getStageDurationSeconds().get(DealStage.Prospect)); // 2d + 7d
+        assertEquals(86_400L, deal.getStageDurationSeconds().get(DealStage.UnderEvaluation));
+        assertEquals(T0.plusDays(10), deal.getStageEnteredAt());
+        assertNull(deal.getActualCloseDate());
+    }
+
+    @Test
+    @DisplayName("Should close out on Closed / Lost and clear the close date when a lost deal is reopened")
+    void testTransition_CloseAndReopen() {
+        // Arrange
+        Deal won = Deal.builder().currentStage(DealStage.TermSheetSubmitted).createdAt(T0).build();
+        Deal lost = Deal.builder().currentStage(DealStage.UnderEvaluation).createdAt(T0).build();
+
+        // Act
+        DealStageMachine.transition(won, DealStage.Closed, ALICE, T0.plusDays(30));
+        DealStageMachine.transition(lost, DealStage.Lost, ALICE, T0.plusDays(5));
+
+        // Assert
+        assertEquals(DealStatus.CLOSED, won.getStatus());
+        assertEquals(T0.plusDays(30), won.getActualCloseDate());
+        assertEquals(30 * 86_400L, won.getStageDurationSeconds().get(DealStage.TermSheetSubmitted)); // untracked deal counts from createdAt
+        assertEquals(DealStatus.CANCELLED, lost.getStatus());
+        assertEquals(T0.plusDays(5), lost.getActualCloseDate());
+
+        DealStageMachine.transition(lost, DealStage.Prospect, ALICE, T0.plusDays(6));
+        assertEquals(DealStatus.IN_PROGRESS, lost.getStatus());
+        assertNull(lost.getActualCloseDate());
+        assertEquals(86_400L, lost.getStageDurationSeconds().get(DealStage.Lost));
+    }
+
+    @Test
+    @DisplayName("Should reject transitions outside the table and leave the deal untouched")
+    void testTransition_Rejected() {
+        // Arrange
+        Deal closed = Deal.builder().currentStage(DealStage.Closed).status(DealStatus.CLOSED).build();
+        DealStageMachine.start(closed, ALICE, T0);
+        Deal termSheet = Deal.builder().currentStage(DealStage.TermSheetSubmitted).build();
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> DealStageMachine.transition(closed, DealStage.Prospect, ALICE, T0));
+        assertThrows(BadRequestException.class, () -> DealStageMachine.transition(termSheet, DealStage.Prospect, ALICE, T0));
+        assertThrows(BadRequestException.class, () -> DealStageMachine.transition(termSheet, DealStage.TermSheetSubmitted, ALICE, T0));
+        assertEquals(DealStage.Closed, closed.getCurrentStage());
+        assertEquals(1, closed.getStageHistory().size());
+        assertNull(termSheet.getStageHistory());
+    }
+
+    @Test
+    @DisplayName("Should derive allowed sources as the inverse of the transition table")
+    void testAllowedSources() {
+        for (DealStage to : DealStage.values()) {
+            for (DealStage from : DealStage.values()) {
+                assertEquals(DealStageMachine.canTransition(from, to), DealStageMachine.allowedSources(to).contains(from));
+            }
+        }
+        assertEquals(EnumSet.of(DealStage.Prospect, DealStage.UnderEvaluation, DealStage.TermSheetSubmitted),
+                DealStageMachine.allowedSources(DealStage.Closed));
+        assertTrue(DealStageMachine.allowedTargets(DealStage.Closed).isEmpty());
+    }
+}
@@ -0,0 +1,160 @@
+package com.investmentbanking.dealpipeline.workflow;
+
+import com.investmentbanking.dealpipeline.job.SchedulerLock;
+import com.investmentbanking.dealpipeline.model.Deal;
+import com.investmentbanking.dealpipeline.model.DealStage;
+import com.investmentbanking.dealpipeline.model.InboxMessage;
+import com.investmentbanking.dealpipeline.model.InboxMessageType;
+import com.investmentbanking.dealpipeline.model.StaleDealAlert;
+import com.investmentbanking.dealpipeline.model.StaleDealScan;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.env.Environment;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StaleDealDetector Unit Tests")
+class StaleDealDetectorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 9, 30, 9, 0);
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private SchedulerLock schedulerLock;
+
+    @Mock
+    private Environment environment;
+
+    @Test
+    @DisplayName("Should page each stage, batch one alert per owner and stamp the alerted deals")
+    @SuppressWarnings("unchecked")
+    void testRunScan_BatchesPerOwner() {
+        // Arrange
+        StaleDealDetector detector = detector();
+        when(environment.getProperty(anyString(), eq(Integer.class), anyInt()))
+                .thenAnswer(invocation -> invocation.getArgument(2));
+        when(environment.getProperty("pipeline.stale.threshold-days.TermSheetSubmitted", Integer.class, 30)).thenReturn(0);
+        List<Deal> fullPage = new ArrayList<>();
+        for (int i = 0; i < StaleDealDetector.PAGE_SIZE; i++) {
+            fullPage.add(deal(DealStage.Prospect, "u1", "alice", NOW.minusDays(400 - i / 10)));
+        }
+        when(mongoTemplate.find(any(Query.class), eq(Deal.class)))
+                .thenReturn(fullPage)                                                          // Prospect, page 1
+                .thenReturn(List.of(deal(DealStage.Prospect, "u2", "bob", NOW.minusDays(120)))) // Prospect, page 2
+                .thenReturn(List.of(deal(DealStage.UnderEvaluation, "u1", "alice", NOW.minusDays(61))));
+
+        // Act
+        StaleDealScan scan = detector.runScan(NOW);
+
+        // Assert
+        verify(mongoTemplate, times(3)).find(any(Query.class), eq(Deal.class)); // TermSheetSubmitted is switched off
+        assertEquals(502, scan.getStaleDeals());
+        assertEquals(2, scan.getAlerts());
+        assertEquals(3, scan.getPages());
+        assertEquals(Map.of(DealStage.Prospect, 90, DealStage.UnderEvaluation, 60), scan.getThresholdDays());
+
+        ArgumentCaptor<Collection<StaleDealAlert>> alerts = ArgumentCaptor.forClass(Collection.class);
+        verify(mongoTemplate).insert(alerts.capture(), eq(StaleDealAlert.class));
+        StaleDealAlert alice = alerts.getValue().stream().filter(alert -> "u1".equals(alert.getAssignedTo())).findFirst().orElseThrow();
+        assertEquals(501, alice.getDealCount());
+        assertEquals(StaleDealDetector.MAX_DEALS_PER_ALERT, alice.getDeals().size());
+        assertEquals(400, alice.getDeals().get(0).getIdleDays()); // longest idle first
+        assertEquals(scan.getId(), alice.getScanId());
+
+        ArgumentCaptor<Collection<InboxMessage>> messages = ArgumentCaptor.forClass(Collection.class);
+        verify(mongoTemplate).insert(messages.capture(), eq(InboxMessage.class));
+        assertEquals(2, messages.getValue().size());
+        InboxMessage bob = messages.getValue().stream().filter(message -> "u2".equals(message.getUserId())).findFirst().orElseThrow();
+        assertEquals(InboxMessageType.STALE_DEALS, bob.getType());
+        assertEquals("\"Deal u2\" has had no update for 120 days", bob.getTitle());
+
+        ArgumentCaptor<Update> stamp = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateMulti(any(Query.class), stamp.capture(), eq(Deal.class)); // one range per stage
+        assertEquals(NOW, stamp.getValue().getUpdateObject().get("$set", Document.class).get("staleAlertedAt"));
+        verify(mongoTemplate).insert(scan);
+    }
+
+    @Test
+    @DisplayName("Should read a stage page as an index range after the previous page's last deal")
+    void testPageQuery_KeysetOnStageUpdatedIndex() {
+        // Arrange
+        LocalDateTime cutoff = NOW.minusDays(60);
+        Deal last = deal(DealStage.UnderEvaluation, "u1", "alice", NOW.minusDays(90));
+
+        // Act
+        Query first = StaleDealDetector.pageQuery(DealStage.UnderEvaluation, cutoff, null);
+        Query next = StaleDealDetector.pageQuery(DealStage.UnderEvaluation, cutoff, last);
+
+        // Assert
+        assertEquals("deal_stage_updated_id_idx", first.getHint());
+        assertEquals(StaleDealDetector.PAGE_SIZE, first.getLimit());
+        assertEquals(new Document("updatedAt", 1).append("_id", 1), first.getSortObject());
+        List<?> firstClauses = first.getQueryObject().getList("$and", Object.class);
+        assertEquals(2, firstClauses.size());
+        assertEquals(new Document("currentStage", DealStage.UnderEvaluation).append("updatedAt", new Document("$lt", cutoff)),
+                firstClauses.get(0));
+        assertTrue(((Document) firstClauses.get(1)).containsKey("$expr"));
+        List<?> nextClauses = next.getQueryObject().getList("$and", Object.class);
+        assertEquals(3, nextClauses.size());
+        assertEquals(new Document("currentStage", DealStage.UnderEvaluation)
+                        .append("updatedAt", new Document("$lt", cutoff).append("$gte", last.getUpdatedAt())),
+                nextClauses.get(0)); // bounded range, not only the $or
+        assertTrue(((Document) nextClauses.get(1)).containsKey("$or"));
+    }
+
+    @Test
+    @DisplayName("Should skip the scan while another replica holds the lock")
+    void testScan_LockHeldElsewhere() {
+        // Arrange
+        StaleDealDetector detector = detector();
+        when(schedulerLock.tryAcquire(eq("stale-deal-scan"), any(Duration.class))).thenReturn(false);
+
+        // Act
+        StaleDealScan scan = detector.scan();
+
+        // Assert
+        assertNull(scan);
+        verify(schedulerLock, never()).release(anyString());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private StaleDealDetector detector() {
+        return new StaleDealDetector(mongoTemplate, schedulerLock, environment, 3_600_000, 600_000);
+    }
+
+    private static Deal deal(DealStage stage, String assignedTo, String username, LocalDateTime updatedAt) {
+        return Deal.builder()
+                .id(new ObjectId().toHexString())
+                .dealName("Deal " + assignedTo)
+                .clientName("Client")
+                .currentStage(stage)
+                .assignedTo(assignedTo)
+                .assignedToUsername(username)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}